@@ -21,6 +21,8 @@ import org.eclipse.che.api.workspace.server.WorkspaceLockService;
 import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
 import org.eclipse.che.multiuser.api.distributed.JGroupsServiceTermination;
 import org.eclipse.che.multiuser.api.distributed.WorkspaceStopPropagator;
+import org.eclipse.che.multiuser.api.distributed.cache.PreferencesCacheInvalidationPropagator;
+import org.eclipse.che.multiuser.api.distributed.cache.UserSearchIndexChangesPropagator;
 import org.eclipse.che.multiuser.api.distributed.subscription.DistributedRemoteSubscriptionStorage;
 import org.eclipse.persistence.config.CacheCoordinationProtocol;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
@@ -57,5 +59,7 @@ public class ReplicationModule extends AbstractModule {
         .to(JGroupsServiceTermination.class);
 
     bind(WorkspaceStopPropagator.class).asEagerSingleton();
+    bind(PreferencesCacheInvalidationPropagator.class).asEagerSingleton();
+    bind(UserSearchIndexChangesPropagator.class).asEagerSingleton();
   }
 }
@@ -298,6 +298,9 @@ public class WsMasterModule extends AbstractModule {
         .to(org.eclipse.che.api.workspace.server.DefaultWorkspaceStatusCache.class);
 
     install(new org.eclipse.che.api.workspace.activity.inject.WorkspaceActivityModule());
+
+    bind(org.eclipse.che.api.core.rest.HttpJsonRequestFactory.class)
+        .toProvider(org.eclipse.che.api.core.rest.HttpJsonRequestFactoryProvider.class);
   }
 
   private void configureMultiUserMode(
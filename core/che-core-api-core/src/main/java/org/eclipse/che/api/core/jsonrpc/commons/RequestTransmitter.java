@@ -11,9 +11,16 @@
  */
 package org.eclipse.che.api.core.jsonrpc.commons;
 
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.BroadcastConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.transmission.EndpointIdConfigurator;
 
 /** Simple factory that provides facilities to manually build JSON RPC requests */
 public interface RequestTransmitter {
   EndpointIdConfigurator newRequest();
+
+  /**
+   * Starts configuration of a notification that is serialized once and transmitted to a number of
+   * endpoints.
+   */
+  BroadcastConfigurator newBroadcast();
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.commons.transmission;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import javax.inject.Inject;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.slf4j.Logger;
+
+/**
+ * Configures and sends a notification that must be delivered to a number of endpoints. Unlike
+ * requests built with {@link EndpointIdConfigurator} the notification is marshaled only once and
+ * the resulting message is shared between all the recipients.
+ */
+public class BroadcastConfigurator {
+  private static final Logger LOGGER = getLogger(BroadcastConfigurator.class);
+
+  private final JsonRpcMarshaller marshaller;
+  private final WebSocketMessageTransmitter transmitter;
+  private final BroadcastStatistics statistics;
+
+  private List<String> endpointIds;
+  private String method;
+  private JsonRpcParams params;
+
+  @Inject
+  BroadcastConfigurator(
+      JsonRpcMarshaller marshaller,
+      WebSocketMessageTransmitter transmitter,
+      BroadcastStatistics statistics) {
+    this.marshaller = marshaller;
+    this.transmitter = transmitter;
+    this.statistics = statistics;
+  }
+
+  public BroadcastConfigurator endpointIds(Collection<String> ids) {
+    checkNotNull(ids, "Endpoint IDs must not be null");
+
+    LOGGER.debug("Configuring outgoing broadcast endpoint IDs: " + ids);
+
+    this.endpointIds = new ArrayList<>(ids);
+    return this;
+  }
+
+  public BroadcastConfigurator methodName(String name) {
+    checkNotNull(name, "Method name must not be null");
+    checkArgument(!name.isEmpty(), "Method name must not be empty");
+
+    LOGGER.debug("Configuring outgoing broadcast method name: " + name);
+
+    this.method = name;
+    return this;
+  }
+
+  public <P> BroadcastConfigurator paramsAsDto(P param) {
+    checkNotNull(param, "Params value must not be null");
+
+    this.params = new JsonRpcParams(param);
+    return this;
+  }
+
+  public BroadcastConfigurator noParams() {
+    this.params = null;
+    return this;
+  }
+
+  /**
+   * Marshals the configured notification and transmits it to all the endpoints. Nothing is
+   * marshaled when there are no endpoints to send the notification to.
+   */
+  public void sendAndSkipResult() {
+    checkNotNull(endpointIds, "Endpoint IDs must be configured");
+    checkNotNull(method, "Method name must be configured");
+
+    if (endpointIds.isEmpty()) {
+      return;
+    }
+
+    LOGGER.debug(
+        "Transmitting broadcast notification: "
+            + "endpoint IDs: "
+            + endpointIds
+            + ", "
+            + "method: "
+            + method);
+
+    String message = marshaller.marshall(new JsonRpcRequest(null, method, params));
+    transmitter.broadcast(endpointIds, message);
+    statistics.recordBroadcast(endpointIds.size());
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.commons.transmission;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Singleton;
+
+/**
+ * Keeps track of notifications sent with {@link BroadcastConfigurator}, so that the amount of
+ * marshaling saved by broadcasting can be observed.
+ */
+@Singleton
+public class BroadcastStatistics {
+  private final AtomicLong broadcasts = new AtomicLong();
+  private final AtomicLong deliveries = new AtomicLong();
+
+  void recordBroadcast(int recipients) {
+    broadcasts.incrementAndGet();
+    deliveries.addAndGet(recipients);
+  }
+
+  /** Returns the number of notifications that were marshaled and broadcast. */
+  public long getBroadcastsCount() {
+    return broadcasts.get();
+  }
+
+  /** Returns the number of messages handed to the transmitter by all the broadcasts. */
+  public long getDeliveriesCount() {
+    return deliveries.get();
+  }
+
+  /** Returns the number of marshaling operations avoided by sharing the broadcast messages. */
+  public long getSavedSerializationsCount() {
+    return deliveries.get() - broadcasts.get();
+  }
+}
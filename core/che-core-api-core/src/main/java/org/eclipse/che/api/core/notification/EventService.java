@@ -16,9 +16,11 @@ import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -47,44 +49,47 @@ import org.slf4j.LoggerFactory;
 public class EventService {
   private static final Logger LOG = LoggerFactory.getLogger(EventService.class);
 
-  private static final int CACHE_NUM = 1 << 2;
-  private static final int CACHE_MASK = CACHE_NUM - 1;
-  private static final int SEG_SIZE = 32;
+  private static final int TYPE_CACHE_SIZE = 1024;
+  private static final EventSubscriber[] NO_SUBSCRIBERS = new EventSubscriber[0];
 
-  private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
+  private final LoadingCache<Class<?>, Set<Class<?>>> typeCache;
   private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
 
-  @SuppressWarnings("unchecked")
+  /**
+   * Subscribers of each published event class flattened over the class hierarchy. The whole table
+   * is replaced whenever subscriptions change, so publishing needs a single lookup and entries
+   * computed against a replaced table never leak into the current one.
+   */
+  private volatile ConcurrentMap<Class<?>, EventSubscriber[]> dispatchTable;
+
   public EventService() {
     subscribersByEventType = new ConcurrentHashMap<>();
-    typeCache = new LoadingCache[CACHE_NUM];
-    for (int i = 0; i < CACHE_NUM; i++) {
-      typeCache[i] =
-          CacheBuilder.newBuilder()
-              .concurrencyLevel(SEG_SIZE)
-              .build(
-                  new CacheLoader<Class<?>, Set<Class<?>>>() {
-                    @Override
-                    public Set<Class<?>> load(Class<?> eventClass) {
-                      LinkedList<Class<?>> parents = new LinkedList<>();
-                      Set<Class<?>> classes = new HashSet<>();
-                      parents.add(eventClass);
-                      while (!parents.isEmpty()) {
-                        Class<?> clazz = parents.pop();
-                        classes.add(clazz);
-                        Class<?> parent = clazz.getSuperclass();
-                        if (parent != null) {
-                          parents.add(parent);
-                        }
-                        Class<?>[] interfaces = clazz.getInterfaces();
-                        if (interfaces.length > 0) {
-                          Collections.addAll(parents, interfaces);
-                        }
+    dispatchTable = new ConcurrentHashMap<>();
+    typeCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(TYPE_CACHE_SIZE)
+            .build(
+                new CacheLoader<Class<?>, Set<Class<?>>>() {
+                  @Override
+                  public Set<Class<?>> load(Class<?> eventClass) {
+                    LinkedList<Class<?>> parents = new LinkedList<>();
+                    Set<Class<?>> classes = new LinkedHashSet<>();
+                    parents.add(eventClass);
+                    while (!parents.isEmpty()) {
+                      Class<?> clazz = parents.pop();
+                      classes.add(clazz);
+                      Class<?> parent = clazz.getSuperclass();
+                      if (parent != null) {
+                        parents.add(parent);
+                      }
+                      Class<?>[] interfaces = clazz.getInterfaces();
+                      if (interfaces.length > 0) {
+                        Collections.addAll(parents, interfaces);
                       }
-                      return classes;
                     }
-                  });
-    }
+                    return classes;
+                  }
+                });
   }
 
   /**
@@ -98,23 +103,40 @@ public class EventService {
     if (event == null) {
       throw new IllegalArgumentException("Null event.");
     }
-    final Class<?> eventClass = event.getClass();
-    for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
-      final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
-      if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
-        for (EventSubscriber eventSubscriber : eventSubscribers) {
-          try {
-            LOG.debug("Publish event {} for {}", event, eventSubscriber);
-            eventSubscriber.onEvent(event);
-          } catch (RuntimeException e) {
-            LOG.error(e.getMessage(), e);
-          }
+    final EventSubscriber[] eventSubscribers =
+        dispatchTable.computeIfAbsent(event.getClass(), this::collectSubscribers);
+    if (eventSubscribers.length == 0) {
+      return event;
+    }
+    final boolean debug = LOG.isDebugEnabled();
+    for (EventSubscriber eventSubscriber : eventSubscribers) {
+      try {
+        if (debug) {
+          LOG.debug("Publish event {} for {}", event, eventSubscriber);
         }
+        eventSubscriber.onEvent(event);
+      } catch (RuntimeException e) {
+        LOG.error(e.getMessage(), e);
       }
     }
     return event;
   }
 
+  /**
+   * Returns subscribers of the given event class and all its super types, most specific type first
+   * and in the order of subscription within each type.
+   */
+  private EventSubscriber[] collectSubscribers(Class<?> eventClass) {
+    final List<EventSubscriber> result = new ArrayList<>();
+    for (Class<?> clazz : typeCache.getUnchecked(eventClass)) {
+      final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
+      if (eventSubscribers != null) {
+        result.addAll(eventSubscribers);
+      }
+    }
+    return result.isEmpty() ? NO_SUBSCRIBERS : result.toArray(new EventSubscriber[result.size()]);
+  }
+
   /**
    * Subscribe event listener. The event to subscribe to is inferred by checking the generic type
    * arguments of the given subscriber.
@@ -146,7 +168,9 @@ public class EventService {
         entries = newEntries;
       }
     }
-    entries.add(subscriber);
+    if (entries.add(subscriber)) {
+      dispatchTable = new ConcurrentHashMap<>();
+    }
   }
 
   /**
@@ -171,6 +195,7 @@ public class EventService {
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
         }
+        dispatchTable = new ConcurrentHashMap<>();
       }
     }
   }
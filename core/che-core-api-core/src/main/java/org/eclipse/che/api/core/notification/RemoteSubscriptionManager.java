@@ -11,8 +11,11 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.stream.Collectors.toList;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiPredicate;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
@@ -59,12 +62,16 @@ public class RemoteSubscriptionManager {
   public <T> void register(
       String method, Class<T> eventType, BiPredicate<T, Map<String, String>> biPredicate) {
     eventService.subscribe(
-        event ->
-            remoteSubscriptionStorage
-                .getByMethod(method)
-                .stream()
-                .filter(context -> biPredicate.test(event, context.getScope()))
-                .forEach(context -> transmit(context.getEndpointId(), method, event)),
+        event -> {
+          List<String> endpointIds =
+              remoteSubscriptionStorage
+                  .getByMethod(method)
+                  .stream()
+                  .filter(context -> biPredicate.test(event, context.getScope()))
+                  .map(RemoteSubscriptionContext::getEndpointId)
+                  .collect(toList());
+          transmit(endpointIds, method, event);
+        },
         eventType);
   }
 
@@ -79,10 +86,13 @@ public class RemoteSubscriptionManager {
     remoteSubscriptionStorage.removeSubscription(eventSubscription.getMethod(), endpointId);
   }
 
-  private <T> void transmit(String endpointId, String method, T event) {
+  private <T> void transmit(List<String> endpointIds, String method, T event) {
+    if (endpointIds.isEmpty()) {
+      return;
+    }
     requestTransmitter
-        .newRequest()
-        .endpointId(endpointId)
+        .newBroadcast()
+        .endpointIds(endpointIds)
         .methodName(method)
         .paramsAsDto(event)
         .sendAndSkipResult();
@@ -39,13 +39,19 @@ import javax.ws.rs.ext.Provider;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonSerializable;
+import org.eclipse.che.dto.shared.CompactJsonDto;
 import org.eclipse.che.dto.shared.DTO;
+import org.everrest.core.ApplicationContext;
 import org.everrest.core.impl.provider.JsonEntityProvider;
 
 /**
  * Implementation of {@link MessageBodyReader} and {@link MessageBodyWriter} needed for binding JSON
  * content to and from Java Objects.
  *
+ * <p>DTOs implementing {@link CompactJsonDto} are written in their compact array form when the
+ * client asks for it with the {@value #DTO_FORM_PARAMETER} media type parameter, e.g. {@code
+ * Accept: application/json; dto=compact}.
+ *
  * @author andrew00x
  * @see DTO
  * @see DtoFactory
@@ -55,6 +61,11 @@ import org.everrest.core.impl.provider.JsonEntityProvider;
 @Produces({MediaType.APPLICATION_JSON})
 @Consumes({MediaType.APPLICATION_JSON})
 public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWriter<T> {
+  /** Name of the media type parameter selecting the JSON form of written DTOs. */
+  public static final String DTO_FORM_PARAMETER = "dto";
+  /** Value of {@link #DTO_FORM_PARAMETER} selecting the compact form of {@link CompactJsonDto}s. */
+  public static final String COMPACT_DTO_FORM = "compact";
+
   private Set<Class> ignoredClasses;
   private final JsonEntityProvider delegate = new JsonEntityProvider<>();
   private final Type listOfJsonSerializableType =
@@ -96,11 +107,18 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
     httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
     if (t instanceof JsonSerializable) {
       try (Writer w = new OutputStreamWriter(entityStream, StandardCharsets.UTF_8)) {
-        ((JsonSerializable) t).toJson(w);
+        if (isCompactFormRequested(mediaType)) {
+          DtoFactory.getInstance().getCompactGson().toJson(t, w);
+        } else {
+          ((JsonSerializable) t).toJson(w);
+        }
       }
     } else if (isDtoList(type, genericType, t)) {
       try (Writer w = new OutputStreamWriter(entityStream, StandardCharsets.UTF_8)) {
-        DtoFactory.getInstance().getGson().toJson(t, listOfJsonSerializableType, w);
+        (isCompactFormRequested(mediaType)
+                ? DtoFactory.getInstance().getCompactGson()
+                : DtoFactory.getInstance().getGson())
+            .toJson(t, listOfJsonSerializableType, w);
       }
     } else {
       delegate.writeTo(t, type, genericType, annotations, mediaType, httpHeaders, entityStream);
@@ -145,6 +163,31 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
     return ignoredClasses;
   }
 
+  /**
+   * The negotiated media type usually doesn't carry the parameters of the client's Accept header,
+   * so the acceptable media types of the current request are checked as well.
+   */
+  private static boolean isCompactFormRequested(MediaType mediaType) {
+    if (isCompactForm(mediaType)) {
+      return true;
+    }
+    ApplicationContext context = ApplicationContext.getCurrent();
+    if (context == null || context.getHttpHeaders() == null) {
+      return false;
+    }
+    for (MediaType acceptable : context.getHttpHeaders().getAcceptableMediaTypes()) {
+      if (isCompactForm(acceptable) && acceptable.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isCompactForm(MediaType mediaType) {
+    return mediaType != null
+        && COMPACT_DTO_FORM.equals(mediaType.getParameters().get(DTO_FORM_PARAMETER));
+  }
+
   /** Checks if provided object is a list of DTO or serializable objects. */
   private static <T> boolean isDtoList(Class<?> type, Type genericType, T t) {
     if (!List.class.isAssignableFrom(type)) {
@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.HttpMethod;
 import org.eclipse.che.api.core.BadRequestException;
@@ -161,6 +162,25 @@ public interface HttpJsonRequest {
       throws IOException, ServerException, UnauthorizedException, ForbiddenException,
           NotFoundException, ConflictException, BadRequestException;
 
+  /**
+   * Makes the same request as {@link #request()} does but without blocking the caller until the
+   * response is received. Authorization headers are resolved in the calling thread.
+   *
+   * <p>The returned future is completed exceptionally with one of the exceptions declared by {@link
+   * #request()}. The default implementation performs the request in the calling thread.
+   *
+   * @return future which is completed with the {@link HttpJsonResponse} of this request
+   */
+  default CompletableFuture<HttpJsonResponse> requestAsync() {
+    final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+    try {
+      future.complete(request());
+    } catch (Exception x) {
+      future.completeExceptionally(x);
+    }
+    return future;
+  }
+
   /**
    * Uses {@link HttpMethod#GET} as a request method.
    *
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+/**
+ * Provides the {@link HttpJsonRequestFactory} selected by the {@code che.core.http_client.pooled}
+ * property: the pooled {@link OkHttpJsonRequestFactory} when it is {@code true}, the {@link
+ * DefaultHttpJsonRequestFactory} otherwise.
+ */
+@Singleton
+public class HttpJsonRequestFactoryProvider implements Provider<HttpJsonRequestFactory> {
+
+  private final HttpJsonRequestFactory requestFactory;
+
+  @Inject
+  public HttpJsonRequestFactoryProvider(
+      @Named("che.core.http_client.pooled") boolean pooled,
+      Provider<DefaultHttpJsonRequestFactory> defaultRequestFactory,
+      Provider<OkHttpJsonRequestFactory> pooledRequestFactory) {
+    this.requestFactory = pooled ? pooledRequestFactory.get() : defaultRequestFactory.get();
+  }
+
+  @Override
+  public HttpJsonRequestFactory get() {
+    return requestFactory;
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static com.google.common.base.Strings.isNullOrEmpty;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.dto.server.DtoFactory;
+
+/**
+ * Implementation of {@link HttpJsonRequest} which performs requests using shared {@link
+ * OkHttpClient}, so connections are kept alive and reused between requests and responses are
+ * transparently decompressed when server supports gzip encoding.
+ *
+ * <p>The implementation is not thread-safe, instance of this class must be created each time when
+ * it's needed.
+ *
+ * @see OkHttpJsonRequestFactory
+ */
+public class OkHttpJsonRequest extends DefaultHttpJsonRequest {
+
+  private static final okhttp3.MediaType JSON_MEDIA_TYPE =
+      okhttp3.MediaType.parse(javax.ws.rs.core.MediaType.APPLICATION_JSON);
+
+  private final OkHttpClient httpClient;
+
+  protected OkHttpJsonRequest(OkHttpClient httpClient, String url) {
+    super(url);
+    this.httpClient = httpClient;
+  }
+
+  protected OkHttpJsonRequest(OkHttpClient httpClient, Link link) {
+    super(link);
+    this.httpClient = httpClient;
+  }
+
+  @Override
+  protected DefaultHttpJsonResponse doRequest(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      List<Pair<String, String>> headers)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    final Call call =
+        newCall(timeout, url, method, body, parameters, authorizationHeaderValue, headers);
+    try (Response response = call.execute()) {
+      return toJsonResponse(response, method);
+    }
+  }
+
+  @Override
+  protected CompletableFuture<HttpJsonResponse> doRequestAsync(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      List<Pair<String, String>> headers) {
+    final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+    final Call call =
+        newCall(timeout, url, method, body, parameters, authorizationHeaderValue, headers);
+    call.enqueue(
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException x) {
+            future.completeExceptionally(x);
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) {
+            try (Response r = response) {
+              future.complete(toJsonResponse(r, method));
+            } catch (Exception x) {
+              future.completeExceptionally(x);
+            }
+          }
+        });
+    future.whenComplete(
+        (response, x) -> {
+          if (future.isCancelled()) {
+            call.cancel();
+          }
+        });
+    return future;
+  }
+
+  /**
+   * Prepares the call of this request. Must be invoked in the thread of request initiator because
+   * authorization header may be taken from the current {@link EnvironmentContext}.
+   */
+  private Call newCall(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      List<Pair<String, String>> headers) {
+    final String authToken = EnvironmentContext.getCurrent().getSubject().getToken();
+    final Request.Builder requestBuilder =
+        new Request.Builder().url(buildUrl(url, parameters, authToken));
+    if (headers != null) {
+      for (Pair<String, String> header : headers) {
+        requestBuilder.header(header.first, header.second);
+      }
+    }
+    // drop a hint for server side that we want to receive application/json
+    requestBuilder.addHeader(HttpHeaders.ACCEPT, javax.ws.rs.core.MediaType.APPLICATION_JSON);
+    if (!isNullOrEmpty(authorizationHeaderValue)) {
+      requestBuilder.header(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
+    } else if (authToken != null) {
+      requestBuilder.header(HttpHeaders.AUTHORIZATION, authToken);
+    }
+    if (body != null) {
+      requestBuilder.method(
+          method, RequestBody.create(JSON_MEDIA_TYPE, DtoFactory.getInstance().toJson(body)));
+    } else if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)) {
+      // OkHttp doesn't allow these methods without body
+      requestBuilder.method(method, RequestBody.create(null, new byte[0]));
+    } else {
+      requestBuilder.method(method, null);
+    }
+
+    OkHttpClient client = httpClient;
+    if (timeout > 0) {
+      client =
+          httpClient
+              .newBuilder()
+              .connectTimeout(timeout, TimeUnit.MILLISECONDS)
+              .readTimeout(timeout, TimeUnit.MILLISECONDS)
+              .writeTimeout(timeout, TimeUnit.MILLISECONDS)
+              .build();
+    }
+    return client.newCall(requestBuilder.build());
+  }
+
+  private DefaultHttpJsonResponse toJsonResponse(Response response, String method)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    final int responseCode = response.code();
+    final String contentType = response.header(HttpHeaders.CONTENT_TYPE);
+    final ResponseBody responseBody = response.body();
+    final String str = responseBody == null ? "" : responseBody.string();
+    if (!response.isSuccessful()) {
+      throwApiException(
+          responseCode, contentType, str, response.request().url().toString(), method);
+    }
+    if (responseCode != HttpURLConnection.HTTP_NO_CONTENT
+        && contentType != null
+        && !isJsonContentType(contentType)) {
+      throw new IOException(response.message());
+    }
+    return new DefaultHttpJsonResponse(str, responseCode, response.headers().toMultimap());
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+
+/**
+ * Implementation of {@link HttpJsonRequestFactory} that creates {@link OkHttpJsonRequest} instances
+ * sharing a single pooled {@link OkHttpClient}.
+ *
+ * <p>Calls are reported to the bound {@link EventListener}, which collects per-host request metrics
+ * when metrics are enabled. Connections used and opened are counted per host as well.
+ */
+@Singleton
+public class OkHttpJsonRequestFactory implements HttpJsonRequestFactory {
+
+  private static final int MAX_IDLE_CONNECTIONS = 20;
+  private static final long KEEP_ALIVE_DURATION_MIN = 5;
+  private static final long DEFAULT_TIMEOUT_MS = 60_000;
+
+  private final OkHttpClient httpClient;
+  private final ConcurrentMap<String, HostConnections> hosts = new ConcurrentHashMap<>();
+  private final List<Consumer<String>> newHostListeners = new CopyOnWriteArrayList<>();
+
+  @Inject
+  public OkHttpJsonRequestFactory(EventListener eventListener) {
+    this.httpClient =
+        new OkHttpClient.Builder()
+            .connectionPool(
+                new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_DURATION_MIN, TimeUnit.MINUTES))
+            .connectTimeout(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .readTimeout(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .writeTimeout(DEFAULT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .eventListener(new ConnectionsCountingListener(eventListener))
+            .build();
+  }
+
+  @Override
+  public HttpJsonRequest fromUrl(@NotNull String url) {
+    return new OkHttpJsonRequest(httpClient, url);
+  }
+
+  @Override
+  public HttpJsonRequest fromLink(@NotNull Link link) {
+    return new OkHttpJsonRequest(httpClient, link);
+  }
+
+  /** Returns the number of open connections in the pool. */
+  public int getConnectionCount() {
+    return httpClient.connectionPool().connectionCount();
+  }
+
+  /** Returns the number of idle connections in the pool. */
+  public int getIdleConnectionCount() {
+    return httpClient.connectionPool().idleConnectionCount();
+  }
+
+  /** Returns the hosts the client has connected to. */
+  public Set<String> getHosts() {
+    return Collections.unmodifiableSet(hosts.keySet());
+  }
+
+  /** Returns the number of connections to the host which are currently used by calls. */
+  public int getInUseConnectionCount(String host) {
+    HostConnections connections = hosts.get(host);
+    return connections == null ? 0 : connections.inUse.get();
+  }
+
+  /** Returns the number of connections opened to the host since the client was created. */
+  public long getOpenedConnectionCount(String host) {
+    HostConnections connections = hosts.get(host);
+    return connections == null ? 0 : connections.opened.get();
+  }
+
+  /**
+   * Registers the listener to be called for each host the client connects to for the first time,
+   * the listener is also called for the hosts known at the moment of registration.
+   */
+  public void addNewHostListener(Consumer<String> listener) {
+    newHostListeners.add(listener);
+    hosts.keySet().forEach(listener);
+  }
+
+  private HostConnections connectionsOf(Call call) {
+    String host = call.request().url().host();
+    HostConnections connections = hosts.get(host);
+    if (connections == null) {
+      HostConnections created = new HostConnections();
+      connections = hosts.putIfAbsent(host, created);
+      if (connections == null) {
+        connections = created;
+        newHostListeners.forEach(listener -> listener.accept(host));
+      }
+    }
+    return connections;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    httpClient.dispatcher().executorService().shutdown();
+    httpClient.connectionPool().evictAll();
+  }
+
+  private static class HostConnections {
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicLong opened = new AtomicLong();
+  }
+
+  /** Counts connections per host and passes every event to the bound listener. */
+  private class ConnectionsCountingListener extends EventListener {
+
+    private final EventListener delegate;
+
+    private ConnectionsCountingListener(EventListener delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void connectEnd(
+        Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+      connectionsOf(call).opened.incrementAndGet();
+      delegate.connectEnd(call, inetSocketAddress, proxy, protocol);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+      connectionsOf(call).inUse.incrementAndGet();
+      delegate.connectionAcquired(call, connection);
+    }
+
+    @Override
+    public void connectionReleased(Call call, Connection connection) {
+      connectionsOf(call).inUse.decrementAndGet();
+      delegate.connectionReleased(call, connection);
+    }
+
+    @Override
+    public void callStart(Call call) {
+      delegate.callStart(call);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+      delegate.dnsStart(call, domainName);
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+      delegate.dnsEnd(call, domainName, inetAddressList);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+      delegate.connectStart(call, inetSocketAddress, proxy);
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+      delegate.secureConnectStart(call);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+      delegate.secureConnectEnd(call, handshake);
+    }
+
+    @Override
+    public void connectFailed(
+        Call call,
+        InetSocketAddress inetSocketAddress,
+        Proxy proxy,
+        Protocol protocol,
+        IOException ioe) {
+      delegate.connectFailed(call, inetSocketAddress, proxy, protocol, ioe);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+      delegate.requestHeadersStart(call);
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+      delegate.requestHeadersEnd(call, request);
+    }
+
+    @Override
+    public void requestBodyStart(Call call) {
+      delegate.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+      delegate.requestBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+      delegate.responseHeadersStart(call);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+      delegate.responseHeadersEnd(call, response);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+      delegate.responseBodyStart(call);
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+      delegate.responseBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+      delegate.callEnd(call);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+      delegate.callFailed(call, ioe);
+    }
+  }
+}
@@ -11,6 +11,8 @@
  */
 package org.eclipse.che.api.core.websocket.commons;
 
+import java.util.Collection;
+
 /**
  * Plain text transmitter over a web socket protocol. In current specification it is not required
  * from and the implementor to fulfill strict ordering of sequential transmissions along with
@@ -29,4 +31,17 @@ public interface WebSocketMessageTransmitter {
    * @param message plain text message
    */
   void transmit(String endpointId, String message);
+
+  /**
+   * Transmit the same string message to a number of endpoints. The message is expected to be
+   * already encoded, so implementations must not modify it and may share it between recipients.
+   *
+   * @param endpointIds identifiers of endpoints known to an transmitter implementation
+   * @param message plain text message
+   */
+  default void broadcast(Collection<String> endpointIds, String message) {
+    for (String endpointId : endpointIds) {
+      transmit(endpointId, message);
+    }
+  }
 }
@@ -13,8 +13,11 @@ package org.eclipse.che.api.core.websocket.impl;
 
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.LAST_SEQUENCE_PARAM;
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.NO_SEQUENCE;
 import static org.eclipse.che.api.core.websocket.impl.WebsocketIdService.randomClientId;
 
+import com.google.common.primitives.Longs;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -67,9 +70,8 @@ public abstract class BasicWebSocketEndpoint {
 
     session.setMaxIdleTimeout(0);
 
-    registry.add(combinedEndpointId, session);
-    reSender.resend(combinedEndpointId);
     sessionMessagesBuffer.put(session, new StringBuffer());
+    reSender.resend(combinedEndpointId, session, getLastSequence(session));
   }
 
   @OnMessage
@@ -158,6 +160,20 @@ public abstract class BasicWebSocketEndpoint {
         .orElse(identificationService.getCombinedId(getEndpointId(), clientId));
   }
 
+  private long getLastSequence(Session session) {
+    Map<String, String> queryParamsMap = getQueryParamsMap(session.getQueryString());
+    String lastSequence = queryParamsMap.get(LAST_SEQUENCE_PARAM);
+    if (lastSequence == null) {
+      return NO_SEQUENCE;
+    }
+    Long parsed = Longs.tryParse(lastSequence);
+    if (parsed == null || parsed < 0) {
+      LOG.warn("Ignoring malformed last sequence number '{}'", lastSequence);
+      return NO_SEQUENCE;
+    }
+    return parsed;
+  }
+
   private Map<String, String> getQueryParamsMap(String queryParamsString) {
     Map<String, String> queryParamsMap = new HashMap<>();
 
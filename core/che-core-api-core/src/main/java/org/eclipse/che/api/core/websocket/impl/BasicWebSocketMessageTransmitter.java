@@ -13,7 +13,7 @@ package org.eclipse.che.api.core.websocket.impl;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.io.IOException;
+import java.util.Collection;
 import java.util.Optional;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -22,9 +22,9 @@ import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 
 /**
- * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them. If WEB SOCKET
- * session is not opened adds messages to re-sender to try to send them when session will be opened
- * again.
+ * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them. Messages are sent
+ * through the re-sender which keeps them for replay, if WEB SOCKET session is not opened they are
+ * re-sent when session will be opened again.
  *
  * @author Dmitry Kuleshov
  */
@@ -44,10 +44,25 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
   @Override
   public synchronized void transmit(String endpointId, String message) {
+    send(endpointId, message);
+  }
+
+  @Override
+  public synchronized void broadcast(Collection<String> endpointIds, String message) {
+    for (String endpointId : endpointIds) {
+      send(endpointId, message);
+    }
+  }
+
+  private void send(String endpointId, String message) {
     Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent()) {
       sessionOptional = registry.getByPartialMatch(endpointId).stream().findFirst();
+      if (sessionOptional.isPresent()) {
+        // messages are numbered and kept under the id the session is registered with
+        endpointId = registry.get(sessionOptional.get()).orElse(endpointId);
+      }
     }
 
     if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
@@ -57,11 +72,7 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
     } else {
       LOG.debug("Session registered and open, sending message");
 
-      try {
-        sessionOptional.get().getBasicRemote().sendText(message);
-      } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-      }
+      reSender.send(endpointId, sessionOptional.get(), message);
     }
   }
 }
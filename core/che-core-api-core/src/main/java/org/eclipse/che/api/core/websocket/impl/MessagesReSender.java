@@ -11,96 +11,296 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
-import com.google.common.collect.EvictingQueue;
+import static java.lang.String.format;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.slf4j.Logger;
 
 /**
- * Instance is responsible for re-sending messages that were not sent during the period when WEB
- * SOCKET session was closed. If session is closed during re-send process it stops and left messages
- * will be re-sent as WEB SOCKET session becomes open again.
+ * Keeps a sequence-numbered replay buffer of the messages transmitted to each WEB SOCKET endpoint,
+ * so they can be re-sent when a client reconnects.
+ *
+ * <p>Every message transmitted to an endpoint gets the next sequence number of that endpoint,
+ * starting from 1, no matter whether it was sent right away or kept because the session was closed.
+ * Numbers are not sent over the wire: the n-th message a client receives from an endpoint has
+ * sequence number n, replayed messages included. The buffer of each endpoint is bounded by the
+ * total length of the kept messages and by their age.
+ *
+ * <p>Each connected or recently disconnected client costs up to the size of an endpoint buffer,
+ * plus the overhead of about a hundred bytes per kept message. The total length of the messages
+ * kept for all the endpoints is bounded as well: once it is exceeded, the endpoint that transmits a
+ * message drops its own oldest messages, keeping at least the latest one, until the total is within
+ * the bound again.
+ *
+ * <p>A client that reconnects with the {@value #LAST_SEQUENCE_PARAM} query parameter gets every
+ * kept message after the given sequence number. If some of these messages are not kept anymore, it
+ * gets the {@value #GAP_NOTIFICATION_METHOD} JSON-RPC notification first, with {@code from} and
+ * {@code to} parameters holding the lost range. {@code to} is absent when the server has no record
+ * of the endpoint anymore, in that case numbering continues from the client's sequence number. The
+ * notification itself is not numbered. A client that reconnects without the parameter gets only the
+ * messages which were not sent while its session was closed.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
 
-  private static final int MAX_MESSAGES = 100;
+  /** Query parameter a client passes on reconnect with the last sequence number it has seen. */
+  public static final String LAST_SEQUENCE_PARAM = "lastSeq";
+
+  /** JSON-RPC notification that reports a range of messages which can't be replayed. */
+  public static final String GAP_NOTIFICATION_METHOD = "websocket/replayGap";
+
+  /** Means that the client didn't pass the last sequence number it has seen. */
+  public static final long NO_SEQUENCE = -1;
+
+  private static final Logger LOG = getLogger(MessagesReSender.class);
+
+  private static final long DEFAULT_MAX_BYTES = 256 * 1024;
+  private static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.SECONDS.toMillis(60);
+  private static final long DEFAULT_MAX_TOTAL_BYTES = 64 * 1024 * 1024;
 
   private final WebSocketSessionRegistry registry;
 
-  private final Map<String, Queue<DelayedMessage>> delayedMessageRegistry =
-      new ConcurrentHashMap<>();
+  private final Map<String, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+  private final AtomicLong totalBytes = new AtomicLong();
+
+  private volatile long maxBytes = DEFAULT_MAX_BYTES;
+  private volatile long maxAgeMillis = DEFAULT_MAX_AGE_MILLIS;
+  private volatile long maxTotalBytes = DEFAULT_MAX_TOTAL_BYTES;
 
   @Inject
   public MessagesReSender(WebSocketSessionRegistry registry) {
     this.registry = registry;
   }
 
+  /**
+   * Sets the maximum total length of the messages kept for a single endpoint, the length of a
+   * message is approximated by the number of its characters.
+   */
+  @com.google.inject.Inject(optional = true)
+  public void setMaxSize(@Named("che.core.jsonrpc.replay_buffer_size_kb") long maxSizeKb) {
+    this.maxBytes = maxSizeKb * 1024;
+  }
+
+  /** Sets the maximum total length of the messages kept for all the endpoints. */
+  @com.google.inject.Inject(optional = true)
+  public void setMaxTotalSize(
+      @Named("che.core.jsonrpc.replay_buffers_total_size_kb") long maxTotalSizeKb) {
+    this.maxTotalBytes = maxTotalSizeKb * 1024;
+  }
+
+  /** Sets how long a message is kept for replay. */
+  @com.google.inject.Inject(optional = true)
+  public void setMaxAge(@Named("che.core.jsonrpc.replay_buffer_max_age_sec") long maxAgeSec) {
+    this.maxAgeMillis = TimeUnit.SECONDS.toMillis(maxAgeSec);
+  }
+
   @ScheduleDelay(initialDelay = 60, delay = 60)
   void cleanStaleMessages() {
     long currentTimeMillis = System.currentTimeMillis();
 
-    delayedMessageRegistry
-        .values()
-        .forEach(it -> it.removeIf(m -> currentTimeMillis - m.timeMillis > 60_000));
-
-    delayedMessageRegistry.values().removeIf(Queue::isEmpty);
+    replayBuffers.forEach(
+        (endpointId, buffer) -> {
+          synchronized (buffer) {
+            buffer.evict(currentTimeMillis);
+            if (buffer.entries.isEmpty() && !registry.get(endpointId).isPresent()) {
+              buffer.discarded = true;
+              replayBuffers.remove(endpointId, buffer);
+            }
+          }
+        });
   }
 
+  /**
+   * Keeps a message which could not be sent to the endpoint. If the session of the endpoint has
+   * been resumed in the meantime the message is sent right away.
+   */
   public void add(String endpointId, String message) {
+    withBuffer(endpointId, buffer -> send(endpointId, buffer.append(message), null));
+  }
+
+  /**
+   * Sends a message over the session of the endpoint and keeps it for replay. If the session has
+   * been closed in the meantime the message is sent over the resumed one, if any.
+   */
+  public void send(String endpointId, Session session, String message) {
+    withBuffer(endpointId, buffer -> send(endpointId, buffer.append(message), session));
+  }
+
+  /**
+   * Re-sends kept messages over the newly opened session and registers it for the endpoint, so no
+   * message transmitted in the meantime gets ahead of the replayed ones.
+   *
+   * @param lastSequence the last sequence number the client has seen or {@link #NO_SEQUENCE} to
+   *     re-send only the messages which were not sent
+   */
+  public void resend(String endpointId, Session session, long lastSequence) {
+    withBuffer(
+        endpointId,
+        buffer -> {
+          buffer.evict(System.currentTimeMillis());
 
-    delayedMessageRegistry
-        .computeIfAbsent(endpointId, k -> EvictingQueue.create(MAX_MESSAGES))
-        .offer(new DelayedMessage(message));
+          List<Entry> replay = new ArrayList<>();
+          if (lastSequence == NO_SEQUENCE) {
+            for (Entry entry : buffer.entries) {
+              if (!entry.sent) {
+                replay.add(entry);
+              }
+            }
+          } else {
+            long from = lastSequence + 1;
+            if (lastSequence >= buffer.nextSequence) {
+              LOG.debug("No record of messages after {} for endpoint {}", lastSequence, endpointId);
+              sendGap(session, format("{\"from\":%d}", from));
+              buffer.nextSequence = from;
+            } else {
+              long oldest =
+                  buffer.entries.isEmpty()
+                      ? buffer.nextSequence
+                      : buffer.entries.getFirst().sequence;
+              if (from < oldest) {
+                LOG.debug("Messages {}..{} are lost for endpoint {}", from, oldest - 1, endpointId);
+                sendGap(session, format("{\"from\":%d,\"to\":%d}", from, oldest - 1));
+              }
+            }
+            for (Entry entry : buffer.entries) {
+              if (entry.sequence >= from) {
+                replay.add(entry);
+              }
+            }
+          }
+
+          for (Entry entry : replay) {
+            if (!session.isOpen() || !send(entry, session)) {
+              break;
+            }
+          }
+
+          registry.add(endpointId, session);
+          return null;
+        });
   }
 
-  public void resend(String endpointId) {
-    Queue<DelayedMessage> delayedMessages = delayedMessageRegistry.remove(endpointId);
+  /** Returns the total length of the messages kept for all the endpoints. */
+  @VisibleForTesting
+  long getTotalSize() {
+    return totalBytes.get();
+  }
+
+  /** Returns the sequence number the next message transmitted to the endpoint will get. */
+  @VisibleForTesting
+  long getNextSequence(String endpointId) {
+    return withBuffer(endpointId, buffer -> buffer.nextSequence);
+  }
 
-    if (delayedMessages == null || delayedMessages.isEmpty()) {
-      return;
+  private <T> T withBuffer(String endpointId, Function<ReplayBuffer, T> action) {
+    while (true) {
+      ReplayBuffer buffer = replayBuffers.computeIfAbsent(endpointId, k -> new ReplayBuffer());
+      synchronized (buffer) {
+        if (!buffer.discarded) {
+          return action.apply(buffer);
+        }
+      }
     }
+  }
 
-    Optional<Session> sessionOptional = registry.get(endpointId);
+  private boolean send(String endpointId, Entry entry, @Nullable Session session) {
+    if (session == null || !session.isOpen()) {
+      Optional<Session> sessionOptional = registry.get(endpointId);
+      if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
+        return false;
+      }
+      session = sessionOptional.get();
+    }
+    return send(entry, session);
+  }
 
-    if (!sessionOptional.isPresent()) {
-      return;
+  private boolean send(Entry entry, Session session) {
+    try {
+      session.getBasicRemote().sendText(entry.message);
+      entry.sent = true;
+      return true;
+    } catch (IOException e) {
+      LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+      return false;
     }
+  }
 
-    Queue<DelayedMessage> backingQueue = EvictingQueue.create(delayedMessages.size());
-    while (!delayedMessages.isEmpty()) {
-      backingQueue.offer(delayedMessages.poll());
+  private void sendGap(Session session, String params) {
+    try {
+      session
+          .getBasicRemote()
+          .sendText(
+              format(
+                  "{\"jsonrpc\":\"2.0\",\"method\":\"%s\",\"params\":%s}",
+                  GAP_NOTIFICATION_METHOD, params));
+    } catch (IOException e) {
+      LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
     }
+  }
 
-    Session session = sessionOptional.get();
-    for (DelayedMessage delayedMessage : backingQueue) {
-      if (session.isOpen()) {
-        session.getAsyncRemote().sendText(delayedMessage.message);
-      } else {
-        delayedMessages.add(delayedMessage);
-      }
+  /** Messages of a single endpoint, guarded by its own monitor. */
+  private class ReplayBuffer {
+
+    private final Deque<Entry> entries = new ArrayDeque<>();
+
+    private long nextSequence = 1;
+    private long bytes;
+    private boolean discarded;
+
+    private Entry append(String message) {
+      long currentTimeMillis = System.currentTimeMillis();
+      Entry entry = new Entry(nextSequence++, message, currentTimeMillis);
+      entries.addLast(entry);
+      bytes += message.length();
+      totalBytes.addAndGet(message.length());
+      evict(currentTimeMillis);
+      return entry;
     }
 
-    if (!delayedMessages.isEmpty()) {
-      delayedMessageRegistry.put(endpointId, delayedMessages);
+    private void evict(long currentTimeMillis) {
+      while (!entries.isEmpty()
+          && (bytes > maxBytes
+              || currentTimeMillis - entries.getFirst().timeMillis > maxAgeMillis
+              || (totalBytes.get() > maxTotalBytes && entries.size() > 1))) {
+        int length = entries.removeFirst().message.length();
+        bytes -= length;
+        totalBytes.addAndGet(-length);
+      }
     }
   }
 
-  private static class DelayedMessage {
+  private static class Entry {
 
-    private final long timeMillis;
+    private final long sequence;
     private final String message;
+    private final long timeMillis;
+
+    private boolean sent;
 
-    private DelayedMessage(String message) {
+    private Entry(long sequence, String message, long timeMillis) {
+      this.sequence = sequence;
       this.message = message;
-      this.timeMillis = System.currentTimeMillis();
+      this.timeMillis = timeMillis;
     }
   }
 }
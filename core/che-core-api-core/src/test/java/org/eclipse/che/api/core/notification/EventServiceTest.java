@@ -12,6 +12,7 @@
 package org.eclipse.che.api.core.notification;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import org.testng.Assert;
@@ -160,6 +161,75 @@ public class EventServiceTest {
     Assert.assertEquals(events.size(), 0);
   }
 
+  @Test
+  public void shouldDeliverEventsToSubscribersAddedAfterEventTypeWasPublished() {
+    final List<String> events = new ArrayList<>();
+    bus.publish(new ExtEvent());
+
+    bus.subscribe(
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            events.add(event.data);
+          }
+        });
+    bus.publish(new ExtEvent());
+
+    Assert.assertEquals(events, Collections.singletonList("ext_event"));
+  }
+
+  @Test
+  public void shouldStopDeliveringEventsOfSubtypeAfterUnsubscribe() {
+    final List<String> events = new ArrayList<>();
+    EventSubscriber<Event> l =
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            events.add(event.data);
+          }
+        };
+    bus.subscribe(l);
+    bus.publish(new ExtEvent());
+
+    bus.unsubscribe(l);
+    bus.publish(new ExtEvent());
+
+    Assert.assertEquals(events, Collections.singletonList("ext_event"));
+  }
+
+  @Test
+  public void shouldDeliverEventsToSubscribersOfMostSpecificTypeFirstInSubscriptionOrder() {
+    final List<String> events = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      final int idx = i;
+      bus.subscribe(event -> events.add("event:" + idx), Event.class);
+      bus.subscribe(event -> events.add("ext_event:" + idx), ExtEvent.class);
+    }
+
+    bus.publish(new ExtEvent());
+
+    Assert.assertEquals(events.size(), 200);
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(events.get(i), "ext_event:" + i);
+      Assert.assertEquals(events.get(100 + i), "event:" + i);
+    }
+  }
+
+  @Test
+  public void shouldKeepDeliveringEventsWhenSubscriberFails() {
+    final List<String> events = new ArrayList<>();
+    bus.subscribe(
+        event -> {
+          throw new RuntimeException("expected");
+        },
+        Event.class);
+    bus.subscribe(event -> events.add(event.data), Event.class);
+
+    bus.publish(new Event());
+
+    Assert.assertEquals(events, Collections.singletonList("event"));
+  }
+
   @Test(expectedExceptions = IllegalArgumentException.class)
   public void shouldNotDetermineTheTypeOfEventOnSubscribe() {
     bus.subscribe(new CustomEventSubscriber<>());
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.BroadcastConfigurator;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link RemoteSubscriptionManager}. */
+@Listeners(MockitoTestNGListener.class)
+public class RemoteSubscriptionManagerTest {
+
+  private static final String METHOD = "event/changed";
+
+  @Mock private RequestTransmitter requestTransmitter;
+  @Mock private RemoteSubscriptionStorage subscriptionStorage;
+  @Captor private ArgumentCaptor<List<String>> endpointIdsCaptor;
+
+  private BroadcastConfigurator broadcastConfigurator;
+  private EventService eventService;
+  private RemoteSubscriptionManager subscriptionManager;
+
+  @BeforeMethod
+  public void setUp() {
+    broadcastConfigurator = mock(BroadcastConfigurator.class, RETURNS_SELF);
+    eventService = new EventService();
+    subscriptionManager =
+        new RemoteSubscriptionManager(eventService, requestTransmitter, subscriptionStorage);
+  }
+
+  @Test
+  public void shouldBroadcastEventOnceToAllMatchingSubscribers() {
+    when(requestTransmitter.newBroadcast()).thenReturn(broadcastConfigurator);
+    when(subscriptionStorage.getByMethod(METHOD))
+        .thenReturn(
+            ImmutableSet.of(
+                new RemoteSubscriptionContext("endpoint1", singletonMap("id", "event")),
+                new RemoteSubscriptionContext("endpoint2", singletonMap("id", "other")),
+                new RemoteSubscriptionContext("endpoint3", singletonMap("id", "event"))));
+    subscriptionManager.register(
+        METHOD, String.class, (event, scope) -> event.equals(scope.get("id")));
+
+    eventService.publish("event");
+
+    verify(requestTransmitter).newBroadcast();
+    verify(broadcastConfigurator).endpointIds(endpointIdsCaptor.capture());
+    verify(broadcastConfigurator).methodName(METHOD);
+    verify(broadcastConfigurator).paramsAsDto("event");
+    verify(broadcastConfigurator).sendAndSkipResult();
+    assertEquals(endpointIdsCaptor.getValue(), asList("endpoint1", "endpoint3"));
+  }
+
+  @Test
+  public void shouldNotTransmitEventWhenThereAreNoMatchingSubscribers() {
+    when(subscriptionStorage.getByMethod(METHOD))
+        .thenReturn(
+            ImmutableSet.of(
+                new RemoteSubscriptionContext("endpoint1", singletonMap("id", "other"))));
+    subscriptionManager.register(
+        METHOD, String.class, (event, scope) -> event.equals(scope.get("id")));
+
+    eventService.publish("event");
+
+    verify(requestTransmitter, never()).newBroadcast();
+    verify(requestTransmitter, never()).newRequest();
+    verifyZeroInteractions(broadcastConfigurator);
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.EventListener;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.LinksHelper;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.everrest.assured.EverrestJetty;
+import org.everrest.core.Filter;
+import org.everrest.core.GenericContainerRequest;
+import org.everrest.core.RequestFilter;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests of {@link OkHttpJsonRequest}. */
+@Listeners(EverrestJetty.class)
+public class OkHttpJsonRequestTest {
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final EnvironmentFilter FILTER = new EnvironmentFilter();
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final TestService TEST_SERVICE = new TestService();
+
+  private static final Subject TEST_SUBJECT = new SubjectImpl("name", "id", "token", false);
+
+  private OkHttpJsonRequestFactory requestFactory;
+
+  @BeforeClass
+  public void setUp() {
+    requestFactory = new OkHttpJsonRequestFactory(EventListener.NONE);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    requestFactory.shutdown();
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionWhenResponseCodeIs404(ITestContext ctx) throws Exception {
+    requestFactory.fromUrl(getUrl(ctx) + "/404/response-code-test").useGetMethod().request();
+  }
+
+  @Test
+  public void shouldCompleteFutureExceptionallyWhenAsyncRequestFails(ITestContext ctx)
+      throws Exception {
+    CompletableFuture<HttpJsonResponse> future =
+        requestFactory.fromUrl(getUrl(ctx) + "/500/response-code-test").requestAsync();
+
+    try {
+      future.get(10, TimeUnit.SECONDS);
+    } catch (ExecutionException x) {
+      assertTrue(x.getCause() instanceof ServerException);
+      return;
+    }
+    throw new AssertionError("Future expected to be completed exceptionally");
+  }
+
+  @Test
+  public void shouldReadJsonObjectBodyAsString(ITestContext ctx) throws Exception {
+    assertEquals(
+        requestFactory
+            .fromUrl(getUrl(ctx) + "/application-json")
+            .useGetMethod()
+            .request()
+            .asString(),
+        TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldSendJsonObjectBodyAsynchronously(ITestContext ctx) throws Exception {
+    final Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+
+    final List<Link> links =
+        requestFactory
+            .fromUrl(getUrl(ctx) + "/application-json")
+            .usePostMethod()
+            .setBody(Collections.singletonList(link))
+            .requestAsync()
+            .get(10, TimeUnit.SECONDS)
+            .asList(Link.class);
+
+    assertEquals(links, Collections.singletonList(link));
+  }
+
+  @Test
+  public void shouldSendQueryParameters(ITestContext ctx) throws Exception {
+    final Map<String, String> map =
+        requestFactory
+            .fromUrl(getUrl(ctx) + "/query-parameters")
+            .usePutMethod()
+            .addQueryParam("param1", "value1")
+            .addQueryParam("param2", "value2")
+            .request()
+            .asProperties();
+
+    assertEquals(map, ImmutableMap.of("param1", "value1", "param2", "value2"));
+  }
+
+  @Test
+  public void shouldUseTokenFromCurrentContextForAuthorization(ITestContext ctx) throws Exception {
+    final EnvironmentContext context = new EnvironmentContext();
+    context.setSubject(TEST_SUBJECT);
+    EnvironmentContext.setCurrent(context);
+    try {
+      requestFactory.fromUrl(getUrl(ctx) + "/token").usePostMethod().requestAsync().get();
+    } finally {
+      EnvironmentContext.reset();
+    }
+  }
+
+  @Test
+  public void shouldAcceptNoContentResponse(ITestContext ctx) throws Exception {
+    assertEquals(
+        requestFactory
+            .fromUrl(getUrl(ctx) + "/no-content")
+            .useDeleteMethod()
+            .request()
+            .getResponseCode(),
+        204);
+  }
+
+  @Test
+  public void shouldReuseConnectionsBetweenRequests(ITestContext ctx) throws Exception {
+    for (int i = 0; i < 5; i++) {
+      requestFactory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+    }
+
+    assertTrue(requestFactory.getIdleConnectionCount() > 0);
+  }
+
+  @Test
+  public void shouldCountConnectionsPerHost(ITestContext ctx) throws Exception {
+    OkHttpJsonRequestFactory factory = new OkHttpJsonRequestFactory(EventListener.NONE);
+    List<String> newHosts = new CopyOnWriteArrayList<>();
+    factory.addNewHostListener(newHosts::add);
+
+    try {
+      for (int i = 0; i < 3; i++) {
+        factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+      }
+
+      String host = URI.create(getUrl(ctx)).getHost();
+      assertEquals(newHosts, singletonList(host));
+      assertEquals(factory.getHosts(), singleton(host));
+      assertEquals(factory.getOpenedConnectionCount(host), 1);
+      assertEquals(factory.getInUseConnectionCount(host), 0);
+    } finally {
+      factory.shutdown();
+    }
+  }
+
+  @Filter
+  public static class EnvironmentFilter implements RequestFilter {
+
+    public void doFilter(GenericContainerRequest request) {
+      EnvironmentContext.getCurrent().setSubject(TEST_SUBJECT);
+    }
+  }
+
+  private String getUrl(ITestContext ctx) {
+    return "http://localhost:" + ctx.getAttribute(EverrestJetty.JETTY_PORT) + "/rest/test";
+  }
+}
@@ -11,9 +11,12 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -21,7 +24,6 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.util.Optional;
-import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -45,11 +47,9 @@ public class BasicWebSocketMessageTransmitterTest {
   @InjectMocks private BasicWebSocketMessageTransmitter transmitter;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Basic remote;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    lenient().when(session.getBasicRemote()).thenReturn(remote);
     when(session.isOpen()).thenReturn(true);
 
     when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
@@ -60,8 +60,7 @@ public class BasicWebSocketMessageTransmitterTest {
   public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session).getBasicRemote();
-    verify(remote).sendText(MESSAGE);
+    verify(reSender).send(ENDPOINT_ID, session, MESSAGE);
     verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
   }
 
@@ -71,8 +70,44 @@ public class BasicWebSocketMessageTransmitterTest {
 
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session, never()).getBasicRemote();
-    verify(remote, never()).sendText(MESSAGE);
+    verify(reSender, never()).send(ENDPOINT_ID, session, MESSAGE);
     verify(reSender).add(ENDPOINT_ID, MESSAGE);
   }
+
+  @Test
+  public void shouldSendUnderRegisteredIdWhenSessionIsFoundByPartialMatch() throws IOException {
+    doReturn(Optional.empty()).when(registry).get("partial");
+    when(registry.getByPartialMatch("partial")).thenReturn(singleton(session));
+    doReturn(Optional.of("partial<-:->client")).when(registry).get(session);
+
+    transmitter.transmit("partial", MESSAGE);
+
+    verify(reSender).send("partial<-:->client", session, MESSAGE);
+  }
+
+  @Test
+  public void shouldKeepUnderRegisteredIdWhenSessionFoundByPartialMatchIsClosed()
+      throws IOException {
+    when(session.isOpen()).thenReturn(false);
+    doReturn(Optional.empty()).when(registry).get("partial");
+    when(registry.getByPartialMatch("partial")).thenReturn(singleton(session));
+    doReturn(Optional.of("partial<-:->client")).when(registry).get(session);
+
+    transmitter.transmit("partial", MESSAGE);
+
+    verify(reSender).add("partial<-:->client", MESSAGE);
+  }
+
+  @Test
+  public void shouldBroadcastSameMessageToOpenSessionsAndAddToPendingForOthers()
+      throws IOException {
+    doReturn(Optional.empty()).when(registry).get("closed");
+    when(registry.getByPartialMatch("closed")).thenReturn(emptySet());
+
+    transmitter.broadcast(asList(ENDPOINT_ID, "closed"), MESSAGE);
+
+    verify(reSender).send(ENDPOINT_ID, session, MESSAGE);
+    verify(reSender).add("closed", MESSAGE);
+    verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
+  }
 }
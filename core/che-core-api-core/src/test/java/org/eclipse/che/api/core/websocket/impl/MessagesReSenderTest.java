@@ -11,16 +11,23 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static org.eclipse.che.api.core.websocket.impl.MessagesReSender.NO_SEQUENCE;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
+import java.io.IOException;
 import java.util.Optional;
 import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -38,112 +45,203 @@ public class MessagesReSenderTest {
   private static final String ENDPOINT_ID = "id";
 
   @Mock private WebSocketSessionRegistry sessionRegistry;
-  @InjectMocks private MessagesReSender reSender;
+  private MessagesReSender reSender;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Async endpoint;
+  @Mock private RemoteEndpoint.Basic endpoint;
 
   @BeforeMethod
   public void beforeMethod() {
-    when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-    when(session.getAsyncRemote()).thenReturn(endpoint);
-    when(session.isOpen()).thenReturn(true);
-  }
+    lenient().when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
+    lenient().when(session.getBasicRemote()).thenReturn(endpoint);
+    lenient().when(session.isOpen()).thenReturn(true);
 
-  @BeforeMethod
-  public void before() {
     reSender = new MessagesReSender(sessionRegistry);
   }
 
   @Test
-  public void shouldStopIfSessionIsNotRegistered() {
-    when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
-
+  public void shouldResendKeptMessagesAndRegisterSession() throws Exception {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
-    reSender.resend(ENDPOINT_ID);
+    reSender.resend(ENDPOINT_ID, session, NO_SEQUENCE);
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
+    InOrder inOrder = inOrder(endpoint, sessionRegistry);
+    inOrder.verify(endpoint).sendText(MESSAGE);
+    inOrder.verify(sessionRegistry).add(ENDPOINT_ID, session);
   }
 
   @Test
-  public void shouldKeepMessagesIfSessionIsClosed() {
+  public void shouldKeepMessagesIfSessionIsClosed() throws Exception {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
     when(session.isOpen()).thenReturn(false);
-    reSender.resend(ENDPOINT_ID);
+    reSender.resend(ENDPOINT_ID, session, NO_SEQUENCE);
 
-    verify(session, never()).getAsyncRemote();
     verify(endpoint, never()).sendText(MESSAGE);
 
     when(session.isOpen()).thenReturn(true);
-    reSender.resend(ENDPOINT_ID);
+    reSender.resend(ENDPOINT_ID, session, NO_SEQUENCE);
 
-    verify(session).getAsyncRemote();
     verify(endpoint).sendText(MESSAGE);
   }
 
   @Test
-  public void shouldProperlyAddForSingleEndpoint() {
+  public void shouldKeepMessagesIfSendingFails() throws Exception {
     reSender.add(ENDPOINT_ID, MESSAGE);
+    reSender.add(ENDPOINT_ID, "second");
+
+    doThrow(new IOException("closed")).when(endpoint).sendText(MESSAGE);
+    reSender.resend(ENDPOINT_ID, session, NO_SEQUENCE);
+
+    verify(endpoint, never()).sendText("second");
+
+    doNothing().when(endpoint).sendText(MESSAGE);
+    reSender.resend(ENDPOINT_ID, session, NO_SEQUENCE);
+
+    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(endpoint).sendText("second");
+  }
 
-    reSender.resend(ENDPOINT_ID);
+  @Test
+  public void shouldNotResendSentMessagesIfClientDoesNotPassLastSequence() throws Exception {
+    reSender.send(ENDPOINT_ID, session, MESSAGE);
+    reSender.add(ENDPOINT_ID, "kept");
+
+    reSender.resend(ENDPOINT_ID, session, NO_SEQUENCE);
+    reSender.resend(ENDPOINT_ID, session, NO_SEQUENCE);
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
     verify(endpoint).sendText(MESSAGE);
+    verify(endpoint).sendText("kept");
   }
 
   @Test
-  public void shouldProperlyAddForSeveralEndpoints() {
-    reSender.add(ENDPOINT_ID, MESSAGE);
-    reSender.add("1", MESSAGE);
+  public void shouldResendEverythingAfterLastSequence() throws Exception {
+    reSender.send(ENDPOINT_ID, session, "1");
+    reSender.send(ENDPOINT_ID, session, "2");
+    reSender.send(ENDPOINT_ID, session, "3");
+    reSender.add(ENDPOINT_ID, "4");
+
+    reSender.resend(ENDPOINT_ID, session, 1);
+
+    InOrder inOrder = inOrder(endpoint);
+    inOrder.verify(endpoint).sendText("1");
+    inOrder.verify(endpoint).sendText("2");
+    inOrder.verify(endpoint).sendText("3");
+    inOrder.verify(endpoint).sendText("2");
+    inOrder.verify(endpoint).sendText("3");
+    inOrder.verify(endpoint).sendText("4");
+    assertEquals(reSender.getNextSequence(ENDPOINT_ID), 5);
+  }
 
-    reSender.resend(ENDPOINT_ID);
-    reSender.resend("1");
+  @Test
+  public void shouldNotResendAnythingIfClientHasSeenEverything() throws Exception {
+    reSender.send(ENDPOINT_ID, session, MESSAGE);
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    reSender.resend(ENDPOINT_ID, session, 1);
+
+    verify(endpoint).sendText(MESSAGE);
+    verify(sessionRegistry).add(ENDPOINT_ID, session);
+  }
+
+  @Test
+  public void shouldReportGapIfMessagesAreEvictedBySize() throws Exception {
+    reSender.setMaxSize(1);
+    String message = new String(new char[400]).replace('\0', 'x');
+    reSender.add(ENDPOINT_ID, message);
+    reSender.add(ENDPOINT_ID, message);
+    reSender.add(ENDPOINT_ID, message);
+    reSender.add(ENDPOINT_ID, "last");
+
+    reSender.resend(ENDPOINT_ID, session, 0);
+
+    InOrder inOrder = inOrder(endpoint);
+    inOrder
+        .verify(endpoint)
+        .sendText(
+            "{\"jsonrpc\":\"2.0\",\"method\":\"websocket/replayGap\",\"params\":{\"from\":1,\"to\":1}}");
+    inOrder.verify(endpoint, times(2)).sendText(message);
+    inOrder.verify(endpoint).sendText("last");
+  }
+
+  @Test
+  public void shouldKeepTotalSizeOfAllEndpointsWithinBound() throws Exception {
+    reSender.setMaxTotalSize(1);
+    String message = new String(new char[400]).replace('\0', 'x');
+    reSender.add(ENDPOINT_ID, message);
+    reSender.add(ENDPOINT_ID, message);
+    reSender.add("1", message);
+    reSender.add("1", message);
+
+    reSender.resend("1", session, 0);
+
+    // endpoint "1" exceeds the total bound and drops its oldest message
+    assertEquals(reSender.getTotalSize(), 1200);
+    verify(endpoint)
+        .sendText(
+            "{\"jsonrpc\":\"2.0\",\"method\":\"websocket/replayGap\",\"params\":{\"from\":1,\"to\":1}}");
+    verify(endpoint).sendText(message);
   }
 
   @Test
-  public void shouldClearOnExtractionForSingleEndpoint() {
+  public void shouldReportGapIfMessagesAreEvictedByAge() throws Exception {
+    reSender.setMaxAge(0);
+    reSender.add(ENDPOINT_ID, MESSAGE);
     reSender.add(ENDPOINT_ID, MESSAGE);
+    Thread.sleep(10);
 
-    reSender.resend(ENDPOINT_ID);
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    reSender.resend(ENDPOINT_ID, session, 0);
+
+    verify(endpoint)
+        .sendText(
+            "{\"jsonrpc\":\"2.0\",\"method\":\"websocket/replayGap\",\"params\":{\"from\":1,\"to\":2}}");
+    verify(endpoint, never()).sendText(MESSAGE);
+  }
+
+  @Test
+  public void shouldReportUnknownGapAndContinueNumberingIfEndpointIsNotKnown() throws Exception {
+    reSender.resend(ENDPOINT_ID, session, 42);
+
+    verify(endpoint)
+        .sendText(
+            "{\"jsonrpc\":\"2.0\",\"method\":\"websocket/replayGap\",\"params\":{\"from\":43}}");
+    assertEquals(reSender.getNextSequence(ENDPOINT_ID), 43);
+  }
+
+  @Test
+  public void shouldSendAddedMessageIfSessionWasResumedInTheMeantime() throws Exception {
+    when(sessionRegistry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
+
+    reSender.add(ENDPOINT_ID, MESSAGE);
 
-    reSender.resend(ENDPOINT_ID);
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
     verify(endpoint).sendText(MESSAGE);
   }
 
   @Test
-  public void shouldClearOnExtractionForSeveralEndpoint() {
+  public void shouldKeepMessagesForSeveralEndpoints() throws Exception {
     reSender.add(ENDPOINT_ID, MESSAGE);
     reSender.add("1", MESSAGE);
 
-    reSender.resend(ENDPOINT_ID);
-    reSender.resend("1");
+    reSender.resend(ENDPOINT_ID, session, NO_SEQUENCE);
+    reSender.resend("1", session, NO_SEQUENCE);
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
+    verify(sessionRegistry).add(ENDPOINT_ID, session);
+    verify(sessionRegistry).add("1", session);
     verify(endpoint, times(2)).sendText(MESSAGE);
+    assertEquals(reSender.getNextSequence(ENDPOINT_ID), 2);
+    assertEquals(reSender.getNextSequence("1"), 2);
+  }
 
-    reSender.resend(ENDPOINT_ID);
-    reSender.resend("1");
+  @Test
+  public void shouldDropStaleBuffersOfDisconnectedEndpoints() throws Exception {
+    reSender.setMaxAge(0);
+    reSender.add(ENDPOINT_ID, MESSAGE);
+    reSender.add("connected", MESSAGE);
+    when(sessionRegistry.get("connected")).thenReturn(Optional.of(session));
+    Thread.sleep(10);
 
-    verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    reSender.cleanStaleMessages();
+
+    assertEquals(reSender.getNextSequence(ENDPOINT_ID), 1);
+    assertEquals(reSender.getNextSequence("connected"), 2);
   }
 }
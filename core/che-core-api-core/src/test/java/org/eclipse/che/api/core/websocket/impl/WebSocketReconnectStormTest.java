@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.websocket.CloseReason;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Reconnects many clients while messages are being transmitted to them and checks that the clients
+ * which resume with the last sequence number they've seen neither lose nor duplicate messages.
+ */
+public class WebSocketReconnectStormTest {
+  private static final String ENDPOINT = "storm";
+  private static final int CLIENTS = 20;
+  private static final int MESSAGES = 500;
+  private static final Pattern GAP =
+      Pattern.compile(".*\"method\":\"websocket/replayGap\".*\"from\":(\\d+)(,\"to\":(\\d+))?.*");
+
+  private WebSocketSessionRegistry registry;
+  private MessagesReSender reSender;
+  private BasicWebSocketMessageTransmitter transmitter;
+  private BasicWebSocketEndpoint endpoint;
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new WebSocketSessionRegistry();
+    reSender = new MessagesReSender(registry);
+    transmitter = new BasicWebSocketMessageTransmitter(registry, reSender);
+    endpoint =
+        new BasicWebSocketEndpoint(
+            registry, reSender, mock(WebSocketMessageReceiver.class), new WebsocketIdService()) {
+          @Override
+          protected String getEndpointId() {
+            return ENDPOINT;
+          }
+        };
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldDeliverEveryMessageOnceAndInOrderDuringReconnectStorm() throws Exception {
+    List<Client> clients = storm();
+
+    for (Client client : clients) {
+      assertTrue(client.gaps.isEmpty());
+      assertEquals(client.received.size(), MESSAGES);
+      for (int i = 0; i < MESSAGES; i++) {
+        assertEquals(client.received.get(i), client.id + ":" + i);
+      }
+    }
+  }
+
+  @Test
+  public void shouldReportEveryLostMessageAsGapDuringReconnectStorm() throws Exception {
+    reSender.setMaxSize(0);
+
+    List<Client> clients = storm();
+
+    boolean anyGap = false;
+    for (Client client : clients) {
+      // every message is either received with its own sequence number or reported as lost
+      boolean[] covered = new boolean[MESSAGES + 1];
+      for (long[] gap : client.gaps) {
+        for (long sequence = gap[0]; sequence <= gap[1]; sequence++) {
+          covered[(int) sequence] = true;
+        }
+        anyGap = true;
+      }
+      for (int i = 0; i < client.received.size(); i++) {
+        long sequence = client.sequences.get(i);
+        assertEquals(client.received.get(i), client.id + ":" + (sequence - 1));
+        assertTrue(!covered[(int) sequence], "Sequence " + sequence + " received twice");
+        covered[(int) sequence] = true;
+      }
+      for (int sequence = 1; sequence <= MESSAGES; sequence++) {
+        assertTrue(covered[sequence], "Sequence " + sequence + " is neither received nor lost");
+      }
+    }
+    assertTrue(anyGap);
+  }
+
+  private List<Client> storm() throws Exception {
+    List<Client> clients = new ArrayList<>();
+    for (int i = 0; i < CLIENTS; i++) {
+      clients.add(new Client("client" + i));
+    }
+
+    AtomicBoolean transmitting = new AtomicBoolean(true);
+    List<Future<?>> reconnects = new ArrayList<>();
+    for (Client client : clients) {
+      reconnects.add(
+          executor.submit(
+              () -> {
+                client.connect();
+                while (transmitting.get()) {
+                  client.blip();
+                  Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+                  client.connect();
+                  Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+                }
+                return null;
+              }));
+    }
+
+    for (int i = 0; i < MESSAGES; i++) {
+      for (Client client : clients) {
+        transmitter.transmit(client.combinedId, client.id + ":" + i);
+      }
+      if (i % 50 == 0) {
+        Thread.sleep(1);
+      }
+    }
+    transmitting.set(false);
+    for (Future<?> reconnect : reconnects) {
+      reconnect.get(30, TimeUnit.SECONDS);
+    }
+
+    // the last connection may have been broken as well
+    for (Client client : clients) {
+      client.blip();
+      client.connect();
+    }
+    return clients;
+  }
+
+  /** Client side of a connection, counts received messages to know its last sequence number. */
+  private class Client {
+    private final String id;
+    private final String combinedId;
+    private final List<String> received = new ArrayList<>();
+    private final List<Long> sequences = new ArrayList<>();
+    private final List<long[]> gaps = new ArrayList<>();
+
+    private long lastSequence;
+    private Session session;
+    private AtomicBoolean connected;
+
+    private Client(String id) {
+      this.id = id;
+      this.combinedId = new WebsocketIdService().getCombinedId(ENDPOINT, id);
+    }
+
+    private void connect() throws IOException {
+      AtomicBoolean connected = new AtomicBoolean(true);
+      Session session = mock(Session.class);
+      RemoteEndpoint.Basic remote = mock(RemoteEndpoint.Basic.class);
+      when(session.isOpen()).thenAnswer(invocation -> connected.get());
+      when(session.getBasicRemote()).thenReturn(remote);
+      doAnswer(
+              invocation -> {
+                receive(connected, invocation.getArgument(0));
+                return null;
+              })
+          .when(remote)
+          .sendText(anyString());
+      synchronized (this) {
+        when(session.getQueryString()).thenReturn("clientId=" + id + "&lastSeq=" + lastSequence);
+        this.session = session;
+        this.connected = connected;
+      }
+      endpoint.onOpen(session);
+    }
+
+    /** Breaks the connection, nothing is received over it afterwards. */
+    private void blip() {
+      Session session;
+      synchronized (this) {
+        session = this.session;
+        this.connected.set(false);
+      }
+      endpoint.onClose(new CloseReason(CloseReason.CloseCodes.CLOSED_ABNORMALLY, "blip"), session);
+    }
+
+    private synchronized void receive(AtomicBoolean connected, String message) throws IOException {
+      if (!connected.get()) {
+        throw new IOException("Connection is broken");
+      }
+      Matcher gap = GAP.matcher(message);
+      if (gap.matches()) {
+        long from = Long.parseLong(gap.group(1));
+        long to = gap.group(3) == null ? lastSequence : Long.parseLong(gap.group(3));
+        gaps.add(new long[] {from, to});
+        lastSequence = to;
+      } else {
+        received.add(message);
+        sequences.add(++lastSequence);
+      }
+    }
+  }
+}
@@ -12,7 +12,6 @@
 package org.eclipse.che.dto.generator;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableList;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.io.StringWriter;
@@ -20,6 +19,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -46,7 +47,7 @@ abstract class DtoImpl {
     this.dtoInterface = dtoInterface;
     this.implClassName = dtoInterface.getSimpleName() + "Impl";
     this.compactJson = DtoTemplate.implementsInterface(dtoInterface, CompactJsonDto.class);
-    this.dtoMethods = ImmutableList.copyOf(calcDtoMethods());
+    this.dtoMethods = Collections.unmodifiableList(Arrays.asList(calcDtoMethods()));
   }
 
   protected boolean isCompactJson() {
@@ -184,6 +185,19 @@ abstract class DtoImpl {
     return getters.keySet();
   }
 
+  /**
+   * Get the getters which fields are declared by the implementation of the given DTO itself rather
+   * than inherited from the implementation of its super DTO. The getters are returned in the same
+   * order as the fields are declared.
+   */
+  protected List<Method> getOwnFieldGetters(Class<?> dto) {
+    final Map<String, Method> getters = new HashMap<>();
+    addDtoGetters(dto, getters);
+    addSuperGetters(dto, getters);
+    getters.keySet().removeAll(getSuperGetterNames(dto));
+    return new ArrayList<>(getters.values());
+  }
+
   /**
    * Adds all getters from parent <b>NOT DTO</b> interfaces for given {@code dto} interface. Does
    * not add method when it is already present in getters map.
@@ -362,8 +376,9 @@ abstract class DtoImpl {
    *
    * <p>
    *
-   * <p>For compact DTO (see {@link org.eclipse.che.dto.shared.CompactJsonDto}) methods are ordered
-   * corresponding to {@link org.eclipse.che.dto.shared.SerializationIndex} annotation.
+   * <p>For compact DTO (see {@link org.eclipse.che.dto.shared.CompactJsonDto}) only getters are
+   * returned, ordered corresponding to {@link org.eclipse.che.dto.shared.SerializationIndex}
+   * annotation.
    *
    * <p>
    *
@@ -381,6 +396,10 @@ abstract class DtoImpl {
     Map<Integer, Method> methodsMap = new HashMap<>();
     int maxIndex = 0;
     for (Method method : dtoInterface.getMethods()) {
+      // only the getters are serialized, setters and withers may be declared without an index
+      if (method.isDefault() || !isDtoGetter(method)) {
+        continue;
+      }
       SerializationIndex serializationIndex = method.getAnnotation(SerializationIndex.class);
       Preconditions.checkNotNull(
           serializationIndex,
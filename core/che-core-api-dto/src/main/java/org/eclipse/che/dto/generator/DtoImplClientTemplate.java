@@ -293,7 +293,7 @@ public class DtoImplClientTemplate extends DtoImpl {
   }
 
   private void emitDelegateMethods(StringBuilder builder) {
-    for (Method method : getDtoMethods()) {
+    for (Method method : getDtoInterface().getMethods()) {
       DelegateTo delegateTo = method.getAnnotation(DelegateTo.class);
       if (delegateTo != null) {
         DelegateRule serverRule = delegateTo.server();
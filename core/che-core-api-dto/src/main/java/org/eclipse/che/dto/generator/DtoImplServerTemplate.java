@@ -21,14 +21,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.eclipse.che.dto.server.DtoFieldAdapter;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
+import org.eclipse.che.dto.shared.CompactJsonDto;
 import org.eclipse.che.dto.shared.DTOImpl;
 import org.eclipse.che.dto.shared.DelegateRule;
 import org.eclipse.che.dto.shared.DelegateTo;
 import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
+import org.eclipse.che.dto.shared.SerializationIndex;
 
 /** Generates the source code for a generated Server DTO impl. */
 public class DtoImplServerTemplate extends DtoImpl {
@@ -36,6 +39,10 @@ public class DtoImplServerTemplate extends DtoImpl {
   private static final String JSON_MAP_IMPL = JsonStringMapImpl.class.getCanonicalName();
   private static final String SERVER_DTO_MARKER =
       "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
+  private static final String FIELD_ADAPTER = DtoFieldAdapter.class.getCanonicalName();
+
+  /** The name of the type adapter class nested into each of the generated implementations. */
+  static final String TYPE_ADAPTER_CLASS_NAME = "JsonTypeAdapter";
 
   DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
     super(template, superInterface);
@@ -70,6 +77,7 @@ public class DtoImplServerTemplate extends DtoImpl {
     emitSerializer(methods, builder);
     emitDeserializer(methods, builder);
     emitDeserializerShortcut(builder);
+    emitTypeAdapter(builder);
     emitCopyConstructor(methods, builder);
     // Delegation DTO methods.
     emitDelegateMethods(builder);
@@ -377,6 +385,254 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append("    }\n\n");
   }
 
+  /**
+   * Generates a gson type adapter that reads and writes the fields of the implementation directly
+   * with the streaming API, without building JSON trees or using reflection. The adapter is
+   * supplied to the DTO factory by the provider of the implementation, see {@link
+   * DtoTemplate#toString()}.
+   *
+   * <p>Adapters of {@link CompactJsonDto compact DTOs} can also write the compact form, which is a
+   * JSON array of the field values ordered by their {@link SerializationIndex serialization index}.
+   * Both forms are accepted when reading.
+   */
+  private void emitTypeAdapter(StringBuilder builder) {
+    // the fields are declared by this implementation and the implementations it extends,
+    // the getters of the declaring DTOs define the field types and the JSON names
+    List<Method> fieldGetters = new ArrayList<>();
+    Set<String> fieldNames = new HashSet<>();
+    Set<String> jsonFieldNames = new HashSet<>();
+    for (Class<?> dto = getDtoInterface(); dto != null; dto = getSuperDtoInterface(dto)) {
+      for (Method getter : getOwnFieldGetters(dto)) {
+        if (fieldNames.add(getJavaFieldName(getter.getName()))
+            && jsonFieldNames.add(getJsonFieldName(getter))) {
+          fieldGetters.add(getter);
+        }
+      }
+    }
+    String implClassName = getImplClassName();
+
+    builder
+        .append("    public static final class ")
+        .append(TYPE_ADAPTER_CLASS_NAME)
+        .append(" extends com.google.gson.TypeAdapter<")
+        .append(implClassName)
+        .append("> {\n");
+    if (isCompactJson()) {
+      builder.append("      private final boolean $compact;\n");
+    }
+    for (Method getter : fieldGetters) {
+      builder
+          .append("      private final ")
+          .append(FIELD_ADAPTER)
+          .append("<")
+          .append(getFieldAdapterTypeName(getter.getGenericReturnType()))
+          .append("> ")
+          .append(getJavaFieldName(getter.getName()))
+          .append(";\n");
+    }
+    builder.append("\n");
+
+    builder
+        .append("      public ")
+        .append(TYPE_ADAPTER_CLASS_NAME)
+        .append("(com.google.gson.Gson gson, boolean compact) {\n");
+    if (isCompactJson()) {
+      builder.append("        this.$compact = compact;\n");
+    }
+    for (Method getter : fieldGetters) {
+      builder
+          .append("        this.")
+          .append(getJavaFieldName(getter.getName()))
+          .append(" = new ")
+          .append(FIELD_ADAPTER)
+          .append("<>(gson, ")
+          .append(getTypeExpression(getter.getGenericReturnType()))
+          .append(");\n");
+    }
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder
+        .append("      public void write(com.google.gson.stream.JsonWriter out, ")
+        .append(implClassName)
+        .append(" value) throws java.io.IOException {\n");
+    builder.append("        if (value == null) {\n");
+    builder.append("          out.nullValue();\n");
+    builder.append("          return;\n");
+    builder.append("        }\n");
+    if (isCompactJson()) {
+      builder.append("        if (this.$compact) {\n");
+      builder.append("          out.beginArray();\n");
+      for (Method method : getDtoMethods()) {
+        if (method == null || !fieldNames.contains(getJavaFieldName(method.getName()))) {
+          builder.append("          out.nullValue();\n");
+        } else {
+          String fieldName = getJavaFieldName(method.getName());
+          builder
+              .append("          this.")
+              .append(fieldName)
+              .append(".write(out, value.")
+              .append(fieldName)
+              .append(");\n");
+        }
+      }
+      builder.append("          out.endArray();\n");
+      builder.append("          return;\n");
+      builder.append("        }\n");
+    }
+    builder.append("        out.beginObject();\n");
+    for (Method getter : fieldGetters) {
+      String fieldName = getJavaFieldName(getter.getName());
+      builder
+          .append("        this.")
+          .append(fieldName)
+          .append(".writeField(out, ")
+          .append(quoteStringLiteral(getJsonFieldName(getter)))
+          .append(", value.")
+          .append(fieldName)
+          .append(");\n");
+    }
+    builder.append("        out.endObject();\n");
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder
+        .append("      public ")
+        .append(implClassName)
+        .append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+    builder.append("        if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+    builder.append("          in.nextNull();\n");
+    builder.append("          return null;\n");
+    builder.append("        }\n");
+    builder
+        .append("        ")
+        .append(implClassName)
+        .append(" value = new ")
+        .append(implClassName)
+        .append("();\n");
+    builder.append("        try {\n");
+    if (isCompactJson()) {
+      builder.append(
+          "          if (in.peek() == com.google.gson.stream.JsonToken.BEGIN_ARRAY) {\n");
+      builder.append("            in.beginArray();\n");
+      builder.append("            for (int index = 0; in.hasNext(); index++) {\n");
+      builder.append("              switch (index) {\n");
+      List<Method> dtoMethods = getDtoMethods();
+      for (int index = 0; index < dtoMethods.size(); index++) {
+        Method method = dtoMethods.get(index);
+        if (method != null && fieldNames.contains(getJavaFieldName(method.getName()))) {
+          builder.append("                case ").append(index).append(":\n");
+          emitReadField(method, "                  ", builder);
+        }
+      }
+      builder.append("                default:\n");
+      builder.append("                  in.skipValue();\n");
+      builder.append("              }\n");
+      builder.append("            }\n");
+      builder.append("            in.endArray();\n");
+      builder.append("            return value;\n");
+      builder.append("          }\n");
+    }
+    builder.append("          in.beginObject();\n");
+    builder.append("          while (in.hasNext()) {\n");
+    builder.append("            switch (in.nextName()) {\n");
+    for (Method getter : fieldGetters) {
+      builder
+          .append("              case ")
+          .append(quoteStringLiteral(getJsonFieldName(getter)))
+          .append(":\n");
+      emitReadField(getter, "                ", builder);
+    }
+    builder.append("              default:\n");
+    builder.append("                in.skipValue();\n");
+    builder.append("            }\n");
+    builder.append("          }\n");
+    builder.append("          in.endObject();\n");
+    builder.append("        } catch (IllegalStateException e) {\n");
+    builder.append("          throw new com.google.gson.JsonSyntaxException(e);\n");
+    builder.append("        }\n");
+    builder.append("        return value;\n");
+    builder.append("      }\n");
+    builder.append("    }\n\n");
+  }
+
+  /** Emits a switch case body of the type adapter that reads the value of the given getter. */
+  private void emitReadField(Method getter, String i, StringBuilder builder) {
+    String fieldName = getJavaFieldName(getter.getName());
+    Class<?> fieldType = getter.getReturnType();
+    if (fieldType.isPrimitive()) {
+      // keep the default value of a primitive field when the JSON value is null
+      builder
+          .append(i)
+          .append("{\n")
+          .append(i)
+          .append("  ")
+          .append(Primitives.wrap(fieldType).getCanonicalName())
+          .append(" v = this.")
+          .append(fieldName)
+          .append(".read(in);\n");
+      builder.append(i).append("  if (v != null) {\n");
+      builder.append(i).append("    value.").append(fieldName).append(" = v;\n");
+      builder.append(i).append("  }\n");
+      builder.append(i).append("  break;\n");
+      builder.append(i).append("}\n");
+    } else {
+      builder
+          .append(i)
+          .append("value.")
+          .append(fieldName)
+          .append(" = this.")
+          .append(fieldName)
+          .append(".read(in);\n");
+      builder.append(i).append("break;\n");
+    }
+  }
+
+  /** Returns the type argument of the field adapter for a field of the given type. */
+  private String getFieldAdapterTypeName(Type type) {
+    if (type instanceof Class<?> && ((Class<?>) type).isPrimitive()) {
+      return Primitives.wrap((Class<?>) type).getCanonicalName();
+    }
+    return getImplName(type, false);
+  }
+
+  /**
+   * Returns an expression that evaluates to the {@link Type} of a field of the given type, in
+   * accordance with {@link #getImplName(Type, boolean)}.
+   */
+  private String getTypeExpression(Type type) {
+    Class<?> rawClass = getRawClass(type);
+    String rawClassName;
+    List<String> typeArguments = new ArrayList<>();
+    if (rawClass == JsonArray.class) {
+      rawClassName = ArrayList.class.getCanonicalName();
+    } else if (rawClass == JsonStringMap.class) {
+      rawClassName = HashMap.class.getCanonicalName();
+      typeArguments.add(String.class.getCanonicalName() + ".class");
+    } else {
+      rawClassName = rawClass.getCanonicalName();
+    }
+
+    if (type instanceof Class<?>) {
+      return rawClassName + ".class";
+    } else if (type instanceof ParameterizedType) {
+      for (Type typeArgument : ((ParameterizedType) type).getActualTypeArguments()) {
+        typeArguments.add(getTypeExpression(typeArgument));
+      }
+      return "com.google.gson.reflect.TypeToken.getParameterized("
+          + rawClassName
+          + ".class, "
+          + String.join(", ", typeArguments)
+          + ").getType()";
+    } else {
+      throw new IllegalArgumentException(
+          "Can't build implementation of "
+              + getDtoInterface().getSimpleName()
+              + ". DtoGenerator does not handle this type "
+              + type.toString());
+    }
+  }
+
   private static StringBuilder appendNaiveCopyJsonExpression(
       String inValue, StringBuilder builder) {
     builder.append("((");
@@ -289,6 +289,16 @@ public class DtoTemplate {
             .append("            return new ")
             .append(dto.getImplClassName())
             .append("(origin);\n");
+        builder.append("        }\n\n");
+        builder
+            .append("        public com.google.gson.TypeAdapter<? extends ")
+            .append(dtoInterface)
+            .append("> createTypeAdapter(com.google.gson.Gson gson, boolean compact) {\n")
+            .append("            return new ")
+            .append(dto.getImplClassName())
+            .append(".")
+            .append(DtoImplServerTemplate.TYPE_ADAPTER_CLASS_NAME)
+            .append("(gson, compact);\n");
         builder.append("        }\n");
         builder.append("    });\n");
       }
@@ -41,6 +41,7 @@ import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
+import org.eclipse.che.dto.shared.CompactJsonDto;
 import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
@@ -52,6 +53,13 @@ import org.eclipse.che.dto.shared.JsonStringMap;
  */
 public final class DtoFactory {
 
+  /**
+   * Whether null or empty collections and maps of DTOs must be serialized as empty JSON arrays and
+   * objects instead of being omitted.
+   */
+  static final boolean LEGACY_JSON_SERIALIZATION =
+      Boolean.valueOf(System.getenv("CHE_LEGACY__DTO__JSON__SERIALIZATION"));
+
   private static final LoadingCache<Type, ParameterizedType> listTypeCache =
       CacheBuilder.newBuilder()
           .concurrencyLevel(16)
@@ -89,6 +97,17 @@ public final class DtoFactory {
     return dtoGson;
   }
 
+  /**
+   * Get a {@link Gson} serializer that writes DTOs implementing {@link CompactJsonDto} in the
+   * compact form, i.e. as JSON arrays of values ordered by the serialization index. Other DTOs are
+   * written the same way as by {@link #getGson()}. Both forms are accepted when reading.
+   *
+   * @return A Gson.
+   */
+  public Gson getCompactGson() {
+    return compactDtoGson;
+  }
+
   /**
    * Creates new instance of class which implements specified DTO interface.
    *
@@ -105,7 +124,10 @@ public final class DtoFactory {
   private final Map<Class<?>, DtoProvider<?>> dtoImpl2Providers = new ConcurrentHashMap<>();
   private final Gson dtoGson =
       buildDtoParser(
-          ServiceLoader.load(TypeAdapterFactory.class).iterator(), new DtoInterfaceTAF());
+          ServiceLoader.load(TypeAdapterFactory.class).iterator(), new DtoInterfaceTAF(false));
+  private final Gson compactDtoGson =
+      buildDtoParser(
+          ServiceLoader.load(TypeAdapterFactory.class).iterator(), new DtoInterfaceTAF(true));
 
   /**
    * Created deep copy of DTO object.
@@ -167,6 +189,19 @@ public final class DtoFactory {
     throw new IllegalArgumentException("JsonSerializable instance required. ");
   }
 
+  /**
+   * Serializes the DTO to JSON using the compact form for the DTOs implementing {@link
+   * CompactJsonDto}.
+   *
+   * @see #getCompactGson()
+   */
+  public <T> String toCompactJson(T dto) {
+    if (dto instanceof JsonSerializable) {
+      return compactDtoGson.toJson(dto);
+    }
+    throw new IllegalArgumentException("JsonSerializable instance required. ");
+  }
+
   public <T> JsonElement toJsonElement(T dto) {
     if (dto instanceof JsonSerializable) {
       return ((JsonSerializable) dto).toJsonElement();
@@ -429,12 +464,19 @@ public final class DtoFactory {
 
   /**
    * A specialization of Gson's {@link ReflectiveTypeAdapterFactory} delegates operation on DTO
-   * interfaces to the corresponding implementation classes. The implementation classes generated
-   * correctly by the DTO Gson.
+   * interfaces to the corresponding implementation classes. The implementation classes are
+   * serialized with the streaming adapters generated along with them, or reflectively if their
+   * provider doesn't supply one.
    *
    * @author tareq.sha@gmail.com
    */
   private class DtoInterfaceTAF implements TypeAdapterFactory {
+    private final boolean compact;
+
+    DtoInterfaceTAF(boolean compact) {
+      this.compact = compact;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
@@ -442,6 +484,10 @@ public final class DtoFactory {
       if (prov != null) {
         return (TypeAdapter<T>) gson.getAdapter(prov.getImplClass());
       }
+      prov = dtoImpl2Providers.get(type.getRawType());
+      if (prov != null && prov.getImplClass() == type.getRawType()) {
+        return (TypeAdapter<T>) prov.createTypeAdapter(gson, compact);
+      }
       return null;
     }
   }
@@ -503,7 +549,7 @@ public final class DtoFactory {
       builder.registerTypeAdapterFactory(factory);
     }
 
-    if (Boolean.valueOf(System.getenv("CHE_LEGACY__DTO__JSON__SERIALIZATION"))) {
+    if (LEGACY_JSON_SERIALIZATION) {
       builder.registerTypeAdapterFactory(
           new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()));
       builder.registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()));
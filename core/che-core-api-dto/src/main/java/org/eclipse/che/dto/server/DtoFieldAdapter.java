@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads and writes a single field of a server DTO implementation. Used by the streaming type
+ * adapters emitted by the DTO generator, so that they don't need to build intermediate JSON trees
+ * or access the fields reflectively.
+ *
+ * <p>Values are written the same way as Gson's reflective adapter writes them: the runtime type of
+ * the value is taken into account, collections and maps are omitted when they are null or empty (or
+ * written empty when the legacy serialization is enabled, see {@link
+ * DtoFactory#LEGACY_JSON_SERIALIZATION}).
+ *
+ * @param <T> the type of the field
+ */
+public final class DtoFieldAdapter<T> {
+
+  private final Gson gson;
+  private final Type type;
+  private final TypeAdapter<T> adapter;
+  private final boolean collection;
+  private final boolean map;
+  private final DtoFieldAdapter<Object> elementAdapter;
+
+  private volatile RuntimeTypeAdapter runtimeTypeAdapter;
+
+  /**
+   * Creates an adapter for the field of the given type.
+   *
+   * @param gson the DTO gson instance used to look up the adapters of the values
+   * @param type the declared type of the field
+   */
+  @SuppressWarnings("unchecked")
+  public DtoFieldAdapter(Gson gson, Type type) {
+    this.gson = gson;
+    this.type = type;
+    this.adapter = (TypeAdapter<T>) gson.getAdapter(TypeToken.get(type));
+
+    Class<?> rawType = TypeToken.get(type).getRawType();
+    this.collection = Collection.class.isAssignableFrom(rawType);
+    this.map = !collection && Map.class.isAssignableFrom(rawType);
+    if ((collection || map) && type instanceof ParameterizedType) {
+      Type[] typeArguments = ((ParameterizedType) type).getActualTypeArguments();
+      this.elementAdapter = new DtoFieldAdapter<>(gson, typeArguments[typeArguments.length - 1]);
+    } else {
+      this.elementAdapter = null;
+    }
+  }
+
+  /**
+   * Writes the field with the given name and value. Nothing is written if the value should be
+   * omitted from the JSON.
+   */
+  public void writeField(JsonWriter out, String name, T value) throws IOException {
+    if (elementAdapter == null) {
+      out.name(name);
+      write(out, value);
+    } else if (collection) {
+      writeCollection(out, name, (Collection<?>) value);
+    } else {
+      writeMap(out, name, (Map<?, ?>) value);
+    }
+  }
+
+  /** Writes the given value without a name, e.g. as an element of an array. */
+  public void write(JsonWriter out, T value) throws IOException {
+    adapterFor(value).write(out, value);
+  }
+
+  /** Reads the value of the field. */
+  public T read(JsonReader in) throws IOException {
+    return adapter.read(in);
+  }
+
+  private void writeCollection(JsonWriter out, String name, Collection<?> value)
+      throws IOException {
+    if ((value == null || value.isEmpty()) && !DtoFactory.LEGACY_JSON_SERIALIZATION) {
+      return;
+    }
+    out.name(name);
+    out.beginArray();
+    if (value != null) {
+      for (Object element : value) {
+        elementAdapter.write(out, element);
+      }
+    }
+    out.endArray();
+  }
+
+  private void writeMap(JsonWriter out, String name, Map<?, ?> value) throws IOException {
+    if ((value == null || value.isEmpty()) && !DtoFactory.LEGACY_JSON_SERIALIZATION) {
+      return;
+    }
+    out.name(name);
+    out.beginObject();
+    if (value != null) {
+      for (Map.Entry<?, ?> entry : value.entrySet()) {
+        out.name(String.valueOf(entry.getKey()));
+        elementAdapter.write(out, entry.getValue());
+      }
+    }
+    out.endObject();
+  }
+
+  /**
+   * Chooses the adapter for the value in the same manner as Gson does for the fields of
+   * reflectively serialized objects. The adapter of the runtime type is preferred unless it is a
+   * reflective one while the adapter of the declared type is not.
+   */
+  @SuppressWarnings("unchecked")
+  private TypeAdapter<T> adapterFor(T value) {
+    if (value == null || !(type instanceof Class) || value.getClass() == type) {
+      return adapter;
+    }
+    RuntimeTypeAdapter runtime = runtimeTypeAdapter;
+    if (runtime == null || runtime.type != value.getClass()) {
+      TypeAdapter<?> runtimeAdapter = gson.getAdapter(value.getClass());
+      if (runtimeAdapter instanceof ReflectiveTypeAdapterFactory.Adapter
+          && !(adapter instanceof ReflectiveTypeAdapterFactory.Adapter)) {
+        runtimeAdapter = adapter;
+      }
+      runtimeTypeAdapter = runtime = new RuntimeTypeAdapter(value.getClass(), runtimeAdapter);
+    }
+    return (TypeAdapter<T>) runtime.adapter;
+  }
+
+  private static final class RuntimeTypeAdapter {
+    final Class<?> type;
+    final TypeAdapter<?> adapter;
+
+    RuntimeTypeAdapter(Class<?> type, TypeAdapter<?> adapter) {
+      this.type = type;
+      this.adapter = adapter;
+    }
+  }
+}
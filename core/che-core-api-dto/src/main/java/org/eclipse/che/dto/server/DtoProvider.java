@@ -11,7 +11,9 @@
  */
 package org.eclipse.che.dto.server;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
 
 /**
  * Provides implementation of DTO interface.
@@ -28,4 +30,16 @@ public interface DtoProvider<DTO> {
   DTO newInstance();
 
   DTO clone(DTO origin);
+
+  /**
+   * Creates an adapter which reads and writes instances of the implementation class as JSON.
+   *
+   * @param gson the gson instance the adapter is created for
+   * @param compact whether the adapter should write the compact form of {@link
+   *     org.eclipse.che.dto.shared.CompactJsonDto compact DTOs}
+   * @return the adapter or null if the implementation should be serialized reflectively
+   */
+  default TypeAdapter<? extends DTO> createTypeAdapter(Gson gson, boolean compact) {
+    return null;
+  }
 }
@@ -18,9 +18,9 @@ package org.eclipse.che.dto.shared;
  *
  * <p>
  *
- * <p>Compact JSON has array as a root element. As a consequence GSON library throws an exception
- * when you try do deserialize JSON containing compact object as a root. Deserialize using {@link
- * com.google.gson.JsonElement} in such cases.
+ * <p>Compact JSON has array as a root element. On the server side the compact form is written by
+ * {@code DtoFactory#getCompactGson()}, while both compact and regular forms are accepted when
+ * reading.
  *
  * <p>
  *
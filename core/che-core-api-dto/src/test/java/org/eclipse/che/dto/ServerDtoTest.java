@@ -13,18 +13,25 @@ package org.eclipse.che.dto;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.eclipse.che.dto.definitions.CompactDto;
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
 import org.eclipse.che.dto.definitions.DTOHierarchy.GrandchildDto;
@@ -37,6 +44,9 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.NullOrEmptyCollectionAdapter;
+import org.eclipse.che.dto.server.NullOrEmptyMapAdapter;
+import org.eclipse.che.dto.server.SerializableInterfaceAdapterFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -468,4 +478,90 @@ public class ServerDtoTest {
     assertEquals(dto.getObjectMap().get("fooString"), fooString);
     assertEquals(dto.getObjectMap().get("fooRoundingDouble"), Math.round(fooRoundingDouble));
   }
+
+  @Test
+  public void shouldUseGeneratedTypeAdaptersForDtoImplementations() {
+    TypeAdapter<ComplicatedDto> adapter = dtoFactory.getGson().getAdapter(ComplicatedDto.class);
+
+    assertFalse(adapter instanceof ReflectiveTypeAdapterFactory.Adapter);
+    assertEquals(adapter.getClass().getSimpleName(), "JsonTypeAdapter");
+  }
+
+  @Test
+  public void shouldSerializeDtosSameAsReflectiveSerialization() {
+    Gson reflectiveGson =
+        new GsonBuilder()
+            .registerTypeHierarchyAdapter(Collection.class, new NullOrEmptyCollectionAdapter())
+            .registerTypeHierarchyAdapter(Map.class, new NullOrEmptyMapAdapter())
+            .registerTypeAdapterFactory(new SerializableInterfaceAdapterFactory())
+            .create();
+    SimpleDto simpleDto =
+        dtoFactory.createDto(SimpleDto.class).withName("name").withId(1).withDefault("default");
+    Map<String, SimpleDto> mapDtos = new HashMap<>();
+    mapDtos.put("first", simpleDto);
+    mapDtos.put("second", null);
+    ComplicatedDto complicatedDto =
+        dtoFactory
+            .createDto(ComplicatedDto.class)
+            .withStrings(new ArrayList<>())
+            .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+            .withMap(mapDtos)
+            .withSimpleDtos(asList(simpleDto, null))
+            .withArrayOfArrayOfEnum(
+                asList(asList(ComplicatedDto.SimpleEnum.ONE), new ArrayList<>(), null));
+    DtoWithAny dtoWithAny =
+        dtoFactory
+            .createDto(DtoWithAny.class)
+            .withStuff(createTestValueForAny())
+            .withObjects(createListTestValueForAny());
+    DtoWithFieldNames dtoWithFieldNames =
+        dtoFactory.createDto(DtoWithFieldNames.class).withTheName("name");
+    GrandchildDto grandchildDto = dtoFactory.createDto(GrandchildDto.class);
+    grandchildDto.setParentField("parent");
+    grandchildDto.setShadowedField(dtoFactory.createDto(GrandchildDto.class));
+
+    for (Object dto :
+        asList(simpleDto, complicatedDto, dtoWithAny, dtoWithFieldNames, grandchildDto)) {
+      assertEquals(
+          new JsonParser().parse(dtoFactory.toJson(dto)),
+          new JsonParser().parse(reflectiveGson.toJson(dto)));
+    }
+  }
+
+  @Test
+  public void shouldSkipUnknownFieldsAndKeepDefaultsOfPrimitivesWhenDeserializing() {
+    SimpleDto dto =
+        dtoFactory.createDtoFromJson(
+            "{\"unknown\":{\"a\":[1,2]},\"id\":null,\"name\":\"name\"}", SimpleDto.class);
+
+    assertEquals(dto.getId(), 0);
+    assertEquals(dto.getName(), "name");
+    assertNull(dto.getDefault());
+  }
+
+  @Test
+  public void shouldSerializeCompactDtoToJsonArrayOrderedBySerializationIndex() {
+    CompactDto dto =
+        dtoFactory.createDtoFromJson(
+            "{\"name\":\"name\",\"count\":5,\"tags\":[\"a\",\"b\"]}", CompactDto.class);
+
+    assertEquals(
+        new JsonParser().parse(dtoFactory.toCompactJson(dto)),
+        new JsonParser().parse("[\"name\",null,5,[\"a\",\"b\"]]"));
+    assertEquals(
+        new JsonParser().parse(dtoFactory.toJson(dto)),
+        new JsonParser().parse("{\"name\":\"name\",\"count\":5,\"tags\":[\"a\",\"b\"]}"));
+  }
+
+  @Test
+  public void shouldDeserializeCompactDtoFromJsonArray() {
+    CompactDto dto =
+        dtoFactory.createDtoFromJson(
+            "[\"name\",\"skipped\",5,[\"a\"],\"unknown\"]", CompactDto.class);
+
+    assertEquals(dto.getName(), "name");
+    assertEquals(dto.getCount(), 5);
+    assertEquals(dto.getTags(), asList("a"));
+    assertEquals(dto.withName("other").getName(), "other");
+  }
 }
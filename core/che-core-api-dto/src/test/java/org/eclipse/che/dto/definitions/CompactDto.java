@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.definitions;
+
+import java.util.List;
+import org.eclipse.che.dto.shared.CompactJsonDto;
+import org.eclipse.che.dto.shared.DTO;
+import org.eclipse.che.dto.shared.SerializationIndex;
+
+/**
+ * DTO for testing that the {@link org.eclipse.che.dto.generator.DtoGenerator} correctly generates
+ * server implementations supporting compact JSON form.
+ */
+@DTO
+public interface CompactDto extends CompactJsonDto {
+  @SerializationIndex(1)
+  String getName();
+
+  CompactDto withName(String name);
+
+  @SerializationIndex(3)
+  int getCount();
+
+  @SerializationIndex(4)
+  List<String> getTags();
+}
@@ -20,6 +20,7 @@ import org.eclipse.che.core.db.jpa.JpaInitializer;
 import org.eclipse.che.core.db.jpa.eclipselink.GuiceEntityListenerInjectionManager;
 import org.eclipse.che.core.db.schema.SchemaInitializationException;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
+import org.eclipse.che.inject.InitializeFirst;
 import org.eclipse.persistence.internal.sessions.AbstractSession;
 
 /**
@@ -48,6 +49,7 @@ import org.eclipse.persistence.internal.sessions.AbstractSession;
  * @author Yevhenii Voevodin
  */
 @Singleton
+@InitializeFirst
 public class DBInitializer {
 
   /**
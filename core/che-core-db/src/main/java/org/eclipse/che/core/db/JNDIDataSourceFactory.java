@@ -13,6 +13,7 @@ package org.eclipse.che.core.db;
 
 import static org.apache.tomcat.dbcp.dbcp2.BasicDataSourceFactory.createDataSource;
 import static org.eclipse.che.core.db.TracingDataSource.wrapWithTracingIfEnabled;
+import static org.eclipse.che.core.db.metrics.MeteredDataSource.wrapWithMetricsIfEnabled;
 
 import java.util.Hashtable;
 import java.util.Properties;
@@ -54,7 +55,9 @@ public abstract class JNDIDataSourceFactory implements ObjectFactory {
     poolConfigurationProperties.setProperty("maxTotal", maxTotal);
     poolConfigurationProperties.setProperty("maxIdle", maxIdle);
     poolConfigurationProperties.setProperty("maxWaitMillis", maxWaitMillis);
-    dataSource = wrapWithTracingIfEnabled(createDataSource(poolConfigurationProperties));
+    dataSource =
+        wrapWithTracingIfEnabled(
+            wrapWithMetricsIfEnabled(createDataSource(poolConfigurationProperties)));
   }
 
   @Override
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+
+/**
+ * Wraps a pooled {@link DataSource} and exposes the state of its connection pool and the time spent
+ * on acquiring connections from it. Nothing is recorded until the data source is bound to a {@link
+ * MeterRegistry}.
+ *
+ * <p>The data source is usually created by the servlet container from JNDI configuration outside of
+ * the Guice context, so it should be found with {@link DataSource#unwrap(Class)} and bound by a
+ * metrics component.
+ */
+public class MeteredDataSource implements DataSource, MeterBinder {
+
+  private final DataSource delegate;
+  private final AtomicInteger pendingConnections;
+
+  private volatile Timer acquisitionTimer;
+
+  public MeteredDataSource(DataSource delegate) {
+    this.delegate = delegate;
+    this.pendingConnections = new AtomicInteger();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("che.db.pool.pending", pendingConnections, AtomicInteger::get)
+        .tags("area", "database")
+        .description("The number of threads waiting for a database connection")
+        .register(registry);
+
+    if (delegate instanceof BasicDataSource) {
+      BasicDataSource pool = (BasicDataSource) delegate;
+      Gauge.builder("che.db.pool.active", pool, BasicDataSource::getNumActive)
+          .tags("area", "database")
+          .description("The number of database connections currently borrowed from the pool")
+          .register(registry);
+      Gauge.builder("che.db.pool.idle", pool, BasicDataSource::getNumIdle)
+          .tags("area", "database")
+          .description("The number of idle database connections in the pool")
+          .register(registry);
+      Gauge.builder("che.db.pool.max", pool, BasicDataSource::getMaxTotal)
+          .tags("area", "database")
+          .description("The maximum number of database connections in the pool")
+          .register(registry);
+    }
+
+    acquisitionTimer =
+        Timer.builder("che.db.connection.acquire")
+            .tags("area", "database")
+            .description("The time spent on acquiring a database connection")
+            .register(registry);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    long start = System.nanoTime();
+    pendingConnections.incrementAndGet();
+    try {
+      return delegate.getConnection();
+    } finally {
+      pendingConnections.decrementAndGet();
+      recordAcquisition(start);
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    long start = System.nanoTime();
+    pendingConnections.incrementAndGet();
+    try {
+      return delegate.getConnection(username, password);
+    } finally {
+      pendingConnections.decrementAndGet();
+      recordAcquisition(start);
+    }
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    return delegate.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || delegate.isWrapperFor(iface);
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return delegate.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    delegate.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    delegate.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return delegate.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return delegate.getParentLogger();
+  }
+
+  private void recordAcquisition(long start) {
+    Timer timer = acquisitionTimer;
+    if (timer != null) {
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  public static DataSource wrapWithMetricsIfEnabled(DataSource dataSource) {
+    return Boolean.valueOf(System.getenv("CHE_METRICS_ENABLED"))
+        ? new MeteredDataSource(dataSource)
+        : dataSource;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.Record;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * EclipseLink session profiler which records execution time of the queries grouped by the query
+ * name, e.g. {@code Workspace.getByNamespace}, and logs the queries which take longer than the
+ * configured threshold. Queries without a name are grouped by the query type.
+ */
+public class QueryMetricsProfiler extends SessionProfilerAdapter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(QueryMetricsProfiler.class);
+
+  private final MeterRegistry registry;
+  private final long slowQueryThresholdNanos;
+  private final ConcurrentMap<String, Timer> timers;
+
+  /**
+   * Creates the profiler.
+   *
+   * @param registry registry to record query timers to
+   * @param slowQueryThresholdMillis queries executed longer than this value are logged, the logging
+   *     is disabled when the value is not positive
+   */
+  public QueryMetricsProfiler(MeterRegistry registry, long slowQueryThresholdMillis) {
+    this.registry = registry;
+    this.slowQueryThresholdNanos =
+        slowQueryThresholdMillis > 0
+            ? TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis)
+            : Long.MAX_VALUE;
+    this.timers = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public Object profileExecutionOfQuery(DatabaseQuery query, Record row, AbstractSession session) {
+    long start = System.nanoTime();
+    try {
+      return super.profileExecutionOfQuery(query, row, session);
+    } finally {
+      long duration = System.nanoTime() - start;
+      String name = getQueryName(query);
+      timers.computeIfAbsent(name, this::createTimer).record(duration, TimeUnit.NANOSECONDS);
+      if (duration > slowQueryThresholdNanos) {
+        LOG.warn(
+            "Slow query '{}' executed in {} ms. SQL: {}",
+            name,
+            TimeUnit.NANOSECONDS.toMillis(duration),
+            query.getSQLString());
+      }
+    }
+  }
+
+  @Override
+  public int getProfileWeight() {
+    return NORMAL;
+  }
+
+  private Timer createTimer(String name) {
+    return Timer.builder("che.db.query")
+        .tags("query", name, "area", "database")
+        .description("Execution time of the database queries")
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofMillis(1))
+        .maximumExpectedValue(Duration.ofSeconds(30))
+        .register(registry);
+  }
+
+  private static String getQueryName(DatabaseQuery query) {
+    String name = query.getName();
+    if (name == null || name.isEmpty()) {
+      return query.getClass().getSimpleName();
+    }
+    return name;
+  }
+}
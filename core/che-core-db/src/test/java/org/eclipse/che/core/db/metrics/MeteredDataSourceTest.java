@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.metrics;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class MeteredDataSourceTest {
+
+  @Mock private DataSource dataSource;
+  @Mock private Connection connection;
+
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  public void shouldRecordConnectionAcquisition() throws Exception {
+    when(dataSource.getConnection()).thenReturn(connection);
+    MeteredDataSource metered = new MeteredDataSource(dataSource);
+    metered.bindTo(registry);
+
+    assertSame(metered.getConnection(), connection);
+    assertSame(metered.getConnection(), connection);
+
+    assertEquals(registry.get("che.db.connection.acquire").timer().count(), 2);
+  }
+
+  @Test
+  public void shouldRecordConnectionAcquisitionWithCredentials() throws Exception {
+    when(dataSource.getConnection(anyString(), anyString())).thenReturn(connection);
+    MeteredDataSource metered = new MeteredDataSource(dataSource);
+    metered.bindTo(registry);
+
+    assertSame(metered.getConnection("user", "password"), connection);
+
+    assertEquals(registry.get("che.db.connection.acquire").timer().count(), 1);
+  }
+
+  @Test
+  public void shouldNotFailWhenNotBoundToRegistry() throws Exception {
+    when(dataSource.getConnection()).thenReturn(connection);
+    MeteredDataSource metered = new MeteredDataSource(dataSource);
+
+    assertSame(metered.getConnection(), connection);
+  }
+
+  @Test
+  public void shouldCountThreadsWaitingForConnection() throws Exception {
+    CountDownLatch acquiring = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    doAnswer(
+            inv -> {
+              acquiring.countDown();
+              release.await();
+              return connection;
+            })
+        .when(dataSource)
+        .getConnection();
+    MeteredDataSource metered = new MeteredDataSource(dataSource);
+    metered.bindTo(registry);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Connection> future = executor.submit(() -> metered.getConnection());
+      assertTrue(acquiring.await(10, TimeUnit.SECONDS));
+
+      assertEquals(registry.get("che.db.pool.pending").gauge().value(), 1.0);
+
+      release.countDown();
+      assertSame(future.get(10, TimeUnit.SECONDS), connection);
+      assertEquals(registry.get("che.db.pool.pending").gauge().value(), 0.0);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldExposeConnectionPoolState() throws Exception {
+    BasicDataSource pool = new BasicDataSource();
+    pool.setDriverClassName("org.h2.Driver");
+    pool.setUrl("jdbc:h2:mem:metered-ds");
+    pool.setMaxTotal(5);
+    MeteredDataSource metered = new MeteredDataSource(pool);
+    metered.bindTo(registry);
+
+    try (Connection ignored = metered.getConnection()) {
+      assertEquals(registry.get("che.db.pool.active").gauge().value(), 1.0);
+      assertEquals(registry.get("che.db.pool.max").gauge().value(), 5.0);
+    } finally {
+      assertEquals(registry.get("che.db.pool.idle").gauge().value(), 1.0);
+      pool.close();
+    }
+  }
+
+  @Test
+  public void shouldBeUnwrappable() throws SQLException {
+    MeteredDataSource metered = new MeteredDataSource(dataSource);
+
+    assertSame(metered.unwrap(MeteredDataSource.class), metered);
+    assertTrue(metered.isWrapperFor(MeteredDataSource.class));
+  }
+}
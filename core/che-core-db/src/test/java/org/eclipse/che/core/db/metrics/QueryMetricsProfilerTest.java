@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.metrics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.ReadAllQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class QueryMetricsProfilerTest {
+
+  @Mock private AbstractSession session;
+
+  private MeterRegistry registry;
+  private QueryMetricsProfiler profiler;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    profiler = new QueryMetricsProfiler(registry, 1000);
+  }
+
+  @Test
+  public void shouldRecordExecutionOfNamedQuery() {
+    ReadAllQuery query = new ReadAllQuery();
+    query.setName("Workspace.getByNamespace");
+    Object result = new Object();
+    when(session.internalExecuteQuery(eq(query), any())).thenReturn(result);
+
+    assertEquals(profiler.profileExecutionOfQuery(query, null, session), result);
+    profiler.profileExecutionOfQuery(query, null, session);
+
+    assertEquals(
+        registry
+            .get("che.db.query")
+            .tags("query", "Workspace.getByNamespace", "area", "database")
+            .timer()
+            .count(),
+        2);
+  }
+
+  @Test
+  public void shouldGroupUnnamedQueriesByType() {
+    profiler.profileExecutionOfQuery(new ReadAllQuery(), null, session);
+
+    assertEquals(registry.get("che.db.query").tags("query", "ReadAllQuery").timer().count(), 1);
+  }
+
+  @Test
+  public void shouldRecordFailedQueries() {
+    ReadAllQuery query = new ReadAllQuery();
+    query.setName("Workspace.getAll");
+    when(session.internalExecuteQuery(eq(query), any())).thenThrow(new IllegalStateException());
+
+    try {
+      profiler.profileExecutionOfQuery(query, null, session);
+    } catch (IllegalStateException ignored) {
+    }
+
+    assertEquals(registry.get("che.db.query").tags("query", "Workspace.getAll").timer().count(), 1);
+  }
+
+  @Test
+  public void shouldBeEnabledInSession() {
+    assertEquals(profiler.getProfileWeight(), SessionProfiler.NORMAL);
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.metrics;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+/**
+ * Metric binding for Che API requests grouped by HTTP method and path template of the invoked
+ * resource method, so the number of time series is bounded by the number of API methods.
+ *
+ * <p>By default only the request count, total and max duration and the number of in-flight requests
+ * are recorded. When detailed metrics are enabled, request durations are published as percentile
+ * histograms and request and response body sizes are recorded as well.
+ */
+@Singleton
+public class ApiRequestMetrics implements MeterBinder {
+
+  static final String DURATION_METRIC = "che.server.api.request.duration";
+  static final String ACTIVE_METRIC = "che.server.api.request.active";
+  static final String REQUEST_SIZE_METRIC = "che.server.api.request.size";
+  static final String RESPONSE_SIZE_METRIC = "che.server.api.response.size";
+
+  private final boolean detailed;
+  private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, AtomicInteger> activeRequests = new ConcurrentHashMap<>();
+
+  private volatile MeterRegistry registry;
+
+  @Inject
+  public ApiRequestMetrics(@Named("che.metrics.api.detailed") boolean detailed) {
+    this.detailed = detailed;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /** Returns true if request and response body sizes should be recorded. */
+  public boolean isDetailed() {
+    return detailed;
+  }
+
+  /**
+   * Called when the resource method matching the request is about to be invoked.
+   *
+   * @return true if the request is counted as in-flight, false if metrics are not bound yet
+   */
+  public boolean requestStarted(String method, String pathTemplate) {
+    AtomicInteger active = getActiveRequests(method, pathTemplate);
+    if (active == null) {
+      return false;
+    }
+    active.incrementAndGet();
+    return true;
+  }
+
+  /**
+   * Called when the request handled by the resource method is completed.
+   *
+   * @param method HTTP method of the request
+   * @param pathTemplate path template of the invoked resource method
+   * @param started whether {@link #requestStarted} counted the request as in-flight
+   * @param status HTTP status of the response
+   * @param durationNanos request processing duration in nanoseconds
+   * @param requestSize size of the request body or negative value if it is unknown
+   * @param responseSize size of the response body or negative value if it is unknown
+   */
+  public void requestCompleted(
+      String method,
+      String pathTemplate,
+      boolean started,
+      int status,
+      long durationNanos,
+      long requestSize,
+      long responseSize) {
+    MeterRegistry registry = this.registry;
+    if (registry == null) {
+      return;
+    }
+    if (started) {
+      getActiveRequests(method, pathTemplate).decrementAndGet();
+    }
+    String code = (status / 100) + "xx";
+    timers
+        .computeIfAbsent(
+            method + ' ' + pathTemplate + ' ' + code,
+            k -> {
+              Timer.Builder builder =
+                  Timer.builder(DURATION_METRIC)
+                      .description("Che Server API requests processing duration")
+                      .tags("method", method, "uri", pathTemplate, "code", code, "area", "http");
+              if (detailed) {
+                builder.publishPercentileHistogram();
+              }
+              return builder.register(registry);
+            })
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+    if (detailed) {
+      if (requestSize >= 0) {
+        getSummary(REQUEST_SIZE_METRIC, method, pathTemplate).record(requestSize);
+      }
+      if (responseSize >= 0) {
+        getSummary(RESPONSE_SIZE_METRIC, method, pathTemplate).record(responseSize);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  int getActiveRequestsCount(String method, String pathTemplate) {
+    AtomicInteger active = activeRequests.get(method + ' ' + pathTemplate);
+    return active == null ? 0 : active.get();
+  }
+
+  private AtomicInteger getActiveRequests(String method, String pathTemplate) {
+    MeterRegistry registry = this.registry;
+    if (registry == null) {
+      return null;
+    }
+    return activeRequests.computeIfAbsent(
+        method + ' ' + pathTemplate,
+        k -> {
+          AtomicInteger active = new AtomicInteger();
+          Gauge.builder(ACTIVE_METRIC, active, AtomicInteger::get)
+              .description("Che Server API requests in progress")
+              .tags("method", method, "uri", pathTemplate, "area", "http")
+              .register(registry);
+          return active;
+        });
+  }
+
+  private DistributionSummary getSummary(String name, String method, String pathTemplate) {
+    return summaries.computeIfAbsent(
+        name + ' ' + method + ' ' + pathTemplate,
+        k ->
+            DistributionSummary.builder(name)
+                .description("Che Server API body sizes")
+                .baseUnit("bytes")
+                .tags("method", method, "uri", pathTemplate, "area", "http")
+                .register(registry));
+  }
+}
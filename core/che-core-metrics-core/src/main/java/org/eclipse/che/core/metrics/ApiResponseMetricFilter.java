@@ -20,10 +20,12 @@ import javax.servlet.FilterConfig;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 /**
- * Filter for tracking all HTTP requests through {@link ApiResponseCounter}
+ * Filter for tracking all HTTP requests through {@link ApiResponseCounter} and API requests handled
+ * by resource methods through {@link ApiRequestMetrics}
  *
  * @author Mykhailo Kuznietsov
  */
@@ -31,21 +33,62 @@ import javax.servlet.http.HttpServletResponse;
 public class ApiResponseMetricFilter implements Filter {
 
   private ApiResponseCounter apiResponseCounter;
+  private ApiRequestMetrics apiRequestMetrics;
 
   @Inject
   public void setApiResponseCounter(ApiResponseCounter counter) {
     this.apiResponseCounter = counter;
   }
 
+  @Inject
+  public void setApiRequestMetrics(ApiRequestMetrics metrics) {
+    this.apiRequestMetrics = metrics;
+  }
+
   @Override
   public void init(FilterConfig filterConfig) throws ServletException {}
 
   @Override
   public void doFilter(ServletRequest request, ServletResponse response, FilterChain filterChain)
       throws IOException, ServletException {
-    filterChain.doFilter(request, response);
-    if (response instanceof HttpServletResponse) {
-      apiResponseCounter.handleStatus(((HttpServletResponse) response).getStatus());
+    if (!(response instanceof HttpServletResponse) || !(request instanceof HttpServletRequest)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    final HttpServletRequest httpRequest = (HttpServletRequest) request;
+    final CountingHttpServletResponse countingResponse =
+        apiRequestMetrics.isDetailed()
+            ? new CountingHttpServletResponse((HttpServletResponse) response)
+            : null;
+    final long start = System.nanoTime();
+    boolean completed = false;
+    try {
+      filterChain.doFilter(request, countingResponse != null ? countingResponse : response);
+      if (countingResponse != null) {
+        countingResponse.finish();
+      }
+      completed = true;
+    } finally {
+      final int status =
+          completed
+              ? ((HttpServletResponse) response).getStatus()
+              : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+      if (completed) {
+        apiResponseCounter.handleStatus(status);
+      }
+      final Object template =
+          httpRequest.getAttribute(ResourceMethodTemplateFilter.PATH_TEMPLATE_ATTRIBUTE);
+      if (template != null) {
+        apiRequestMetrics.requestCompleted(
+            httpRequest.getMethod(),
+            (String) template,
+            httpRequest.getAttribute(ResourceMethodTemplateFilter.REQUEST_STARTED_ATTRIBUTE)
+                != null,
+            status,
+            System.nanoTime() - start,
+            httpRequest.getContentLengthLong(),
+            countingResponse != null ? countingResponse.getWrittenBytes() : -1);
+      }
     }
   }
 
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.metrics;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Counts bytes written to the response either through the output stream or through the writer. The
+ * writer encodes characters into the counting output stream, so it must be {@link #finish()
+ * finished} once the request is processed.
+ */
+class CountingHttpServletResponse extends HttpServletResponseWrapper {
+
+  private CountingOutputStream outputStream;
+  private PrintWriter writer;
+
+  CountingHttpServletResponse(HttpServletResponse response) {
+    super(response);
+  }
+
+  @Override
+  public ServletOutputStream getOutputStream() throws IOException {
+    if (writer != null) {
+      throw new IllegalStateException("getWriter() has already been called for this response");
+    }
+    return getCountingOutputStream();
+  }
+
+  @Override
+  public PrintWriter getWriter() throws IOException {
+    if (writer == null) {
+      if (outputStream != null) {
+        throw new IllegalStateException(
+            "getOutputStream() has already been called for this response");
+      }
+      writer =
+          new PrintWriter(
+              new OutputStreamWriter(getCountingOutputStream(), getCharacterEncoding()));
+    }
+    return writer;
+  }
+
+  @Override
+  public void flushBuffer() throws IOException {
+    if (writer != null) {
+      writer.flush();
+    }
+    super.flushBuffer();
+  }
+
+  /** Writes the characters buffered by the writer to the underlying response. */
+  void finish() {
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
+  /** Returns the number of bytes written to the response or -1 if the body wasn't written. */
+  long getWrittenBytes() {
+    return outputStream == null ? -1 : outputStream.count;
+  }
+
+  private CountingOutputStream getCountingOutputStream() throws IOException {
+    if (outputStream == null) {
+      outputStream = new CountingOutputStream(super.getOutputStream());
+    }
+    return outputStream;
+  }
+
+  private static class CountingOutputStream extends ServletOutputStream {
+    private final ServletOutputStream delegate;
+    private long count;
+
+    CountingOutputStream(ServletOutputStream delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isReady() {
+      return delegate.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      delegate.setWriteListener(writeListener);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      delegate.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      delegate.write(b, off, len);
+      count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
+}
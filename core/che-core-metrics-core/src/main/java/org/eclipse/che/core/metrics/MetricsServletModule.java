@@ -38,6 +38,7 @@ public class MetricsServletModule extends ServletModule {
 
     bind(Manager.class).toInstance(getManager(getServletContext()));
     filter("/*").through(ApiResponseMetricFilter.class);
+    bind(ResourceMethodTemplateFilter.class);
   }
 
   private Manager getManager(ServletContext servletContext) {
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.metrics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.servlet.http.HttpServletRequest;
+import org.everrest.core.Filter;
+import org.everrest.core.impl.EnvironmentContext;
+import org.everrest.core.impl.resource.PathValue;
+import org.everrest.core.method.MethodInvokerFilter;
+import org.everrest.core.resource.GenericResourceMethod;
+import org.everrest.core.resource.ResourceDescriptor;
+import org.everrest.core.resource.SubResourceMethodDescriptor;
+
+/**
+ * Everrest filter that exposes path template of the invoked resource method to {@link
+ * ApiResponseMetricFilter}, so API requests can be measured per resource method instead of per raw
+ * URI.
+ */
+@Filter
+@Singleton
+public class ResourceMethodTemplateFilter implements MethodInvokerFilter {
+
+  /** Name of the request attribute holding the path template of the invoked resource method. */
+  static final String PATH_TEMPLATE_ATTRIBUTE = ResourceMethodTemplateFilter.class.getName();
+
+  /** Name of the request attribute set when the request is counted as in-flight. */
+  static final String REQUEST_STARTED_ATTRIBUTE = PATH_TEMPLATE_ATTRIBUTE + ".started";
+
+  private final ApiRequestMetrics apiRequestMetrics;
+  private final ConcurrentMap<GenericResourceMethod, String> templates = new ConcurrentHashMap<>();
+
+  @Inject
+  public ResourceMethodTemplateFilter(ApiRequestMetrics apiRequestMetrics) {
+    this.apiRequestMetrics = apiRequestMetrics;
+  }
+
+  @Override
+  public void accept(GenericResourceMethod resourceMethod, Object[] params) {
+    EnvironmentContext context = EnvironmentContext.getCurrent();
+    if (context == null) {
+      return;
+    }
+    HttpServletRequest request = (HttpServletRequest) context.get(HttpServletRequest.class);
+    if (request == null || request.getAttribute(PATH_TEMPLATE_ATTRIBUTE) != null) {
+      // sub-resource locators invoke more than one method per request, the first one is used
+      return;
+    }
+    String template = templates.computeIfAbsent(resourceMethod, this::getPathTemplate);
+    request.setAttribute(PATH_TEMPLATE_ATTRIBUTE, template);
+    if (apiRequestMetrics.requestStarted(request.getMethod(), template)) {
+      request.setAttribute(REQUEST_STARTED_ATTRIBUTE, Boolean.TRUE);
+    }
+  }
+
+  private String getPathTemplate(GenericResourceMethod resourceMethod) {
+    StringBuilder template = new StringBuilder();
+    ResourceDescriptor resource = resourceMethod.getParentResource();
+    if (resource != null) {
+      appendPath(template, resource.getPathValue());
+    }
+    if (resourceMethod instanceof SubResourceMethodDescriptor) {
+      appendPath(template, ((SubResourceMethodDescriptor) resourceMethod).getPathValue());
+    }
+    return template.length() == 0 ? "/" : template.toString();
+  }
+
+  private static void appendPath(StringBuilder template, PathValue pathValue) {
+    if (pathValue == null || pathValue.getPath().isEmpty()) {
+      return;
+    }
+    String path = pathValue.getPath();
+    if (path.charAt(0) != '/') {
+      template.append('/');
+    }
+    template.append(path.endsWith("/") ? path.substring(0, path.length() - 1) : path);
+  }
+}
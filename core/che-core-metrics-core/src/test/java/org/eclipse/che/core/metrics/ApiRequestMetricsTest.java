@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.metrics;
+
+import static org.eclipse.che.core.metrics.ApiRequestMetrics.ACTIVE_METRIC;
+import static org.eclipse.che.core.metrics.ApiRequestMetrics.DURATION_METRIC;
+import static org.eclipse.che.core.metrics.ApiRequestMetrics.REQUEST_SIZE_METRIC;
+import static org.eclipse.che.core.metrics.ApiRequestMetrics.RESPONSE_SIZE_METRIC;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ApiRequestMetrics}. */
+public class ApiRequestMetricsTest {
+
+  private static final String TEMPLATE = "/workspace/{key}";
+
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  public void shouldRecordDurationPerMethodTemplateAndStatusClass() {
+    ApiRequestMetrics metrics = new ApiRequestMetrics(false);
+    metrics.bindTo(registry);
+
+    metrics.requestStarted("GET", TEMPLATE);
+    metrics.requestCompleted("GET", TEMPLATE, true, 200, TimeUnit.MILLISECONDS.toNanos(10), -1, -1);
+    metrics.requestStarted("GET", TEMPLATE);
+    metrics.requestCompleted("GET", TEMPLATE, true, 204, TimeUnit.MILLISECONDS.toNanos(30), -1, -1);
+    metrics.requestStarted("GET", TEMPLATE);
+    metrics.requestCompleted("GET", TEMPLATE, true, 404, TimeUnit.MILLISECONDS.toNanos(5), -1, -1);
+
+    Timer success =
+        registry
+            .get(DURATION_METRIC)
+            .tags("method", "GET", "uri", TEMPLATE, "code", "2xx", "area", "http")
+            .timer();
+    assertEquals(success.count(), 2);
+    assertEquals(success.totalTime(TimeUnit.MILLISECONDS), 40.0);
+    assertEquals(success.max(TimeUnit.MILLISECONDS), 30.0);
+    Timer clientError = registry.get(DURATION_METRIC).tags("code", "4xx").timer();
+    assertEquals(clientError.count(), 1);
+  }
+
+  @Test
+  public void shouldTrackActiveRequests() {
+    ApiRequestMetrics metrics = new ApiRequestMetrics(false);
+    metrics.bindTo(registry);
+
+    metrics.requestStarted("POST", TEMPLATE);
+    metrics.requestStarted("POST", TEMPLATE);
+
+    Gauge active = registry.get(ACTIVE_METRIC).tags("method", "POST", "uri", TEMPLATE).gauge();
+    assertEquals(active.value(), 2.0);
+
+    metrics.requestCompleted("POST", TEMPLATE, true, 201, 1, -1, -1);
+
+    assertEquals(active.value(), 1.0);
+    assertEquals(metrics.getActiveRequestsCount("POST", TEMPLATE), 1);
+  }
+
+  @Test
+  public void shouldNotRecordBodySizesByDefault() {
+    ApiRequestMetrics metrics = new ApiRequestMetrics(false);
+    metrics.bindTo(registry);
+
+    metrics.requestStarted("PUT", TEMPLATE);
+    metrics.requestCompleted("PUT", TEMPLATE, true, 200, 1, 100, 200);
+
+    assertNull(registry.find(REQUEST_SIZE_METRIC).summary());
+    assertNull(registry.find(RESPONSE_SIZE_METRIC).summary());
+  }
+
+  @Test
+  public void shouldRecordBodySizesInDetailedMode() {
+    ApiRequestMetrics metrics = new ApiRequestMetrics(true);
+    metrics.bindTo(registry);
+
+    metrics.requestStarted("PUT", TEMPLATE);
+    metrics.requestCompleted("PUT", TEMPLATE, true, 200, 1, 100, 200);
+    metrics.requestStarted("PUT", TEMPLATE);
+    metrics.requestCompleted("PUT", TEMPLATE, true, 200, 1, -1, 300);
+
+    DistributionSummary requestSize =
+        registry.get(REQUEST_SIZE_METRIC).tags("method", "PUT", "uri", TEMPLATE).summary();
+    assertEquals(requestSize.count(), 1);
+    assertEquals(requestSize.totalAmount(), 100.0);
+    DistributionSummary responseSize =
+        registry.get(RESPONSE_SIZE_METRIC).tags("method", "PUT", "uri", TEMPLATE).summary();
+    assertEquals(responseSize.count(), 2);
+    assertEquals(responseSize.totalAmount(), 500.0);
+  }
+
+  @Test
+  public void shouldIgnoreRequestsBeforeBoundToRegistry() {
+    ApiRequestMetrics metrics = new ApiRequestMetrics(true);
+
+    assertFalse(metrics.requestStarted("GET", TEMPLATE));
+    metrics.requestCompleted("GET", TEMPLATE, false, 200, 1, 1, 1);
+
+    assertEquals(metrics.getActiveRequestsCount("GET", TEMPLATE), 0);
+  }
+
+  @Test
+  public void shouldNotCountRequestStartedBeforeBoundToRegistryAsCompleted() {
+    ApiRequestMetrics metrics = new ApiRequestMetrics(false);
+
+    boolean started = metrics.requestStarted("GET", TEMPLATE);
+    metrics.bindTo(registry);
+    metrics.requestCompleted("GET", TEMPLATE, started, 200, 1, -1, -1);
+
+    assertEquals(metrics.getActiveRequestsCount("GET", TEMPLATE), 0);
+    assertEquals(registry.get(DURATION_METRIC).timer().count(), 1);
+  }
+}
@@ -37,6 +37,7 @@ import org.testng.annotations.Test;
 public class ApiResponseMetricFilterTest {
 
   @Mock private ApiResponseCounter apiResponseCounter;
+  @Mock private ApiRequestMetrics apiRequestMetrics;
 
   private ApiResponseMetricFilter filter;
 
@@ -44,6 +45,7 @@ public class ApiResponseMetricFilterTest {
   public void setUp() {
     filter = new ApiResponseMetricFilter();
     filter.setApiResponseCounter(apiResponseCounter);
+    filter.setApiRequestMetrics(apiRequestMetrics);
   }
 
   @Test
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintWriter;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link CountingHttpServletResponse}. */
+@Listeners(MockitoTestNGListener.class)
+public class CountingHttpServletResponseTest {
+
+  @Mock private HttpServletResponse response;
+
+  private ByteArrayOutputStream body;
+  private CountingHttpServletResponse countingResponse;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    body = new ByteArrayOutputStream();
+    when(response.getOutputStream()).thenReturn(new ByteArrayServletOutputStream(body));
+    countingResponse = new CountingHttpServletResponse(response);
+  }
+
+  @Test
+  public void shouldCountBytesWrittenToOutputStream() throws Exception {
+    countingResponse.getOutputStream().write(new byte[] {1, 2, 3});
+    countingResponse.getOutputStream().write(4);
+
+    assertEquals(countingResponse.getWrittenBytes(), 4);
+    assertEquals(body.size(), 4);
+  }
+
+  @Test
+  public void shouldCountEncodedBytesWrittenThroughWriter() throws Exception {
+    when(response.getCharacterEncoding()).thenReturn(UTF_8.name());
+
+    PrintWriter writer = countingResponse.getWriter();
+    writer.print("{\"name\":\"\u00e9t\u00e9\"}");
+    countingResponse.finish();
+
+    assertEquals(countingResponse.getWrittenBytes(), 16);
+    assertEquals(new String(body.toByteArray(), UTF_8), "{\"name\":\"\u00e9t\u00e9\"}");
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void shouldNotAllowOutputStreamAfterWriter() throws Exception {
+    when(response.getCharacterEncoding()).thenReturn(UTF_8.name());
+
+    countingResponse.getWriter();
+    countingResponse.getOutputStream();
+  }
+
+  private static class ByteArrayServletOutputStream extends ServletOutputStream {
+    private final ByteArrayOutputStream delegate;
+
+    ByteArrayServletOutputStream(ByteArrayOutputStream delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {}
+
+    @Override
+    public void write(int b) {
+      delegate.write(b);
+    }
+  }
+}
@@ -18,9 +18,11 @@ import io.opentracing.Span;
 import io.opentracing.Tracer;
 import io.opentracing.tag.Tags;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Supplier;
+import javax.inject.Named;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.eclipse.che.commons.annotation.Traced;
@@ -31,22 +33,67 @@ import org.slf4j.LoggerFactory;
  * A Guice interceptor that interprets the {@link Traced @Traced} annotations on methods and creates
  * tracing spans for the annotated method calls. It also captures the {@link Traced.Tags} and adds
  * them to the created spans.
+ *
+ * <p>Calls made within an active span are always traced. For the calls that would start a new
+ * trace, the interceptor makes a sampling decision according to the configured sampling rate before
+ * anything is allocated. If the call is not sampled, neither the span nor the tags storage are
+ * created, the tag suppliers are never evaluated and all the nested {@code @Traced} calls made by
+ * the same thread are not traced either.
  */
 @Beta
 public class TracingInterceptor implements MethodInterceptor {
 
   private static final Logger LOG = LoggerFactory.getLogger(TracingInterceptor.class);
 
+  /** Span names of all the {@code @Traced} methods of a type, computed once per type. */
+  private static final ClassValue<Map<Method, String>> SPAN_NAMES =
+      new ClassValue<Map<Method, String>>() {
+        @Override
+        protected Map<Method, String> computeValue(Class<?> type) {
+          return computeSpanNames(type);
+        }
+      };
+
+  /**
+   * The depth of the not sampled {@code @Traced} calls on the current thread. A single mutable
+   * holder is allocated per thread so that no allocations are made for the not sampled calls.
+   */
+  private static final ThreadLocal<int[]> SUPPRESSED_DEPTH =
+      ThreadLocal.withInitial(() -> new int[1]);
+
   private Tracer tracer;
-  private WeakHashMap<Class<?>, WeakHashMap<Method, String>> spanNames = new WeakHashMap<>();
+  private double samplingRate = 1.0;
 
   @Inject
   public void init(Tracer tracer) {
     this.tracer = tracer;
   }
 
+  /**
+   * Sets the probability, from 0 to 1, with which the {@code @Traced} calls that are not made
+   * within an active span start a new trace. All such calls are traced by default.
+   */
+  @Inject(optional = true)
+  public void setSamplingRate(@Named("che.tracing.interceptor.sampling_rate") double samplingRate) {
+    if (samplingRate < 0 || samplingRate > 1) {
+      throw new IllegalArgumentException(
+          "Tracing sampling rate must be in the range from 0 to 1 but was " + samplingRate);
+    }
+    this.samplingRate = samplingRate;
+  }
+
   @Override
   public Object invoke(MethodInvocation invocation) throws Throwable {
+    int[] suppressedDepth = SUPPRESSED_DEPTH.get();
+    if (suppressedDepth[0] > 0 || !isSampled()) {
+      suppressedDepth[0]++;
+      try {
+        return invocation.proceed();
+      } finally {
+        suppressedDepth[0]--;
+      }
+    }
+
     String spanName = getSpanName(invocation);
 
     Span span =
@@ -91,37 +138,43 @@ public class TracingInterceptor implements MethodInterceptor {
     }
   }
 
-  private String getSpanName(MethodInvocation invocation) {
-    Class<?> objectType = invocation.getThis().getClass();
-    Method method = invocation.getMethod();
-
-    // we assume that there won't be more than 4 traced methods on a type. If there are, we're
-    // adding a little bit of runtime overhead of enlarging the hashmap's capacity, but in the usual
-    // case we're saving 12 entries in the map (16 is the default capacity).
-    String ret = spanNames.computeIfAbsent(objectType, __ -> new WeakHashMap<>(4)).get(method);
-
-    if (ret != null) {
-      return ret;
+  private boolean isSampled() {
+    if (samplingRate >= 1.0 || tracer.activeSpan() != null) {
+      return true;
     }
+    return samplingRate > 0 && ThreadLocalRandom.current().nextDouble() < samplingRate;
+  }
 
-    Traced annotation = method.getAnnotation(Traced.class);
+  private static String getSpanName(MethodInvocation invocation) {
+    Method method = invocation.getMethod();
+    String ret = SPAN_NAMES.get(invocation.getThis().getClass()).get(method);
 
-    if (annotation == null) {
+    if (ret == null) {
       throw new IllegalStateException(
           "Misconfigured Guice interception. Tracing interceptor called on method "
               + method
               + " that is not annotated with @Traced.");
     }
 
-    String name = annotation.name();
+    return ret;
+  }
 
-    if (name.isEmpty()) {
-      name = cleanName(objectType) + "#" + method.getName();
+  private static Map<Method, String> computeSpanNames(Class<?> objectType) {
+    Map<Method, String> names = new HashMap<>();
+    for (Class<?> type = objectType; type != null; type = type.getSuperclass()) {
+      for (Method method : type.getDeclaredMethods()) {
+        Traced annotation = method.getAnnotation(Traced.class);
+        if (annotation == null) {
+          continue;
+        }
+        String name = annotation.name();
+        if (name.isEmpty()) {
+          name = cleanName(objectType) + "#" + method.getName();
+        }
+        names.put(method, name);
+      }
     }
-
-    spanNames.get(objectType).put(method, name);
-
-    return name;
+    return names;
   }
 
   private static String cleanName(Class<?> type) {
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.tracing;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.aopalliance.intercept.MethodInvocation;
+import org.eclipse.che.commons.annotation.Traced;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class TracingInterceptorTest {
+
+  @Mock private Span span;
+
+  private Tracer tracer;
+  private TracingInterceptor interceptor;
+
+  @BeforeMethod
+  public void setUp() {
+    tracer = mock(Tracer.class, RETURNS_DEEP_STUBS);
+    interceptor = new TracingInterceptor();
+    interceptor.init(tracer);
+    lenient().when(tracer.activeSpan()).thenReturn(null);
+  }
+
+  @Test
+  public void shouldTraceCallWithDefaultSpanName() throws Throwable {
+    mockSpanBuilder("TracedService#start");
+
+    Object result = interceptor.invoke(invocation("start", () -> "started"));
+
+    assertEquals(result, "started");
+    verify(span).finish();
+  }
+
+  @Test
+  public void shouldTraceCallWithSpanNameFromAnnotation() throws Throwable {
+    mockSpanBuilder("custom");
+
+    interceptor.invoke(invocation("stop", () -> null));
+
+    verify(span).finish();
+  }
+
+  @Test
+  public void shouldApplyTagsToSampledSpan() throws Throwable {
+    mockSpanBuilder("TracedService#start");
+
+    interceptor.invoke(
+        invocation(
+            "start",
+            () -> {
+              Traced.Tags.addString("workspace.id", () -> "ws123");
+              return null;
+            }));
+
+    verify(span).setTag("workspace.id", "ws123");
+  }
+
+  @Test
+  public void shouldNotCreateSpanNorEvaluateTagsWhenNotSampled() throws Throwable {
+    interceptor.setSamplingRate(0);
+    AtomicBoolean tagEvaluated = new AtomicBoolean();
+
+    Object result =
+        interceptor.invoke(
+            invocation(
+                "start",
+                () -> {
+                  Traced.Tags.addString(
+                      "workspace.id",
+                      () -> {
+                        tagEvaluated.set(true);
+                        return "ws123";
+                      });
+                  return "started";
+                }));
+
+    assertEquals(result, "started");
+    assertEquals(tagEvaluated.get(), false);
+    verify(tracer, never()).buildSpan(anyString());
+  }
+
+  @Test
+  public void shouldAlwaysTraceCallsWithinActiveSpan() throws Throwable {
+    interceptor.setSamplingRate(0);
+    when(tracer.activeSpan()).thenReturn(mock(Span.class));
+    mockSpanBuilder("TracedService#start");
+
+    interceptor.invoke(invocation("start", () -> null));
+
+    verify(span).finish();
+  }
+
+  @Test
+  public void shouldNotTraceNestedCallsOfNotSampledCall() throws Throwable {
+    interceptor.setSamplingRate(0);
+    MethodInvocation nested = invocation("stop", () -> "nested");
+
+    Object result =
+        interceptor.invoke(
+            invocation(
+                "start",
+                () -> {
+                  // an active span would make the nested call sampled if it was not suppressed
+                  when(tracer.activeSpan()).thenReturn(mock(Span.class));
+                  return interceptor.invoke(nested);
+                }));
+
+    assertEquals(result, "nested");
+    verify(tracer, never()).buildSpan(anyString());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldRejectInvalidSamplingRate() {
+    interceptor.setSamplingRate(1.5);
+  }
+
+  private void mockSpanBuilder(String spanName) {
+    when(tracer
+            .buildSpan(eq(spanName))
+            .asChildOf((Span) any())
+            .withTag(anyString(), anyString())
+            .start())
+        .thenReturn(span);
+  }
+
+  private static MethodInvocation invocation(String methodName, ThrowingSupplier result)
+      throws Throwable {
+    MethodInvocation invocation = mock(MethodInvocation.class);
+    when(invocation.getThis()).thenReturn(new TracedService());
+    when(invocation.getMethod()).thenReturn(TracedService.class.getDeclaredMethod(methodName));
+    when(invocation.proceed()).thenAnswer(inv -> result.get());
+    return invocation;
+  }
+
+  private interface ThrowingSupplier {
+    Object get() throws Throwable;
+  }
+
+  public static class TracedService {
+
+    @Traced
+    public Object start() {
+      return null;
+    }
+
+    @Traced(name = "custom")
+    public Object stop() {
+      return null;
+    }
+  }
+}
@@ -70,6 +70,10 @@ import org.slf4j.LoggerFactory;
  *       (visible as prefixed with "sys.")
  *   <li>Thanks to Everrest integration injects all the properly annotated (see Everrest docs) REST
  *       Resources. Providers and ExceptionMappers and inject necessary dependencies
+ *   <li>Logs the time spent on configuration of the modules and initialization of the singletons if
+ *       <i>CHE_STARTUP_PROFILE_ENABLED</i> env variable is set to true
+ *   <li>Initializes the singletons concurrently if <i>CHE_STARTUP_PARALLEL_INIT_ENABLED</i> env
+ *       variable is set to true, see {@link ParallelSingletonInitializer}
  * </ul>
  *
  * <p>Configuration properties are bound as a {@code &#064Named}. For example: Following entry in
@@ -138,10 +142,22 @@ public class CheBootstrap extends EverrestGuiceContextListener {
 
   private final List<Module> modules = new ArrayList<>();
 
+  private final StartupProfiler startupProfiler =
+      Boolean.valueOf(System.getenv("CHE_STARTUP_PROFILE_ENABLED")) ? new StartupProfiler() : null;
+
   static {
     Thread.setDefaultUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance());
   }
 
+  @Override
+  public void contextInitialized(ServletContextEvent sce) {
+    super.contextInitialized(sce);
+    if (startupProfiler != null) {
+      startupProfiler.stop();
+      LOG.info(startupProfiler.getReport());
+    }
+  }
+
   @Override
   public void contextDestroyed(ServletContextEvent sce) {
     final ServletContext ctx = sce.getServletContext();
@@ -176,6 +192,13 @@ public class CheBootstrap extends EverrestGuiceContextListener {
         Modules.override(secondConfigurationPermutation)
             .with(new CheEnvironmentVariablesConfigurationModule(aliases));
     modules.add(lastConfigurationPermutation);
+    if (Boolean.valueOf(System.getenv("CHE_STARTUP_PARALLEL_INIT_ENABLED"))) {
+      modules.add(0, new ParallelSingletonInitializer.InitializerModule());
+    }
+    if (startupProfiler != null) {
+      modules.replaceAll(startupProfiler::timed);
+      modules.add(0, startupProfiler.getModule());
+    }
     return modules;
   }
 
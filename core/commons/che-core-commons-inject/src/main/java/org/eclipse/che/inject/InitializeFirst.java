@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.inject;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a singleton which has to be initialized before all the other singletons, e.g. because they
+ * implicitly rely on the side effects of its initialization, such as database schema migration.
+ *
+ * <p>Only matters when singletons are initialized concurrently at startup, see {@link
+ * ParallelSingletonInitializer}. Singletons marked with this annotation are initialized one by one
+ * in binding order and only after that the rest of the singletons are initialized concurrently.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface InitializeFirst {}
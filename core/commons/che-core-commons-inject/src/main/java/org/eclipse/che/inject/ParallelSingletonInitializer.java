@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.inject;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.ProvisionException;
+import com.google.inject.Scopes;
+import com.google.inject.spi.LinkedKeyBinding;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Initializes singletons of the injector concurrently.
+ *
+ * <p>Guice creates all the singletons one by one on the injector creation in the production stage.
+ * When this component is bound as the first eager singleton, it is created before all the others
+ * and creates the rest of the singletons on a thread pool, so when Guice gets to them they are
+ * already initialized. Dependencies between singletons are resolved by Guice as usual, a thread
+ * that needs a singleton being created by another thread waits for it.
+ *
+ * <p>Dependencies that are not expressed with injection, e.g. a component that reads from the
+ * database in its {@code @PostConstruct} method without injecting the component that performs
+ * database migration, are not visible to Guice. Such prerequisites must be marked with {@link
+ * InitializeFirst}.
+ */
+public class ParallelSingletonInitializer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelSingletonInitializer.class);
+
+  /** Module that binds the initializer, must be the first module of the injector. */
+  public static class InitializerModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(ParallelSingletonInitializer.class).asEagerSingleton();
+    }
+  }
+
+  @Inject
+  public ParallelSingletonInitializer(Injector injector) {
+    long start = System.nanoTime();
+    List<Key<?>> first = new ArrayList<>();
+    List<Key<?>> rest = new ArrayList<>();
+    for (Binding<?> binding : injector.getAllBindings().values()) {
+      Key<?> key = binding.getKey();
+      if (key.getTypeLiteral().getRawType() == ParallelSingletonInitializer.class
+          || !Scopes.isSingleton(binding)) {
+        continue;
+      }
+      if (isInitializedFirst(binding)) {
+        first.add(key);
+      } else {
+        rest.add(key);
+      }
+    }
+
+    first.forEach(injector::getInstance);
+
+    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("SingletonInitializer-%d")
+                .setDaemon(true)
+                .build());
+    try {
+      CompletableFuture.allOf(
+              rest.stream()
+                  .map(key -> CompletableFuture.runAsync(() -> injector.getInstance(key), executor))
+                  .toArray(CompletableFuture[]::new))
+          .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof ProvisionException) {
+        throw (ProvisionException) e.getCause();
+      }
+      throw new ProvisionException("Failed to initialize singletons", e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+
+    LOG.info(
+        "Initialized {} singletons using {} threads in {} ms",
+        first.size() + rest.size(),
+        threads,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  private static boolean isInitializedFirst(Binding<?> binding) {
+    if (binding.getKey().getTypeLiteral().getRawType().isAnnotationPresent(InitializeFirst.class)) {
+      return true;
+    }
+    return binding instanceof LinkedKeyBinding
+        && ((LinkedKeyBinding<?>) binding)
+            .getLinkedKey()
+            .getTypeLiteral()
+            .getRawType()
+            .isAnnotationPresent(InitializeFirst.class);
+  }
+}
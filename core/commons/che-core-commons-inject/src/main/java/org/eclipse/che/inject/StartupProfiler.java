@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.inject;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import com.google.inject.Module;
+import com.google.inject.Scopes;
+import com.google.inject.spi.ProvisionListener;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects the time spent on configuration of the Guice modules and on initialization of the
+ * singletons, including their {@code @PostConstruct} methods, while the application starts.
+ *
+ * <p>The singleton initialization time excludes the time spent on initialization of its
+ * dependencies, so the report shows which singletons are slow by themselves.
+ */
+class StartupProfiler {
+
+  private static final int REPORT_SIZE = 30;
+
+  private final long start = System.nanoTime();
+  private final Map<String, Long> moduleTimes = new LinkedHashMap<>();
+  private final ConcurrentMap<Key<?>, Long> singletonTimes = new ConcurrentHashMap<>();
+  private final ThreadLocal<Deque<long[]>> provisionStack =
+      ThreadLocal.withInitial(ArrayDeque::new);
+
+  private volatile boolean stopped;
+  private long totalTime;
+
+  /** Returns a module that configures the given one and records the time spent on it. */
+  Module timed(Module module) {
+    return binder -> {
+      long moduleStart = System.nanoTime();
+      binder.install(module);
+      moduleTimes.merge(module.getClass().getName(), System.nanoTime() - moduleStart, Long::sum);
+    };
+  }
+
+  /** Returns a module that records the initialization time of the singletons. */
+  Module getModule() {
+    return new AbstractModule() {
+      @Override
+      protected void configure() {
+        bindListener(com.google.inject.matcher.Matchers.any(), new SingletonProvisionListener());
+      }
+    };
+  }
+
+  /** Stops collecting the data. */
+  void stop() {
+    stopped = true;
+    totalTime = System.nanoTime() - start;
+  }
+
+  /** Returns a human readable report with the slowest modules and singletons. */
+  String getReport() {
+    StringBuilder report = new StringBuilder();
+    report.append("Startup took ").append(NANOSECONDS.toMillis(totalTime)).append(" ms");
+    appendSlowest(report, "Guice modules configuration", moduleTimes);
+    appendSlowest(report, "Singletons initialization", singletonTimes);
+    return report.toString();
+  }
+
+  private static <K> void appendSlowest(StringBuilder report, String title, Map<K, Long> times) {
+    report
+        .append(System.lineSeparator())
+        .append(title)
+        .append(", total ")
+        .append(NANOSECONDS.toMillis(times.values().stream().mapToLong(Long::longValue).sum()))
+        .append(" ms, the slowest:");
+    times
+        .entrySet()
+        .stream()
+        .sorted(Map.Entry.<K, Long>comparingByValue().reversed())
+        .limit(REPORT_SIZE)
+        .forEach(
+            e ->
+                report
+                    .append(System.lineSeparator())
+                    .append(String.format("%8d ms  ", NANOSECONDS.toMillis(e.getValue())))
+                    .append(e.getKey()));
+  }
+
+  private class SingletonProvisionListener implements ProvisionListener {
+    @Override
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+      if (stopped) {
+        provision.provision();
+        return;
+      }
+      Deque<long[]> stack = provisionStack.get();
+      // holds the time spent on provisioning of the dependencies
+      long[] nested = new long[1];
+      stack.push(nested);
+      long provisionStart = System.nanoTime();
+      try {
+        provision.provision();
+      } finally {
+        long elapsed = System.nanoTime() - provisionStart;
+        stack.pop();
+        long[] parent = stack.peek();
+        if (parent != null) {
+          parent[0] += elapsed;
+        }
+        Binding<T> binding = provision.getBinding();
+        if (Scopes.isSingleton(binding)) {
+          singletonTimes.merge(binding.getKey(), elapsed - nested[0], Long::sum);
+        }
+      }
+    }
+  }
+}
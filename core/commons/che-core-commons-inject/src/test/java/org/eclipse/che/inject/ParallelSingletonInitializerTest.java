@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.inject;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.CreationException;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Stage;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.inject.lifecycle.InitModule;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ParallelSingletonInitializerTest {
+
+  @BeforeMethod
+  public void setUp() {
+    Prerequisite.initialized = false;
+    Prerequisite.initCount.set(0);
+    Dependency.initCount.set(0);
+    Dependent.initCount.set(0);
+  }
+
+  @Test
+  public void shouldInitializeSingletonsOnInitializerThreads() {
+    Injector injector =
+        Guice.createInjector(
+            Stage.PRODUCTION,
+            new ParallelSingletonInitializer.InitializerModule(),
+            new InitModule(PostConstruct.class),
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Dependent.class);
+                bind(Dependency.class);
+                bind(Prerequisite.class);
+              }
+            });
+
+    Dependent dependent = injector.getInstance(Dependent.class);
+    assertTrue(dependent.initThread.startsWith("SingletonInitializer-"), dependent.initThread);
+    assertSame(dependent.dependency, injector.getInstance(Dependency.class));
+    assertEquals(Dependent.initCount.get(), 1);
+    assertEquals(Dependency.initCount.get(), 1);
+    assertEquals(Prerequisite.initCount.get(), 1);
+  }
+
+  @Test
+  public void shouldInitializePrerequisitesBeforeOtherSingletons() {
+    Guice.createInjector(
+        Stage.PRODUCTION,
+        new ParallelSingletonInitializer.InitializerModule(),
+        new InitModule(PostConstruct.class),
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            bind(Dependency.class);
+            bind(Prerequisite.class);
+          }
+        });
+
+    assertTrue(Dependency.prerequisiteInitialized);
+  }
+
+  @Test(expectedExceptions = CreationException.class)
+  public void shouldFailInjectorCreationWhenSingletonFails() {
+    Guice.createInjector(
+        Stage.PRODUCTION,
+        new ParallelSingletonInitializer.InitializerModule(),
+        new InitModule(PostConstruct.class),
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            bind(Failing.class);
+          }
+        });
+  }
+
+  @Singleton
+  @InitializeFirst
+  public static class Prerequisite {
+    static volatile boolean initialized;
+    static final AtomicInteger initCount = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+      initCount.incrementAndGet();
+      initialized = true;
+    }
+  }
+
+  @Singleton
+  public static class Dependency {
+    static final AtomicInteger initCount = new AtomicInteger();
+    static volatile boolean prerequisiteInitialized;
+
+    @PostConstruct
+    public void init() {
+      initCount.incrementAndGet();
+      prerequisiteInitialized = Prerequisite.initialized;
+    }
+  }
+
+  @Singleton
+  public static class Dependent {
+    static final AtomicInteger initCount = new AtomicInteger();
+
+    final Dependency dependency;
+    String initThread;
+
+    @Inject
+    public Dependent(Dependency dependency) {
+      this.dependency = dependency;
+    }
+
+    @PostConstruct
+    public void init() {
+      initCount.incrementAndGet();
+      initThread = Thread.currentThread().getName();
+    }
+  }
+
+  @Singleton
+  public static class Failing {
+    @PostConstruct
+    public void init() {
+      throw new IllegalStateException("Initialization failed");
+    }
+  }
+}
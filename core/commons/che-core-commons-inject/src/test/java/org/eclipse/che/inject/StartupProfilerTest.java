@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.inject;
+
+import static org.testng.Assert.assertTrue;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Stage;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.testng.annotations.Test;
+
+public class StartupProfilerTest {
+
+  @Test
+  public void shouldReportModulesAndSingletonsExcludingDependenciesTime() {
+    StartupProfiler profiler = new StartupProfiler();
+
+    Guice.createInjector(
+        Stage.PRODUCTION, profiler.getModule(), profiler.timed(new ComponentsModule()));
+    profiler.stop();
+
+    String report = profiler.getReport();
+    assertTrue(report.contains(ComponentsModule.class.getName()), report);
+    assertTrue(getReportedTime(report, SlowComponent.class) >= 100, report);
+    assertTrue(getReportedTime(report, FastComponent.class) < 100, report);
+  }
+
+  private static long getReportedTime(String report, Class<?> type) {
+    Matcher matcher =
+        Pattern.compile("(\\d+) ms\\s+Key\\[type=" + Pattern.quote(type.getName())).matcher(report);
+    assertTrue(matcher.find(), report);
+    return Long.parseLong(matcher.group(1));
+  }
+
+  public static class ComponentsModule extends AbstractModule {
+    @Override
+    protected void configure() {
+      bind(FastComponent.class);
+    }
+  }
+
+  @Singleton
+  public static class SlowComponent {
+    public SlowComponent() throws InterruptedException {
+      Thread.sleep(100);
+    }
+  }
+
+  @Singleton
+  public static class FastComponent {
+    @Inject
+    public FastComponent(SlowComponent slowComponent) {}
+  }
+}
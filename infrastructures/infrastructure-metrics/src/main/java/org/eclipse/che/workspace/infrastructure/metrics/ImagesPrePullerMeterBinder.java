@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.workspace.infrastructure.kubernetes.prepull.ImagesPrePuller;
+
+/**
+ * Provides the number of images pre-pulled by {@link ImagesPrePuller} and how many of the images of
+ * the started workspaces were pre-pulled.
+ */
+@Singleton
+public class ImagesPrePullerMeterBinder implements MeterBinder {
+
+  private final ImagesPrePuller imagesPrePuller;
+
+  @Inject
+  ImagesPrePullerMeterBinder(ImagesPrePuller imagesPrePuller) {
+    this.imagesPrePuller = imagesPrePuller;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!imagesPrePuller.isEnabled()) {
+      return;
+    }
+
+    Gauge.builder("che.infra.kubernetes.images_prepull.images", this::prePulledImages)
+        .description("The number of images pre-pulled on the cluster nodes")
+        .register(registry);
+    FunctionCounter.builder(
+            "che.infra.kubernetes.images_prepull.requests",
+            imagesPrePuller,
+            ImagesPrePuller::getHits)
+        .tag("result", "hit")
+        .description("Images of the started workspaces by whether they were pre-pulled")
+        .register(registry);
+    FunctionCounter.builder(
+            "che.infra.kubernetes.images_prepull.requests",
+            imagesPrePuller,
+            ImagesPrePuller::getMisses)
+        .tag("result", "miss")
+        .description("Images of the started workspaces by whether they were pre-pulled")
+        .register(registry);
+  }
+
+  private double prePulledImages() {
+    return imagesPrePuller.getPrePulledImages().size();
+  }
+}
@@ -27,5 +27,8 @@ public class InfrastructureMetricsModule extends AbstractModule {
         Multibinder.newSetBinder(binder(), MeterBinder.class);
 
     meterMultibinder.addBinding().to(CurrentLogwatchersMeterBinder.class);
+    meterMultibinder.addBinding().to(RuntimesConsistencyMeterBinder.class);
+    meterMultibinder.addBinding().to(PluginsResolutionCacheMeterBinder.class);
+    meterMultibinder.addBinding().to(ImagesPrePullerMeterBinder.class);
   }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins.PluginsResolutionCache;
+
+/**
+ * Provides hits and misses of {@link PluginsResolutionCache} and the plugin brokering time saved by
+ * the hits.
+ */
+@Singleton
+public class PluginsResolutionCacheMeterBinder implements MeterBinder {
+
+  private final PluginsResolutionCache resolutionCache;
+
+  @Inject
+  PluginsResolutionCacheMeterBinder(PluginsResolutionCache resolutionCache) {
+    this.resolutionCache = resolutionCache;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!resolutionCache.isEnabled()) {
+      return;
+    }
+
+    FunctionCounter.builder(
+            "che.workspace.plugin_broker.cache.requests",
+            resolutionCache,
+            PluginsResolutionCache::getHits)
+        .tag("result", "hit")
+        .description("Lookups of the tooling resolved by plugin broker")
+        .register(registry);
+    FunctionCounter.builder(
+            "che.workspace.plugin_broker.cache.requests",
+            resolutionCache,
+            PluginsResolutionCache::getMisses)
+        .tag("result", "miss")
+        .description("Lookups of the tooling resolved by plugin broker")
+        .register(registry);
+    FunctionCounter.builder(
+            "che.workspace.plugin_broker.cache.saved.seconds",
+            resolutionCache,
+            c -> c.getSavedNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+        .baseUnit("seconds")
+        .description("Time of plugin brokering avoided by the cache hits")
+        .register(registry);
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.workspace.infrastructure.kubernetes.InconsistentRuntimesDetector;
+
+/** Provides metrics of the periodical runtimes consistency checks. */
+@Singleton
+public class RuntimesConsistencyMeterBinder implements MeterBinder {
+
+  private final InconsistentRuntimesDetector detector;
+
+  @Inject
+  RuntimesConsistencyMeterBinder(InconsistentRuntimesDetector detector) {
+    this.detector = detector;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    TimeGauge.builder(
+            "runtimes_consistency_check_duration",
+            detector,
+            TimeUnit.MILLISECONDS,
+            InconsistentRuntimesDetector::getLastCheckDurationMillis)
+        .description("The duration of the last runtimes consistency check")
+        .register(registry);
+
+    FunctionCounter.builder(
+            "runtimes_consistency_checks", detector, InconsistentRuntimesDetector::getChecksCount)
+        .description("The number of performed runtimes consistency checks")
+        .register(registry);
+
+    FunctionCounter.builder(
+            "runtimes_consistency_checked_runtimes",
+            detector,
+            InconsistentRuntimesDetector::getCheckedRuntimesCount)
+        .description("The number of runtimes checked by the consistency checks")
+        .register(registry);
+
+    FunctionCounter.builder(
+            "runtimes_consistency_stopped_runtimes",
+            detector,
+            InconsistentRuntimesDetector::getStoppedRuntimesCount)
+        .description("The number of runtimes stopped because of inconsistent state")
+        .register(registry);
+  }
+}
@@ -12,12 +12,25 @@
 package org.eclipse.che.workspace.infrastructure.kubernetes;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
@@ -25,7 +38,11 @@ import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalRuntime;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +50,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Periodically checks runtimes consistency and forcibly stop ones which has inconsistent state.
  *
+ * <p>The state of the cluster is fetched in bulk: the pods of all the running workspaces are listed
+ * once per namespace, the runtimes are checked against that snapshot in memory and only the
+ * stopping of the inconsistent runtimes is performed in parallel on a bounded pool.
+ *
  * @author Sergii Leshchenko
  */
 @Singleton
@@ -42,12 +63,46 @@ public class InconsistentRuntimesDetector {
 
   private final RuntimeEventsPublisher eventPublisher;
   private final WorkspaceRuntimes workspaceRuntimes;
+  private final KubernetesNamespaceFactory namespaceFactory;
+  private final ExecutorService executor;
+
+  private final AtomicLong checksCount = new AtomicLong();
+  private final AtomicLong checkedRuntimesCount = new AtomicLong();
+  private final AtomicLong stoppedRuntimesCount = new AtomicLong();
+  private volatile long lastCheckDurationMillis;
 
   @Inject
   public InconsistentRuntimesDetector(
-      RuntimeEventsPublisher eventPublisher, WorkspaceRuntimes workspaceRuntimes) {
+      RuntimeEventsPublisher eventPublisher,
+      WorkspaceRuntimes workspaceRuntimes,
+      KubernetesNamespaceFactory namespaceFactory,
+      ExecutorServiceWrapper executorServiceWrapper,
+      @Named("che.infra.kubernetes.runtimes_consistency_check_parallelism") int parallelism) {
+    this(
+        eventPublisher,
+        workspaceRuntimes,
+        namespaceFactory,
+        executorServiceWrapper.wrap(
+            Executors.newFixedThreadPool(
+                parallelism,
+                new ThreadFactoryBuilder()
+                    .setNameFormat("InconsistentRuntimesDetector-%d")
+                    .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                    .setDaemon(true)
+                    .build()),
+            InconsistentRuntimesDetector.class.getName()));
+  }
+
+  @VisibleForTesting
+  InconsistentRuntimesDetector(
+      RuntimeEventsPublisher eventPublisher,
+      WorkspaceRuntimes workspaceRuntimes,
+      KubernetesNamespaceFactory namespaceFactory,
+      ExecutorService executor) {
     this.eventPublisher = eventPublisher;
     this.workspaceRuntimes = workspaceRuntimes;
+    this.namespaceFactory = namespaceFactory;
+    this.executor = executor;
   }
 
   @ScheduleDelay(
@@ -55,38 +110,130 @@ public class InconsistentRuntimesDetector {
       initialDelayParameterName = "che.infra.kubernetes.runtimes_consistency_check_period_min",
       unit = TimeUnit.MINUTES)
   public void check() {
+    long start = System.currentTimeMillis();
     Set<String> runningWorkspaces = workspaceRuntimes.getRunning();
     LOG.info(
         "Runtimes consistency check is running. Checking {} workspaces", runningWorkspaces.size());
+
+    Map<String, List<KubernetesInternalRuntime>> runtimesByNamespace = new HashMap<>();
     for (String runningWorkspaceId : runningWorkspaces) {
       try {
-        checkOne(runningWorkspaceId);
+        KubernetesInternalRuntime k8sRuntime = getKubernetesInternalRuntime(runningWorkspaceId);
+        runtimesByNamespace
+            .computeIfAbsent(
+                k8sRuntime.getContext().getIdentity().getInfrastructureNamespace(),
+                ns -> new ArrayList<>())
+            .add(k8sRuntime);
       } catch (InfrastructureException e) {
         LOG.error(
-            "Checking consistency of runtime for workspace `{}` is failed. Cause: ",
+            "Checking consistency of runtime for workspace `{}` is failed. Cause: {}",
+            runningWorkspaceId,
             e.getMessage(),
             e);
       }
     }
+
+    List<CompletableFuture<Void>> stops = new ArrayList<>();
+    for (Map.Entry<String, List<KubernetesInternalRuntime>> entry :
+        runtimesByNamespace.entrySet()) {
+      for (KubernetesInternalRuntime k8sRuntime :
+          checkNamespace(entry.getKey(), entry.getValue())) {
+        stops.add(
+            CompletableFuture.runAsync(
+                ThreadLocalPropagateContext.wrap(() -> stopInconsistentQuietly(k8sRuntime)),
+                executor));
+      }
+    }
+    CompletableFuture.allOf(stops.toArray(new CompletableFuture[0])).join();
+
+    lastCheckDurationMillis = System.currentTimeMillis() - start;
+    checksCount.incrementAndGet();
+    checkedRuntimesCount.addAndGet(runningWorkspaces.size());
+    LOG.info(
+        "Runtimes consistency check is finished in {}ms. Checked {} workspaces, {} were inconsistent",
+        lastCheckDurationMillis,
+        runningWorkspaces.size(),
+        stops.size());
   }
 
-  @VisibleForTesting
-  void checkOne(String workspaceId) throws InfrastructureException {
-    LOG.debug("Checking consistency of runtime for workspace `{}`", workspaceId);
-    KubernetesInternalRuntime k8sRuntime = getKubernetesInternalRuntime(workspaceId);
-    RuntimeIdentity runtimeId = k8sRuntime.getContext().getIdentity();
+  /** Returns the number of performed consistency checks. */
+  public long getChecksCount() {
+    return checksCount.get();
+  }
+
+  /** Returns the total number of runtimes checked by all the performed consistency checks. */
+  public long getCheckedRuntimesCount() {
+    return checkedRuntimesCount.get();
+  }
+
+  /** Returns the total number of runtimes stopped because of the inconsistent state. */
+  public long getStoppedRuntimesCount() {
+    return stoppedRuntimesCount.get();
+  }
 
+  /** Returns the duration of the last consistency check in milliseconds. */
+  public long getLastCheckDurationMillis() {
+    return lastCheckDurationMillis;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Fetches the pods of the given namespace by a single request and returns the runtimes which
+   * don't have any of their pods among them.
+   */
+  @VisibleForTesting
+  List<KubernetesInternalRuntime> checkNamespace(
+      String namespace, List<KubernetesInternalRuntime> k8sRuntimes) {
+    List<Pod> pods;
     try {
-      if (k8sRuntime.isConsistent()) {
-        return;
-      }
+      // the workspace id is needed only to create the client, all the workspace pods are listed
+      String workspaceId = k8sRuntimes.get(0).getContext().getIdentity().getWorkspaceId();
+      pods = namespaceFactory.access(workspaceId, namespace).deployments().getAllWorkspacesPods();
     } catch (InfrastructureException e) {
-      throw new InfrastructureException(
-          format(
-              "Error occurred during runtime '%s:%s' consistency checking. Cause: %s",
-              runtimeId.getWorkspaceId(), runtimeId.getOwnerId(), e.getMessage()),
+      LOG.error(
+          "Failed to fetch pods of namespace `{}` to check consistency of {} runtimes. Cause: {}",
+          namespace,
+          k8sRuntimes.size(),
+          e.getMessage(),
           e);
+      return emptyList();
+    }
+
+    List<KubernetesInternalRuntime> inconsistent = new ArrayList<>();
+    for (KubernetesInternalRuntime k8sRuntime : k8sRuntimes) {
+      RuntimeIdentity runtimeId = k8sRuntime.getContext().getIdentity();
+      LOG.debug("Checking consistency of runtime for workspace `{}`", runtimeId.getWorkspaceId());
+      try {
+        if (!k8sRuntime.isConsistent(pods)) {
+          inconsistent.add(k8sRuntime);
+        }
+      } catch (InfrastructureException e) {
+        LOG.error(
+            "Error occurred during runtime '{}:{}' consistency checking. Cause: {}",
+            runtimeId.getWorkspaceId(),
+            runtimeId.getOwnerId(),
+            e.getMessage(),
+            e);
+      }
     }
+    return inconsistent;
+  }
+
+  private void stopInconsistentQuietly(KubernetesInternalRuntime k8sRuntime) {
+    try {
+      stopInconsistent(k8sRuntime);
+    } catch (InfrastructureException e) {
+      LOG.error(e.getMessage(), e);
+    }
+  }
+
+  @VisibleForTesting
+  void stopInconsistent(KubernetesInternalRuntime k8sRuntime) throws InfrastructureException {
+    RuntimeIdentity runtimeId = k8sRuntime.getContext().getIdentity();
 
     // check if status is still RUNNING
     // not to initialize abnormal stop for a runtime that is not RUNNING anymore
@@ -99,8 +246,11 @@ public class InconsistentRuntimesDetector {
         runtimeId.getWorkspaceId(),
         runtimeId.getOwnerId());
 
+    stoppedRuntimesCount.incrementAndGet();
     stopAbnormally(k8sRuntime);
-    LOG.debug("Checking consistency of runtime for workspace `{}` is finished", workspaceId);
+    LOG.debug(
+        "Checking consistency of runtime for workspace `{}` is finished",
+        runtimeId.getWorkspaceId());
   }
 
   private boolean isRunning(KubernetesInternalRuntime k8sRuntime) throws InfrastructureException {
@@ -130,7 +280,8 @@ public class InconsistentRuntimesDetector {
     }
   }
 
-  private KubernetesInternalRuntime getKubernetesInternalRuntime(String workspaceId)
+  @VisibleForTesting
+  KubernetesInternalRuntime getKubernetesInternalRuntime(String workspaceId)
       throws InfrastructureException {
     InternalRuntime<?> internalRuntime;
     try {
@@ -11,11 +11,24 @@
  */
 package org.eclipse.che.workspace.infrastructure.kubernetes;
 
+import static java.util.EnumSet.of;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.COMMANDS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.CONFIG_MAPS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.INGRESSES;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.MACHINES;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.PODS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.ROUTES;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.SECRETS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.SERVICES;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.WARNINGS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseConstants.PROVISION_ENVIRONMENT;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
 import org.eclipse.che.commons.annotation.Traced;
 import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
@@ -26,6 +39,8 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ImagePullSe
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.IngressTlsProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.LogsVolumeMachineProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.PodTerminationGracePeriodProvisioner;
+import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProvisioningGraph;
+import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProvisioningPool;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProxySettingsProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.SecurityContextProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ServiceAccountProvisioner;
@@ -44,6 +59,9 @@ import org.slf4j.LoggerFactory;
  * Applies the set of configurations to the Kubernetes environment and environment configuration
  * with the desired order, which corresponds to the needs of the Kubernetes infrastructure.
  *
+ * <p>The configurations which don't touch the same parts of the environment may be applied
+ * concurrently, see {@link ProvisioningGraph}.
+ *
  * @author Anton Korneta
  * @author Alexander Garagatyi
  */
@@ -58,25 +76,9 @@ public interface KubernetesEnvironmentProvisioner<T extends KubernetesEnvironmen
     private static final Logger LOG =
         LoggerFactory.getLogger(KubernetesEnvironmentProvisionerImpl.class);
 
-    private final boolean pvcEnabled;
-    private final WorkspaceVolumesStrategy volumesStrategy;
-    private final UniqueNamesProvisioner<KubernetesEnvironment> uniqueNamesProvisioner;
-    private final ServersConverter<KubernetesEnvironment> serversConverter;
-    private final EnvVarsConverter envVarsConverter;
-    private final RestartPolicyRewriter restartPolicyRewriter;
-    private final ContainerResourceProvisioner resourceLimitRequestProvisioner;
-    private final LogsVolumeMachineProvisioner logsVolumeMachineProvisioner;
-    private final SecurityContextProvisioner securityContextProvisioner;
-    private final PodTerminationGracePeriodProvisioner podTerminationGracePeriodProvisioner;
-    private final IngressTlsProvisioner externalServerIngressTlsProvisioner;
-    private final ImagePullSecretProvisioner imagePullSecretProvisioner;
-    private final ProxySettingsProvisioner proxySettingsProvisioner;
-    private final ServiceAccountProvisioner serviceAccountProvisioner;
-    private final CertificateProvisioner certificateProvisioner;
-    private final VcsSshKeysProvisioner vcsSshKeysProvisioner;
-    private final GitConfigProvisioner gitConfigProvisioner;
-    private final PreviewUrlExposer<KubernetesEnvironment> previewUrlExposer;
-    private final VcsSslCertificateProvisioner vcsSslCertificateProvisioner;
+    private final ProvisioningGraph<KubernetesEnvironment> provisioningGraph;
+    private final ProvisioningPool provisioningPool;
+    private final StartPhaseTracker startPhaseTracker;
 
     @Inject
     public KubernetesEnvironmentProvisionerImpl(
@@ -98,65 +100,89 @@ public interface KubernetesEnvironmentProvisioner<T extends KubernetesEnvironmen
         VcsSshKeysProvisioner vcsSshKeysProvisioner,
         GitConfigProvisioner gitConfigProvisioner,
         PreviewUrlExposer<KubernetesEnvironment> previewUrlExposer,
-        VcsSslCertificateProvisioner vcsSslCertificateProvisioner) {
-      this.pvcEnabled = pvcEnabled;
-      this.volumesStrategy = volumesStrategy;
-      this.uniqueNamesProvisioner = uniqueNamesProvisioner;
-      this.serversConverter = serversConverter;
-      this.envVarsConverter = envVarsConverter;
-      this.restartPolicyRewriter = restartPolicyRewriter;
-      this.resourceLimitRequestProvisioner = resourceLimitRequestProvisioner;
-      this.logsVolumeMachineProvisioner = logsVolumeMachineProvisioner;
-      this.securityContextProvisioner = securityContextProvisioner;
-      this.podTerminationGracePeriodProvisioner = podTerminationGracePeriodProvisioner;
-      this.externalServerIngressTlsProvisioner = externalServerIngressTlsProvisioner;
-      this.imagePullSecretProvisioner = imagePullSecretProvisioner;
-      this.proxySettingsProvisioner = proxySettingsProvisioner;
-      this.serviceAccountProvisioner = serviceAccountProvisioner;
-      this.certificateProvisioner = certificateProvisioner;
-      this.vcsSshKeysProvisioner = vcsSshKeysProvisioner;
-      this.vcsSslCertificateProvisioner = vcsSslCertificateProvisioner;
-      this.gitConfigProvisioner = gitConfigProvisioner;
-      this.previewUrlExposer = previewUrlExposer;
-    }
+        VcsSslCertificateProvisioner vcsSslCertificateProvisioner,
+        ProvisioningPool provisioningPool,
+        StartPhaseTracker startPhaseTracker) {
+      this.provisioningPool = provisioningPool;
+      this.startPhaseTracker = startPhaseTracker;
 
-    @Traced
-    public void provision(KubernetesEnvironment k8sEnv, RuntimeIdentity identity)
-        throws InfrastructureException {
-      final String workspaceId = identity.getWorkspaceId();
-      TracingTags.WORKSPACE_ID.set(workspaceId);
+      ProvisioningGraph.Builder<KubernetesEnvironment> graph =
+          ProvisioningGraph.builder(PROVISION_ENVIRONMENT);
+      // user inputs are loaded in advance while the chain is running
+      graph
+          .addIndependent("VcsSshKeysPrefetch", (env, id) -> vcsSshKeysProvisioner.prefetch(id))
+          .addIndependent("GitConfigPrefetch", (env, id) -> gitConfigProvisioner.prefetch(id));
 
-      LOG.debug("Start provisioning Kubernetes environment for workspace '{}'", workspaceId);
       // 1 stage - update environment according Infrastructure specific
       if (pvcEnabled) {
-        LOG.debug("Provisioning logs volume for workspace '{}'", workspaceId);
-        logsVolumeMachineProvisioner.provision(k8sEnv, identity);
+        graph.add("LogsVolume", logsVolumeMachineProvisioner, of(MACHINES), of(MACHINES));
       }
 
       // 2 stage - converting Che model env to Kubernetes env
-      LOG.debug("Provisioning servers & env vars converters for workspace '{}'", workspaceId);
-      serversConverter.provision(k8sEnv, identity);
-      previewUrlExposer.expose(k8sEnv);
-      envVarsConverter.provision(k8sEnv, identity);
+      graph
+          .addExclusive("Servers", serversConverter)
+          .add(
+              "PreviewUrls",
+              (env, id) -> previewUrlExposer.expose(env),
+              of(COMMANDS, SERVICES, INGRESSES, ROUTES),
+              of(SERVICES, INGRESSES, ROUTES))
+          .add("EnvVars", envVarsConverter, of(MACHINES, PODS), of(PODS));
       if (pvcEnabled) {
-        volumesStrategy.provision(k8sEnv, identity);
+        graph.addExclusive("Volumes", volumesStrategy);
       }
 
       // 3 stage - add Kubernetes env items
-      LOG.debug("Provisioning environment items for workspace '{}'", workspaceId);
-      restartPolicyRewriter.provision(k8sEnv, identity);
-      uniqueNamesProvisioner.provision(k8sEnv, identity);
-      resourceLimitRequestProvisioner.provision(k8sEnv, identity);
-      externalServerIngressTlsProvisioner.provision(k8sEnv, identity);
-      securityContextProvisioner.provision(k8sEnv, identity);
-      podTerminationGracePeriodProvisioner.provision(k8sEnv, identity);
-      imagePullSecretProvisioner.provision(k8sEnv, identity);
-      proxySettingsProvisioner.provision(k8sEnv, identity);
-      serviceAccountProvisioner.provision(k8sEnv, identity);
-      certificateProvisioner.provision(k8sEnv, identity);
-      vcsSshKeysProvisioner.provision(k8sEnv, identity);
-      vcsSslCertificateProvisioner.provision(k8sEnv, identity);
-      gitConfigProvisioner.provision(k8sEnv, identity);
+      graph
+          .add("RestartPolicy", restartPolicyRewriter, of(PODS), of(PODS, WARNINGS))
+          .add(
+              "UniqueNames",
+              uniqueNamesProvisioner,
+              of(PODS, CONFIG_MAPS, INGRESSES, ROUTES),
+              of(PODS, CONFIG_MAPS, INGRESSES, ROUTES))
+          .add(
+              "ContainerResources",
+              resourceLimitRequestProvisioner,
+              of(MACHINES, PODS),
+              of(MACHINES, PODS))
+          .add(
+              "IngressTls",
+              externalServerIngressTlsProvisioner,
+              of(INGRESSES, SECRETS),
+              of(INGRESSES, SECRETS))
+          .add("SecurityContext", securityContextProvisioner, of(PODS), of(PODS))
+          .add(
+              "PodTerminationGracePeriod", podTerminationGracePeriodProvisioner, of(PODS), of(PODS))
+          .add("ImagePullSecret", imagePullSecretProvisioner, of(SECRETS, PODS), of(SECRETS, PODS))
+          .add("ProxySettings", proxySettingsProvisioner, of(PODS), of(PODS))
+          .add("ServiceAccount", serviceAccountProvisioner, of(PODS), of(PODS))
+          .add("Certificate", certificateProvisioner, of(SECRETS, PODS), of(SECRETS, PODS))
+          .add(
+              "VcsSshKeys",
+              vcsSshKeysProvisioner,
+              of(SECRETS, CONFIG_MAPS, PODS),
+              of(SECRETS, CONFIG_MAPS, PODS))
+          .add(
+              "VcsSslCertificate",
+              vcsSslCertificateProvisioner,
+              of(CONFIG_MAPS, PODS),
+              of(CONFIG_MAPS, PODS))
+          .add(
+              "GitConfig",
+              gitConfigProvisioner,
+              of(CONFIG_MAPS, PODS),
+              of(CONFIG_MAPS, PODS, WARNINGS));
+      this.provisioningGraph = graph.build();
+    }
+
+    @Traced
+    public void provision(KubernetesEnvironment k8sEnv, RuntimeIdentity identity)
+        throws InfrastructureException {
+      final String workspaceId = identity.getWorkspaceId();
+      TracingTags.WORKSPACE_ID.set(workspaceId);
+
+      LOG.debug("Start provisioning Kubernetes environment for workspace '{}'", workspaceId);
+      provisioningGraph.provision(
+          k8sEnv, identity, provisioningPool.getExecutor(), startPhaseTracker);
       LOG.debug("Provisioning Kubernetes environment done for workspace '{}'", workspaceId);
     }
   }
@@ -14,6 +14,11 @@ package org.eclipse.che.workspace.infrastructure.kubernetes;
 import static java.lang.String.format;
 import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toMap;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_DEPLOYMENT_NAME_LABEL;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseConstants.CREATE_OBJECTS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseConstants.PREPARE_VOLUMES;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseConstants.PROVISION_ENVIRONMENT;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseConstants.PROVISION_TOOLING;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.CHECK_SERVERS;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.WAIT_MACHINES_START;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.WAIT_RUNNING_ASYNC;
@@ -34,6 +39,7 @@ import io.opentracing.Span;
 import io.opentracing.Tracer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +78,8 @@ import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalRuntime;
 import org.eclipse.che.api.workspace.server.spi.RuntimeStartInterruptedException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.StartPhase;
 import org.eclipse.che.api.workspace.server.spi.StateException;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalMachineConfig;
 import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentProvisioner;
@@ -91,6 +99,7 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log.LogWatc
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log.LogWatcher;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log.PodLogToEventPublisher;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.WorkspaceVolumesStrategy;
+import org.eclipse.che.workspace.infrastructure.kubernetes.prepull.ImagesPrePuller;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.PreviewUrlCommandProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.server.KubernetesServerResolver;
 import org.eclipse.che.workspace.infrastructure.kubernetes.server.external.IngressPathTransformInverter;
@@ -129,6 +138,8 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
   private final IngressPathTransformInverter ingressPathTransformInverter;
   private final RuntimeHangingDetector runtimeHangingDetector;
   private final PreviewUrlCommandProvisioner previewUrlCommandProvisioner;
+  private final StartPhaseTracker startPhaseTracker;
+  private final ImagesPrePuller imagesPrePuller;
   protected final Tracer tracer;
 
   @Inject
@@ -152,6 +163,8 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
       IngressPathTransformInverter ingressPathTransformInverter,
       RuntimeHangingDetector runtimeHangingDetector,
       PreviewUrlCommandProvisioner previewUrlCommandProvisioner,
+      StartPhaseTracker startPhaseTracker,
+      ImagesPrePuller imagesPrePuller,
       Tracer tracer,
       @Assisted KubernetesRuntimeContext<E> context,
       @Assisted KubernetesNamespace namespace) {
@@ -175,6 +188,8 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     this.runtimeHangingDetector = runtimeHangingDetector;
     this.startSynchronizer = startSynchronizerFactory.create(context.getIdentity());
     this.previewUrlCommandProvisioner = previewUrlCommandProvisioner;
+    this.startPhaseTracker = startPhaseTracker;
+    this.imagesPrePuller = imagesPrePuller;
     this.tracer = tracer;
   }
 
@@ -188,36 +203,49 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
 
       // Tooling side car provisioner should be applied before other provisioners
       // because new machines may be provisioned there
-      toolingProvisioner.provision(
-          context.getIdentity(), startSynchronizer, context.getEnvironment(), startOptions);
+      try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, PROVISION_TOOLING)) {
+        toolingProvisioner.provision(
+            context.getIdentity(), startSynchronizer, context.getEnvironment(), startOptions);
+        phase.succeeded();
+      }
 
       startSynchronizer.checkFailure();
 
       // Workspace API provisioners should be reapplied here to bring needed
       // changed into new machines that came during tooling provisioning
-      for (InternalEnvironmentProvisioner envProvisioner : internalEnvironmentProvisioners) {
-        envProvisioner.provision(context.getIdentity(), context.getEnvironment());
-      }
+      try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, PROVISION_ENVIRONMENT)) {
+        for (InternalEnvironmentProvisioner envProvisioner : internalEnvironmentProvisioners) {
+          envProvisioner.provision(context.getIdentity(), context.getEnvironment());
+        }
 
-      // commands might be updated during provisioning
-      runtimeStates.updateCommands(context.getIdentity(), context.getEnvironment().getCommands());
+        // commands might be updated during provisioning
+        runtimeStates.updateCommands(context.getIdentity(), context.getEnvironment().getCommands());
 
-      // Infrastructure specific provisioner should be applied last
-      // because it converts all Workspace API model objects that comes
-      // from previous provisioners into infrastructure specific objects
-      kubernetesEnvironmentProvisioner.provision(context.getEnvironment(), context.getIdentity());
+        // Infrastructure specific provisioner should be applied last
+        // because it converts all Workspace API model objects that comes
+        // from previous provisioners into infrastructure specific objects
+        kubernetesEnvironmentProvisioner.provision(context.getEnvironment(), context.getIdentity());
+        phase.succeeded();
+      }
 
       LOG.debug("Provisioning of workspace '{}' completed.", workspaceId);
 
-      volumesStrategy.prepare(
-          context.getEnvironment(),
-          context.getIdentity(),
-          startSynchronizer.getStartTimeoutMillis(),
-          startOptions);
+      try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, PREPARE_VOLUMES)) {
+        volumesStrategy.prepare(
+            context.getEnvironment(),
+            context.getIdentity(),
+            startSynchronizer.getStartTimeoutMillis(),
+            startOptions);
+        phase.succeeded();
+      }
 
       startSynchronizer.checkFailure();
 
-      startMachines();
+      imagesPrePuller.recordImages(context.getEnvironment());
+      try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, CREATE_OBJECTS)) {
+        startMachines();
+        phase.succeeded();
+      }
       watchLogsIfDebugEnabled(startOptions);
 
       previewUrlCommandProvisioner.provision(context.getEnvironment(), namespace);
@@ -231,7 +259,8 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
       final EnvironmentContext currentContext = EnvironmentContext.getCurrent();
       CompletableFuture<Void> startFailure = startSynchronizer.getStartFailure();
       Span waitRunningAsyncSpan = tracer.buildSpan(WAIT_MACHINES_START).start();
-      try (Scope waitRunningAsyncScope = tracer.scopeManager().activate(waitRunningAsyncSpan)) {
+      try (Scope waitRunningAsyncScope = tracer.scopeManager().activate(waitRunningAsyncSpan);
+          StartPhase phase = startPhaseTracker.startPhase(workspaceId, WAIT_MACHINES_START)) {
         TracingTags.WORKSPACE_ID.set(waitRunningAsyncSpan, workspaceId);
         for (KubernetesMachineImpl machine : machines.getMachines(context.getIdentity()).values()) {
           String machineName = machine.getName();
@@ -248,6 +277,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
           machinesFutures.put(machineName, machineBootChain);
         }
         waitMachines(machinesFutures, toCancelFutures, startFailure);
+        phase.succeeded();
       } finally {
         waitRunningAsyncSpan.finish();
       }
@@ -406,9 +436,18 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
       final Span tracingSpan = tracer.buildSpan(CHECK_SERVERS).asChildOf(activeSpan).start();
       TracingTags.WORKSPACE_ID.set(tracingSpan, getContext().getIdentity().getWorkspaceId());
       TracingTags.MACHINE_NAME.set(tracingSpan, machine.getName());
+      final StartPhase phase =
+          startPhaseTracker.startPhase(getContext().getIdentity().getWorkspaceId(), CHECK_SERVERS);
 
       // This completable future is used to unity the servers checks and start of probes
       final CompletableFuture<Void> serversAndProbesFuture = new CompletableFuture<>();
+      serversAndProbesFuture.whenComplete(
+          (ok, ex) -> {
+            if (ex == null) {
+              phase.succeeded();
+            }
+            phase.close();
+          });
       final String machineName = machine.getName();
       final RuntimeIdentity runtimeId = getContext().getIdentity();
       final ServersChecker serverCheck =
@@ -495,6 +534,8 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     Span tracingSpan = tracer.buildSpan(WAIT_RUNNING_ASYNC).start();
     TracingTags.WORKSPACE_ID.set(tracingSpan, machine.getWorkspaceId());
     TracingTags.MACHINE_NAME.set(tracingSpan, machine.getName());
+    // includes the pod scheduling, the images pulling and the containers start
+    StartPhase phase = startPhaseTracker.startPhase(machine.getWorkspaceId(), WAIT_RUNNING_ASYNC);
 
     CompletableFuture<Void> waitFuture =
         namespace.deployments().waitRunningAsync(machine.getPodName());
@@ -503,7 +544,10 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
         (res, ex) -> {
           if (ex != null) {
             TracingTags.setErrorStatus(tracingSpan, ex);
+          } else {
+            phase.succeeded();
           }
+          phase.close();
           tracingSpan.finish();
         });
 
@@ -1003,6 +1047,37 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     return false;
   }
 
+  /**
+   * Does the same check as {@link #isConsistent()} but against the already fetched pods of the
+   * namespace instead of requesting each pod of the runtime separately.
+   *
+   * @param namespacePods pods that exist in the namespace of the runtime
+   * @return true if at least one pod of the runtime is present among the specified pods
+   * @throws InfrastructureException when any error occurs during the machines fetching
+   */
+  public boolean isConsistent(Collection<Pod> namespacePods) throws InfrastructureException {
+    Set<String> existingNames = new HashSet<>();
+    for (Pod pod : namespacePods) {
+      ObjectMeta metadata = pod.getMetadata();
+      existingNames.add(metadata.getName());
+      if (metadata.getLabels() != null) {
+        // pods that are controlled by deployments are referenced by the deployment names
+        String deploymentName = metadata.getLabels().get(CHE_DEPLOYMENT_NAME_LABEL);
+        if (deploymentName != null) {
+          existingNames.add(deploymentName);
+        }
+      }
+    }
+
+    for (KubernetesMachineImpl machine : getInternalMachines().values()) {
+      if (existingNames.contains(machine.getPodName())) {
+        return true;
+      }
+    }
+    // runtime has only non-existing pods
+    return false;
+  }
+
   private class ServerReadinessHandler implements Consumer<String> {
 
     private String machineName;
@@ -13,38 +13,79 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.environment;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.utils.Serialization;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.ValidationException;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalRecipe;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Parses Kubernetes objects from recipe.
  *
  * <p>Note that this class can also parse OpenShift specific objects.
  *
+ * <p>Parsed objects are cached by the hash of the recipe content, so that the same recipe isn't
+ * parsed again on each workspace start. Cached objects are stored serialized and each parsing
+ * returns new instances, so the callers are free to modify them. Recipes which contain OpenShift
+ * templates are not cached, as the objects of a template may differ from parsing to parsing, e.g.
+ * because of the generated parameter values.
+ *
  * @author Sergii Leshchenko
  */
+@Singleton
 public class KubernetesRecipeParser {
 
+  private static final Logger LOG = LoggerFactory.getLogger(KubernetesRecipeParser.class);
+
   private static final Set<String> SUPPORTED_CONTENT_TYPES =
       ImmutableSet.of("application/x-yaml", "text/yaml", "text/x-yaml");
 
+  private static final long DEFAULT_CACHE_SIZE_KB = 16 * 1024;
+
+  private static final Pattern TEMPLATE_KIND =
+      Pattern.compile("[\"']?kind[\"']?\\s*:\\s*[\"']?Template\\b");
+
   private final KubernetesClientFactory clientFactory;
+  private final ObjectMapper objectMapper = Serialization.jsonMapper();
+
+  /** Parsed recipes by the hash of their content, null when caching is disabled. */
+  private volatile Cache<String, ParsedRecipe> cache = buildCache(DEFAULT_CACHE_SIZE_KB);
 
   @Inject
   public KubernetesRecipeParser(KubernetesClientFactory clientFactory) {
     this.clientFactory = clientFactory;
   }
 
+  /**
+   * Configures the maximum total size of the cached recipes objects in serialized form. Caching is
+   * disabled when the size is not positive.
+   */
+  @com.google.inject.Inject(optional = true)
+  public void setCacheSize(
+      @Named("che.infra.kubernetes.recipe_parser.cache_size_kb") long cacheSizeKb) {
+    this.cache = buildCache(cacheSizeKb);
+  }
+
   /**
    * Parses Kubernetes objects from recipe.
    *
@@ -86,6 +127,33 @@ public class KubernetesRecipeParser {
       throws ValidationException, InfrastructureException {
     checkNotNull(recipeContent, "Recipe content type must not be null");
 
+    Cache<String, ParsedRecipe> cache = this.cache;
+    if (cache == null || TEMPLATE_KIND.matcher(recipeContent).find()) {
+      return doParse(recipeContent);
+    }
+
+    String key = Hashing.sha256().hashString(recipeContent, UTF_8).toString();
+    ParsedRecipe cached = cache.getIfPresent(key);
+    if (cached != null) {
+      try {
+        return cached.read(objectMapper);
+      } catch (IOException e) {
+        LOG.error("Failed to read cached recipe objects. Error: " + e.getMessage(), e);
+        cache.invalidate(key);
+      }
+    }
+
+    List<HasMetadata> parsed = doParse(recipeContent);
+    try {
+      cache.put(key, ParsedRecipe.write(objectMapper, parsed));
+    } catch (IOException e) {
+      LOG.error("Failed to cache recipe objects. Error: " + e.getMessage(), e);
+    }
+    return parsed;
+  }
+
+  private List<HasMetadata> doParse(String recipeContent)
+      throws ValidationException, InfrastructureException {
     try {
       // Behavior:
       // - If `content` is a single object like Deployment, load().get() will get the object in that
@@ -114,4 +182,46 @@ public class KubernetesRecipeParser {
       throw new ValidationException(format("Could not parse Kubernetes recipe: %s", message));
     }
   }
+
+  private static Cache<String, ParsedRecipe> buildCache(long cacheSizeKb) {
+    if (cacheSizeKb <= 0) {
+      return null;
+    }
+    return CacheBuilder.newBuilder()
+        .maximumWeight(cacheSizeKb * 1024)
+        .weigher((String key, ParsedRecipe recipe) -> recipe.size)
+        .build();
+  }
+
+  /** Objects of the parsed recipe, each one serialized along with its type. */
+  private static class ParsedRecipe {
+    private final List<Class<? extends HasMetadata>> types;
+    private final List<byte[]> objects;
+    private final int size;
+
+    private ParsedRecipe(List<Class<? extends HasMetadata>> types, List<byte[]> objects) {
+      this.types = types;
+      this.objects = objects;
+      this.size = objects.stream().mapToInt(o -> o.length).sum();
+    }
+
+    private static ParsedRecipe write(ObjectMapper objectMapper, List<HasMetadata> parsed)
+        throws IOException {
+      List<Class<? extends HasMetadata>> types = new ArrayList<>(parsed.size());
+      List<byte[]> objects = new ArrayList<>(parsed.size());
+      for (HasMetadata object : parsed) {
+        types.add(object.getClass());
+        objects.add(objectMapper.writeValueAsBytes(object));
+      }
+      return new ParsedRecipe(types, objects);
+    }
+
+    private List<HasMetadata> read(ObjectMapper objectMapper) throws IOException {
+      List<HasMetadata> parsed = new ArrayList<>(objects.size());
+      for (int i = 0; i < objects.size(); i++) {
+        parsed.add(objectMapper.readValue(objects.get(i), types.get(i)));
+      }
+      return parsed;
+    }
+  }
 }
@@ -263,6 +263,27 @@ public class KubernetesDeployments {
     }
   }
 
+  /**
+   * Returns all existing pods of all the workspaces in the namespace, not only the pods of the
+   * workspace this instance is bound to. Allows to fetch the state of multiple workspaces which
+   * share the namespace by a single request.
+   *
+   * @throws InfrastructureException when any exception occurs
+   */
+  public List<Pod> getAllWorkspacesPods() throws InfrastructureException {
+    try {
+      return clientFactory
+          .create(workspaceId)
+          .pods()
+          .inNamespace(namespace)
+          .withLabel(CHE_WORKSPACE_ID_LABEL)
+          .list()
+          .getItems();
+    } catch (KubernetesClientException e) {
+      throw new KubernetesInfrastructureException(e);
+    }
+  }
+
   /**
    * Returns optional with pod that either has specified name or is controlled by Deployment with
    * specified name.
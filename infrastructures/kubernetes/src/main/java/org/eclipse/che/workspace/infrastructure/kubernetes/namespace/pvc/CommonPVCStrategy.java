@@ -23,6 +23,7 @@ import io.fabric8.kubernetes.api.model.VolumeMount;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.inject.Named;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
@@ -30,6 +31,7 @@ import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.commons.annotation.Traced;
 import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
+import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment.PodData;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespace;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPersistentVolumeClaims;
@@ -85,6 +87,7 @@ public class CommonPVCStrategy implements WorkspaceVolumesStrategy {
   static final String SUBPATHS_PROPERTY_FMT = "che.workspace.%s.subpaths";
 
   private final boolean preCreateDirs;
+  private final boolean preCreateDirsInInitContainer;
   private final String pvcQuantity;
   private final String configuredPVCName;
   private final String pvcAccessMode;
@@ -103,6 +106,8 @@ public class CommonPVCStrategy implements WorkspaceVolumesStrategy {
       @Named("che.infra.kubernetes.pvc.quantity") String pvcQuantity,
       @Named("che.infra.kubernetes.pvc.access_mode") String pvcAccessMode,
       @Named("che.infra.kubernetes.pvc.precreate_subpaths") boolean preCreateDirs,
+      @Named("che.infra.kubernetes.pvc.precreate_subpaths_init_container")
+          boolean preCreateDirsInInitContainer,
       @Named("che.infra.kubernetes.pvc.storage_class_name") String pvcStorageClassName,
       @Named("che.infra.kubernetes.pvc.wait_bound") boolean waitBound,
       PVCSubPathHelper pvcSubPathHelper,
@@ -115,6 +120,7 @@ public class CommonPVCStrategy implements WorkspaceVolumesStrategy {
     this.pvcQuantity = pvcQuantity;
     this.pvcAccessMode = pvcAccessMode;
     this.preCreateDirs = preCreateDirs;
+    this.preCreateDirsInInitContainer = preCreateDirsInInitContainer;
     this.pvcStorageClassName = pvcStorageClassName;
     this.waitBound = waitBound;
     this.pvcSubPathHelper = pvcSubPathHelper;
@@ -159,7 +165,9 @@ public class CommonPVCStrategy implements WorkspaceVolumesStrategy {
     podsVolumes.replacePVCVolumesWithCommon(
         k8sEnv.getPodsData(), commonPVC.getMetadata().getName());
 
-    if (preCreateDirs) {
+    if (preCreateDirs && preCreateDirsInInitContainer) {
+      addCreateDirsInitContainers(k8sEnv, commonPVC.getMetadata().getName());
+    } else if (preCreateDirs) {
       Set<String> subPaths = combineVolumeMountsSubpaths(k8sEnv);
       if (!subPaths.isEmpty()) {
         commonPVC.setAdditionalProperty(
@@ -247,6 +255,29 @@ public class CommonPVCStrategy implements WorkspaceVolumesStrategy {
     return commonPVC;
   }
 
+  /**
+   * Prepends init container that creates the subpaths of the common PVC to each pod that mounts
+   * them, so that the pod prepares its directories itself and no separate job is needed.
+   */
+  private void addCreateDirsInitContainers(KubernetesEnvironment k8sEnv, String commonPVCName) {
+    for (PodData pod : k8sEnv.getPodsData().values()) {
+      String[] subPaths =
+          Stream.concat(
+                  pod.getSpec().getInitContainers().stream(),
+                  pod.getSpec().getContainers().stream())
+              .flatMap(c -> c.getVolumeMounts().stream())
+              .filter(vm -> commonPVCName.equals(vm.getName()) && !isNullOrEmpty(vm.getSubPath()))
+              .map(VolumeMount::getSubPath)
+              .distinct()
+              .toArray(String[]::new);
+      if (subPaths.length > 0) {
+        pod.getSpec()
+            .getInitContainers()
+            .add(0, pvcSubPathHelper.newCreateDirsInitContainer(commonPVCName, subPaths));
+      }
+    }
+  }
+
   private Set<String> combineVolumeMountsSubpaths(KubernetesEnvironment k8sEnv) {
     return k8sEnv
         .getPodsData()
@@ -14,6 +14,7 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolume;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolumeMount;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseConstants.CREATE_PVC_SUB_PATHS;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Predicate;
@@ -26,10 +27,14 @@ import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -37,6 +42,8 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.StartPhase;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
@@ -80,12 +87,15 @@ public class PVCSubPathHelper {
   static final String POD_PHASE_SUCCEEDED = "Succeeded";
   static final String POD_PHASE_FAILED = "Failed";
   static final String JOB_MOUNT_PATH = "/tmp/job_mount";
+  static final String INIT_CONTAINER_NAME = "che-pvc-subpaths";
 
   private final String jobImage;
   private final String jobMemoryLimit;
   private final KubernetesNamespaceFactory factory;
   private final ExecutorService executor;
   private final RuntimeEventsPublisher eventsPublisher;
+  private final StartPhaseTracker startPhaseTracker;
+  private final Map<String, RemoveDirsBatch> pendingRemovals = new ConcurrentHashMap<>();
 
   private final SecurityContextProvisioner securityContextProvisioner;
 
@@ -96,12 +106,14 @@ public class PVCSubPathHelper {
       KubernetesNamespaceFactory factory,
       SecurityContextProvisioner securityContextProvisioner,
       ExecutorServiceWrapper executorServiceWrapper,
-      RuntimeEventsPublisher eventPublisher) {
+      RuntimeEventsPublisher eventPublisher,
+      StartPhaseTracker startPhaseTracker) {
     this.jobMemoryLimit = jobMemoryLimit;
     this.jobImage = jobImage;
     this.factory = factory;
     this.securityContextProvisioner = securityContextProvisioner;
     this.eventsPublisher = eventPublisher;
+    this.startPhaseTracker = startPhaseTracker;
     this.executor =
         executorServiceWrapper.wrap(
             Executors.newFixedThreadPool(
@@ -131,12 +143,30 @@ public class PVCSubPathHelper {
         pvcName,
         workspaceId,
         Arrays.toString(dirs));
-    execute(identity, workspaceId, pvcName, MKDIR_COMMAND_BASE, startOptions, dirs);
+    try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, CREATE_PVC_SUB_PATHS)) {
+      execute(identity, workspaceId, pvcName, MKDIR_COMMAND_BASE, startOptions, dirs);
+      phase.succeeded();
+    }
+  }
+
+  /**
+   * Returns new init container that creates workspace directories by given paths, so that they are
+   * created by the workspace pod itself instead of a separate job. The container expects the pod to
+   * have the volume named as the PVC.
+   *
+   * @param pvcName name of the PVC and of the pod volume that references it
+   * @param dirs workspace directories to create
+   */
+  Container newCreateDirsInitContainer(String pvcName, String... dirs) {
+    return newContainer(INIT_CONTAINER_NAME, pvcName, buildCommand(MKDIR_COMMAND_BASE, dirs));
   }
 
   /**
    * Asynchronously starts a job for removing workspace directories by given paths.
    *
+   * <p>Removals requested for the same PVC while the previous ones are still waiting for the
+   * execution are batched and performed by the single job.
+   *
    * @param workspaceId workspace identifier
    * @param namespace
    * @param dirs workspace directories to remove
@@ -148,10 +178,38 @@ public class PVCSubPathHelper {
         pvcName,
         workspaceId,
         Arrays.toString(dirs));
-    return CompletableFuture.runAsync(
-        ThreadLocalPropagateContext.wrap(
-            () -> execute(workspaceId, namespace, pvcName, RM_COMMAND_BASE, dirs)),
-        executor);
+    String key = namespace + '/' + pvcName;
+    RemoveDirsBatch batch =
+        pendingRemovals.compute(
+            key,
+            (k, existing) -> {
+              RemoveDirsBatch b = existing != null ? existing : new RemoveDirsBatch(workspaceId);
+              b.dirs.addAll(Arrays.asList(dirs));
+              return b;
+            });
+    if (batch.scheduled.compareAndSet(false, true)) {
+      CompletableFuture.runAsync(
+              ThreadLocalPropagateContext.wrap(
+                  () -> {
+                    pendingRemovals.remove(key, batch);
+                    execute(
+                        batch.workspaceId,
+                        namespace,
+                        pvcName,
+                        RM_COMMAND_BASE,
+                        batch.dirs.toArray(new String[0]));
+                  }),
+              executor)
+          .whenComplete(
+              (v, ex) -> {
+                if (ex != null) {
+                  batch.future.completeExceptionally(ex);
+                } else {
+                  batch.future.complete(null);
+                }
+              });
+    }
+    return batch.future;
   }
 
   @VisibleForTesting
@@ -290,9 +348,23 @@ public class PVCSubPathHelper {
 
   /** Returns new instance of {@link Pod} with given name and command. */
   private Pod newPod(String podName, String pvcName, String[] command) {
+    final Container container = newContainer(podName, pvcName, command);
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(podName)
+        .endMetadata()
+        .withNewSpec()
+        .withContainers(container)
+        .withVolumes(newVolume(pvcName, pvcName))
+        .withRestartPolicy(POD_RESTART_POLICY)
+        .endSpec()
+        .build();
+  }
+
+  private Container newContainer(String name, String pvcName, String[] command) {
     final Container container =
         new ContainerBuilder()
-            .withName(podName)
+            .withName(name)
             .withImage(jobImage)
             .withImagePullPolicy(IMAGE_PULL_POLICY)
             .withCommand(command)
@@ -302,16 +374,19 @@ public class PVCSubPathHelper {
             .build();
     Containers.addRamLimit(container, jobMemoryLimit);
     Containers.addRamRequest(container, jobMemoryLimit);
-    return new PodBuilder()
-        .withNewMetadata()
-        .withName(podName)
-        .endMetadata()
-        .withNewSpec()
-        .withContainers(container)
-        .withVolumes(newVolume(pvcName, pvcName))
-        .withRestartPolicy(POD_RESTART_POLICY)
-        .endSpec()
-        .build();
+    return container;
+  }
+
+  /** Directories of the same PVC which are waiting for the removal by a single job. */
+  private static class RemoveDirsBatch {
+    private final String workspaceId;
+    private final Set<String> dirs = new LinkedHashSet<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private RemoveDirsBatch(String workspaceId) {
+      this.workspaceId = workspaceId;
+    }
   }
 
   /** Checks whether pod is Failed or Successfully finished command execution */
@@ -54,6 +54,8 @@ public class PerWorkspacePVCStrategy extends CommonPVCStrategy {
       @Named("che.infra.kubernetes.pvc.quantity") String pvcQuantity,
       @Named("che.infra.kubernetes.pvc.access_mode") String pvcAccessMode,
       @Named("che.infra.kubernetes.pvc.precreate_subpaths") boolean preCreateDirs,
+      @Named("che.infra.kubernetes.pvc.precreate_subpaths_init_container")
+          boolean preCreateDirsInInitContainer,
       @Named("che.infra.kubernetes.pvc.storage_class_name") String pvcStorageClassName,
       @Named("che.infra.kubernetes.pvc.wait_bound") boolean waitBound,
       PVCSubPathHelper pvcSubPathHelper,
@@ -67,6 +69,7 @@ public class PerWorkspacePVCStrategy extends CommonPVCStrategy {
         pvcQuantity,
         pvcAccessMode,
         preCreateDirs,
+        preCreateDirsInInitContainer,
         pvcStorageClassName,
         waitBound,
         pvcSubPathHelper,
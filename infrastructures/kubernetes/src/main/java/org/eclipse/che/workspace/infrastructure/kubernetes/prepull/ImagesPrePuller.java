@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.prepull;
+
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Annotations.ANNOTATION_PREFIX;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.api.model.VolumeMount;
+import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.api.model.apps.DaemonSetBuilder;
+import io.fabric8.kubernetes.api.model.apps.DoneableDaemonSet;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.Containers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the images most used by the started workspaces pulled on all the cluster nodes, so that
+ * workspace starts don't wait for the cold image pulls.
+ *
+ * <p>Images of the started workspaces are counted by {@link #recordImages(KubernetesEnvironment)}.
+ * Periodically the counts are added to the usage stored in the annotations of the daemon set in the
+ * configured namespace, and the most used images, limited by the configured maximum, are put as
+ * init containers into the daemon set, which makes each node pull them. The daemon set is replaced
+ * with the lock on its resource version, so the Che Server replicas share the usage and don't
+ * overwrite each other. The usage counts are halved once per period, so images that are not used
+ * anymore are eventually replaced.
+ *
+ * <p>The images may not provide any shell or utility, so the first init container copies the
+ * statically linked no-op binary from the configured image into the volume shared by the pod, and
+ * the init containers of the pre-pulled images run this binary.
+ */
+@Singleton
+public class ImagesPrePuller {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ImagesPrePuller.class);
+
+  private static final Gson GSON = new Gson();
+  private static final Type USAGE_TYPE = new TypeToken<Map<String, Long>>() {}.getType();
+
+  static final String DAEMON_SET_NAME = "che-images-prepull";
+  static final String APP_LABEL = "app";
+  static final String USAGE_ANNOTATION = ANNOTATION_PREFIX + "images-prepull.usage";
+  static final String DECAYED_ANNOTATION = ANNOTATION_PREFIX + "images-prepull.decayed";
+  static final String CONTAINER_NAME_PREFIX = "prepull-";
+  static final String NOOP_CONTAINER_NAME = "prepull-noop";
+  static final String PAUSE_CONTAINER_NAME = "pause";
+  static final String NOOP_VOLUME_NAME = "prepull-noop";
+  static final String NOOP_VOLUME_PATH = "/che-prepull";
+  static final String NOOP_BINARY = "/bin/true";
+  static final String[] NOOP_COPY_COMMAND = {"cp", NOOP_BINARY, NOOP_VOLUME_PATH + "/true"};
+  static final String[] NOOP_COMMAND = {NOOP_VOLUME_PATH + "/true"};
+  static final String IMAGE_PULL_POLICY = "IfNotPresent";
+  static final String CONTAINER_MEMORY_LIMIT = "20Mi";
+
+  private final KubernetesClientFactory clientFactory;
+  private final String namespace;
+  private final long periodMillis;
+  private final int maxImages;
+  private final String pauseImage;
+  private final String noopImage;
+  private final List<LocalObjectReference> imagePullSecrets;
+  private final boolean enabled;
+
+  private final Map<String, AtomicLong> imagesUsage = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private volatile Set<String> prePulledImages = emptySet();
+
+  @Inject
+  public ImagesPrePuller(
+      KubernetesClientFactory clientFactory,
+      @Nullable @Named("che.infra.kubernetes.images_prepull.namespace") String namespace,
+      @Named("che.infra.kubernetes.images_prepull.period_min") long periodMin,
+      @Named("che.infra.kubernetes.images_prepull.max_images") int maxImages,
+      @Named("che.infra.kubernetes.images_prepull.pause_image") String pauseImage,
+      @Named("che.infra.kubernetes.images_prepull.noop_image") String noopImage,
+      @Nullable @Named("che.infra.kubernetes.images_prepull.image_pull_secrets")
+          String imagePullSecrets) {
+    this.clientFactory = clientFactory;
+    this.namespace = namespace;
+    this.periodMillis = TimeUnit.MINUTES.toMillis(periodMin);
+    this.maxImages = maxImages;
+    this.pauseImage = pauseImage;
+    this.noopImage = noopImage;
+    this.imagePullSecrets =
+        Splitter.on(',')
+            .trimResults()
+            .omitEmptyStrings()
+            .splitToList(Strings.nullToEmpty(imagePullSecrets))
+            .stream()
+            .map(LocalObjectReference::new)
+            .collect(toList());
+    this.enabled = periodMin > 0 && maxImages > 0 && !Strings.isNullOrEmpty(namespace);
+  }
+
+  /** Returns whether the images pre-pulling is configured. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Counts the usage of the images of the given environment which is about to be started. Each
+   * image is also counted as hit or miss depending on whether it is currently pre-pulled.
+   */
+  public void recordImages(KubernetesEnvironment k8sEnv) {
+    if (!enabled) {
+      return;
+    }
+    Set<String> prePulled = prePulledImages;
+    k8sEnv
+        .getPodsData()
+        .values()
+        .stream()
+        .flatMap(
+            p ->
+                Stream.concat(
+                    p.getSpec().getInitContainers().stream(), p.getSpec().getContainers().stream()))
+        .map(Container::getImage)
+        .filter(image -> !Strings.isNullOrEmpty(image))
+        .distinct()
+        .forEach(
+            image -> {
+              imagesUsage.computeIfAbsent(image, i -> new AtomicLong()).incrementAndGet();
+              if (prePulled.contains(image)) {
+                hits.incrementAndGet();
+              } else {
+                misses.incrementAndGet();
+              }
+            });
+  }
+
+  /**
+   * Adds the locally counted usage to the usage shared in the daemon set and updates the daemon set
+   * with the currently most used images. When the daemon set is concurrently modified by another
+   * replica, the local usage is kept and added on the next period.
+   */
+  @ScheduleDelay(
+      initialDelayParameterName = "che.infra.kubernetes.images_prepull.period_min",
+      delayParameterName = "che.infra.kubernetes.images_prepull.period_min",
+      unit = TimeUnit.MINUTES)
+  public void update() {
+    if (!enabled) {
+      return;
+    }
+    Map<String, Long> delta = new HashMap<>();
+    imagesUsage.forEach((image, count) -> delta.put(image, count.get()));
+    try {
+      Resource<DaemonSet, DoneableDaemonSet> resource =
+          clientFactory
+              .create()
+              .apps()
+              .daemonSets()
+              .inNamespace(namespace)
+              .withName(DAEMON_SET_NAME);
+      DaemonSet existing = resource.get();
+      Map<String, String> annotations =
+          existing == null ? null : existing.getMetadata().getAnnotations();
+      long decayed = decayedAt(annotations);
+      long now = System.currentTimeMillis();
+      boolean decay = now - decayed >= periodMillis;
+      if (delta.isEmpty() && !decay) {
+        if (existing != null) {
+          prePulledImages = imagesOf(existing);
+        }
+        return;
+      }
+
+      Map<String, Long> usage = mergeUsage(usageOf(annotations), delta, decay);
+      if (usage.isEmpty() && existing == null) {
+        return;
+      }
+      Set<String> images = selectImages(usage);
+      DaemonSet daemonSet = newDaemonSet(images, usage, decay ? now : decayed);
+      if (existing == null) {
+        resource.create(daemonSet);
+      } else {
+        resource
+            .lockResourceVersion(existing.getMetadata().getResourceVersion())
+            .replace(daemonSet);
+      }
+      delta.forEach(
+          (image, count) ->
+              imagesUsage.computeIfPresent(
+                  image, (i, current) -> current.addAndGet(-count) <= 0 ? null : current));
+      if (!images.equals(prePulledImages)) {
+        LOG.info("Updated images pre-pulled in namespace '{}': {}", namespace, images);
+      }
+      prePulledImages = images;
+    } catch (KubernetesClientException e) {
+      if (e.getCode() == 409) {
+        LOG.debug(
+            "Images pre-pulled in namespace '{}' were concurrently updated, local usage is kept "
+                + "until the next update",
+            namespace);
+      } else {
+        logUpdateFailure(e);
+      }
+    } catch (InfrastructureException e) {
+      logUpdateFailure(e);
+    }
+  }
+
+  /** Returns the images that are currently pre-pulled. */
+  public Set<String> getPrePulledImages() {
+    return prePulledImages;
+  }
+
+  /** Returns the number of started workspace images that were pre-pulled. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of started workspace images that were not pre-pulled. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * Adds the local usage to the shared one, halving the shared usage first if {@code decay} is set.
+   * Images which usage drops to zero are removed.
+   */
+  @VisibleForTesting
+  static Map<String, Long> mergeUsage(
+      Map<String, Long> shared, Map<String, Long> delta, boolean decay) {
+    Map<String, Long> merged = new TreeMap<>();
+    shared.forEach(
+        (image, count) -> {
+          long value = decay ? count / 2 : count;
+          if (value > 0) {
+            merged.put(image, value);
+          }
+        });
+    delta.forEach((image, count) -> merged.merge(image, count, Long::sum));
+    return merged;
+  }
+
+  /** Selects the most used images. */
+  @VisibleForTesting
+  Set<String> selectImages(Map<String, Long> usage) {
+    return usage
+        .entrySet()
+        .stream()
+        .sorted(
+            Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()))
+        .limit(maxImages)
+        .map(Map.Entry::getKey)
+        .collect(toCollection(LinkedHashSet::new));
+  }
+
+  @VisibleForTesting
+  DaemonSet newDaemonSet(Set<String> images, Map<String, Long> usage, long decayed) {
+    VolumeMount noopMount =
+        new VolumeMountBuilder().withName(NOOP_VOLUME_NAME).withMountPath(NOOP_VOLUME_PATH).build();
+    List<Container> initContainers = new ArrayList<>(images.size() + 1);
+    initContainers.add(newContainer(NOOP_CONTAINER_NAME, noopImage, NOOP_COPY_COMMAND, noopMount));
+    int i = 0;
+    for (String image : images) {
+      initContainers.add(newContainer(CONTAINER_NAME_PREFIX + i++, image, NOOP_COMMAND, noopMount));
+    }
+    return new DaemonSetBuilder()
+        .withNewMetadata()
+        .withName(DAEMON_SET_NAME)
+        .addToAnnotations(USAGE_ANNOTATION, GSON.toJson(usage, USAGE_TYPE))
+        .addToAnnotations(DECAYED_ANNOTATION, Long.toString(decayed))
+        .endMetadata()
+        .withNewSpec()
+        .withNewSelector()
+        .addToMatchLabels(APP_LABEL, DAEMON_SET_NAME)
+        .endSelector()
+        .withNewTemplate()
+        .withNewMetadata()
+        .addToLabels(APP_LABEL, DAEMON_SET_NAME)
+        .endMetadata()
+        .withNewSpec()
+        .withImagePullSecrets(imagePullSecrets)
+        .addNewVolume()
+        .withName(NOOP_VOLUME_NAME)
+        .withNewEmptyDir()
+        .endEmptyDir()
+        .endVolume()
+        .withInitContainers(initContainers)
+        .withContainers(newContainer(PAUSE_CONTAINER_NAME, pauseImage, null, null))
+        .endSpec()
+        .endTemplate()
+        .endSpec()
+        .build();
+  }
+
+  private Container newContainer(
+      String name, String image, String[] command, VolumeMount volumeMount) {
+    ContainerBuilder builder =
+        new ContainerBuilder()
+            .withName(name)
+            .withImage(image)
+            .withImagePullPolicy(IMAGE_PULL_POLICY)
+            .withCommand(command);
+    if (volumeMount != null) {
+      builder.withVolumeMounts(volumeMount);
+    }
+    Container container = builder.build();
+    Containers.addRamLimit(container, CONTAINER_MEMORY_LIMIT);
+    Containers.addRamRequest(container, CONTAINER_MEMORY_LIMIT);
+    return container;
+  }
+
+  private static Set<String> imagesOf(DaemonSet daemonSet) {
+    return daemonSet
+        .getSpec()
+        .getTemplate()
+        .getSpec()
+        .getInitContainers()
+        .stream()
+        .filter(c -> !NOOP_CONTAINER_NAME.equals(c.getName()))
+        .map(Container::getImage)
+        .collect(toCollection(LinkedHashSet::new));
+  }
+
+  private Map<String, Long> usageOf(Map<String, String> annotations) {
+    String usage = annotations == null ? null : annotations.get(USAGE_ANNOTATION);
+    if (usage != null) {
+      try {
+        Map<String, Long> parsed = GSON.fromJson(usage, USAGE_TYPE);
+        if (parsed != null) {
+          return parsed;
+        }
+      } catch (JsonSyntaxException e) {
+        LOG.warn(
+            "Ignoring malformed usage of images pre-pulled in namespace '{}'. Cause: {}",
+            namespace,
+            e.getMessage());
+      }
+    }
+    return new HashMap<>();
+  }
+
+  private static long decayedAt(Map<String, String> annotations) {
+    String decayed = annotations == null ? null : annotations.get(DECAYED_ANNOTATION);
+    if (decayed != null) {
+      try {
+        return Long.parseLong(decayed);
+      } catch (NumberFormatException ignored) {
+        // decay the malformed usage
+      }
+    }
+    return 0;
+  }
+
+  private void logUpdateFailure(Exception e) {
+    LOG.error(
+        "Failed to update images pre-pulled in namespace '{}'. Cause: {}",
+        namespace,
+        e.getMessage(),
+        e);
+  }
+}
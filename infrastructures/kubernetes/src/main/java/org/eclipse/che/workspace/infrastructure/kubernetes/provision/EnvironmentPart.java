@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.provision;
+
+import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
+
+/**
+ * Parts of the {@link KubernetesEnvironment} which are read or modified by the provisioners, used
+ * by {@link ProvisioningGraph} to find out which provisioners may run concurrently.
+ */
+public enum EnvironmentPart {
+  /** Machine configurations, incl. their servers, volumes, env and attributes. */
+  MACHINES,
+  /** Pods and deployments, incl. their specs and metadata. */
+  PODS,
+  SERVICES,
+  INGRESSES,
+  /** Routes, present only in OpenShift environments. */
+  ROUTES,
+  SECRETS,
+  CONFIG_MAPS,
+  PERSISTENT_VOLUME_CLAIMS,
+  COMMANDS,
+  ATTRIBUTES,
+  WARNINGS
+}
@@ -17,7 +17,12 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonMap;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
@@ -33,14 +38,18 @@ import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.user.User;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.PreferenceManager;
 import org.eclipse.che.api.user.server.UserManager;
+import org.eclipse.che.api.user.server.event.PreferencesChangedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WarningImpl;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -62,11 +71,17 @@ public class GitConfigProvisioner implements ConfigurationProvisioner<Kubernetes
   private static final String GIT_USER_EMAIL_PROPERTY = "git.user.email";
   private static final String CONFIG_MAP_VOLUME_NAME = "gitconfigvolume";
   private static final String HTTPS = "https://";
+  private static final long DEFAULT_USER_INPUTS_EXPIRE_AFTER_WRITE_SEC = 0;
+  private static final long USER_INPUTS_CACHE_MAX_ENTRIES = 1000;
 
   private PreferenceManager preferenceManager;
   private UserManager userManager;
   private VcsSslCertificateProvisioner vcsSslCertificateProvisioner;
 
+  /** Git user name and email memoized per user id, null when memoization is disabled. */
+  private volatile Cache<String, Pair<String, String>> userAndEmailCache =
+      buildCache(DEFAULT_USER_INPUTS_EXPIRE_AFTER_WRITE_SEC);
+
   @Inject
   public GitConfigProvisioner(
       PreferenceManager preferenceManager,
@@ -77,16 +92,31 @@ public class GitConfigProvisioner implements ConfigurationProvisioner<Kubernetes
     this.vcsSslCertificateProvisioner = vcsSslCertificateProvisioner;
   }
 
+  @com.google.inject.Inject(optional = true)
+  public void setUserInputsExpiration(
+      @Named("che.infra.kubernetes.provisioning.user_inputs.expire_after_write_sec")
+          long expireAfterWriteSec) {
+    this.userAndEmailCache = buildCache(expireAfterWriteSec);
+  }
+
+  @Inject
+  public void subscribe(EventService eventService) {
+    eventService.subscribe(
+        event -> {
+          Cache<String, Pair<String, String>> cache = userAndEmailCache;
+          if (cache != null) {
+            cache.invalidate(event.getUserId());
+          }
+        },
+        PreferencesChangedEvent.class);
+  }
+
   @Override
   public void provision(KubernetesEnvironment k8sEnv, RuntimeIdentity identity)
       throws InfrastructureException {
 
     try {
-      Pair<String, String> userAndEmail = getUserFromPreferences();
-
-      if (userAndEmail == null) {
-        userAndEmail = getUserFromUserManager();
-      }
+      Pair<String, String> userAndEmail = getUserAndEmail();
 
       prepareAndProvisionGitConfiguration(
           userAndEmail.first, userAndEmail.second, k8sEnv, identity);
@@ -107,6 +137,57 @@ public class GitConfigProvisioner implements ConfigurationProvisioner<Kubernetes
     }
   }
 
+  /**
+   * Resolves the git user name and email of the current user, so that the subsequent {@link
+   * #provision(KubernetesEnvironment, RuntimeIdentity)} doesn't wait for them. Does nothing when
+   * they are not memoized, failures are left for the provisioning to report.
+   */
+  public void prefetch(RuntimeIdentity identity) {
+    if (userAndEmailCache == null) {
+      return;
+    }
+    try {
+      getUserAndEmail();
+    } catch (ServerException | NotFoundException | JsonSyntaxException ignored) {
+      // provisioning retries the lookup and reports the warning
+    }
+  }
+
+  private Pair<String, String> getUserAndEmail()
+      throws ServerException, NotFoundException, JsonSyntaxException {
+    Cache<String, Pair<String, String>> cache = userAndEmailCache;
+    if (cache == null) {
+      return loadUserAndEmail();
+    }
+    String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+    try {
+      return cache.get(userId, this::loadUserAndEmail);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      Throwables.propagateIfPossible(cause, ServerException.class, NotFoundException.class);
+      throw new ServerException(cause.getMessage(), cause);
+    }
+  }
+
+  private Pair<String, String> loadUserAndEmail()
+      throws ServerException, NotFoundException, JsonSyntaxException {
+    Pair<String, String> userAndEmail = getUserFromPreferences();
+    if (userAndEmail == null) {
+      userAndEmail = getUserFromUserManager();
+    }
+    return userAndEmail;
+  }
+
+  private static Cache<String, Pair<String, String>> buildCache(long expireAfterWriteSec) {
+    if (expireAfterWriteSec <= 0) {
+      return null;
+    }
+    return CacheBuilder.newBuilder()
+        .maximumSize(USER_INPUTS_CACHE_MAX_ENTRIES)
+        .expireAfterWrite(expireAfterWriteSec, SECONDS)
+        .build();
+  }
+
   private void reportWarning(KubernetesEnvironment k8sEnv, int code, String message) {
     k8sEnv.getWarnings().add(new WarningImpl(code, message));
   }
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.provision;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.StartPhase;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Chain of the provisioners modelled as a dependency graph.
+ *
+ * <p>Each provisioner is added with the {@link EnvironmentPart parts} of the environment it reads
+ * and writes. A provisioner depends on all the provisioners added before it which write a part it
+ * reads or writes, or read a part it writes. When an executor is given, the provisioners run on it
+ * as soon as the provisioners they depend on are completed, otherwise they run one by one in the
+ * order they were added. Either way the result is the same as of the sequential chain.
+ *
+ * <p>Duration of each provisioner is reported as a phase of the workspace start named {@code
+ * <phasePrefix>.<provisionerName>}.
+ */
+public class ProvisioningGraph<T extends KubernetesEnvironment> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ProvisioningGraph.class);
+
+  private final String phasePrefix;
+  private final List<Node<T>> nodes;
+
+  private ProvisioningGraph(String phasePrefix, List<Node<T>> nodes) {
+    this.phasePrefix = phasePrefix;
+    this.nodes = unmodifiableList(nodes);
+  }
+
+  public static <T extends KubernetesEnvironment> Builder<T> builder(String phasePrefix) {
+    return new Builder<>(phasePrefix);
+  }
+
+  /**
+   * Runs the provisioners of this graph.
+   *
+   * @param k8sEnv environment to provision
+   * @param identity runtime identity
+   * @param executor executor to run the independent provisioners concurrently in, or null to run
+   *     all of them sequentially in the calling thread
+   * @param startPhaseTracker tracker of the provisioners durations
+   * @throws InfrastructureException the exception of the first failed provisioner in the order they
+   *     were added, the provisioners which depend on a failed one are not run
+   */
+  public void provision(
+      T k8sEnv,
+      RuntimeIdentity identity,
+      @Nullable ExecutorService executor,
+      StartPhaseTracker startPhaseTracker)
+      throws InfrastructureException {
+    if (executor == null) {
+      for (Node<T> node : nodes) {
+        run(node, k8sEnv, identity, startPhaseTracker);
+      }
+      return;
+    }
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>(nodes.size());
+    for (Node<T> node : nodes) {
+      Runnable task =
+          ThreadLocalPropagateContext.wrap(
+              () -> {
+                try {
+                  run(node, k8sEnv, identity, startPhaseTracker);
+                } catch (InfrastructureException e) {
+                  throw new CompletionException(e);
+                }
+              });
+      if (node.dependencies.isEmpty()) {
+        futures.add(CompletableFuture.runAsync(task, executor));
+      } else {
+        CompletableFuture<?>[] dependencies =
+            node.dependencies.stream().map(futures::get).toArray(CompletableFuture[]::new);
+        futures.add(CompletableFuture.allOf(dependencies).thenRunAsync(task, executor));
+      }
+    }
+
+    // wait for all the provisioners, so none of them modifies the environment after return
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      futures.forEach(f -> f.cancel(true));
+      throw new InternalInfrastructureException(
+          "Interrupted while provisioning environment of workspace " + identity.getWorkspaceId());
+    } catch (ExecutionException e) {
+      // the provisioners which depend on a failed one fail with the same cause,
+      // so the first failed provisioner in the chain is the one to report
+      for (CompletableFuture<Void> future : futures) {
+        if (future.isCompletedExceptionally()) {
+          rethrow(future);
+        }
+      }
+    }
+  }
+
+  /** Returns the names of the provisioners in the order they were added. */
+  @VisibleForTesting
+  List<String> getNames() {
+    List<String> names = new ArrayList<>(nodes.size());
+    nodes.forEach(n -> names.add(n.name));
+    return names;
+  }
+
+  /** Returns the names of the provisioners the given one depends on. */
+  @VisibleForTesting
+  Set<String> getDependencies(String name) {
+    for (Node<T> node : nodes) {
+      if (node.name.equals(name)) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        node.dependencies.forEach(i -> dependencies.add(nodes.get(i).name));
+        return dependencies;
+      }
+    }
+    throw new IllegalArgumentException("No provisioner " + name);
+  }
+
+  private void run(
+      Node<T> node, T k8sEnv, RuntimeIdentity identity, StartPhaseTracker startPhaseTracker)
+      throws InfrastructureException {
+    long start = System.nanoTime();
+    try (StartPhase phase =
+        startPhaseTracker.startPhase(identity.getWorkspaceId(), phasePrefix + '.' + node.name)) {
+      node.provisioner.provision(k8sEnv, identity);
+      phase.succeeded();
+    } finally {
+      LOG.debug(
+          "Provisioner '{}' of workspace '{}' took {} ms",
+          node.name,
+          identity.getWorkspaceId(),
+          NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+  }
+
+  private static void rethrow(CompletableFuture<Void> future) throws InfrastructureException {
+    try {
+      future.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof InfrastructureException) {
+        throw (InfrastructureException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new InternalInfrastructureException((Exception) cause);
+    }
+  }
+
+  private static class Node<T extends KubernetesEnvironment> {
+    private final String name;
+    private final ConfigurationProvisioner<? super T> provisioner;
+    private final Set<EnvironmentPart> reads;
+    private final Set<EnvironmentPart> writes;
+    private final List<Integer> dependencies = new ArrayList<>();
+
+    private Node(
+        String name,
+        ConfigurationProvisioner<? super T> provisioner,
+        Set<EnvironmentPart> reads,
+        Set<EnvironmentPart> writes) {
+      this.name = name;
+      this.provisioner = provisioner;
+      this.reads = copyOf(reads);
+      this.writes = copyOf(writes);
+    }
+
+    private static Set<EnvironmentPart> copyOf(Set<EnvironmentPart> parts) {
+      return parts.isEmpty() ? EnumSet.noneOf(EnvironmentPart.class) : EnumSet.copyOf(parts);
+    }
+
+    /** Whether this node and the given one can't run concurrently. */
+    private boolean conflictsWith(Node<?> other) {
+      return !Collections.disjoint(writes, other.reads)
+          || !Collections.disjoint(writes, other.writes)
+          || !Collections.disjoint(reads, other.writes);
+    }
+  }
+
+  public static class Builder<T extends KubernetesEnvironment> {
+
+    private final String phasePrefix;
+    private final List<Node<T>> nodes = new ArrayList<>();
+
+    private Builder(String phasePrefix) {
+      this.phasePrefix = phasePrefix;
+    }
+
+    /**
+     * Adds the provisioner to the end of the chain.
+     *
+     * @param name unique name of the provisioner
+     * @param provisioner the provisioner
+     * @param reads parts of the environment which are read by the provisioner
+     * @param writes parts of the environment which are modified by the provisioner
+     */
+    public Builder<T> add(
+        String name,
+        ConfigurationProvisioner<? super T> provisioner,
+        Set<EnvironmentPart> reads,
+        Set<EnvironmentPart> writes) {
+      for (Node<T> node : nodes) {
+        if (node.name.equals(name)) {
+          throw new IllegalArgumentException("Provisioner '" + name + "' is already added");
+        }
+      }
+      Node<T> node = new Node<>(name, provisioner, reads, writes);
+      for (int i = 0; i < nodes.size(); i++) {
+        if (nodes.get(i).conflictsWith(node)) {
+          node.dependencies.add(i);
+        }
+      }
+      nodes.add(node);
+      return this;
+    }
+
+    /**
+     * Adds the provisioner which may read and modify any part of the environment, so it runs only
+     * after all the previously added provisioners and before all the subsequent ones.
+     */
+    public Builder<T> addExclusive(String name, ConfigurationProvisioner<? super T> provisioner) {
+      return add(
+          name,
+          provisioner,
+          EnumSet.allOf(EnvironmentPart.class),
+          EnumSet.allOf(EnvironmentPart.class));
+    }
+
+    /**
+     * Adds the provisioner which doesn't touch the environment, e.g. one that only loads the inputs
+     * of other provisioners in advance, so it doesn't depend on any provisioner.
+     */
+    public Builder<T> addIndependent(String name, ConfigurationProvisioner<? super T> provisioner) {
+      return add(
+          name,
+          provisioner,
+          EnumSet.noneOf(EnvironmentPart.class),
+          EnumSet.noneOf(EnvironmentPart.class));
+    }
+
+    public ProvisioningGraph<T> build() {
+      return new ProvisioningGraph<>(phasePrefix, new ArrayList<>(nodes));
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.provision;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread pool which runs the independent provisioners of {@link ProvisioningGraph} concurrently.
+ * The size of the pool bounds the number of provisioners running at the same time for all the
+ * workspaces being started.
+ *
+ * <p>Concurrent provisioning is disabled when the configured concurrency is less than 2.
+ */
+@Singleton
+public class ProvisioningPool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ProvisioningPool.class);
+
+  private final ExecutorService executor;
+
+  @Inject
+  public ProvisioningPool(
+      @Named("che.infra.kubernetes.provisioning.concurrency") int concurrency,
+      ExecutorServiceWrapper executorServiceWrapper) {
+    this.executor =
+        concurrency > 1
+            ? executorServiceWrapper.wrap(
+                Executors.newFixedThreadPool(
+                    concurrency,
+                    new ThreadFactoryBuilder()
+                        .setNameFormat("ProvisioningPool-%d")
+                        .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                        .setDaemon(true)
+                        .build()),
+                ProvisioningPool.class.getName())
+            : null;
+  }
+
+  /** Returns the executor to run the provisioners in or null if they must run sequentially. */
+  @Nullable
+  public ExecutorService getExecutor() {
+    return executor;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (executor != null && !executor.isShutdown()) {
+      executor.shutdownNow();
+      try {
+        if (!executor.awaitTermination(30, SECONDS)) {
+          LOG.error("Couldn't shutdown ProvisioningPool thread pool");
+        }
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -13,8 +13,13 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.provision;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toMap;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.ConfigMapVolumeSourceBuilder;
@@ -31,12 +36,17 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
 import javax.validation.constraints.NotNull;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.ssh.server.SshManager;
+import org.eclipse.che.api.ssh.server.event.SshPairsChangedEvent;
 import org.eclipse.che.api.ssh.server.model.impl.SshPairImpl;
 import org.eclipse.che.api.ssh.shared.model.SshPair;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
@@ -69,6 +79,7 @@ import org.slf4j.LoggerFactory;
  * @author Vitalii Parfonov
  * @author Vlad Zhukovskyi
  */
+@Singleton
 public class VcsSshKeysProvisioner implements ConfigurationProvisioner<KubernetesEnvironment> {
 
   private static String SSH_BASE_CONFIG_PATH = "/etc/ssh/";
@@ -84,15 +95,42 @@ public class VcsSshKeysProvisioner implements ConfigurationProvisioner<Kubernete
 
   private static final String SSH_SECRET_TYPE = "opaque";
 
+  private static final String VCS_SERVICE = "vcs";
+  private static final long DEFAULT_USER_INPUTS_EXPIRE_AFTER_WRITE_SEC = 0;
+  private static final long USER_INPUTS_CACHE_MAX_ENTRIES = 1000;
+
   private static final Logger LOG = LoggerFactory.getLogger(VcsSshKeysProvisioner.class);
 
   private final SshManager sshManager;
 
+  /** VCS ssh pairs memoized per owner, null when memoization is disabled. */
+  private volatile Cache<String, List<SshPairImpl>> sshPairsCache =
+      buildCache(DEFAULT_USER_INPUTS_EXPIRE_AFTER_WRITE_SEC);
+
   @Inject
   public VcsSshKeysProvisioner(SshManager sshManager) {
     this.sshManager = sshManager;
   }
 
+  @com.google.inject.Inject(optional = true)
+  public void setUserInputsExpiration(
+      @Named("che.infra.kubernetes.provisioning.user_inputs.expire_after_write_sec")
+          long expireAfterWriteSec) {
+    this.sshPairsCache = buildCache(expireAfterWriteSec);
+  }
+
+  @Inject
+  public void subscribe(EventService eventService) {
+    eventService.subscribe(
+        event -> {
+          Cache<String, List<SshPairImpl>> cache = sshPairsCache;
+          if (cache != null && VCS_SERVICE.equals(event.getService())) {
+            cache.invalidate(event.getOwner());
+          }
+        },
+        SshPairsChangedEvent.class);
+  }
+
   @Override
   @Traced
   public void provision(KubernetesEnvironment k8sEnv, RuntimeIdentity identity)
@@ -101,22 +139,11 @@ public class VcsSshKeysProvisioner implements ConfigurationProvisioner<Kubernete
 
     List<SshPairImpl> sshPairs;
     try {
-      sshPairs = sshManager.getPairs(identity.getOwnerId(), "vcs");
-    } catch (ServerException e) {
-      LOG.warn("Unable to get SSH Keys. Cause: {}", e.getMessage());
+      sshPairs = getSshPairs(identity.getOwnerId());
+    } catch (ServerException | ConflictException e) {
+      // already logged
       return;
     }
-    if (sshPairs.isEmpty()) {
-      try {
-        sshPairs =
-            singletonList(
-                sshManager.generatePair(
-                    identity.getOwnerId(), "vcs", "default-" + new Date().getTime()));
-      } catch (ServerException | ConflictException e) {
-        LOG.warn("Unable to generate the initial SSH key. Cause: {}", e.getMessage());
-        return;
-      }
-    }
 
     doProvisionSshKeys(sshPairs, k8sEnv, identity.getWorkspaceId());
 
@@ -129,6 +156,66 @@ public class VcsSshKeysProvisioner implements ConfigurationProvisioner<Kubernete
     doProvisionSshConfig(sshConfigMapName, sshConfigData.toString(), k8sEnv);
   }
 
+  /**
+   * Loads the VCS ssh pairs of the workspace owner, generating the initial one if needed, so that
+   * the subsequent {@link #provision(KubernetesEnvironment, RuntimeIdentity)} doesn't wait for
+   * them. Does nothing when the ssh pairs are not memoized.
+   */
+  public void prefetch(RuntimeIdentity identity) {
+    if (sshPairsCache == null) {
+      return;
+    }
+    try {
+      getSshPairs(identity.getOwnerId());
+    } catch (ServerException | ConflictException e) {
+      // already logged, provisioning retries the lookup
+    }
+  }
+
+  private List<SshPairImpl> getSshPairs(String owner) throws ServerException, ConflictException {
+    Cache<String, List<SshPairImpl>> cache = sshPairsCache;
+    if (cache == null) {
+      return loadSshPairs(owner);
+    }
+    try {
+      return cache.get(owner, () -> loadSshPairs(owner));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwable cause = e.getCause();
+      Throwables.propagateIfPossible(cause, ServerException.class, ConflictException.class);
+      throw new ServerException(cause.getMessage(), cause);
+    }
+  }
+
+  private List<SshPairImpl> loadSshPairs(String owner) throws ServerException, ConflictException {
+    List<SshPairImpl> sshPairs;
+    try {
+      sshPairs = sshManager.getPairs(owner, VCS_SERVICE);
+    } catch (ServerException e) {
+      LOG.warn("Unable to get SSH Keys. Cause: {}", e.getMessage());
+      throw e;
+    }
+    if (!sshPairs.isEmpty()) {
+      return sshPairs;
+    }
+    try {
+      return singletonList(
+          sshManager.generatePair(owner, VCS_SERVICE, "default-" + new Date().getTime()));
+    } catch (ServerException | ConflictException e) {
+      LOG.warn("Unable to generate the initial SSH key. Cause: {}", e.getMessage());
+      throw e;
+    }
+  }
+
+  private static Cache<String, List<SshPairImpl>> buildCache(long expireAfterWriteSec) {
+    if (expireAfterWriteSec <= 0) {
+      return null;
+    }
+    return CacheBuilder.newBuilder()
+        .maximumSize(USER_INPUTS_CACHE_MAX_ENTRIES)
+        .expireAfterWrite(expireAfterWriteSec, SECONDS)
+        .build();
+  }
+
   private void doProvisionSshKeys(
       List<SshPairImpl> sshPairs, KubernetesEnvironment k8sEnv, String wsId) {
 
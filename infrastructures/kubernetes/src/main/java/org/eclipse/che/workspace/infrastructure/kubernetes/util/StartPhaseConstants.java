@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.util;
+
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+
+/**
+ * Constants used as names of the kubernetes infra phases of the workspace start measured with
+ * {@link StartPhaseTracker}.
+ *
+ * <p>The phases which are traced as well reuse the names from {@link TracingSpanConstants}: waiting
+ * for the machines, waiting for a pod to be running (incl. pod scheduling and image pulling),
+ * servers checks and the plugin broker phases.
+ */
+public class StartPhaseConstants {
+
+  /** Phase of the sidecar tooling provisioning, incl. plugin brokering */
+  public static final String PROVISION_TOOLING = "ProvisionTooling";
+
+  /** Phase of the internal and the kubernetes environment provisioning */
+  public static final String PROVISION_ENVIRONMENT = "ProvisionEnvironment";
+
+  /** Phase of the workspace volumes preparation */
+  public static final String PREPARE_VOLUMES = "PrepareVolumes";
+
+  /** Phase of the workspace directories creation in the PVC by a short-lived pod */
+  public static final String CREATE_PVC_SUB_PATHS = "CreatePVCSubPaths";
+
+  /** Phase of the kubernetes objects creation */
+  public static final String CREATE_OBJECTS = "CreateObjects";
+
+  private StartPhaseConstants() {}
+}
@@ -21,6 +21,7 @@ import javax.inject.Named;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
 import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
 import org.eclipse.che.api.workspace.server.wsplugins.model.PluginFQN;
 import org.eclipse.che.commons.annotation.Traced;
@@ -63,6 +64,8 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
   private final KubernetesEnvironmentProvisioner<E> environmentProvisioner;
   private final UnrecoverablePodEventListenerFactory unrecoverablePodEventListenerFactory;
   private final RuntimeEventsPublisher runtimeEventsPublisher;
+  private final PluginsResolutionCache resolutionCache;
+  private final StartPhaseTracker startPhaseTracker;
   private final Tracer tracer;
 
   @Inject
@@ -76,6 +79,8 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
       UnrecoverablePodEventListenerFactory unrecoverablePodEventListenerFactory,
       @Named("che.workspace.plugin_broker.wait_timeout_min") int pluginBrokerWaitingTimeout,
       RuntimeEventsPublisher runtimeEventsPublisher,
+      PluginsResolutionCache resolutionCache,
+      StartPhaseTracker startPhaseTracker,
       Tracer tracer) {
     this.factory = factory;
     this.eventService = eventService;
@@ -86,12 +91,15 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
     this.pluginBrokerWaitingTimeout = pluginBrokerWaitingTimeout;
     this.unrecoverablePodEventListenerFactory = unrecoverablePodEventListenerFactory;
     this.runtimeEventsPublisher = runtimeEventsPublisher;
+    this.resolutionCache = resolutionCache;
+    this.startPhaseTracker = startPhaseTracker;
     this.tracer = tracer;
   }
 
   /**
    * Deploys Che plugin brokers in a workspace, receives result of theirs execution and returns
-   * resolved workspace tooling or error of plugins brokering execution.
+   * resolved workspace tooling or error of plugins brokering execution. Brokers are not deployed
+   * when the tooling for the same plugins is found in {@link PluginsResolutionCache}.
    *
    * <p>This API is in <b>Beta</b> and is subject to changes or removal.
    */
@@ -106,6 +114,13 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
       throws InfrastructureException {
 
     String workspaceId = identity.getWorkspaceId();
+    List<ChePlugin> cachedTooling = resolutionCache.get(pluginFQNs);
+    if (cachedTooling != null) {
+      LOG.debug("Using cached plugins tooling for workspace '{}'", workspaceId);
+      return cachedTooling;
+    }
+
+    long start = System.nanoTime();
     KubernetesNamespace kubernetesNamespace = factory.getOrCreate(identity);
     BrokersResult brokersResult = new BrokersResult();
 
@@ -124,7 +139,9 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
             identity, kubernetesNamespace, brokerEnvironment, brokersResult, startOptions);
     LOG.debug("Entering plugin brokers deployment chain workspace '{}'", workspaceId);
     listenBrokerEvents.then(prepareStorage).then(deployBroker).then(waitBrokerResult);
-    return listenBrokerEvents.execute();
+    List<ChePlugin> tooling = listenBrokerEvents.execute();
+    resolutionCache.put(pluginFQNs, tooling, System.nanoTime() - start);
+    return tooling;
   }
 
   private ListenBrokerEvents getListenEventPhase(String workspaceId, BrokersResult brokersResult) {
@@ -137,7 +154,13 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
       KubernetesEnvironment brokerEnvironment,
       Map<String, String> startOptions) {
     return new PrepareStorage(
-        identity, brokerEnvironment, volumesStrategy, startSynchronizer, tracer, startOptions);
+        identity,
+        brokerEnvironment,
+        volumesStrategy,
+        startSynchronizer,
+        startPhaseTracker,
+        tracer,
+        startOptions);
   }
 
   private DeployBroker getDeployBrokerPhase(
@@ -153,11 +176,13 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
         brokersResult,
         unrecoverablePodEventListenerFactory,
         runtimeEventsPublisher,
+        startPhaseTracker,
         tracer,
         startOptions);
   }
 
   private WaitBrokerResult getWaitBrokerPhase(String workspaceId, BrokersResult brokersResult) {
-    return new WaitBrokerResult(workspaceId, brokersResult, pluginBrokerWaitingTimeout, tracer);
+    return new WaitBrokerResult(
+        workspaceId, brokersResult, pluginBrokerWaitingTimeout, startPhaseTracker, tracer);
   }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.Beta;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
+import org.eclipse.che.api.workspace.server.wsplugins.model.PluginFQN;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches workspace tooling resolved by Che plugin broker by the set of plugins it was resolved for,
+ * so that starts of the workspaces with the same plugins don't need to deploy the broker again.
+ *
+ * <p>Cached tooling is stored serialized and each lookup returns new instances of {@link
+ * ChePlugin}, so the callers are free to modify it. Caching is disabled when the configured time to
+ * live is not positive.
+ *
+ * <p>This API is in <b>Beta</b> and is subject to changes or removal.
+ */
+@Beta
+@Singleton
+public class PluginsResolutionCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PluginsResolutionCache.class);
+
+  static final int MAX_SIZE = 500;
+
+  private static final TypeReference<List<ChePlugin>> PLUGINS_TYPE =
+      new TypeReference<List<ChePlugin>>() {};
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Cache<Set<PluginFQN>, Resolution> cache;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong savedNanos = new AtomicLong();
+
+  @Inject
+  public PluginsResolutionCache(
+      @Named("che.workspace.plugin_broker.resolution_cache_ttl_min") long ttlMin) {
+    this.cache =
+        ttlMin > 0
+            ? CacheBuilder.newBuilder()
+                .maximumSize(MAX_SIZE)
+                .expireAfterWrite(ttlMin, TimeUnit.MINUTES)
+                .build()
+            : null;
+  }
+
+  /** Returns whether the resolved tooling is cached at all. */
+  public boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * Returns the tooling previously resolved for the given plugins or null when there is no such
+   * tooling or caching is disabled. The order of the plugins doesn't matter.
+   */
+  @Nullable
+  public List<ChePlugin> get(Collection<PluginFQN> pluginFQNs) {
+    if (cache == null) {
+      return null;
+    }
+    Resolution resolution = cache.getIfPresent(ImmutableSet.copyOf(pluginFQNs));
+    if (resolution != null) {
+      try {
+        List<ChePlugin> plugins = objectMapper.readValue(resolution.tooling, PLUGINS_TYPE);
+        hits.incrementAndGet();
+        savedNanos.addAndGet(resolution.durationNanos);
+        return plugins;
+      } catch (IOException e) {
+        LOG.error("Failed to read cached plugins tooling. Error: " + e.getMessage(), e);
+      }
+    }
+    misses.incrementAndGet();
+    return null;
+  }
+
+  /**
+   * Caches the tooling resolved for the given plugins.
+   *
+   * @param pluginFQNs plugins the tooling was resolved for
+   * @param plugins resolved tooling
+   * @param durationNanos how long it took to resolve the tooling, reported as time saved by
+   *     subsequent cache hits
+   */
+  public void put(Collection<PluginFQN> pluginFQNs, List<ChePlugin> plugins, long durationNanos) {
+    if (cache == null || plugins == null) {
+      return;
+    }
+    try {
+      cache.put(
+          ImmutableSet.copyOf(pluginFQNs),
+          new Resolution(objectMapper.writeValueAsString(plugins), durationNanos));
+    } catch (JsonProcessingException e) {
+      LOG.error("Failed to cache plugins tooling. Error: " + e.getMessage(), e);
+    }
+  }
+
+  /** Returns the number of lookups which returned cached tooling. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of lookups which didn't find cached tooling. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /** Returns the total time of plugin brokering avoided by the cache hits, in nanoseconds. */
+  public long getSavedNanos() {
+    return savedNanos.get();
+  }
+
+  private static class Resolution {
+    private final String tooling;
+    private final long durationNanos;
+
+    private Resolution(String tooling, long durationNanos) {
+      this.tooling = tooling;
+      this.durationNanos = durationNanos;
+    }
+  }
+}
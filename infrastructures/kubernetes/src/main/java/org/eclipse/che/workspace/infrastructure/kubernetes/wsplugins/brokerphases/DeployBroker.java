@@ -27,6 +27,8 @@ import java.util.Map;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.StartPhase;
 import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
 import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.workspace.infrastructure.kubernetes.RuntimeLogsPublisher;
@@ -62,6 +64,7 @@ public class DeployBroker extends BrokerPhase {
   private final BrokersResult brokersResult;
   private final UnrecoverablePodEventListenerFactory factory;
   private final RuntimeIdentity runtimeId;
+  private final StartPhaseTracker startPhaseTracker;
   private final Tracer tracer;
   private final Map<String, String> startOptions;
 
@@ -72,6 +75,7 @@ public class DeployBroker extends BrokerPhase {
       BrokersResult brokersResult,
       UnrecoverablePodEventListenerFactory factory,
       RuntimeEventsPublisher runtimeEventsPublisher,
+      StartPhaseTracker startPhaseTracker,
       Tracer tracer,
       Map<String, String> startOptions) {
     this.runtimeId = runtimeId;
@@ -80,6 +84,7 @@ public class DeployBroker extends BrokerPhase {
     this.brokersResult = brokersResult;
     this.factory = factory;
     this.runtimeEventsPublisher = runtimeEventsPublisher;
+    this.startPhaseTracker = startPhaseTracker;
     this.tracer = tracer;
     this.startOptions = startOptions;
   }
@@ -89,6 +94,8 @@ public class DeployBroker extends BrokerPhase {
     LOG.debug("Starting brokers pod for workspace '{}'", runtimeId.getWorkspaceId());
     Span tracingSpan = tracer.buildSpan(DEPLOY_BROKER_PHASE).start();
     TracingTags.WORKSPACE_ID.set(tracingSpan, runtimeId.getWorkspaceId());
+    StartPhase phase =
+        startPhaseTracker.startPhase(runtimeId.getWorkspaceId(), DEPLOY_BROKER_PHASE);
 
     KubernetesDeployments deployments = namespace.deployments();
     try {
@@ -126,6 +133,8 @@ public class DeployBroker extends BrokerPhase {
 
       LOG.debug("Brokers pod is created for workspace '{}'", runtimeId.getWorkspaceId());
       tracingSpan.finish();
+      phase.succeeded();
+      phase.close();
       return nextPhase.execute();
     } catch (InfrastructureException e) {
 
@@ -135,6 +144,8 @@ public class DeployBroker extends BrokerPhase {
       tracingSpan.finish();
       throw e;
     } finally {
+      // closes the phase as failed unless it is already completed
+      phase.close();
       namespace.deployments().stopWatch();
       try {
         deployments.delete();
@@ -20,6 +20,8 @@ import java.util.List;
 import java.util.Map;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.StartPhase;
 import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
 import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.workspace.infrastructure.kubernetes.StartSynchronizer;
@@ -40,6 +42,7 @@ public class PrepareStorage extends BrokerPhase {
   private final KubernetesEnvironment brokerEnvironment;
   private final WorkspaceVolumesStrategy volumesStrategy;
   private final StartSynchronizer startSynchronizer;
+  private final StartPhaseTracker startPhaseTracker;
   private final Tracer tracer;
   private final Map<String, String> startOptions;
 
@@ -48,12 +51,14 @@ public class PrepareStorage extends BrokerPhase {
       KubernetesEnvironment brokerEnvironment,
       WorkspaceVolumesStrategy volumesStrategy,
       StartSynchronizer startSynchronizer,
+      StartPhaseTracker startPhaseTracker,
       Tracer tracer,
       Map<String, String> startOptions) {
     this.identity = identity;
     this.brokerEnvironment = brokerEnvironment;
     this.volumesStrategy = volumesStrategy;
     this.startSynchronizer = startSynchronizer;
+    this.startPhaseTracker = startPhaseTracker;
     this.tracer = tracer;
     this.startOptions = startOptions;
   }
@@ -63,9 +68,11 @@ public class PrepareStorage extends BrokerPhase {
     Span tracingSpan = tracer.buildSpan(PREPARE_STORAGE_PHASE).start();
     TracingTags.WORKSPACE_ID.set(tracingSpan, identity.getWorkspaceId());
 
-    try {
+    try (StartPhase phase =
+        startPhaseTracker.startPhase(identity.getWorkspaceId(), PREPARE_STORAGE_PHASE)) {
       volumesStrategy.prepare(
           brokerEnvironment, identity, startSynchronizer.getStartTimeoutMillis(), startOptions);
+      phase.succeeded();
     } catch (InfrastructureException e) {
       TracingTags.setErrorStatus(tracingSpan, e);
       throw e;
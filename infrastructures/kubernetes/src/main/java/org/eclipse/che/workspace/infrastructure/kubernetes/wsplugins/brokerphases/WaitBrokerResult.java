@@ -21,6 +21,8 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.StartPhase;
 import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
 import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins.BrokersResult;
@@ -42,13 +44,19 @@ public class WaitBrokerResult extends BrokerPhase {
 
   private final BrokersResult brokersResult;
   private final String workspaceId;
+  private final StartPhaseTracker startPhaseTracker;
   private final Tracer tracer;
 
   private final int resultWaitingTimeout;
 
   public WaitBrokerResult(
-      String workspaceId, BrokersResult brokersResult, int resultWaitingTimeout, Tracer tracer) {
+      String workspaceId,
+      BrokersResult brokersResult,
+      int resultWaitingTimeout,
+      StartPhaseTracker startPhaseTracker,
+      Tracer tracer) {
     this.workspaceId = workspaceId;
+    this.startPhaseTracker = startPhaseTracker;
     this.brokersResult = brokersResult;
     this.resultWaitingTimeout = resultWaitingTimeout;
     this.tracer = tracer;
@@ -59,9 +67,11 @@ public class WaitBrokerResult extends BrokerPhase {
     Span tracingSpan = tracer.buildSpan(WAIT_BROKERS_RESULT_PHASE).start();
     TracingTags.WORKSPACE_ID.set(tracingSpan, workspaceId);
 
-    try {
+    try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, WAIT_BROKERS_RESULT_PHASE)) {
       LOG.debug("Trying to get brokers result for workspace '{}'", workspaceId);
-      return brokersResult.get(resultWaitingTimeout, TimeUnit.MINUTES);
+      List<ChePlugin> plugins = brokersResult.get(resultWaitingTimeout, TimeUnit.MINUTES);
+      phase.succeeded();
+      return plugins;
     } catch (InterruptedException e) {
       TracingTags.setErrorStatus(tracingSpan, e);
       throw new InfrastructureException(
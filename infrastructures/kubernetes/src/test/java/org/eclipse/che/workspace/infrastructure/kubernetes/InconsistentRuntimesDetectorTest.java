@@ -12,14 +12,16 @@
 package org.eclipse.che.workspace.infrastructure.kubernetes;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -27,12 +29,19 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import java.util.List;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalRuntime;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesDeployments;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespace;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -53,6 +62,9 @@ public class InconsistentRuntimesDetectorTest {
 
   @Mock private RuntimeEventsPublisher eventPublisher;
   @Mock private WorkspaceRuntimes workspaceRuntimes;
+  @Mock private KubernetesNamespaceFactory namespaceFactory;
+  @Mock private KubernetesNamespace namespace;
+  @Mock private KubernetesDeployments deployments;
 
   @Mock private KubernetesInternalRuntime k8sRuntime;
   @Mock private KubernetesRuntimeContext k8sContext;
@@ -62,7 +74,13 @@ public class InconsistentRuntimesDetectorTest {
   @BeforeMethod
   public void setUp() throws Exception {
     inconsistentRuntimesDetector =
-        spy(new InconsistentRuntimesDetector(eventPublisher, workspaceRuntimes));
+        new InconsistentRuntimesDetector(
+            eventPublisher,
+            workspaceRuntimes,
+            namespaceFactory,
+            MoreExecutors.newDirectExecutorService());
+    lenient().when(namespaceFactory.access(anyString(), anyString())).thenReturn(namespace);
+    lenient().when(namespace.deployments()).thenReturn(deployments);
     lenient().when(k8sRuntime.getContext()).thenReturn(k8sContext);
     lenient().when(k8sContext.getIdentity()).thenReturn(runtimeId);
 
@@ -70,51 +88,101 @@ public class InconsistentRuntimesDetectorTest {
   }
 
   @Test
-  public void shouldCheckRuntimesConsistencyOneByOne() throws Exception {
+  public void shouldFetchPodsOncePerNamespaceOnChecking() throws Exception {
     // given
+    KubernetesInternalRuntime runtime1 = mockRuntime("workspace1", "namespace1");
+    KubernetesInternalRuntime runtime2 = mockRuntime("workspace2", "namespace1");
+    KubernetesInternalRuntime runtime3 = mockRuntime("workspace3", "namespace2");
     when(workspaceRuntimes.getRunning())
         .thenReturn(ImmutableSet.of("workspace1", "workspace2", "workspace3"));
-    doNothing().when(inconsistentRuntimesDetector).checkOne(any());
+    List<Pod> pods = singletonList(new PodBuilder().withNewMetadata().endMetadata().build());
+    when(deployments.getAllWorkspacesPods()).thenReturn(pods);
 
     // when
     inconsistentRuntimesDetector.check();
 
     // then
-    verify(inconsistentRuntimesDetector).checkOne("workspace1");
-    verify(inconsistentRuntimesDetector).checkOne("workspace2");
-    verify(inconsistentRuntimesDetector).checkOne("workspace3");
+    verify(namespaceFactory).access(any(), eq("namespace1"));
+    verify(namespaceFactory).access(any(), eq("namespace2"));
+    verify(deployments, times(2)).getAllWorkspacesPods();
+    verify(runtime1).isConsistent(pods);
+    verify(runtime2).isConsistent(pods);
+    verify(runtime3).isConsistent(pods);
+    verify(runtime1, never()).isConsistent();
+    verifyNoMoreInteractions(eventPublisher);
+    assertEquals(inconsistentRuntimesDetector.getCheckedRuntimesCount(), 3);
+    assertEquals(inconsistentRuntimesDetector.getStoppedRuntimesCount(), 0);
   }
 
   @Test
-  public void shouldCheckRuntimesConsistencyOneByOneWhenExceptionOccursOnChecking()
-      throws Exception {
+  public void shouldStopOnlyInconsistentRuntimesOnChecking() throws Exception {
     // given
-    when(workspaceRuntimes.getRunning())
-        .thenReturn(ImmutableSet.of("workspace1", "workspace2", "workspace3"));
+    KubernetesInternalRuntime runtime1 = mockRuntime("workspace1", "namespace1");
+    KubernetesInternalRuntime runtime2 = mockRuntime("workspace2", "namespace1");
+    when(workspaceRuntimes.getRunning()).thenReturn(ImmutableSet.of("workspace1", "workspace2"));
+    doReturn(false).when(runtime2).isConsistent(any());
+
+    // when
+    inconsistentRuntimesDetector.check();
+
+    // then
+    verify(runtime1, never()).stop(any());
+    verify(runtime2).stop(emptyMap());
+    assertEquals(inconsistentRuntimesDetector.getStoppedRuntimesCount(), 1);
+  }
+
+  @Test
+  public void shouldCheckOtherNamespacesWhenPodsFetchingFailsForOne() throws Exception {
+    // given
+    KubernetesInternalRuntime runtime1 = mockRuntime("workspace1", "namespace1");
+    KubernetesInternalRuntime runtime2 = mockRuntime("workspace2", "namespace2");
+    when(workspaceRuntimes.getRunning()).thenReturn(ImmutableSet.of("workspace1", "workspace2"));
+    KubernetesNamespace failingNamespace = mock(KubernetesNamespace.class);
+    KubernetesDeployments failingDeployments = mock(KubernetesDeployments.class);
+    when(namespaceFactory.access(any(), eq("namespace1"))).thenReturn(failingNamespace);
+    when(failingNamespace.deployments()).thenReturn(failingDeployments);
+    doThrow(new InfrastructureException("error")).when(failingDeployments).getAllWorkspacesPods();
+
+    // when
+    inconsistentRuntimesDetector.check();
+
+    // then
+    verify(runtime1, never()).isConsistent(any());
+    verify(runtime2).isConsistent(any());
+  }
+
+  @Test
+  public void shouldContinueCheckingWhenRuntimeFetchingFailsForOne() throws Exception {
+    // given
+    KubernetesInternalRuntime runtime2 = mockRuntime("workspace2", "namespace1");
+    when(workspaceRuntimes.getRunning()).thenReturn(ImmutableSet.of("workspace1", "workspace2"));
     doThrow(new InfrastructureException("error"))
-        .when(inconsistentRuntimesDetector)
-        .checkOne(any());
+        .when(workspaceRuntimes)
+        .getInternalRuntime("workspace1");
 
     // when
     inconsistentRuntimesDetector.check();
 
     // then
-    verify(inconsistentRuntimesDetector).checkOne("workspace1");
-    verify(inconsistentRuntimesDetector).checkOne("workspace2");
-    verify(inconsistentRuntimesDetector).checkOne("workspace3");
+    verify(runtime2).isConsistent(any());
   }
 
   @Test
-  public void shouldDoNothingIfRuntimeHasConsistentStateOnChecking() throws Exception {
+  public void shouldContinueStoppingWhenExceptionOccursOnStoppingOne() throws Exception {
     // given
-    doReturn(k8sRuntime).when(workspaceRuntimes).getInternalRuntime("workspace1");
-    doReturn(true).when(k8sRuntime).isConsistent();
+    KubernetesInternalRuntime runtime1 = mockRuntime("workspace1", "namespace1");
+    KubernetesInternalRuntime runtime2 = mockRuntime("workspace2", "namespace1");
+    when(workspaceRuntimes.getRunning()).thenReturn(ImmutableSet.of("workspace1", "workspace2"));
+    doReturn(false).when(runtime1).isConsistent(any());
+    doReturn(false).when(runtime2).isConsistent(any());
+    doThrow(new InfrastructureException("error")).when(runtime1).stop(any());
 
     // when
-    inconsistentRuntimesDetector.checkOne("workspace1");
+    inconsistentRuntimesDetector.check();
 
     // then
-    verifyNoMoreInteractions(eventPublisher);
+    verify(runtime1).stop(emptyMap());
+    verify(runtime2).stop(emptyMap());
   }
 
   @Test(
@@ -128,7 +196,7 @@ public class InconsistentRuntimesDetectorTest {
     doReturn(runtime).when(workspaceRuntimes).getInternalRuntime("workspace1");
 
     // when
-    inconsistentRuntimesDetector.checkOne("workspace1");
+    inconsistentRuntimesDetector.getKubernetesInternalRuntime("workspace1");
 
     // then
     verifyNoMoreInteractions(eventPublisher);
@@ -146,23 +214,7 @@ public class InconsistentRuntimesDetectorTest {
         .getInternalRuntime("workspace1");
 
     // when
-    inconsistentRuntimesDetector.checkOne("workspace1");
-
-    // then
-    verifyNoMoreInteractions(eventPublisher);
-  }
-
-  @Test(
-      expectedExceptions = InfrastructureException.class,
-      expectedExceptionsMessageRegExp =
-          "Error occurred during runtime 'workspace1:owner1' consistency checking. Cause: error")
-  public void shouldThrowExceptionIfExceptionOccursOnCheckingConsistency() throws Exception {
-    // given
-    doReturn(k8sRuntime).when(workspaceRuntimes).getInternalRuntime("workspace1");
-    doThrow(new InfrastructureException("error")).when(k8sRuntime).isConsistent();
-
-    // when
-    inconsistentRuntimesDetector.checkOne("workspace1");
+    inconsistentRuntimesDetector.getKubernetesInternalRuntime("workspace1");
 
     // then
     verifyNoMoreInteractions(eventPublisher);
@@ -173,14 +225,12 @@ public class InconsistentRuntimesDetectorTest {
       shouldMarkRuntimeAsStoppedEvenWhenExceptionOccursDuringRuntimeStoppingOnCheckingConsistency()
           throws Exception {
     // given
-    doReturn(k8sRuntime).when(workspaceRuntimes).getInternalRuntime("workspace1");
-    doReturn(false).when(k8sRuntime).isConsistent();
     doThrow(new InfrastructureException("error")).when(k8sRuntime).stop(any());
 
     // when
     InfrastructureException caughtException = null;
     try {
-      inconsistentRuntimesDetector.checkOne("workspace1");
+      inconsistentRuntimesDetector.stopInconsistent(k8sRuntime);
     } catch (InfrastructureException e) {
       caughtException = e;
     }
@@ -200,12 +250,8 @@ public class InconsistentRuntimesDetectorTest {
   @Test
   public void shouldStopRuntimeAbnormallyIfRuntimeHasInConsistentStateOnChecking()
       throws Exception {
-    // given
-    doReturn(k8sRuntime).when(workspaceRuntimes).getInternalRuntime("workspace1");
-    doReturn(false).when(k8sRuntime).isConsistent();
-
     // when
-    inconsistentRuntimesDetector.checkOne("workspace1");
+    inconsistentRuntimesDetector.stopInconsistent(k8sRuntime);
 
     // then
     verify(k8sRuntime).stop(emptyMap());
@@ -219,12 +265,10 @@ public class InconsistentRuntimesDetectorTest {
   public void shouldNotStopRuntimeAbnormallyIfRuntimeHasInconsistentStateButIsNotRunningAnyMore()
       throws Exception {
     // given
-    doReturn(k8sRuntime).when(workspaceRuntimes).getInternalRuntime("workspace1");
-    doReturn(false).when(k8sRuntime).isConsistent();
     when(k8sRuntime.getStatus()).thenReturn(WorkspaceStatus.STOPPING);
 
     // when
-    inconsistentRuntimesDetector.checkOne("workspace1");
+    inconsistentRuntimesDetector.stopInconsistent(k8sRuntime);
 
     // then
     verify(k8sRuntime, never()).stop(emptyMap());
@@ -233,4 +277,18 @@ public class InconsistentRuntimesDetectorTest {
     verify(eventPublisher, never())
         .sendAbnormalStoppedEvent(runtimeId, "The runtime has inconsistent state.");
   }
+
+  private KubernetesInternalRuntime mockRuntime(String workspaceId, String namespace)
+      throws Exception {
+    KubernetesInternalRuntime runtime = mock(KubernetesInternalRuntime.class);
+    KubernetesRuntimeContext context = mock(KubernetesRuntimeContext.class);
+    lenient().when(runtime.getContext()).thenReturn(context);
+    lenient()
+        .when(context.getIdentity())
+        .thenReturn(new RuntimeIdentityImpl(workspaceId, "envName", "owner1", namespace));
+    lenient().when(runtime.getStatus()).thenReturn(WorkspaceStatus.RUNNING);
+    lenient().when(runtime.isConsistent(any())).thenReturn(true);
+    doReturn(runtime).when(workspaceRuntimes).getInternalRuntime(workspaceId);
+    return runtime;
+  }
 }
@@ -11,10 +11,38 @@
  */
 package org.eclipse.che.workspace.infrastructure.kubernetes;
 
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.core.model.workspace.config.MachineConfig.MEMORY_LIMIT_ATTRIBUTE;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
+import com.google.common.collect.ImmutableMap;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.EnvVar;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.extensions.HTTPIngressPathBuilder;
+import io.fabric8.kubernetes.api.model.extensions.Ingress;
+import io.fabric8.kubernetes.api.model.extensions.IngressBuilder;
+import io.fabric8.kubernetes.api.model.extensions.IngressRuleBuilder;
+import java.util.HashMap;
+import java.util.Map;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.ssh.server.SshManager;
+import org.eclipse.che.api.ssh.server.model.impl.SshPairImpl;
+import org.eclipse.che.api.user.server.PreferenceManager;
+import org.eclipse.che.api.user.server.UserManager;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+import org.eclipse.che.api.workspace.server.spi.environment.InternalMachineConfig;
+import org.eclipse.che.api.workspace.server.spi.environment.ResourceLimitAttributesProvisioner;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
+import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesEnvironmentProvisioner.KubernetesEnvironmentProvisionerImpl;
 import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.WorkspaceVolumesStrategy;
@@ -24,6 +52,7 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ImagePullSe
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.IngressTlsProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.LogsVolumeMachineProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.PodTerminationGracePeriodProvisioner;
+import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProvisioningPool;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProxySettingsProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.SecurityContextProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ServiceAccountProvisioner;
@@ -70,6 +99,8 @@ public class KubernetesEnvironmentProvisionerTest {
   @Mock private GitConfigProvisioner gitConfigProvisioner;
   @Mock private PreviewUrlExposer previewUrlExposer;
   @Mock private VcsSslCertificateProvisioner vcsSslCertificateProvisioner;
+  @Mock private ProvisioningPool provisioningPool;
+  @Mock private EventService eventService;
 
   private KubernetesEnvironmentProvisioner<KubernetesEnvironment> k8sInfraProvisioner;
 
@@ -77,6 +108,7 @@ public class KubernetesEnvironmentProvisionerTest {
 
   @BeforeMethod
   public void setUp() {
+    when(runtimeIdentity.getWorkspaceId()).thenReturn("workspace123");
     k8sInfraProvisioner =
         new KubernetesEnvironmentProvisionerImpl(
             true,
@@ -97,7 +129,9 @@ public class KubernetesEnvironmentProvisionerTest {
             vcsSshKeysProvisioner,
             gitConfigProvisioner,
             previewUrlExposer,
-            vcsSslCertificateProvisioner);
+            vcsSslCertificateProvisioner,
+            provisioningPool,
+            new StartPhaseTracker(eventService));
     provisionOrder =
         inOrder(
             logsVolumeMachineProvisioner,
@@ -122,6 +156,7 @@ public class KubernetesEnvironmentProvisionerTest {
   public void performsOrderedProvisioning() throws Exception {
     k8sInfraProvisioner.provision(k8sEnv, runtimeIdentity);
 
+    provisionOrder.verify(gitConfigProvisioner).prefetch(eq(runtimeIdentity));
     provisionOrder.verify(logsVolumeMachineProvisioner).provision(eq(k8sEnv), eq(runtimeIdentity));
     provisionOrder.verify(serversProvisioner).provision(eq(k8sEnv), eq(runtimeIdentity));
     provisionOrder.verify(envVarsProvisioner).provision(eq(k8sEnv), eq(runtimeIdentity));
@@ -143,4 +178,126 @@ public class KubernetesEnvironmentProvisionerTest {
     provisionOrder.verify(gitConfigProvisioner).provision(eq(k8sEnv), eq(runtimeIdentity));
     provisionOrder.verifyNoMoreInteractions();
   }
+
+  @Test
+  public void concurrentProvisioningGivesSameEnvironmentAsSequential() throws Exception {
+    EnvironmentContext context = new EnvironmentContext();
+    context.setSubject(new SubjectImpl("user", "user123", null, false));
+    EnvironmentContext.setCurrent(context);
+    SshManager sshManager = mock(SshManager.class);
+    when(sshManager.getPairs("user123", "vcs"))
+        .thenReturn(singletonList(new SshPairImpl("user123", "vcs", "github.com", "pub", "priv")));
+    when(runtimeIdentity.getOwnerId()).thenReturn("user123");
+    PreferenceManager preferenceManager = mock(PreferenceManager.class);
+    when(preferenceManager.find("user123", "theia-user-preferences"))
+        .thenReturn(singletonMap("theia-user-preferences", "{\"git.user.name\":\"user\"}"));
+    VcsSslCertificateProvisioner noSslCertificate = new VcsSslCertificateProvisioner();
+    ProvisioningPool concurrentPool = new ProvisioningPool(4, new NoopExecutorServiceWrapper());
+
+    KubernetesEnvironment expected = createEnvironment();
+    createProvisioner(sshManager, preferenceManager, noSslCertificate, provisioningPool)
+        .provision(expected, runtimeIdentity);
+
+    try {
+      for (int i = 0; i < 10; i++) {
+        KubernetesEnvironment actual = createEnvironment();
+        createProvisioner(sshManager, preferenceManager, noSslCertificate, concurrentPool)
+            .provision(actual, runtimeIdentity);
+
+        assertEquals(actual.getPodsData(), expected.getPodsData());
+        assertEquals(actual.getMachines().keySet(), expected.getMachines().keySet());
+        for (String machineName : expected.getMachines().keySet()) {
+          InternalMachineConfig actualMachine = actual.getMachines().get(machineName);
+          InternalMachineConfig expectedMachine = expected.getMachines().get(machineName);
+          assertEquals(actualMachine.getEnv(), expectedMachine.getEnv());
+          assertEquals(actualMachine.getAttributes(), expectedMachine.getAttributes());
+        }
+        assertEquals(actual.getIngresses(), expected.getIngresses());
+        assertEquals(actual.getSecrets(), expected.getSecrets());
+        assertEquals(actual.getConfigMaps(), expected.getConfigMaps());
+        assertEquals(actual.getWarnings(), expected.getWarnings());
+      }
+    } finally {
+      concurrentPool.getExecutor().shutdownNow();
+      EnvironmentContext.reset();
+    }
+  }
+
+  private KubernetesEnvironmentProvisioner<KubernetesEnvironment> createProvisioner(
+      SshManager sshManager,
+      PreferenceManager preferenceManager,
+      VcsSslCertificateProvisioner vcsSslCertificateProvisioner,
+      ProvisioningPool pool) {
+    return new KubernetesEnvironmentProvisionerImpl(
+        false,
+        uniqueNamesProvisioner,
+        serversProvisioner,
+        new EnvVarsConverter(),
+        new RestartPolicyRewriter(),
+        volumesStrategy,
+        new ContainerResourceProvisioner(
+            1024, 512, "500m", "100m", new ResourceLimitAttributesProvisioner()),
+        logsVolumeMachineProvisioner,
+        new SecurityContextProvisioner("1000", "2000"),
+        new PodTerminationGracePeriodProvisioner(30),
+        new IngressTlsProvisioner(true, "tls-secret", "cert", "key"),
+        imagePullSecretProvisioner,
+        new ProxySettingsProvisioner("https://proxy", "http://proxy", "localhost"),
+        new ServiceAccountProvisioner("workspace-sa"),
+        new CertificateProvisioner(),
+        new VcsSshKeysProvisioner(sshManager),
+        new GitConfigProvisioner(
+            preferenceManager, mock(UserManager.class), vcsSslCertificateProvisioner),
+        previewUrlExposer,
+        vcsSslCertificateProvisioner,
+        pool,
+        new StartPhaseTracker(eventService));
+  }
+
+  private static KubernetesEnvironment createEnvironment() {
+    Pod pod =
+        new PodBuilder()
+            .withNewMetadata()
+            .withName("pod")
+            .endMetadata()
+            .withNewSpec()
+            .withRestartPolicy("Always")
+            .withContainers(
+                new ContainerBuilder().withName("main").withImage("main-image").build(),
+                new ContainerBuilder()
+                    .withName("sidecar")
+                    .withImage("sidecar-image")
+                    .withEnv(new EnvVar("SIDECAR", "value", null))
+                    .build())
+            .endSpec()
+            .build();
+    Ingress ingress =
+        new IngressBuilder()
+            .withNewMetadata()
+            .withName("ingress")
+            .endMetadata()
+            .withNewSpec()
+            .withRules(
+                new IngressRuleBuilder()
+                    .withHost("host")
+                    .withNewHttp()
+                    .withPaths(new HTTPIngressPathBuilder().withPath("/").build())
+                    .endHttp()
+                    .build())
+            .endSpec()
+            .build();
+    Map<String, InternalMachineConfig> machines = new HashMap<>();
+    machines.put(
+        "pod/main",
+        new InternalMachineConfig(null, ImmutableMap.of("A", "${B}", "B", "b"), null, null));
+    machines.put(
+        "pod/sidecar",
+        new InternalMachineConfig(
+            null, singletonMap("C", "c"), singletonMap(MEMORY_LIMIT_ATTRIBUTE, "2048"), null));
+    return KubernetesEnvironment.builder()
+        .setPods(singletonMap("pod", pod))
+        .setIngresses(singletonMap("ingress", ingress))
+        .setMachines(machines)
+        .build();
+  }
 }
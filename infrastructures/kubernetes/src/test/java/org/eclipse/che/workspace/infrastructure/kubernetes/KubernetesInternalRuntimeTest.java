@@ -24,7 +24,11 @@ import static org.eclipse.che.api.core.model.workspace.runtime.MachineStatus.STA
 import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_START;
 import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_START_LOG_LIMIT_BYTES;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_DEPLOYMENT_NAME_LABEL;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_ORIGINAL_NAME_LABEL;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.CHECK_SERVERS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.WAIT_MACHINES_START;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.TracingSpanConstants.WAIT_RUNNING_ASYNC;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -74,6 +78,7 @@ import io.fabric8.kubernetes.api.model.extensions.IngressSpec;
 import io.opentracing.Tracer;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -95,6 +100,7 @@ import org.eclipse.che.api.core.model.workspace.runtime.ServerStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.DtoConverter;
 import org.eclipse.che.api.workspace.server.URLRewriter;
+import org.eclipse.che.api.workspace.server.event.WorkspaceStartPhaseEvent;
 import org.eclipse.che.api.workspace.server.hc.ServersChecker;
 import org.eclipse.che.api.workspace.server.hc.ServersCheckerFactory;
 import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
@@ -105,6 +111,7 @@ import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.RuntimeStartInterruptedException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
 import org.eclipse.che.api.workspace.server.spi.StateException;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalMachineConfig;
 import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentProvisioner;
@@ -131,6 +138,7 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log.LogWatc
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log.LogWatcher;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.log.PodLogHandler;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.WorkspaceVolumesStrategy;
+import org.eclipse.che.workspace.infrastructure.kubernetes.prepull.ImagesPrePuller;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.KubernetesPreviewUrlCommandProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.server.KubernetesServerResolver;
 import org.eclipse.che.workspace.infrastructure.kubernetes.server.external.IngressPathTransformInverter;
@@ -182,6 +190,8 @@ public class KubernetesInternalRuntimeTest {
       new RuntimeIdentityImpl(WORKSPACE_ID, "env1", "id1", "infraNamespace");
 
   @Mock private EventService eventService;
+  @Mock private EventService startPhaseEventService;
+  @Mock private ImagesPrePuller imagesPrePuller;
   @Mock private StartSynchronizerFactory startSynchronizerFactory;
   private StartSynchronizer startSynchronizer;
   @Mock private KubernetesRuntimeContext<KubernetesEnvironment> context;
@@ -270,6 +280,8 @@ public class KubernetesInternalRuntimeTest {
             pathTransformInverter,
             runtimeHangingDetector,
             previewUrlCommandProvisioner,
+            new StartPhaseTracker(startPhaseEventService),
+            imagesPrePuller,
             tracer,
             context,
             namespace);
@@ -395,6 +407,46 @@ public class KubernetesInternalRuntimeTest {
     assertFalse(isConsistent);
   }
 
+  @Test
+  public void shouldReturnTrueIfPodControlledByDeploymentExistsOnRuntimeConsistencyChecking()
+      throws Exception {
+    // given
+    KubernetesMachineImpl machine =
+        new KubernetesMachineImpl(
+            WORKSPACE_ID, "machine", "deployment", "container", null, emptyMap(), emptyMap());
+    machinesCache.put(IDENTITY, machine);
+    Pod deploymentPod =
+        new PodBuilder()
+            .withNewMetadata()
+            .withName("deployment-12345")
+            .addToLabels(CHE_DEPLOYMENT_NAME_LABEL, "deployment")
+            .endMetadata()
+            .build();
+
+    // when
+    boolean isConsistent = internalRuntime.isConsistent(singletonList(deploymentPod));
+
+    // then
+    assertTrue(isConsistent);
+  }
+
+  @Test
+  public void shouldReturnFalseIfNoFetchedPodBelongsToRuntimeOnRuntimeConsistencyChecking()
+      throws Exception {
+    // given
+    KubernetesMachineImpl machine =
+        new KubernetesMachineImpl(
+            WORKSPACE_ID, "machine", "pod1", "container", null, emptyMap(), emptyMap());
+    machinesCache.put(IDENTITY, machine);
+    Pod otherPod = new PodBuilder().withNewMetadata().withName("pod2").endMetadata().build();
+
+    // when
+    boolean isConsistent = internalRuntime.isConsistent(singletonList(otherPod));
+
+    // then
+    assertFalse(isConsistent);
+  }
+
   @Test
   public void startsKubernetesEnvironment() throws Exception {
     when(k8sEnv.getSecrets()).thenReturn(ImmutableMap.of("secret", new Secret()));
@@ -421,6 +473,25 @@ public class KubernetesInternalRuntimeTest {
     verify(namespace.deployments(), times(1)).stopWatch();
   }
 
+  @Test
+  public void shouldRecordStartPhasesOfEachMachine() throws Exception {
+    internalRuntime.start(emptyMap());
+
+    ArgumentCaptor<WorkspaceStartPhaseEvent> captor =
+        ArgumentCaptor.forClass(WorkspaceStartPhaseEvent.class);
+    verify(startPhaseEventService, atLeastOnce()).publish(captor.capture());
+    List<String> succeededPhases =
+        captor
+            .getAllValues()
+            .stream()
+            .filter(WorkspaceStartPhaseEvent::isSucceeded)
+            .map(WorkspaceStartPhaseEvent::getPhase)
+            .collect(toList());
+    assertEquals(Collections.frequency(succeededPhases, WAIT_MACHINES_START), 1);
+    assertEquals(Collections.frequency(succeededPhases, WAIT_RUNNING_ASYNC), 2);
+    assertEquals(Collections.frequency(succeededPhases, CHECK_SERVERS), 2);
+  }
+
   @Test
   public void startKubernetesEnvironmentWithDeploymentsInsteadOfPods() throws Exception {
     when(k8sEnv.getPodsCopy()).thenReturn(emptyMap());
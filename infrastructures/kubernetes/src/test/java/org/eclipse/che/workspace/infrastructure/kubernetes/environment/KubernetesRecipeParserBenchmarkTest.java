@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.environment;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import java.util.List;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Measures parsing of a large multi-object recipe by {@link KubernetesRecipeParser} with and
+ * without the cache of the parsed recipes.
+ *
+ * <p>The benchmark is excluded from the regular build, run it with the {@code benchmarks} profile,
+ * e.g. {@code mvn test -Pbenchmarks -Dtest=KubernetesRecipeParserBenchmarkTest}. The number of
+ * objects in the recipe and the number of parsings are controlled by the {@code
+ * che.infra.kubernetes.recipe_parser.benchmark.objects} and {@code
+ * che.infra.kubernetes.recipe_parser.benchmark.iterations} system properties.
+ */
+public class KubernetesRecipeParserBenchmarkTest {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(KubernetesRecipeParserBenchmarkTest.class);
+
+  private static final int OBJECTS =
+      Integer.getInteger("che.infra.kubernetes.recipe_parser.benchmark.objects", 300);
+  private static final int ITERATIONS =
+      Integer.getInteger("che.infra.kubernetes.recipe_parser.benchmark.iterations", 50);
+
+  private KubernetesClientFactory clientFactory;
+  private String recipe;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    clientFactory = mock(KubernetesClientFactory.class);
+    when(clientFactory.create())
+        .thenAnswer(
+            inv ->
+                new DefaultKubernetesClient(
+                    new ConfigBuilder().withMasterUrl("http://localhost:8080").build()));
+    recipe = createRecipe(OBJECTS);
+  }
+
+  @Test(groups = "benchmark")
+  public void shouldParseCachedRecipeFasterThanUncached() throws Exception {
+    KubernetesRecipeParser uncachedParser = new KubernetesRecipeParser(clientFactory);
+    uncachedParser.setCacheSize(0);
+    KubernetesRecipeParser cachedParser = new KubernetesRecipeParser(clientFactory);
+
+    // warm up both paths, the first cached parsing fills the cache
+    List<HasMetadata> expected = uncachedParser.parse(recipe);
+    assertEquals(expected.size(), OBJECTS);
+    assertEquals(cachedParser.parse(recipe), expected);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      uncachedParser.parse(recipe);
+    }
+    long uncachedNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      cachedParser.parse(recipe);
+    }
+    long cachedNanos = System.nanoTime() - start;
+
+    LOG.info(
+        "Recipe of {} objects ({} KiB): uncached {} ms/parse, cached {} ms/parse",
+        OBJECTS,
+        recipe.length() / 1024,
+        uncachedNanos / 1_000_000.0 / ITERATIONS,
+        cachedNanos / 1_000_000.0 / ITERATIONS);
+
+    assertEquals(cachedParser.parse(recipe), expected);
+    assertTrue(
+        cachedNanos * 2 < uncachedNanos,
+        "Expected the cached parsing to be at least twice as fast, cached "
+            + cachedNanos / ITERATIONS
+            + " ns, uncached "
+            + uncachedNanos / ITERATIONS
+            + " ns per parse");
+  }
+
+  /** Creates a list of pods, services and config maps with the given total number of objects. */
+  private static String createRecipe(int objects) {
+    StringBuilder recipe = new StringBuilder("apiVersion: v1\nkind: List\nitems:\n");
+    for (int i = 0; i < objects; i++) {
+      switch (i % 3) {
+        case 0:
+          recipe
+              .append("- apiVersion: v1\n")
+              .append("  kind: Pod\n")
+              .append("  metadata:\n")
+              .append("    name: pod")
+              .append(i)
+              .append('\n')
+              .append("    labels:\n")
+              .append("      app: app")
+              .append(i)
+              .append('\n')
+              .append("  spec:\n")
+              .append("    containers:\n")
+              .append("    - name: main\n")
+              .append("      image: registry.example.com/image:")
+              .append(i)
+              .append('\n')
+              .append("      env:\n")
+              .append("      - name: INDEX\n")
+              .append("        value: \"")
+              .append(i)
+              .append("\"\n")
+              .append("      ports:\n")
+              .append("      - containerPort: 8080\n")
+              .append("      resources:\n")
+              .append("        limits:\n")
+              .append("          memory: 512Mi\n");
+          break;
+        case 1:
+          recipe
+              .append("- apiVersion: v1\n")
+              .append("  kind: Service\n")
+              .append("  metadata:\n")
+              .append("    name: service")
+              .append(i)
+              .append('\n')
+              .append("  spec:\n")
+              .append("    selector:\n")
+              .append("      app: app")
+              .append(i - 1)
+              .append('\n')
+              .append("    ports:\n")
+              .append("    - port: 80\n")
+              .append("      targetPort: 8080\n");
+          break;
+        default:
+          recipe
+              .append("- apiVersion: v1\n")
+              .append("  kind: ConfigMap\n")
+              .append("  metadata:\n")
+              .append("    name: config")
+              .append(i)
+              .append('\n')
+              .append("  data:\n")
+              .append("    settings.properties: |\n")
+              .append("      index=")
+              .append(i)
+              .append('\n')
+              .append("      enabled=true\n");
+      }
+    }
+    return recipe.toString();
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.environment;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+import io.fabric8.kubernetes.api.model.ConfigMap;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.DefaultKubernetesClient;
+import java.util.List;
+import org.eclipse.che.api.core.ValidationException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link KubernetesRecipeParser}. */
+@Listeners(MockitoTestNGListener.class)
+public class KubernetesRecipeParserTest {
+
+  static final String RECIPE =
+      "apiVersion: v1\n"
+          + "kind: List\n"
+          + "items:\n"
+          + "- apiVersion: v1\n"
+          + "  kind: Pod\n"
+          + "  metadata:\n"
+          + "    name: pod\n"
+          + "    namespace: che\n"
+          + "  spec:\n"
+          + "    containers:\n"
+          + "    - name: main\n"
+          + "      image: main-image\n"
+          + "- apiVersion: v1\n"
+          + "  kind: ConfigMap\n"
+          + "  metadata:\n"
+          + "    name: config\n"
+          + "  data:\n"
+          + "    key: value\n";
+
+  @Mock private KubernetesClientFactory clientFactory;
+
+  private KubernetesRecipeParser parser;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(clientFactory.create())
+        .thenAnswer(
+            inv ->
+                new DefaultKubernetesClient(
+                    new ConfigBuilder().withMasterUrl("http://localhost:8080").build()));
+    parser = new KubernetesRecipeParser(clientFactory);
+  }
+
+  @Test
+  public void parsesRecipeAndDropsNamespace() throws Exception {
+    List<HasMetadata> objects = parser.parse(RECIPE);
+
+    assertEquals(objects.size(), 2);
+    Pod pod = find(objects, Pod.class);
+    assertEquals(pod.getMetadata().getName(), "pod");
+    assertNull(pod.getMetadata().getNamespace());
+    assertEquals(pod.getSpec().getContainers().get(0).getImage(), "main-image");
+    ConfigMap configMap = find(objects, ConfigMap.class);
+    assertEquals(configMap.getData().get("key"), "value");
+  }
+
+  @Test
+  public void returnsCachedObjectsWhenRecipeIsParsedAgain() throws Exception {
+    List<HasMetadata> parsed = parser.parse(RECIPE);
+
+    List<HasMetadata> cached = parser.parse(RECIPE);
+
+    verify(clientFactory).create();
+    assertEquals(cached, parsed);
+    for (int i = 0; i < parsed.size(); i++) {
+      assertNotSame(cached.get(i), parsed.get(i));
+    }
+  }
+
+  @Test
+  public void modificationsOfParsedObjectsDoNotAffectCachedOnes() throws Exception {
+    List<HasMetadata> original = parser.parse(RECIPE);
+    Pod pod = find(parser.parse(RECIPE), Pod.class);
+    pod.getMetadata().setName("renamed");
+    pod.getSpec().getContainers().get(0).setImage("other-image");
+
+    List<HasMetadata> cached = parser.parse(RECIPE);
+
+    assertEquals(cached, original);
+  }
+
+  @Test
+  public void parsesDifferentRecipesSeparately() throws Exception {
+    parser.parse(RECIPE);
+
+    List<HasMetadata> objects = parser.parse(RECIPE.replace("main-image", "other-image"));
+
+    verify(clientFactory, times(2)).create();
+    assertEquals(
+        find(objects, Pod.class).getSpec().getContainers().get(0).getImage(), "other-image");
+  }
+
+  @Test
+  public void doesNotCacheRecipesWithTemplates() throws Exception {
+    String template =
+        "apiVersion: v1\n"
+            + "kind: Template\n"
+            + "metadata:\n"
+            + "  name: template\n"
+            + "objects:\n"
+            + "- apiVersion: v1\n"
+            + "  kind: ConfigMap\n"
+            + "  metadata:\n"
+            + "    name: config\n"
+            + "  data:\n"
+            + "    key: value\n";
+
+    parser.parse(template);
+    parser.parse(template);
+
+    verify(clientFactory, times(2)).create();
+  }
+
+  @Test
+  public void doesNotCacheRecipesWhenCachingIsDisabled() throws Exception {
+    parser.setCacheSize(0);
+
+    parser.parse(RECIPE);
+    parser.parse(RECIPE);
+
+    verify(clientFactory, times(2)).create();
+  }
+
+  @Test
+  public void doesNotCacheBrokenRecipes() throws Exception {
+    String broken = "apiVersion: v1\nkind: Unknown\nmetadata:\n  name: unknown\n";
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        parser.parse(broken);
+      } catch (ValidationException expected) {
+        // parsed again
+      }
+    }
+
+    verify(clientFactory, times(2)).create();
+  }
+
+  private static <T extends HasMetadata> T find(List<HasMetadata> objects, Class<T> type) {
+    return objects.stream().filter(type::isInstance).map(type::cast).findAny().get();
+  }
+}
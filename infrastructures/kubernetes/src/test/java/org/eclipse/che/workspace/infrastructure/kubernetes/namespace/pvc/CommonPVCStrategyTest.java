@@ -15,6 +15,7 @@ import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static org.eclipse.che.api.workspace.shared.Constants.PERSIST_VOLUMES_ATTRIBUTE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolumeMount;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.CommonPVCStrategy.SUBPATHS_PROPERTY_FMT;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -34,11 +35,16 @@ import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaim;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -104,6 +110,7 @@ public class CommonPVCStrategyTest {
             PVC_QUANTITY,
             PVC_ACCESS_MODE,
             true,
+            false,
             PVC_STORAGE_CLASS_NAME,
             true,
             pvcSubPathHelper,
@@ -170,6 +177,7 @@ public class CommonPVCStrategyTest {
             PVC_QUANTITY,
             PVC_ACCESS_MODE,
             false,
+            false,
             PVC_STORAGE_CLASS_NAME,
             true,
             pvcSubPathHelper,
@@ -191,6 +199,59 @@ public class CommonPVCStrategyTest {
             .containsKey(format(SUBPATHS_PROPERTY_FMT, WORKSPACE_ID)));
   }
 
+  @Test
+  public void testAddsInitContainerCreatingSubpathsWhenConfigured() throws Exception {
+    commonPVCStrategy =
+        new CommonPVCStrategy(
+            PVC_NAME,
+            PVC_QUANTITY,
+            PVC_ACCESS_MODE,
+            true,
+            true,
+            PVC_STORAGE_CLASS_NAME,
+            true,
+            pvcSubPathHelper,
+            factory,
+            ephemeralWorkspaceAdapter,
+            volumeConverter,
+            podsVolumes,
+            subpathPrefixes);
+    Pod pod =
+        new PodBuilder()
+            .withNewMetadata()
+            .withName("pod")
+            .endMetadata()
+            .withNewSpec()
+            .withInitContainers(new ContainerBuilder().withName("init").build())
+            .withContainers(
+                new ContainerBuilder()
+                    .withName("main")
+                    .withVolumeMounts(
+                        newVolumeMount(PVC_NAME, "/projects", WORKSPACE_ID + "/projects"),
+                        newVolumeMount(PVC_NAME, "/logs", WORKSPACE_ID + "/logs"),
+                        newVolumeMount("other", "/other", "other"))
+                    .build())
+            .endSpec()
+            .build();
+    k8sEnv.addPod(pod);
+    Container initContainer = new ContainerBuilder().withName("mkdir").build();
+    when(pvcSubPathHelper.newCreateDirsInitContainer(
+            PVC_NAME, WORKSPACE_ID + "/projects", WORKSPACE_ID + "/logs"))
+        .thenReturn(initContainer);
+
+    commonPVCStrategy.provision(k8sEnv, IDENTITY);
+
+    List<Container> initContainers = pod.getSpec().getInitContainers();
+    assertEquals(initContainers.size(), 2);
+    assertEquals(initContainers.get(0), initContainer);
+    assertFalse(
+        k8sEnv
+            .getPersistentVolumeClaims()
+            .get(PVC_NAME)
+            .getAdditionalProperties()
+            .containsKey(format(SUBPATHS_PROPERTY_FMT, WORKSPACE_ID)));
+  }
+
   @Test
   public void testCreatesPVCsWithSubpathsOnPrepare() throws Exception {
     final PersistentVolumeClaim pvc = newPVC(PVC_NAME);
@@ -218,6 +279,7 @@ public class CommonPVCStrategyTest {
             PVC_QUANTITY,
             PVC_ACCESS_MODE,
             true,
+            false,
             PVC_STORAGE_CLASS_NAME,
             false, // wait bound PVCs
             pvcSubPathHelper,
@@ -14,6 +14,7 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
 import static com.google.common.collect.ImmutableMap.of;
 import static java.lang.Boolean.TRUE;
 import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_START;
 import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_START_LOG_LIMIT_BYTES;
@@ -21,6 +22,7 @@ import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.MKDIR_COMMAND_BASE;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_FAILED;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_SUCCEEDED;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.RM_COMMAND_BASE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -34,6 +36,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
 import com.google.common.collect.ImmutableMap;
+import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.api.model.Quantity;
@@ -43,7 +46,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
 import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesDeployments;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespace;
@@ -96,7 +101,8 @@ public class PVCSubPathHelperTest {
             k8sNamespaceFactory,
             securityContextProvisioner,
             new NoopExecutorServiceWrapper(),
-            eventsPublisher);
+            eventsPublisher,
+            new StartPhaseTracker(new EventService()));
     lenient().when(identity.getInfrastructureNamespace()).thenReturn(NAMESPACE);
     lenient().when(k8sNamespaceFactory.access(WORKSPACE_ID, NAMESPACE)).thenReturn(k8sNamespace);
     lenient().when(k8sNamespace.deployments()).thenReturn(osDeployments);
@@ -177,6 +183,44 @@ public class PVCSubPathHelperTest {
     verify(securityContextProvisioner).provision(any());
   }
 
+  @Test
+  public void testCreatesInitContainerCreatingWorkspaceDirs() {
+    Container initContainer =
+        pvcSubPathHelper.newCreateDirsInitContainer(PVC_NAME, WORKSPACE_ID + PROJECTS_PATH);
+
+    assertEquals(initContainer.getImage(), jobImage);
+    assertEquals(
+        initContainer.getCommand(),
+        Stream.concat(
+                Arrays.stream(MKDIR_COMMAND_BASE),
+                Stream.of(JOB_MOUNT_PATH + '/' + WORKSPACE_ID + PROJECTS_PATH))
+            .collect(toList()));
+    assertEquals(initContainer.getVolumeMounts().size(), 1);
+    assertEquals(initContainer.getVolumeMounts().get(0).getName(), PVC_NAME);
+    assertEquals(initContainer.getVolumeMounts().get(0).getMountPath(), JOB_MOUNT_PATH);
+    assertEquals(
+        initContainer.getResources().getLimits().get("memory"), new Quantity(jobMemoryLimit));
+  }
+
+  @Test
+  public void testRemovesWorkspaceDirsAsynchronously() throws Exception {
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_SUCCEEDED);
+
+    pvcSubPathHelper
+        .removeDirsAsync(WORKSPACE_ID, NAMESPACE, PVC_NAME, WORKSPACE_ID + PROJECTS_PATH)
+        .get(5, SECONDS);
+
+    verify(osDeployments).create(podCaptor.capture());
+    final List<String> actual = podCaptor.getValue().getSpec().getContainers().get(0).getCommand();
+    final List<String> expected =
+        Stream.concat(
+                Arrays.stream(RM_COMMAND_BASE),
+                Stream.of(JOB_MOUNT_PATH + '/' + WORKSPACE_ID + PROJECTS_PATH))
+            .collect(toList());
+    assertEquals(actual, expected);
+    verify(osDeployments).delete(anyString());
+  }
+
   @Test
   public void testLogErrorWhenJobExecutionFailed() throws Exception {
     when(podStatus.getPhase()).thenReturn(POD_PHASE_FAILED);
@@ -84,6 +84,7 @@ public class PerWorkspacePVCStrategyTest {
             PVC_QUANTITY,
             PVC_ACCESS_MODE,
             true,
+            false,
             PVC_STORAGE_CLASS_NAME,
             true,
             pvcSubPathHelper,
@@ -130,6 +131,7 @@ public class PerWorkspacePVCStrategyTest {
             PVC_QUANTITY,
             PVC_ACCESS_MODE,
             true,
+            false,
             PVC_STORAGE_CLASS_NAME,
             false,
             pvcSubPathHelper,
@@ -180,6 +182,7 @@ public class PerWorkspacePVCStrategyTest {
               PVC_QUANTITY,
               PVC_ACCESS_MODE,
               true,
+              false,
               storageClassName,
               true,
               pvcSubPathHelper,
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.prepull;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.prepull.ImagesPrePuller.DAEMON_SET_NAME;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.prepull.ImagesPrePuller.DECAYED_ANNOTATION;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.prepull.ImagesPrePuller.NOOP_COMMAND;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.prepull.ImagesPrePuller.NOOP_COPY_COMMAND;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.prepull.ImagesPrePuller.NOOP_VOLUME_NAME;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.prepull.ImagesPrePuller.USAGE_ANNOTATION;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.LocalObjectReference;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodSpec;
+import io.fabric8.kubernetes.api.model.apps.DaemonSet;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.AppsAPIGroupDSL;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.Replaceable;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link ImagesPrePuller}. */
+@Listeners(MockitoTestNGListener.class)
+public class ImagesPrePullerTest {
+
+  private static final String NAMESPACE = "che-prepull";
+  private static final String PAUSE_IMAGE = "pause:1";
+  private static final String NOOP_IMAGE = "noop:1";
+  private static final String RESOURCE_VERSION = "42";
+
+  @Mock private KubernetesClientFactory clientFactory;
+  @Mock private KubernetesClient client;
+  @Mock private AppsAPIGroupDSL apps;
+  @Mock private MixedOperation daemonSets;
+  @Mock private NonNamespaceOperation namespacedDaemonSets;
+  @Mock private Resource daemonSetResource;
+  @Mock private Replaceable lockedDaemonSet;
+
+  @Captor private ArgumentCaptor<DaemonSet> daemonSetCaptor;
+
+  private ImagesPrePuller prePuller;
+
+  @BeforeMethod
+  public void setUp() {
+    prePuller =
+        new ImagesPrePuller(clientFactory, NAMESPACE, 10, 2, PAUSE_IMAGE, NOOP_IMAGE, "s1, s2");
+  }
+
+  @Test
+  public void shouldBeDisabledWhenNamespaceIsNotConfigured() {
+    ImagesPrePuller disabled =
+        new ImagesPrePuller(clientFactory, null, 10, 2, PAUSE_IMAGE, NOOP_IMAGE, null);
+
+    disabled.recordImages(environment("image1"));
+    disabled.update();
+
+    assertFalse(disabled.isEnabled());
+    assertEquals(disabled.getMisses(), 0);
+    verifyZeroInteractions(clientFactory);
+  }
+
+  @Test
+  public void shouldSelectMostUsedImages() {
+    Set<String> selected =
+        prePuller.selectImages(ImmutableMap.of("image1", 1L, "image2", 2L, "image3", 3L));
+
+    assertEquals(asList(selected.toArray()), asList("image3", "image2"));
+  }
+
+  @Test
+  public void shouldMergeLocalUsageIntoSharedUsage() {
+    Map<String, Long> merged =
+        ImagesPrePuller.mergeUsage(
+            ImmutableMap.of("image1", 4L, "image2", 1L), ImmutableMap.of("image3", 1L), false);
+
+    assertEquals(merged, ImmutableMap.of("image1", 4L, "image2", 1L, "image3", 1L));
+  }
+
+  @Test
+  public void shouldDecaySharedUsageBeforeMergingLocalUsage() {
+    Map<String, Long> merged =
+        ImagesPrePuller.mergeUsage(
+            ImmutableMap.of("image1", 4L, "image2", 1L), ImmutableMap.of("image1", 1L), true);
+
+    assertEquals(merged, ImmutableMap.of("image1", 3L));
+  }
+
+  @Test
+  public void shouldCreateDaemonSetPullingSelectedImages() throws Exception {
+    mockDaemonSets(null);
+    prePuller.recordImages(environment("image1", "image2"));
+
+    prePuller.update();
+
+    verify(daemonSetResource).create(daemonSetCaptor.capture());
+    DaemonSet daemonSet = daemonSetCaptor.getValue();
+    assertEquals(daemonSet.getMetadata().getName(), DAEMON_SET_NAME);
+    PodSpec podSpec = daemonSet.getSpec().getTemplate().getSpec();
+    List<Container> initContainers = podSpec.getInitContainers();
+    Container noopContainer = initContainers.get(0);
+    assertEquals(noopContainer.getImage(), NOOP_IMAGE);
+    assertEquals(noopContainer.getCommand(), asList(NOOP_COPY_COMMAND));
+    List<Container> imageContainers = initContainers.subList(1, initContainers.size());
+    assertEquals(
+        imageContainers.stream().map(Container::getImage).collect(Collectors.toSet()),
+        prePuller.getPrePulledImages());
+    for (Container container : imageContainers) {
+      assertEquals(container.getCommand(), asList(NOOP_COMMAND));
+      assertEquals(container.getVolumeMounts().get(0).getName(), NOOP_VOLUME_NAME);
+    }
+    assertEquals(podSpec.getVolumes().get(0).getName(), NOOP_VOLUME_NAME);
+    assertNotNull(podSpec.getVolumes().get(0).getEmptyDir());
+    assertEquals(
+        podSpec.getImagePullSecrets(),
+        asList(new LocalObjectReference("s1"), new LocalObjectReference("s2")));
+    assertEquals(podSpec.getContainers().get(0).getImage(), PAUSE_IMAGE);
+    assertEquals(
+        daemonSet.getMetadata().getAnnotations().get(USAGE_ANNOTATION),
+        "{\"image1\":1,\"image2\":1}");
+  }
+
+  @Test
+  public void shouldReplaceDaemonSetWithSharedUsageLockingResourceVersion() throws Exception {
+    mockDaemonSets(
+        existingDaemonSet(
+            "{\"image1\":4,\"image2\":1}", System.currentTimeMillis(), "image1", "image2"));
+    doReturn(lockedDaemonSet).when(daemonSetResource).lockResourceVersion(RESOURCE_VERSION);
+    prePuller.recordImages(environment("image3"));
+    prePuller.recordImages(environment("image3"));
+
+    prePuller.update();
+
+    verify(lockedDaemonSet).replace(daemonSetCaptor.capture());
+    assertEquals(
+        daemonSetCaptor.getValue().getMetadata().getAnnotations().get(USAGE_ANNOTATION),
+        "{\"image1\":4,\"image2\":1,\"image3\":2}");
+    assertEquals(asList(prePuller.getPrePulledImages().toArray()), asList("image1", "image3"));
+  }
+
+  @Test
+  public void shouldKeepLocalUsageWhenDaemonSetIsConcurrentlyModified() throws Exception {
+    mockDaemonSets(null);
+    doThrow(new KubernetesClientException("conflict", 409, null))
+        .when(daemonSetResource)
+        .create(any());
+    prePuller.recordImages(environment("image1"));
+    prePuller.update();
+    assertTrue(prePuller.getPrePulledImages().isEmpty());
+
+    prePuller.update();
+
+    verify(daemonSetResource, times(2)).create(daemonSetCaptor.capture());
+    assertEquals(
+        daemonSetCaptor.getValue().getMetadata().getAnnotations().get(USAGE_ANNOTATION),
+        "{\"image1\":1}");
+  }
+
+  @Test
+  public void shouldOnlyReadPrePulledImagesWhenNothingIsToBeUpdated() throws Exception {
+    mockDaemonSets(existingDaemonSet("{\"image1\":1}", System.currentTimeMillis(), "image1"));
+
+    prePuller.update();
+
+    verify(daemonSetResource, never()).lockResourceVersion(any());
+    assertEquals(prePuller.getPrePulledImages(), Collections.singleton("image1"));
+  }
+
+  @Test
+  public void shouldNotCreateDaemonSetWhenNoImagesWereUsed() throws Exception {
+    mockDaemonSets(null);
+
+    prePuller.update();
+
+    verify(daemonSetResource, never()).create(any());
+  }
+
+  @Test
+  public void shouldCountHitsAndMisses() throws Exception {
+    mockDaemonSets(null);
+    prePuller.recordImages(environment("image1"));
+    prePuller.update();
+
+    prePuller.recordImages(environment("image1", "image2"));
+
+    Set<String> prePulled = prePuller.getPrePulledImages();
+    assertTrue(prePulled.contains("image1"));
+    assertEquals(prePuller.getHits(), 1);
+    assertEquals(prePuller.getMisses(), 2);
+  }
+
+  private void mockDaemonSets(DaemonSet existing) throws Exception {
+    doReturn(client).when(clientFactory).create();
+    doReturn(apps).when(client).apps();
+    doReturn(daemonSets).when(apps).daemonSets();
+    doReturn(namespacedDaemonSets).when(daemonSets).inNamespace(NAMESPACE);
+    doReturn(daemonSetResource).when(namespacedDaemonSets).withName(DAEMON_SET_NAME);
+    doReturn(existing).when(daemonSetResource).get();
+  }
+
+  private DaemonSet existingDaemonSet(String usage, long decayed, String... images) {
+    DaemonSet daemonSet =
+        prePuller.newDaemonSet(
+            new LinkedHashSet<>(asList(images)), Collections.emptyMap(), decayed);
+    daemonSet.getMetadata().setResourceVersion(RESOURCE_VERSION);
+    daemonSet.getMetadata().getAnnotations().put(USAGE_ANNOTATION, usage);
+    daemonSet.getMetadata().getAnnotations().put(DECAYED_ANNOTATION, Long.toString(decayed));
+    return daemonSet;
+  }
+
+  private static KubernetesEnvironment environment(String... images) {
+    PodBuilder podBuilder = new PodBuilder().withNewMetadata().withName("pod").endMetadata();
+    Pod pod =
+        podBuilder
+            .withNewSpec()
+            .withContainers(
+                asList(images)
+                    .stream()
+                    .map(image -> new ContainerBuilder().withName(image).withImage(image).build())
+                    .collect(Collectors.toList()))
+            .endSpec()
+            .build();
+    KubernetesEnvironment k8sEnv = KubernetesEnvironment.builder().build();
+    k8sEnv.addPod(pod);
+    return k8sEnv;
+  }
+}
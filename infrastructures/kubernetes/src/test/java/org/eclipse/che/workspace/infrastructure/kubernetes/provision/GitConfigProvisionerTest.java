@@ -16,6 +16,8 @@ import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -38,8 +40,10 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.user.User;
 import org.eclipse.che.api.core.model.workspace.Warning;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.PreferenceManager;
 import org.eclipse.che.api.user.server.UserManager;
+import org.eclipse.che.api.user.server.event.PreferencesChangedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WarningImpl;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.Subject;
@@ -512,4 +516,63 @@ public class GitConfigProvisionerTest {
     assertEquals(podContainer.getVolumeMounts().size(), 1);
     assertEquals(injectedPodContainer.getVolumeMounts().size(), 1);
   }
+
+  @Test
+  public void testShouldMemoizeUserNameAndEmail() throws Exception {
+    gitConfigProvisioner.setUserInputsExpiration(300);
+    Map<String, String> preferences = singletonMap("theia-user-preferences", "{}");
+    when(preferenceManager.find(eq("id"), eq("theia-user-preferences"))).thenReturn(preferences);
+    User user = mock(User.class);
+    when(userManager.getById(eq("id"))).thenReturn(user);
+
+    gitConfigProvisioner.prefetch(runtimeIdentity);
+    gitConfigProvisioner.provision(k8sEnv, runtimeIdentity);
+
+    verify(preferenceManager).find(eq("id"), eq("theia-user-preferences"));
+    verify(userManager).getById(eq("id"));
+  }
+
+  @Test
+  public void testShouldReloadUserNameAndEmailWhenPreferencesChanged() throws Exception {
+    gitConfigProvisioner.setUserInputsExpiration(300);
+    Map<String, String> preferences = singletonMap("theia-user-preferences", "{}");
+    when(preferenceManager.find(eq("id"), eq("theia-user-preferences"))).thenReturn(preferences);
+    when(userManager.getById(eq("id"))).thenReturn(mock(User.class));
+    EventService eventService = new EventService();
+    gitConfigProvisioner.subscribe(eventService);
+
+    gitConfigProvisioner.provision(k8sEnv, runtimeIdentity);
+    eventService.publish(new PreferencesChangedEvent("id"));
+    gitConfigProvisioner.provision(k8sEnv, runtimeIdentity);
+
+    verify(preferenceManager, times(2)).find(eq("id"), eq("theia-user-preferences"));
+  }
+
+  @Test
+  public void testShouldNotMemoizeUserNameAndEmailByDefault() throws Exception {
+    Map<String, String> preferences = singletonMap("theia-user-preferences", "{}");
+    when(preferenceManager.find(eq("id"), eq("theia-user-preferences"))).thenReturn(preferences);
+    when(userManager.getById(eq("id"))).thenReturn(mock(User.class));
+
+    gitConfigProvisioner.prefetch(runtimeIdentity);
+    gitConfigProvisioner.provision(k8sEnv, runtimeIdentity);
+    gitConfigProvisioner.provision(k8sEnv, runtimeIdentity);
+
+    verify(preferenceManager, times(2)).find(eq("id"), eq("theia-user-preferences"));
+  }
+
+  @Test
+  public void testShouldNotMemoizeFailedLookup() throws Exception {
+    gitConfigProvisioner.setUserInputsExpiration(300);
+    when(preferenceManager.find(eq("id"), eq("theia-user-preferences")))
+        .thenThrow(new ServerException("message"))
+        .thenReturn(singletonMap("theia-user-preferences", "{}"));
+    when(userManager.getById(eq("id"))).thenReturn(mock(User.class));
+
+    gitConfigProvisioner.prefetch(runtimeIdentity);
+    gitConfigProvisioner.provision(k8sEnv, runtimeIdentity);
+
+    assertTrue(k8sEnv.getWarnings().isEmpty());
+    verify(preferenceManager, times(2)).find(eq("id"), eq("theia-user-preferences"));
+  }
 }
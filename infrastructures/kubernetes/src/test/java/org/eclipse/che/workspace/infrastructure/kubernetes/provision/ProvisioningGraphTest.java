@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.provision;
+
+import static java.util.Arrays.asList;
+import static java.util.EnumSet.noneOf;
+import static java.util.EnumSet.of;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.CONFIG_MAPS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.PODS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.SECRETS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.SERVICES;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.WorkspaceStartPhaseEvent;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link ProvisioningGraph}. */
+@Listeners(MockitoTestNGListener.class)
+public class ProvisioningGraphTest {
+
+  @Mock private RuntimeIdentity identity;
+  @Mock private EventService eventService;
+
+  private StartPhaseTracker startPhaseTracker;
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    lenient().when(identity.getWorkspaceId()).thenReturn("workspace123");
+    startPhaseTracker = new StartPhaseTracker(eventService);
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void computesDependenciesFromDeclaredParts() {
+    ProvisioningGraph<KubernetesEnvironment> graph =
+        ProvisioningGraph.builder("Provision")
+            .addIndependent("prefetch", noop())
+            .add("servers", noop(), of(PODS), of(PODS, SERVICES))
+            .add("services", noop(), of(SERVICES), of(SERVICES))
+            .add("secrets", noop(), noneOf(EnvironmentPart.class), of(SECRETS))
+            .add("pods", noop(), of(PODS), of(PODS))
+            .add("mount", noop(), of(SECRETS, CONFIG_MAPS), of(PODS))
+            .addExclusive("volumes", noop())
+            .addIndependent("other prefetch", noop())
+            .build();
+
+    assertEquals(
+        graph.getNames(),
+        asList(
+            "prefetch",
+            "servers",
+            "services",
+            "secrets",
+            "pods",
+            "mount",
+            "volumes",
+            "other prefetch"));
+    assertTrue(graph.getDependencies("prefetch").isEmpty());
+    assertEquals(graph.getDependencies("services"), ImmutableSet.of("servers"));
+    assertTrue(graph.getDependencies("secrets").isEmpty());
+    assertEquals(graph.getDependencies("pods"), ImmutableSet.of("servers"));
+    assertEquals(graph.getDependencies("mount"), ImmutableSet.of("servers", "secrets", "pods"));
+    assertEquals(
+        graph.getDependencies("volumes"),
+        ImmutableSet.of("servers", "services", "secrets", "pods", "mount"));
+    assertTrue(graph.getDependencies("other prefetch").isEmpty());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsProvisionersWithSameName() {
+    ProvisioningGraph.builder("Provision").addExclusive("a", noop()).addExclusive("a", noop());
+  }
+
+  @Test(timeOut = 10_000)
+  public void runsIndependentProvisionersConcurrently() throws Exception {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    ConfigurationProvisioner<KubernetesEnvironment> awaitOther =
+        (env, id) -> {
+          bothStarted.countDown();
+          try {
+            bothStarted.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+    ProvisioningGraph<KubernetesEnvironment> graph =
+        ProvisioningGraph.builder("Provision")
+            .add("secrets", awaitOther, of(SECRETS), of(SECRETS))
+            .add("config maps", awaitOther, of(CONFIG_MAPS), of(CONFIG_MAPS))
+            .build();
+
+    graph.provision(KubernetesEnvironment.builder().build(), identity, executor, startPhaseTracker);
+
+    assertEquals(bothStarted.getCount(), 0);
+  }
+
+  @Test
+  public void concurrentProvisioningPreservesOrderOfConflictingProvisioners() throws Exception {
+    // each provisioner records itself in the parts it writes, so the records show the order
+    // in which each part was modified, the same order is expected as of the sequential chain
+    List<Recorder> recorders =
+        asList(
+            new Recorder("a", of(PODS), of(PODS, SERVICES)),
+            new Recorder("b", of(SERVICES), of(SERVICES)),
+            new Recorder("c", noneOf(EnvironmentPart.class), of(SECRETS)),
+            new Recorder("d", of(PODS), of(PODS)),
+            new Recorder("e", of(SECRETS), of(SECRETS, CONFIG_MAPS)),
+            new Recorder("f", of(CONFIG_MAPS), of(PODS)),
+            new Recorder("g", of(SERVICES), of(CONFIG_MAPS)),
+            new Recorder("h", of(PODS), of(PODS)));
+    ProvisioningGraph.Builder<KubernetesEnvironment> builder = ProvisioningGraph.builder("P");
+    recorders.forEach(r -> builder.add(r.name, r, r.reads, r.writes));
+    ProvisioningGraph<KubernetesEnvironment> graph = builder.build();
+
+    Map<EnvironmentPart, List<String>> sequential = new EnumMap<>(EnvironmentPart.class);
+    recorders.forEach(r -> r.records = sequential);
+    graph.provision(KubernetesEnvironment.builder().build(), identity, null, startPhaseTracker);
+
+    for (int i = 0; i < 20; i++) {
+      Map<EnvironmentPart, List<String>> concurrent =
+          Collections.synchronizedMap(new EnumMap<>(EnvironmentPart.class));
+      recorders.forEach(r -> r.records = concurrent);
+      graph.provision(
+          KubernetesEnvironment.builder().build(), identity, executor, startPhaseTracker);
+
+      assertEquals(concurrent, sequential);
+    }
+  }
+
+  @Test
+  public void rethrowsExceptionOfFirstFailedProvisionerAndSkipsDependentOnes() throws Exception {
+    Set<String> completed = Collections.synchronizedSet(new HashSet<>());
+    InfrastructureException podsFailure = new InfrastructureException("pods failed");
+    ProvisioningGraph<KubernetesEnvironment> graph =
+        ProvisioningGraph.builder("Provision")
+            .add("secrets", record(completed, "secrets"), of(SECRETS), of(SECRETS))
+            .add(
+                "pods",
+                (env, id) -> {
+                  throw podsFailure;
+                },
+                of(PODS),
+                of(PODS))
+            .add(
+                "config maps",
+                (env, id) -> {
+                  throw new InfrastructureException("config maps failed");
+                },
+                of(CONFIG_MAPS),
+                of(CONFIG_MAPS))
+            .add("mount", record(completed, "mount"), of(PODS), of(PODS))
+            .build();
+
+    try {
+      graph.provision(
+          KubernetesEnvironment.builder().build(), identity, executor, startPhaseTracker);
+      fail("Provisioning is expected to fail");
+    } catch (InfrastructureException e) {
+      assertEquals(e, podsFailure);
+    }
+
+    assertEquals(completed, ImmutableSet.of("secrets"));
+  }
+
+  @Test
+  public void reportsDurationOfEachProvisioner() throws Exception {
+    ProvisioningGraph<KubernetesEnvironment> graph =
+        ProvisioningGraph.builder("Provision")
+            .addIndependent("prefetch", noop())
+            .addExclusive("servers", noop())
+            .build();
+
+    graph.provision(KubernetesEnvironment.builder().build(), identity, executor, startPhaseTracker);
+
+    ArgumentCaptor<WorkspaceStartPhaseEvent> captor =
+        ArgumentCaptor.forClass(WorkspaceStartPhaseEvent.class);
+    verify(eventService, atLeastOnce()).publish(captor.capture());
+    Set<String> phases = new HashSet<>();
+    for (WorkspaceStartPhaseEvent event : captor.getAllValues()) {
+      assertEquals(event.getWorkspaceId(), "workspace123");
+      assertTrue(event.isSucceeded());
+      phases.add(event.getPhase());
+    }
+    assertEquals(phases, ImmutableSet.of("Provision.prefetch", "Provision.servers"));
+  }
+
+  private static ConfigurationProvisioner<KubernetesEnvironment> noop() {
+    return (env, id) -> {};
+  }
+
+  private static ConfigurationProvisioner<KubernetesEnvironment> record(
+      Set<String> completed, String name) {
+    return (env, id) -> completed.add(name);
+  }
+
+  private static class Recorder implements ConfigurationProvisioner<KubernetesEnvironment> {
+
+    private final String name;
+    private final Set<EnvironmentPart> reads;
+    private final Set<EnvironmentPart> writes;
+    private volatile Map<EnvironmentPart, List<String>> records;
+
+    private Recorder(String name, Set<EnvironmentPart> reads, Set<EnvironmentPart> writes) {
+      this.name = name;
+      this.reads = reads;
+      this.writes = writes;
+    }
+
+    @Override
+    public void provision(KubernetesEnvironment k8sEnv, RuntimeIdentity identity) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextInt(3));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      for (EnvironmentPart part : writes) {
+        records.computeIfAbsent(part, p -> new ArrayList<>()).add(name);
+      }
+    }
+  }
+}
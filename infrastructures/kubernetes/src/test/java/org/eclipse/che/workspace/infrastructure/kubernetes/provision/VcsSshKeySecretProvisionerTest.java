@@ -36,7 +36,9 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.ssh.server.SshManager;
+import org.eclipse.che.api.ssh.server.event.SshPairsChangedEvent;
 import org.eclipse.che.api.ssh.server.model.impl.SshPairImpl;
 import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
 import org.mockito.Mock;
@@ -204,4 +206,61 @@ public class VcsSshKeySecretProvisionerTest {
     assertEquals(podContainer.getVolumeMounts().size(), 2);
     assertEquals(injectedPodContainer.getVolumeMounts().size(), 2);
   }
+
+  @Test
+  public void memoizesSshPairsOfOwner() throws Exception {
+    vcsSshKeysProvisioner.setUserInputsExpiration(300);
+    when(sshManager.getPairs(someUser, "vcs"))
+        .thenReturn(ImmutableList.of(new SshPairImpl(someUser, "vcs", "key", "public", "private")));
+
+    vcsSshKeysProvisioner.prefetch(runtimeIdentity);
+    vcsSshKeysProvisioner.provision(k8sEnv, runtimeIdentity);
+
+    verify(sshManager).getPairs(someUser, "vcs");
+    assertNotNull(k8sEnv.getSecrets().get("wksp-sshprivatekeys"));
+  }
+
+  @Test
+  public void generatesInitialSshKeyOnceWhenPrefetched() throws Exception {
+    vcsSshKeysProvisioner.setUserInputsExpiration(300);
+    when(sshManager.getPairs(someUser, "vcs")).thenReturn(Collections.emptyList());
+    when(sshManager.generatePair(eq(someUser), eq("vcs"), anyString()))
+        .thenReturn(new SshPairImpl(someUser, "vcs", "default-123", "public", "private"));
+
+    vcsSshKeysProvisioner.prefetch(runtimeIdentity);
+    vcsSshKeysProvisioner.provision(k8sEnv, runtimeIdentity);
+
+    verify(sshManager).generatePair(eq(someUser), eq("vcs"), anyString());
+    assertEquals(k8sEnv.getSecrets().size(), 1);
+  }
+
+  @Test
+  public void reloadsSshPairsWhenVcsPairsOfOwnerChanged() throws Exception {
+    vcsSshKeysProvisioner.setUserInputsExpiration(300);
+    when(sshManager.getPairs(someUser, "vcs"))
+        .thenReturn(ImmutableList.of(new SshPairImpl(someUser, "vcs", "key", "public", "private")));
+    EventService eventService = new EventService();
+    vcsSshKeysProvisioner.subscribe(eventService);
+
+    vcsSshKeysProvisioner.prefetch(runtimeIdentity);
+    eventService.publish(new SshPairsChangedEvent(someUser, "machine"));
+    vcsSshKeysProvisioner.prefetch(runtimeIdentity);
+    verify(sshManager).getPairs(someUser, "vcs");
+
+    eventService.publish(new SshPairsChangedEvent(someUser, "vcs"));
+    vcsSshKeysProvisioner.provision(k8sEnv, runtimeIdentity);
+    verify(sshManager, times(2)).getPairs(someUser, "vcs");
+  }
+
+  @Test
+  public void doesNotMemoizeSshPairsByDefault() throws Exception {
+    when(sshManager.getPairs(someUser, "vcs"))
+        .thenReturn(ImmutableList.of(new SshPairImpl(someUser, "vcs", "key", "public", "private")));
+
+    vcsSshKeysProvisioner.prefetch(runtimeIdentity);
+    vcsSshKeysProvisioner.provision(k8sEnv, runtimeIdentity);
+    vcsSshKeysProvisioner.provision(k8sEnv, runtimeIdentity);
+
+    verify(sshManager, times(2)).getPairs(someUser, "vcs");
+  }
 }
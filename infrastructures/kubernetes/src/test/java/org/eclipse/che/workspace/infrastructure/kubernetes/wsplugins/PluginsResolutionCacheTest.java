@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+import java.net.URI;
+import java.util.List;
+import org.eclipse.che.api.workspace.server.wsplugins.model.CheContainer;
+import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
+import org.eclipse.che.api.workspace.server.wsplugins.model.PluginFQN;
+import org.testng.annotations.Test;
+
+public class PluginsResolutionCacheTest {
+
+  private static final PluginFQN PLUGIN1 =
+      new PluginFQN(URI.create("http://registry"), "publisher/plugin1/1.0.0");
+  private static final PluginFQN PLUGIN2 = new PluginFQN(null, "publisher/plugin2/latest");
+
+  @Test
+  public void shouldReturnCachedToolingRegardlessOfPluginsOrder() {
+    PluginsResolutionCache cache = new PluginsResolutionCache(10);
+    List<ChePlugin> tooling = singletonList(plugin("publisher/plugin1/1.0.0"));
+    cache.put(asList(PLUGIN1, PLUGIN2), tooling, 5_000);
+
+    List<ChePlugin> cached = cache.get(asList(PLUGIN2, PLUGIN1));
+
+    assertEquals(cached, tooling);
+    assertNotSame(cached.get(0), tooling.get(0));
+    assertEquals(cache.getHits(), 1);
+    assertEquals(cache.getMisses(), 0);
+    assertEquals(cache.getSavedNanos(), 5_000);
+  }
+
+  @Test
+  public void shouldReturnNewInstancesOnEachHit() {
+    PluginsResolutionCache cache = new PluginsResolutionCache(10);
+    cache.put(singletonList(PLUGIN1), singletonList(plugin("publisher/plugin1/1.0.0")), 1);
+
+    List<ChePlugin> first = cache.get(singletonList(PLUGIN1));
+    first.get(0).getContainers().get(0).setImage("modified");
+
+    assertEquals(cache.get(singletonList(PLUGIN1)).get(0).getContainers().get(0).getImage(), "img");
+  }
+
+  @Test
+  public void shouldNotReturnToolingResolvedForDifferentPlugins() {
+    PluginsResolutionCache cache = new PluginsResolutionCache(10);
+    cache.put(asList(PLUGIN1, PLUGIN2), singletonList(plugin("publisher/plugin1/1.0.0")), 1);
+
+    assertNull(cache.get(singletonList(PLUGIN1)));
+    assertEquals(cache.getHits(), 0);
+    assertEquals(cache.getMisses(), 1);
+  }
+
+  @Test
+  public void shouldNotCacheWhenDisabled() {
+    PluginsResolutionCache cache = new PluginsResolutionCache(0);
+    cache.put(singletonList(PLUGIN1), singletonList(plugin("publisher/plugin1/1.0.0")), 1);
+
+    assertFalse(cache.isEnabled());
+    assertNull(cache.get(singletonList(PLUGIN1)));
+  }
+
+  private static ChePlugin plugin(String id) {
+    CheContainer container = new CheContainer();
+    container.setName("container");
+    container.setImage("img");
+    return new ChePlugin().id(id).containers(singletonList(container));
+  }
+}
@@ -33,8 +33,10 @@ import io.opentracing.Tracer;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
 import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.workspace.infrastructure.kubernetes.RuntimeLogsPublisher;
@@ -101,6 +103,7 @@ public class DeployBrokerTest {
             brokersResult,
             unrecoverableEventListenerFactory,
             runtimeEventPublisher,
+            new StartPhaseTracker(new EventService()),
             tracer,
             emptyMap());
     deployBrokerPhase.then(nextBrokerPhase);
@@ -176,6 +179,7 @@ public class DeployBrokerTest {
             brokersResult,
             unrecoverableEventListenerFactory,
             runtimeEventPublisher,
+            new StartPhaseTracker(new EventService()),
             tracer,
             singletonMap(DEBUG_WORKSPACE_START, Boolean.TRUE.toString()));
     deployBrokerPhase.then(nextBrokerPhase);
@@ -206,6 +210,7 @@ public class DeployBrokerTest {
             brokersResult,
             unrecoverableEventListenerFactory,
             runtimeEventPublisher,
+            new StartPhaseTracker(new EventService()),
             tracer,
             ImmutableMap.of(
                 DEBUG_WORKSPACE_START,
@@ -240,6 +245,7 @@ public class DeployBrokerTest {
             brokersResult,
             unrecoverableEventListenerFactory,
             runtimeEventPublisher,
+            new StartPhaseTracker(new EventService()),
             tracer,
             singletonMap(DEBUG_WORKSPACE_START, Boolean.FALSE.toString()));
     deployBrokerPhase.then(nextBrokerPhase);
@@ -287,6 +293,7 @@ public class DeployBrokerTest {
             brokersResult,
             unrecoverableEventListenerFactory,
             runtimeEventPublisher,
+            new StartPhaseTracker(new EventService()),
             tracer,
             null);
     deployBrokerPhase.then(nextBrokerPhase);
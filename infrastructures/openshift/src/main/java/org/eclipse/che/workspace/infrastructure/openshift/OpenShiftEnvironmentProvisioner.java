@@ -11,11 +11,24 @@
  */
 package org.eclipse.che.workspace.infrastructure.openshift;
 
+import static java.util.EnumSet.of;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.COMMANDS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.CONFIG_MAPS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.INGRESSES;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.MACHINES;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.PODS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.ROUTES;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.SECRETS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.SERVICES;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.provision.EnvironmentPart.WARNINGS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.util.StartPhaseConstants.PROVISION_ENVIRONMENT;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
 import org.eclipse.che.commons.annotation.Traced;
 import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesEnvironmentProvisioner;
@@ -25,16 +38,16 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.provision.GitConfigPr
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ImagePullSecretProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.LogsVolumeMachineProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.PodTerminationGracePeriodProvisioner;
+import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProvisioningGraph;
+import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProvisioningPool;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProxySettingsProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ServiceAccountProvisioner;
-import org.eclipse.che.workspace.infrastructure.kubernetes.provision.UniqueNamesProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.VcsSshKeysProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.VcsSslCertificateProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.env.EnvVarsConverter;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.limits.ram.ContainerResourceProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.restartpolicy.RestartPolicyRewriter;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.server.ServersConverter;
-import org.eclipse.che.workspace.infrastructure.kubernetes.server.PreviewUrlExposer;
 import org.eclipse.che.workspace.infrastructure.openshift.environment.OpenShiftEnvironment;
 import org.eclipse.che.workspace.infrastructure.openshift.provision.OpenShiftUniqueNamesProvisioner;
 import org.eclipse.che.workspace.infrastructure.openshift.provision.RouteTlsProvisioner;
@@ -46,6 +59,9 @@ import org.slf4j.LoggerFactory;
  * Applies the set of configurations to the OpenShift environment and environment configuration with
  * the desired order, which corresponds to the needs of the OpenShift infrastructure.
  *
+ * <p>The configurations which don't touch the same parts of the environment may be applied
+ * concurrently, see {@link ProvisioningGraph}.
+ *
  * @author Anton Korneta
  * @author Alexander Garagatyi
  */
@@ -55,24 +71,9 @@ public class OpenShiftEnvironmentProvisioner
 
   private static final Logger LOG = LoggerFactory.getLogger(OpenShiftEnvironmentProvisioner.class);
 
-  private final boolean pvcEnabled;
-  private final WorkspaceVolumesStrategy volumesStrategy;
-  private final UniqueNamesProvisioner<OpenShiftEnvironment> uniqueNamesProvisioner;
-  private final RouteTlsProvisioner routeTlsProvisioner;
-  private final ServersConverter<OpenShiftEnvironment> serversConverter;
-  private final EnvVarsConverter envVarsConverter;
-  private final RestartPolicyRewriter restartPolicyRewriter;
-  private final ContainerResourceProvisioner resourceLimitRequestProvisioner;
-  private final LogsVolumeMachineProvisioner logsVolumeMachineProvisioner;
-  private final PodTerminationGracePeriodProvisioner podTerminationGracePeriodProvisioner;
-  private final ImagePullSecretProvisioner imagePullSecretProvisioner;
-  private final ProxySettingsProvisioner proxySettingsProvisioner;
-  private final ServiceAccountProvisioner serviceAccountProvisioner;
-  private final CertificateProvisioner certificateProvisioner;
-  private final VcsSshKeysProvisioner vcsSshKeysProvisioner;
-  private final GitConfigProvisioner gitConfigProvisioner;
-  private final PreviewUrlExposer<OpenShiftEnvironment> previewUrlExposer;
-  private final VcsSslCertificateProvisioner vcsSslCertificateProvisioner;
+  private final ProvisioningGraph<OpenShiftEnvironment> provisioningGraph;
+  private final ProvisioningPool provisioningPool;
+  private final StartPhaseTracker startPhaseTracker;
 
   @Inject
   public OpenShiftEnvironmentProvisioner(
@@ -93,61 +94,83 @@ public class OpenShiftEnvironmentProvisioner
       VcsSshKeysProvisioner vcsSshKeysProvisioner,
       GitConfigProvisioner gitConfigProvisioner,
       OpenShiftPreviewUrlExposer previewUrlEndpointsProvisioner,
-      VcsSslCertificateProvisioner vcsSslCertificateProvisioner) {
-    this.pvcEnabled = pvcEnabled;
-    this.volumesStrategy = volumesStrategy;
-    this.uniqueNamesProvisioner = uniqueNamesProvisioner;
-    this.routeTlsProvisioner = routeTlsProvisioner;
-    this.serversConverter = serversConverter;
-    this.envVarsConverter = envVarsConverter;
-    this.restartPolicyRewriter = restartPolicyRewriter;
-    this.resourceLimitRequestProvisioner = resourceLimitRequestProvisioner;
-    this.logsVolumeMachineProvisioner = logsVolumeMachineProvisioner;
-    this.podTerminationGracePeriodProvisioner = podTerminationGracePeriodProvisioner;
-    this.imagePullSecretProvisioner = imagePullSecretProvisioner;
-    this.proxySettingsProvisioner = proxySettingsProvisioner;
-    this.serviceAccountProvisioner = serviceAccountProvisioner;
-    this.certificateProvisioner = certificateProvisioner;
-    this.vcsSshKeysProvisioner = vcsSshKeysProvisioner;
-    this.gitConfigProvisioner = gitConfigProvisioner;
-    this.previewUrlExposer = previewUrlEndpointsProvisioner;
-    this.vcsSslCertificateProvisioner = vcsSslCertificateProvisioner;
-  }
+      VcsSslCertificateProvisioner vcsSslCertificateProvisioner,
+      ProvisioningPool provisioningPool,
+      StartPhaseTracker startPhaseTracker) {
+    this.provisioningPool = provisioningPool;
+    this.startPhaseTracker = startPhaseTracker;
 
-  @Override
-  @Traced
-  public void provision(OpenShiftEnvironment osEnv, RuntimeIdentity identity)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(identity::getWorkspaceId);
+    ProvisioningGraph.Builder<OpenShiftEnvironment> graph =
+        ProvisioningGraph.builder(PROVISION_ENVIRONMENT);
+    // user inputs are loaded in advance while the chain is running
+    graph
+        .addIndependent("VcsSshKeysPrefetch", (env, id) -> vcsSshKeysProvisioner.prefetch(id))
+        .addIndependent("GitConfigPrefetch", (env, id) -> gitConfigProvisioner.prefetch(id));
 
-    LOG.debug(
-        "Start provisioning OpenShift environment for workspace '{}'", identity.getWorkspaceId());
     // 1 stage - update environment according Infrastructure specific
     if (pvcEnabled) {
-      logsVolumeMachineProvisioner.provision(osEnv, identity);
+      graph.add("LogsVolume", logsVolumeMachineProvisioner, of(MACHINES), of(MACHINES));
     }
 
     // 2 stage - converting Che model env to OpenShift env
-    serversConverter.provision(osEnv, identity);
-    previewUrlExposer.expose(osEnv);
-    envVarsConverter.provision(osEnv, identity);
+    graph
+        .addExclusive("Servers", serversConverter)
+        .add(
+            "PreviewUrls",
+            (env, id) -> previewUrlEndpointsProvisioner.expose(env),
+            of(COMMANDS, SERVICES, ROUTES),
+            of(SERVICES, ROUTES))
+        .add("EnvVars", envVarsConverter, of(MACHINES, PODS), of(PODS));
     if (pvcEnabled) {
-      volumesStrategy.provision(osEnv, identity);
+      graph.addExclusive("Volumes", volumesStrategy);
     }
 
     // 3 stage - add OpenShift env items
-    restartPolicyRewriter.provision(osEnv, identity);
-    uniqueNamesProvisioner.provision(osEnv, identity);
-    routeTlsProvisioner.provision(osEnv, identity);
-    resourceLimitRequestProvisioner.provision(osEnv, identity);
-    podTerminationGracePeriodProvisioner.provision(osEnv, identity);
-    imagePullSecretProvisioner.provision(osEnv, identity);
-    proxySettingsProvisioner.provision(osEnv, identity);
-    serviceAccountProvisioner.provision(osEnv, identity);
-    certificateProvisioner.provision(osEnv, identity);
-    vcsSshKeysProvisioner.provision(osEnv, identity);
-    vcsSslCertificateProvisioner.provision(osEnv, identity);
-    gitConfigProvisioner.provision(osEnv, identity);
+    graph
+        .add("RestartPolicy", restartPolicyRewriter, of(PODS), of(PODS, WARNINGS))
+        .add(
+            "UniqueNames",
+            uniqueNamesProvisioner,
+            of(PODS, CONFIG_MAPS, INGRESSES, ROUTES),
+            of(PODS, CONFIG_MAPS, INGRESSES, ROUTES))
+        .add("RouteTls", routeTlsProvisioner, of(ROUTES), of(ROUTES))
+        .add(
+            "ContainerResources",
+            resourceLimitRequestProvisioner,
+            of(MACHINES, PODS),
+            of(MACHINES, PODS))
+        .add("PodTerminationGracePeriod", podTerminationGracePeriodProvisioner, of(PODS), of(PODS))
+        .add("ImagePullSecret", imagePullSecretProvisioner, of(SECRETS, PODS), of(SECRETS, PODS))
+        .add("ProxySettings", proxySettingsProvisioner, of(PODS), of(PODS))
+        .add("ServiceAccount", serviceAccountProvisioner, of(PODS), of(PODS))
+        .add("Certificate", certificateProvisioner, of(SECRETS, PODS), of(SECRETS, PODS))
+        .add(
+            "VcsSshKeys",
+            vcsSshKeysProvisioner,
+            of(SECRETS, CONFIG_MAPS, PODS),
+            of(SECRETS, CONFIG_MAPS, PODS))
+        .add(
+            "VcsSslCertificate",
+            vcsSslCertificateProvisioner,
+            of(CONFIG_MAPS, PODS),
+            of(CONFIG_MAPS, PODS))
+        .add(
+            "GitConfig",
+            gitConfigProvisioner,
+            of(CONFIG_MAPS, PODS),
+            of(CONFIG_MAPS, PODS, WARNINGS));
+    this.provisioningGraph = graph.build();
+  }
+
+  @Override
+  @Traced
+  public void provision(OpenShiftEnvironment osEnv, RuntimeIdentity identity)
+      throws InfrastructureException {
+    TracingTags.WORKSPACE_ID.set(identity::getWorkspaceId);
+
+    LOG.debug(
+        "Start provisioning OpenShift environment for workspace '{}'", identity.getWorkspaceId());
+    provisioningGraph.provision(osEnv, identity, provisioningPool.getExecutor(), startPhaseTracker);
     LOG.debug(
         "Provisioning OpenShift environment done for workspace '{}'", identity.getWorkspaceId());
   }
@@ -13,14 +13,18 @@ package org.eclipse.che.workspace.infrastructure.openshift;
 
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
 
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.WorkspaceVolumesStrategy;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.CertificateProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.GitConfigProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ImagePullSecretProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.LogsVolumeMachineProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.PodTerminationGracePeriodProvisioner;
+import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProvisioningPool;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ProxySettingsProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.ServiceAccountProvisioner;
 import org.eclipse.che.workspace.infrastructure.kubernetes.provision.VcsSshKeysProvisioner;
@@ -67,6 +71,8 @@ public class OpenShiftEnvironmentProvisionerTest {
   @Mock private GitConfigProvisioner gitConfigProvisioner;
   @Mock private OpenShiftPreviewUrlExposer previewUrlEndpointsProvisioner;
   @Mock private VcsSslCertificateProvisioner vcsSslCertificateProvisioner;
+  @Mock private ProvisioningPool provisioningPool;
+  @Mock private EventService eventService;
 
   private OpenShiftEnvironmentProvisioner osInfraProvisioner;
 
@@ -74,6 +80,7 @@ public class OpenShiftEnvironmentProvisionerTest {
 
   @BeforeMethod
   public void setUp() {
+    when(runtimeIdentity.getWorkspaceId()).thenReturn("workspace123");
     osInfraProvisioner =
         new OpenShiftEnvironmentProvisioner(
             true,
@@ -93,7 +100,9 @@ public class OpenShiftEnvironmentProvisionerTest {
             vcsSshKeysProvisioner,
             gitConfigProvisioner,
             previewUrlEndpointsProvisioner,
-            vcsSslCertificateProvisioner);
+            vcsSslCertificateProvisioner,
+            provisioningPool,
+            new StartPhaseTracker(eventService));
     provisionOrder =
         inOrder(
             logsVolumeMachineProvisioner,
@@ -119,6 +128,8 @@ public class OpenShiftEnvironmentProvisionerTest {
   public void performsOrderedProvisioning() throws Exception {
     osInfraProvisioner.provision(osEnv, runtimeIdentity);
 
+    provisionOrder.verify(vcsSshKeysProvisioner).prefetch(eq(runtimeIdentity));
+    provisionOrder.verify(gitConfigProvisioner).prefetch(eq(runtimeIdentity));
     provisionOrder.verify(logsVolumeMachineProvisioner).provision(eq(osEnv), eq(runtimeIdentity));
     provisionOrder.verify(serversProvisioner).provision(eq(osEnv), eq(runtimeIdentity));
     provisionOrder.verify(envVarsProvisioner).provision(eq(osEnv), eq(runtimeIdentity));
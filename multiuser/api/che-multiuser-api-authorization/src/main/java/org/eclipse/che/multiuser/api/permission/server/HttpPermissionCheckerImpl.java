@@ -11,78 +11,222 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.name.Named;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.multiuser.api.permission.shared.dto.PermissionsDto;
 
 /**
  * Implementation of {@link PermissionChecker} that load permissions by http requests to {@link
  * PermissionsService}
  *
- * <p>It also caches permissions to avoid frequently requests to workspace master.
+ * <p>It also caches permissions to avoid frequently requests to workspace master. Cached
+ * permissions are reloaded in background once they are older than configured refresh period, so
+ * only expired permissions block the caller.
+ *
+ * <p>When bulk loading is enabled, permissions of a user for all instances of a domain are fetched
+ * by a single request and an instance missing there is loaded separately.
+ *
+ * <p>The checker is used by components that run apart from workspace master, so changes of
+ * permissions become visible to it only once the cached ones are reloaded or expire.
  *
  * @author Sergii Leschenko
  */
 @Singleton
 public class HttpPermissionCheckerImpl implements PermissionChecker {
+  private static final int RELOAD_THREADS = 4;
+
+  private final String apiEndpoint;
+  private final HttpJsonRequestFactory requestFactory;
+  private final ExecutorService reloadExecutor;
   private final LoadingCache<Key, Set<String>> permissionsCache;
+  private final LoadingCache<Key, Map<String, Set<String>>> domainPermissionsCache;
+
+  public HttpPermissionCheckerImpl(String apiEndpoint, HttpJsonRequestFactory requestFactory) {
+    this(apiEndpoint, requestFactory, new CacheConfiguration());
+  }
 
   @Inject
   public HttpPermissionCheckerImpl(
-      @Named("che.api") String apiEndpoint, HttpJsonRequestFactory requestFactory) {
-    // TODO mb make configurable size of cache and expiration time
+      @Named("che.api") String apiEndpoint,
+      HttpJsonRequestFactory requestFactory,
+      CacheConfiguration configuration) {
+    this.apiEndpoint = apiEndpoint;
+    this.requestFactory = requestFactory;
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            RELOAD_THREADS,
+            RELOAD_THREADS,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("PermissionsCacheReloader-%d")
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    this.reloadExecutor = executor;
     this.permissionsCache =
-        CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(1, TimeUnit.MINUTES)
+        newCacheBuilder(configuration)
             .build(
-                new CacheLoader<Key, Set<String>>() {
+                new AsyncReloadingLoader<Set<String>>() {
                   @Override
                   public Set<String> load(Key key) throws Exception {
-                    UriBuilder currentUsersPermissions =
-                        UriBuilder.fromUri(apiEndpoint).path("permissions/" + key.domain);
-                    if (key.instance != null) {
-                      currentUsersPermissions.queryParam("instance", key.instance);
-                    }
-                    String userPermissionsUrl = currentUsersPermissions.build().toString();
-                    try {
-                      PermissionsDto usersPermissions =
-                          requestFactory
-                              .fromUrl(userPermissionsUrl)
-                              .useGetMethod()
-                              .request()
-                              .asDto(PermissionsDto.class);
-                      return new HashSet<>(usersPermissions.getActions());
-                    } catch (NotFoundException e) {
-                      // user doesn't have permissions
-                      return new HashSet<>();
-                    }
+                    return loadPermissions(key);
                   }
                 });
+    this.domainPermissionsCache =
+        configuration.bulkLoad
+            ? newCacheBuilder(configuration)
+                .build(
+                    new AsyncReloadingLoader<Map<String, Set<String>>>() {
+                      @Override
+                      public Map<String, Set<String>> load(Key key) throws Exception {
+                        return loadDomainPermissions(key);
+                      }
+                    })
+            : null;
+  }
+
+  @PreDestroy
+  @VisibleForTesting
+  void shutdown() {
+    reloadExecutor.shutdownNow();
   }
 
   @Override
   public boolean hasPermission(String user, String domain, String instance, String action)
       throws ServerException {
     try {
-      return permissionsCache.get(new Key(user, domain, instance)).contains(action);
+      Set<String> actions = null;
+      if (domainPermissionsCache != null && instance != null) {
+        actions = domainPermissionsCache.get(new Key(user, domain, null)).get(instance);
+      }
+      if (actions == null) {
+        actions = permissionsCache.get(new Key(user, domain, instance));
+      }
+      return actions.contains(action);
     } catch (Exception e) {
       throw new ServerException(e.getMessage(), e);
     }
   }
 
+  private CacheBuilder<Object, Object> newCacheBuilder(CacheConfiguration configuration) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(configuration.maxSize)
+        .refreshAfterWrite(configuration.refreshAfterWriteSec, TimeUnit.SECONDS)
+        .expireAfterWrite(configuration.expireAfterWriteSec, TimeUnit.SECONDS);
+  }
+
+  private Set<String> loadPermissions(Key key) throws Exception {
+    UriBuilder currentUsersPermissions =
+        UriBuilder.fromUri(apiEndpoint).path("permissions/" + key.domain);
+    if (key.instance != null) {
+      currentUsersPermissions.queryParam("instance", key.instance);
+    }
+    String userPermissionsUrl = currentUsersPermissions.build().toString();
+    try {
+      PermissionsDto usersPermissions =
+          requestFactory
+              .fromUrl(userPermissionsUrl)
+              .useGetMethod()
+              .request()
+              .asDto(PermissionsDto.class);
+      return new HashSet<>(usersPermissions.getActions());
+    } catch (NotFoundException e) {
+      // user doesn't have permissions
+      return new HashSet<>();
+    }
+  }
+
+  private Map<String, Set<String>> loadDomainPermissions(Key key) throws Exception {
+    String userPermissionsUrl =
+        UriBuilder.fromUri(apiEndpoint)
+            .path("permissions/" + key.domain + "/instances")
+            .build()
+            .toString();
+    List<PermissionsDto> usersPermissions =
+        requestFactory
+            .fromUrl(userPermissionsUrl)
+            .useGetMethod()
+            .request()
+            .asList(PermissionsDto.class);
+    Map<String, Set<String>> instanceToActions = new HashMap<>();
+    for (PermissionsDto permissions : usersPermissions) {
+      if (permissions.getInstanceId() != null) {
+        instanceToActions.put(permissions.getInstanceId(), new HashSet<>(permissions.getActions()));
+      }
+    }
+    return instanceToActions;
+  }
+
+  /**
+   * Reloads cached values in background. The reload is requested by the thread that reads the
+   * value, so its context is propagated to perform the request on behalf of the same user.
+   */
+  private abstract class AsyncReloadingLoader<V> extends CacheLoader<Key, V> {
+    @Override
+    public ListenableFuture<V> reload(Key key, V oldValue) {
+      ListenableFutureTask<V> task =
+          ListenableFutureTask.create(ThreadLocalPropagateContext.wrap(() -> load(key)));
+      reloadExecutor.execute(task);
+      return task;
+    }
+  }
+
+  /** Configuration of the permissions cache, each of the properties is optional. */
+  public static class CacheConfiguration {
+    @com.google.inject.Inject(optional = true)
+    @Named("che.auth.permissions_cache.max_size")
+    private long maxSize = 1000;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("che.auth.permissions_cache.refresh_after_write_sec")
+    private long refreshAfterWriteSec = 30;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("che.auth.permissions_cache.expire_after_write_sec")
+    private long expireAfterWriteSec = 60;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("che.auth.permissions_cache.bulk_load")
+    private boolean bulkLoad = false;
+
+    public CacheConfiguration() {}
+
+    @VisibleForTesting
+    CacheConfiguration(
+        long maxSize, long refreshAfterWriteSec, long expireAfterWriteSec, boolean bulkLoad) {
+      this.maxSize = maxSize;
+      this.refreshAfterWriteSec = refreshAfterWriteSec;
+      this.expireAfterWriteSec = expireAfterWriteSec;
+      this.bulkLoad = bulkLoad;
+    }
+  }
+
   private static final class Key {
     private final String user;
     private final String domain;
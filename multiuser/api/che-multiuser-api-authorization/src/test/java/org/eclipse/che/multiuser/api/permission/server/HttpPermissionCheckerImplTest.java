@@ -12,7 +12,9 @@
 package org.eclipse.che.multiuser.api.permission.server;
 
 import static java.util.Arrays.asList;
-import static org.mockito.ArgumentMatchers.anyObject;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEFAULTS;
@@ -21,6 +23,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
@@ -31,6 +35,7 @@ import org.eclipse.che.multiuser.api.permission.shared.dto.PermissionsDto;
 import org.mockito.Mock;
 import org.mockito.stubbing.Answer;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
@@ -65,12 +70,21 @@ public class HttpPermissionCheckerImplTest {
     when(request.request()).thenReturn(response);
     when(requestFactory.fromUrl(anyString())).thenReturn(request);
 
-    httpPermissionChecker = new HttpPermissionCheckerImpl(API_ENDPOINT, requestFactory);
+    httpPermissionChecker =
+        new HttpPermissionCheckerImpl(
+            API_ENDPOINT,
+            requestFactory,
+            new HttpPermissionCheckerImpl.CacheConfiguration(1000, 30, 60, false));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    httpPermissionChecker.shutdown();
   }
 
   @Test
   public void shouldCheckPermissionsByHttpRequestToPermissionsService() throws Exception {
-    when(response.asDto(anyObject()))
+    when(response.asDto(any()))
         .thenReturn(
             DtoFactory.newDto(PermissionsDto.class)
                 .withUserId("user123")
@@ -95,4 +109,58 @@ public class HttpPermissionCheckerImplTest {
     verify(request).request();
     verifyNoMoreInteractions(request);
   }
+
+  @Test
+  public void shouldLoadPermissionsOfAllDomainInstancesBySingleRequestWhenBulkLoadIsEnabled()
+      throws Exception {
+    httpPermissionChecker.shutdown();
+    httpPermissionChecker =
+        new HttpPermissionCheckerImpl(
+            API_ENDPOINT,
+            requestFactory,
+            new HttpPermissionCheckerImpl.CacheConfiguration(1000, 30, 60, true));
+    when(response.asList(any()))
+        .thenReturn(
+            asList(
+                DtoFactory.newDto(PermissionsDto.class)
+                    .withUserId("user123")
+                    .withDomainId("domain123")
+                    .withInstanceId("instance1")
+                    .withActions(asList("read", "test")),
+                DtoFactory.newDto(PermissionsDto.class)
+                    .withUserId("user123")
+                    .withDomainId("domain123")
+                    .withInstanceId("instance2")
+                    .withActions(singletonList("read"))));
+
+    assertTrue(httpPermissionChecker.hasPermission("user123", "domain123", "instance1", "test"));
+    assertTrue(httpPermissionChecker.hasPermission("user123", "domain123", "instance2", "read"));
+    assertFalse(httpPermissionChecker.hasPermission("user123", "domain123", "instance2", "test"));
+
+    verify(requestFactory).fromUrl(eq(API_ENDPOINT + "/permissions/domain123/instances"));
+    verify(request).request();
+  }
+
+  @Test
+  public void shouldLoadPermissionsOfInstanceMissingInBulkLoadedPermissions() throws Exception {
+    httpPermissionChecker.shutdown();
+    httpPermissionChecker =
+        new HttpPermissionCheckerImpl(
+            API_ENDPOINT,
+            requestFactory,
+            new HttpPermissionCheckerImpl.CacheConfiguration(1000, 30, 60, true));
+    when(response.asList(any())).thenReturn(emptyList());
+    when(response.asDto(any()))
+        .thenReturn(
+            DtoFactory.newDto(PermissionsDto.class)
+                .withUserId("user123")
+                .withDomainId("domain123")
+                .withInstanceId("instance3")
+                .withActions(singletonList("read")));
+
+    assertTrue(httpPermissionChecker.hasPermission("user123", "domain123", "instance3", "read"));
+
+    verify(requestFactory).fromUrl(eq(API_ENDPOINT + "/permissions/domain123/instances"));
+    verify(requestFactory).fromUrl(eq(API_ENDPOINT + "/permissions/domain123?instance=instance3"));
+  }
 }
@@ -18,6 +18,8 @@ import java.util.Set;
 import org.eclipse.che.api.system.server.ServiceTermination;
 import org.eclipse.che.api.workspace.server.WorkspaceServiceTermination;
 import org.eclipse.che.multiuser.api.distributed.cache.JGroupsWorkspaceStatusCache;
+import org.eclipse.che.multiuser.api.distributed.cache.PreferencesCacheInvalidationPropagator;
+import org.eclipse.che.multiuser.api.distributed.cache.UserSearchIndexChangesPropagator;
 import org.eclipse.che.multiuser.api.distributed.lock.JGroupsWorkspaceLockService;
 import org.eclipse.che.multiuser.api.distributed.subscription.DistributedRemoteSubscriptionStorage;
 
@@ -32,15 +34,21 @@ public class JGroupsServiceTermination implements ServiceTermination {
   private final JGroupsWorkspaceLockService workspaceLockService;
   private final JGroupsWorkspaceStatusCache workspaceStatusCache;
   private final DistributedRemoteSubscriptionStorage remoteSubscriptionStorage;
+  private final PreferencesCacheInvalidationPropagator preferencesCachePropagator;
+  private final UserSearchIndexChangesPropagator userSearchIndexPropagator;
 
   @Inject
   public JGroupsServiceTermination(
       JGroupsWorkspaceLockService workspaceLockService,
       JGroupsWorkspaceStatusCache workspaceStatusCache,
-      DistributedRemoteSubscriptionStorage remoteSubscriptionStorage) {
+      DistributedRemoteSubscriptionStorage remoteSubscriptionStorage,
+      PreferencesCacheInvalidationPropagator preferencesCachePropagator,
+      UserSearchIndexChangesPropagator userSearchIndexPropagator) {
     this.workspaceLockService = workspaceLockService;
     this.workspaceStatusCache = workspaceStatusCache;
     this.remoteSubscriptionStorage = remoteSubscriptionStorage;
+    this.preferencesCachePropagator = preferencesCachePropagator;
+    this.userSearchIndexPropagator = userSearchIndexPropagator;
   }
 
   @Override
@@ -53,6 +61,8 @@ public class JGroupsServiceTermination implements ServiceTermination {
     workspaceLockService.shutdown();
     workspaceStatusCache.shutdown();
     remoteSubscriptionStorage.shutdown();
+    preferencesCachePropagator.shutdown();
+    userSearchIndexPropagator.shutdown();
   }
 
   @Override
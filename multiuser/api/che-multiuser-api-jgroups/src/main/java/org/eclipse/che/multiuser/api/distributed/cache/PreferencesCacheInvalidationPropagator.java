@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.cache;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.user.server.PreferenceManager;
+import org.eclipse.che.api.user.server.event.PreferencesChangedEvent;
+import org.jgroups.JChannel;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Propagates {@link PreferencesChangedEvent} to the other Che Servers instances, so that they drop
+ * the preferences of the user cached by their {@link PreferenceManager}.
+ *
+ * <p>The notification is best effort, if it is lost the cached preferences are reloaded once they
+ * expire.
+ */
+@Singleton
+public class PreferencesCacheInvalidationPropagator
+    implements EventSubscriber<PreferencesChangedEvent> {
+
+  private static final String CHANNEL_NAME = "PreferencesCache";
+  private static final Logger LOG =
+      LoggerFactory.getLogger(PreferencesCacheInvalidationPropagator.class);
+
+  private final JChannel channel;
+
+  @Inject
+  public PreferencesCacheInvalidationPropagator(
+      @Named("jgroups.config.file") String confFile,
+      EventService eventService,
+      PreferenceManager preferenceManager) {
+    try {
+      channel = new JChannel(confFile);
+      channel.setDiscardOwnMessages(true);
+      channel.setReceiver(
+          new ReceiverAdapter() {
+            @Override
+            public void receive(Message msg) {
+              preferenceManager.invalidate(msg.getObject());
+            }
+          });
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception ex) {
+      throw new RuntimeException(
+          "Jgroups preferences cache channel creation failed. Cause :" + ex.getMessage());
+    }
+    eventService.subscribe(this, PreferencesChangedEvent.class);
+  }
+
+  @Override
+  public void onEvent(PreferencesChangedEvent event) {
+    try {
+      channel.send(null, event.getUserId());
+    } catch (Exception ex) {
+      LOG.warn(
+          "Failed to propagate preferences change of user '{}'. Cause: {}",
+          event.getUserId(),
+          ex.getMessage());
+    }
+  }
+
+  /** Stops the propagation of preferences changes. */
+  public void shutdown() {
+    channel.close();
+  }
+}
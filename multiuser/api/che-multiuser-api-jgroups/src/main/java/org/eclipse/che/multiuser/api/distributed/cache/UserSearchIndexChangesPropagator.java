@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.cache;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.user.server.event.UserSearchIndexChangedEvent;
+import org.eclipse.che.api.user.server.jpa.UserSearchIndex;
+import org.jgroups.JChannel;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Propagates {@link UserSearchIndexChangedEvent} to the other Che Servers instances, so that they
+ * mark the user as changed in their {@link UserSearchIndex} and check it in the database until the
+ * change settles.
+ *
+ * <p>The notification is best effort, if it is lost the user may be missing from the partial name
+ * and email queries of the other servers until their indexes are built again.
+ */
+@Singleton
+public class UserSearchIndexChangesPropagator
+    implements EventSubscriber<UserSearchIndexChangedEvent> {
+
+  private static final String CHANNEL_NAME = "UserSearchIndex";
+  private static final Logger LOG = LoggerFactory.getLogger(UserSearchIndexChangesPropagator.class);
+
+  private final JChannel channel;
+
+  @Inject
+  public UserSearchIndexChangesPropagator(
+      @Named("jgroups.config.file") String confFile,
+      EventService eventService,
+      UserSearchIndex searchIndex) {
+    try {
+      channel = new JChannel(confFile);
+      channel.setDiscardOwnMessages(true);
+      channel.setReceiver(
+          new ReceiverAdapter() {
+            @Override
+            public void receive(Message msg) {
+              searchIndex.markChanged(msg.getObject());
+            }
+          });
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception ex) {
+      throw new RuntimeException(
+          "Jgroups user search index channel creation failed. Cause :" + ex.getMessage());
+    }
+    eventService.subscribe(this, UserSearchIndexChangedEvent.class);
+  }
+
+  @Override
+  public void onEvent(UserSearchIndexChangedEvent event) {
+    try {
+      channel.send(null, event.getUserId());
+    } catch (Exception ex) {
+      LOG.warn(
+          "Failed to propagate search index change of user '{}'. Cause: {}",
+          event.getUserId(),
+          ex.getMessage());
+    }
+  }
+
+  /** Stops the propagation of user search index changes. */
+  public void shutdown() {
+    channel.close();
+  }
+}
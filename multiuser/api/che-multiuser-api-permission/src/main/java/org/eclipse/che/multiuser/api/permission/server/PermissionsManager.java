@@ -151,6 +151,21 @@ public class PermissionsManager {
         getPermissionsDao(domainId).getByInstance(instanceId, maxItems, skipCount);
   }
 
+  /**
+   * Returns all user's permissions related to the specified domain
+   *
+   * @param userId user id
+   * @param domainId domain id
+   * @return user's permissions for all instances of the domain
+   * @throws NotFoundException when given domainId is unsupported
+   * @throws ServerException when any other error occurs during permissions fetching
+   */
+  @SuppressWarnings("unchecked")
+  public List<AbstractPermissions> getByUser(String userId, String domainId)
+      throws ServerException, NotFoundException {
+    return (List<AbstractPermissions>) getPermissionsDao(domainId).getByUser(userId);
+  }
+
   /**
    * Removes permissions of userId related to the particular instanceId of specified domainId
    *
@@ -144,6 +144,30 @@ public class PermissionsService extends Service {
             EnvironmentContext.getCurrent().getSubject().getUserId(), domain, instance));
   }
 
+  @GET
+  @Path("/{domain}/instances")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+      value =
+          "Get permissions of current user which are related to all instances of specified domain",
+      response = PermissionsDto.class,
+      responseContainer = "List")
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The permissions successfully fetched"),
+    @ApiResponse(code = 404, message = "Specified domain is unsupported"),
+    @ApiResponse(code = 500, message = "Internal server error occurred during permissions fetching")
+  })
+  public List<PermissionsDto> getCurrentUsersPermissionsInDomain(
+      @ApiParam(value = "Domain id to retrieve user's permissions") @PathParam("domain")
+          String domain)
+      throws NotFoundException, ServerException {
+    return permissionsManager
+        .getByUser(EnvironmentContext.getCurrent().getSubject().getUserId(), domain)
+        .stream()
+        .map(this::toDto)
+        .collect(Collectors.toList());
+  }
+
   @GET
   @Path("/{domain}/all")
   @Produces(APPLICATION_JSON)
@@ -217,6 +217,20 @@ public class PermissionsManagerTest {
     assertEquals(permissions, fetchedPermissions);
   }
 
+  @Test
+  public void shouldBeAbleToGetPermissionsByUserAndDomain() throws Exception {
+    final TestPermissionsImpl firstPermissions =
+        new TestPermissionsImpl("user", "test", "test123", singletonList("read"));
+    final TestPermissionsImpl secondPermissions =
+        new TestPermissionsImpl("user", "test", "test234", singletonList("read"));
+    when(permissionsDao.getByUser("user")).thenReturn(asList(firstPermissions, secondPermissions));
+
+    final List<AbstractPermissions> fetchedPermissions =
+        permissionsManager.getByUser("user", "test");
+
+    assertEquals(fetchedPermissions, asList(firstPermissions, secondPermissions));
+  }
+
   @Test
   public void shouldBeAbleToGetPermissionsByInstance() throws Exception {
     final TestPermissionsImpl firstPermissions =
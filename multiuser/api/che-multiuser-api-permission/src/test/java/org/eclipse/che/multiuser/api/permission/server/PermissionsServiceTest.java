@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.permission.server;
+
+import static com.jayway.restassured.RestAssured.given;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.everrest.assured.JettyHttpServer.ADMIN_USER_NAME;
+import static org.everrest.assured.JettyHttpServer.ADMIN_USER_PASSWORD;
+import static org.everrest.assured.JettyHttpServer.SECURE_PATH;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.jayway.restassured.response.Response;
+import java.util.List;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
+import org.eclipse.che.multiuser.api.permission.shared.dto.PermissionsDto;
+import org.everrest.assured.EverrestJetty;
+import org.everrest.core.Filter;
+import org.everrest.core.GenericContainerRequest;
+import org.everrest.core.RequestFilter;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link PermissionsService}. */
+@Listeners(value = {MockitoTestNGListener.class, EverrestJetty.class})
+public class PermissionsServiceTest {
+  @SuppressWarnings("unused")
+  private static final EnvironmentFilter FILTER = new EnvironmentFilter();
+
+  @SuppressWarnings("unused")
+  private static final ApiExceptionMapper MAPPER = new ApiExceptionMapper();
+
+  @Mock private static Subject subject;
+
+  @Mock private PermissionsManager permissionsManager;
+
+  @Mock private InstanceParameterValidator instanceValidator;
+
+  @InjectMocks private PermissionsService permissionsService;
+
+  @BeforeMethod
+  public void setUp() {
+    when(subject.getUserId()).thenReturn("user123");
+  }
+
+  @Test
+  public void shouldReturnPermissionsOfCurrentUserForAllInstancesOfDomain() throws Exception {
+    when(permissionsManager.getByUser("user123", "test"))
+        .thenReturn(
+            asList(
+                new TestPermissions("user123", "test", "instance1", asList("read", "write")),
+                new TestPermissions("user123", "test", "instance2", singletonList("read"))));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/permissions/test/instances");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        DtoFactory.getInstance()
+            .createListDtoFromJson(response.body().print(), PermissionsDto.class),
+        asList(
+            DtoFactory.newDto(PermissionsDto.class)
+                .withUserId("user123")
+                .withDomainId("test")
+                .withInstanceId("instance1")
+                .withActions(asList("read", "write")),
+            DtoFactory.newDto(PermissionsDto.class)
+                .withUserId("user123")
+                .withDomainId("test")
+                .withInstanceId("instance2")
+                .withActions(singletonList("read"))));
+  }
+
+  @Test
+  public void shouldRespond404WhenRequestingPermissionsForAllInstancesOfUnsupportedDomain()
+      throws Exception {
+    when(permissionsManager.getByUser("user123", "unsupported"))
+        .thenThrow(new NotFoundException("Requested unsupported domain 'unsupported'"));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/permissions/unsupported/instances");
+
+    assertEquals(response.getStatusCode(), 404);
+  }
+
+  @Filter
+  public static class EnvironmentFilter implements RequestFilter {
+    @Override
+    public void doFilter(GenericContainerRequest request) {
+      EnvironmentContext.getCurrent().setSubject(subject);
+    }
+  }
+
+  private static class TestPermissions extends AbstractPermissions {
+    private final String domainId;
+    private final String instanceId;
+    private final List<String> actions;
+
+    TestPermissions(String userId, String domainId, String instanceId, List<String> actions) {
+      super(userId);
+      this.domainId = domainId;
+      this.instanceId = instanceId;
+      this.actions = actions;
+    }
+
+    @Override
+    public String getInstanceId() {
+      return instanceId;
+    }
+
+    @Override
+    public String getDomainId() {
+      return domainId;
+    }
+
+    @Override
+    public List<String> getActions() {
+      return actions;
+    }
+  }
+}
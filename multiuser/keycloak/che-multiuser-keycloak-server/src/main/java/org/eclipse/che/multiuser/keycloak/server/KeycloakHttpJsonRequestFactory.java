@@ -14,27 +14,38 @@ package org.eclipse.che.multiuser.keycloak.server;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.validation.constraints.NotNull;
-import org.eclipse.che.api.core.rest.DefaultHttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactoryProvider;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
+/**
+ * Creates requests authorized with the token of the current subject, using the request factory
+ * selected by {@link HttpJsonRequestFactoryProvider}.
+ */
 @Singleton
-public class KeycloakHttpJsonRequestFactory extends DefaultHttpJsonRequestFactory {
+public class KeycloakHttpJsonRequestFactory implements HttpJsonRequestFactory {
+
+  private final HttpJsonRequestFactory delegate;
 
   @Inject
-  public KeycloakHttpJsonRequestFactory() {}
+  public KeycloakHttpJsonRequestFactory(HttpJsonRequestFactoryProvider requestFactoryProvider) {
+    this.delegate = requestFactoryProvider.get();
+  }
 
   @Override
   public HttpJsonRequest fromUrl(@NotNull String url) {
-    return super.fromUrl(url)
+    return delegate
+        .fromUrl(url)
         .setAuthorizationHeader(
             "Bearer " + EnvironmentContext.getCurrent().getSubject().getToken());
   }
 
   @Override
   public HttpJsonRequest fromLink(@NotNull Link link) {
-    return super.fromLink(link)
+    return delegate
+        .fromLink(link)
         .setAuthorizationHeader(
             "Bearer " + EnvironmentContext.getCurrent().getSubject().getToken());
   }
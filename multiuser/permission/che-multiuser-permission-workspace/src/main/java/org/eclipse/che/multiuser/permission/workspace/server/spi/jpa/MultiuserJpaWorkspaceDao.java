@@ -13,6 +13,7 @@ package org.eclipse.che.multiuser.permission.workspace.server.spi.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.Pages.iterate;
@@ -20,6 +21,7 @@ import static org.eclipse.che.api.core.Pages.iterate;
 import com.google.inject.persist.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -203,6 +205,44 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getWorkspaces(
+      String userId, Set<String> ids, boolean excludeIds, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(ids, "Required non-null workspace ids");
+    if (ids.isEmpty()) {
+      // empty IN is not valid JPQL
+      return excludeIds
+          ? getWorkspaces(userId, maxItems, skipCount)
+          : new Page<>(emptyList(), skipCount, maxItems, 0);
+    }
+    final String idsCondition = excludeIds ? " AND ws.id NOT IN :ids" : " AND ws.id IN :ids";
+    try {
+      final List<WorkspaceImpl> list =
+          managerProvider
+              .get()
+              .createQuery(findByWorkerQuery + idsCondition, WorkspaceImpl.class)
+              .setParameter("userId", userId)
+              .setParameter("ids", ids)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList();
+
+      final long count =
+          managerProvider
+              .get()
+              .createQuery(findByWorkerCountQuery + idsCondition, Long.class)
+              .setParameter("userId", userId)
+              .setParameter("ids", ids)
+              .getSingleResult();
+
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
@@ -180,7 +180,7 @@ public class WorkspacePermissionsFilterTest {
 
     assertEquals(response.getStatusCode(), 200);
     verify(superPrivilegesChecker).hasSuperPrivileges();
-    verify(workspaceService).getByNamespace(any(), eq("userok"));
+    verify(workspaceService).getByNamespace(any(), eq("userok"), any());
     verify(permissionsFilter).checkAccountPermissions("userok", AccountOperation.MANAGE_WORKSPACES);
     verifyZeroInteractions(subject);
   }
@@ -202,7 +202,7 @@ public class WorkspacePermissionsFilterTest {
 
     assertEquals(response.getStatusCode(), 200);
     verify(superPrivilegesChecker).hasSuperPrivileges();
-    verify(workspaceService).getByNamespace(any(), eq("userok"));
+    verify(workspaceService).getByNamespace(any(), eq("userok"), any());
     verify(permissionsFilter, never())
         .checkAccountPermissions("userok", AccountOperation.MANAGE_WORKSPACES);
     verifyZeroInteractions(subject);
@@ -253,7 +253,8 @@ public class WorkspacePermissionsFilterTest {
             .get(SECURE_PATH + "/workspace");
 
     assertEquals(response.getStatusCode(), 204);
-    verify(workspaceService).getWorkspaces(any(), anyInt(), nullable(String.class));
+    verify(workspaceService)
+        .getWorkspaces(any(), anyInt(), nullable(String.class), nullable(String.class));
     verify(permissionsFilter, never()).checkAccountPermissions(anyString(), any());
     verifyZeroInteractions(subject);
   }
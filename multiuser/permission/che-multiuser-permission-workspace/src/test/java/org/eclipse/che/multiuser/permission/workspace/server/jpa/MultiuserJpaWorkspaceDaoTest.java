@@ -11,15 +11,19 @@
  */
 package org.eclipse.che.multiuser.permission.workspace.server.jpa;
 
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import java.util.Arrays;
 import java.util.List;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
@@ -138,4 +142,29 @@ public class MultiuserJpaWorkspaceDaoTest {
     assertTrue(results.contains(workspaces[0]));
     assertTrue(results.contains(workspaces[1]));
   }
+
+  @Test
+  public void shouldFindWorkspacesByPermissionsIncludingGivenIds() throws Exception {
+    Page<WorkspaceImpl> result =
+        dao.getWorkspaces(users[0].getId(), ImmutableSet.of("ws2", "ws3"), false, 30, 0);
+    assertEquals(result.getItems(), singletonList(workspaces[1]));
+    assertEquals(result.getTotalItemsCount(), 1);
+  }
+
+  @Test
+  public void shouldFindWorkspacesByPermissionsExcludingGivenIds() throws Exception {
+    Page<WorkspaceImpl> result =
+        dao.getWorkspaces(users[0].getId(), ImmutableSet.of("ws1"), true, 30, 0);
+    assertEquals(result.getItems(), singletonList(workspaces[1]));
+    assertEquals(result.getTotalItemsCount(), 1);
+  }
+
+  @Test
+  public void shouldFindWorkspacesByPermissionsWhenIdsAreEmpty() throws Exception {
+    assertTrue(dao.getWorkspaces(users[0].getId(), emptySet(), false, 30, 0).isEmpty());
+    List<WorkspaceImpl> results =
+        dao.getWorkspaces(users[0].getId(), emptySet(), true, 30, 0).getItems();
+    assertEquals(results.size(), 2);
+    assertTrue(results.containsAll(Arrays.asList(workspaces[0], workspaces[1])));
+  }
 }
@@ -91,19 +91,11 @@ public class GithubFactoryParametersResolver extends DefaultFactoryParameterReso
     // create factory from the following location if location exists, else create default factory
     FactoryDto factory =
         urlFactoryBuilder
-            .createFactoryFromDevfile(
+            .createFactory(
                 githubUrl,
                 fileName -> urlFetcher.fetch(githubUrl.rawFileLocation(fileName)),
                 extractOverrideParams(factoryParameters))
-            .orElseGet(
-                () ->
-                    urlFactoryBuilder
-                        .createFactoryFromJson(githubUrl)
-                        .orElseGet(
-                            () ->
-                                newDto(FactoryDto.class)
-                                    .withV(CURRENT_VERSION)
-                                    .withSource("repo")));
+            .orElseGet(() -> newDto(FactoryDto.class).withV(CURRENT_VERSION).withSource("repo"));
 
     if (factory.getWorkspace() != null) {
       return projectConfigDtoMerger.merge(
@@ -73,8 +73,7 @@ public class GithubFactoryParametersResolverTest {
 
   /**
    * Capturing the location parameter when calling {@link
-   * URLFactoryBuilder#createFactoryFromJson(RemoteFactoryUrl)} or {@link
-   * URLFactoryBuilder#createFactoryFromDevfile(RemoteFactoryUrl, FileContentProvider, Map)}
+   * URLFactoryBuilder#createFactory(RemoteFactoryUrl, FileContentProvider, Map)}
    */
   @Captor private ArgumentCaptor<RemoteFactoryUrl> factoryUrlArgumentCaptor;
 
@@ -118,9 +117,7 @@ public class GithubFactoryParametersResolverTest {
 
     when(urlFactoryBuilder.buildDefaultDevfile(any())).thenReturn(computedFactory.getDevfile());
 
-    when(urlFactoryBuilder.createFactoryFromJson(any(RemoteFactoryUrl.class)))
-        .thenReturn(Optional.empty());
-    when(urlFactoryBuilder.createFactoryFromDevfile(any(RemoteFactoryUrl.class), any(), anyMap()))
+    when(urlFactoryBuilder.createFactory(any(RemoteFactoryUrl.class), any(), anyMap()))
         .thenReturn(Optional.empty());
     Map<String, String> params = ImmutableMap.of(URL_PARAMETER_NAME, githubUrl);
     // when
@@ -140,7 +137,7 @@ public class GithubFactoryParametersResolverTest {
 
     FactoryDto computedFactory = generateDevfileFactory();
 
-    when(urlFactoryBuilder.createFactoryFromDevfile(any(RemoteFactoryUrl.class), any(), anyMap()))
+    when(urlFactoryBuilder.createFactory(any(RemoteFactoryUrl.class), any(), anyMap()))
         .thenReturn(Optional.of(computedFactory));
 
     Map<String, String> params = ImmutableMap.of(URL_PARAMETER_NAME, githubUrl);
@@ -151,8 +148,7 @@ public class GithubFactoryParametersResolverTest {
     assertNull(factory.getWorkspace());
 
     // check we called the builder with the following devfile file
-    verify(urlFactoryBuilder)
-        .createFactoryFromDevfile(factoryUrlArgumentCaptor.capture(), any(), anyMap());
+    verify(urlFactoryBuilder).createFactory(factoryUrlArgumentCaptor.capture(), any(), anyMap());
     verify(urlFactoryBuilder, never()).buildDefaultDevfile(eq("che"));
     assertEquals(
         factoryUrlArgumentCaptor.getValue().devfileFileLocation(),
@@ -168,7 +164,7 @@ public class GithubFactoryParametersResolverTest {
 
     FactoryDto computedFactory = generateDevfileFactory();
 
-    when(urlFactoryBuilder.createFactoryFromDevfile(any(RemoteFactoryUrl.class), any(), anyMap()))
+    when(urlFactoryBuilder.createFactory(any(RemoteFactoryUrl.class), any(), anyMap()))
         .thenReturn(Optional.of(computedFactory));
 
     Map<String, String> params = ImmutableMap.of(URL_PARAMETER_NAME, githubUrl);
@@ -195,7 +191,7 @@ public class GithubFactoryParametersResolverTest {
                 .withSource(
                     newDto(SourceDto.class).withLocation("https://github.com/eclipse/che.git")));
 
-    when(urlFactoryBuilder.createFactoryFromDevfile(any(RemoteFactoryUrl.class), any(), anyMap()))
+    when(urlFactoryBuilder.createFactory(any(RemoteFactoryUrl.class), any(), anyMap()))
         .thenReturn(Optional.of(computedFactory));
 
     Map<String, String> params = ImmutableMap.of(URL_PARAMETER_NAME, githubUrl);
@@ -214,7 +210,7 @@ public class GithubFactoryParametersResolverTest {
 
     FactoryDto computedFactory = generateWsConfigFactory();
 
-    when(urlFactoryBuilder.createFactoryFromJson(any(RemoteFactoryUrl.class)))
+    when(urlFactoryBuilder.createFactory(any(RemoteFactoryUrl.class), any(), anyMap()))
         .thenReturn(Optional.of(computedFactory));
 
     Map<String, String> params = ImmutableMap.of(URL_PARAMETER_NAME, githubUrl);
@@ -222,7 +218,7 @@ public class GithubFactoryParametersResolverTest {
     githubFactoryParametersResolver.createFactory(params);
     // then
     // check we called the builder with the following factory json file
-    verify(urlFactoryBuilder).createFactoryFromJson(factoryUrlArgumentCaptor.capture());
+    verify(urlFactoryBuilder).createFactory(factoryUrlArgumentCaptor.capture(), any(), anyMap());
     verify(urlFactoryBuilder, never()).buildDefaultDevfile(eq("che"));
     assertEquals(
         factoryUrlArgumentCaptor.getValue().factoryFileLocation(),
@@ -123,4 +123,35 @@ public class FactoryManager {
       int maxItems, int skipCount, List<Pair<String, String>> attributes) throws ServerException {
     return factoryDao.getByAttributes(maxItems, skipCount, attributes);
   }
+
+  /**
+   * Gets the page of factories which match all the given searchable attributes, see {@link
+   * FactoryDao#searchByAttributes(List, String, int)}.
+   *
+   * @param attributes pairs of attributes to search for
+   * @param afterId the identifier of the last factory of the previous page or null to fetch the
+   *     first page
+   * @param maxItems max number of items in response
+   * @return found factories ordered by identifier
+   * @throws IllegalArgumentException when any of the attributes is not searchable
+   * @throws ServerException when any server errors occurs
+   */
+  public List<? extends Factory> searchByAttributes(
+      List<Pair<String, String>> attributes, String afterId, int maxItems) throws ServerException {
+    return factoryDao.searchByAttributes(attributes, afterId, maxItems);
+  }
+
+  /**
+   * Counts the factories which match all the given searchable attributes. Is supposed to be called
+   * only when the total is needed, as {@link #searchByAttributes(List, String, int)} doesn't count
+   * the factories.
+   *
+   * @param attributes pairs of attributes to search for
+   * @return the number of matching factories
+   * @throws IllegalArgumentException when any of the attributes is not searchable
+   * @throws ServerException when any server errors occurs
+   */
+  public long countByAttributes(List<Pair<String, String>> attributes) throws ServerException {
+    return factoryDao.countByAttributes(attributes);
+  }
 }
@@ -18,6 +18,7 @@ import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.Pages.iterate;
+import static org.eclipse.che.api.factory.server.model.impl.FactoryImpl.SEARCHABLE_ATTRIBUTES;
 
 import com.google.inject.persist.Transactional;
 import java.util.HashMap;
@@ -124,6 +125,14 @@ public class JpaFactoryDao implements FactoryDao {
           maxItems,
           skipCount,
           attributes);
+      if (isSearchable(attributes)) {
+        final long count = createSearchQuery(attributes, null, true, Long.class).getSingleResult();
+        if (count == 0) {
+          return new Page<>(emptyList(), skipCount, maxItems, count);
+        }
+        return new Page<>(
+            searchFactories(attributes, null, skipCount, maxItems), skipCount, maxItems, count);
+      }
       final long count = countFactoriesByAttributes(attributes);
       if (count == 0) {
         return new Page<>(emptyList(), skipCount, maxItems, count);
@@ -140,11 +149,12 @@ public class JpaFactoryDao implements FactoryDao {
   public Page<FactoryImpl> getByUser(String userId, int maxItems, long skipCount)
       throws ServerException {
     requireNonNull(userId);
-    final Pair<String, String> factoryCreator = Pair.of("creator.userId", userId);
+    final List<Pair<String, String>> factoryCreator =
+        singletonList(Pair.of("creator.userId", userId));
     try {
-      long totalCount = countFactoriesByAttributes(singletonList(factoryCreator));
+      long totalCount = createSearchQuery(factoryCreator, null, true, Long.class).getSingleResult();
       return new Page<>(
-          getFactoriesByAttributes(maxItems, skipCount, singletonList(factoryCreator)),
+          searchFactories(factoryCreator, null, skipCount, maxItems),
           skipCount,
           maxItems,
           totalCount);
@@ -153,6 +163,93 @@ public class JpaFactoryDao implements FactoryDao {
     }
   }
 
+  @Override
+  @Transactional(rollbackOn = {ServerException.class})
+  public List<FactoryImpl> searchByAttributes(
+      List<Pair<String, String>> attributes, String afterId, int maxItems) throws ServerException {
+    requireNonNull(attributes);
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    checkSearchable(attributes);
+    try {
+      return searchFactories(attributes, afterId, 0, maxItems);
+    } catch (RuntimeException ex) {
+      throw new ServerException(ex.getLocalizedMessage(), ex);
+    }
+  }
+
+  @Override
+  @Transactional(rollbackOn = {ServerException.class})
+  public long countByAttributes(List<Pair<String, String>> attributes) throws ServerException {
+    requireNonNull(attributes);
+    checkSearchable(attributes);
+    try {
+      return createSearchQuery(attributes, null, true, Long.class).getSingleResult();
+    } catch (RuntimeException ex) {
+      throw new ServerException(ex.getLocalizedMessage(), ex);
+    }
+  }
+
+  private static boolean isSearchable(List<Pair<String, String>> attributes) {
+    return !attributes.isEmpty()
+        && attributes
+            .stream()
+            .allMatch(attr -> SEARCHABLE_ATTRIBUTES.contains(attr.first) && attr.second != null);
+  }
+
+  private static void checkSearchable(List<Pair<String, String>> attributes) {
+    checkArgument(
+        isSearchable(attributes),
+        "Factories can be searched only by non-null values of the attributes %s, given %s",
+        SEARCHABLE_ATTRIBUTES,
+        attributes);
+  }
+
+  private List<FactoryImpl> searchFactories(
+      List<Pair<String, String>> attributes, String afterId, long skipCount, int maxItems) {
+    return createSearchQuery(attributes, afterId, false, FactoryImpl.class)
+        .setFirstResult((int) skipCount)
+        .setMaxResults(maxItems)
+        .getResultList()
+        .stream()
+        .map(FactoryImpl::new)
+        .collect(toList());
+  }
+
+  /**
+   * Creates the query which matches the factories by the indexed projection of their searchable
+   * attributes, each attribute is matched by a separate join, so the query is answered by the
+   * (name, value, factory_id) index lookups regardless of the size of the factories table.
+   */
+  private <T> TypedQuery<T> createSearchQuery(
+      List<Pair<String, String>> attributes, String afterId, boolean count, Class<T> resultType) {
+    final StringBuilder query =
+        new StringBuilder(count ? "SELECT COUNT(factory)" : "SELECT factory")
+            .append(" FROM Factory factory");
+    final StringJoiner matcher = new StringJoiner(" AND ", " WHERE ", "");
+    for (int i = 0; i < attributes.size(); i++) {
+      query.append(" JOIN factory.searchAttributes attribute").append(i);
+      matcher.add(
+          format("KEY(attribute%1$d) = :name%1$d AND VALUE(attribute%1$d) = :value%1$d", i));
+    }
+    if (afterId != null) {
+      matcher.add("factory.id > :afterId");
+    }
+    query.append(matcher);
+    if (!count) {
+      query.append(" ORDER BY factory.id");
+    }
+    final TypedQuery<T> typedQuery =
+        managerProvider.get().createQuery(query.toString(), resultType);
+    for (int i = 0; i < attributes.size(); i++) {
+      typedQuery.setParameter("name" + i, attributes.get(i).first);
+      typedQuery.setParameter("value" + i, attributes.get(i).second);
+    }
+    if (afterId != null) {
+      typedQuery.setParameter("afterId", afterId);
+    }
+    return typedQuery;
+  }
+
   private List<FactoryImpl> getFactoriesByAttributes(
       int maxItems, long skipCount, List<Pair<String, String>> attributes) {
     final Map<String, String> params = new HashMap<>();
@@ -219,6 +316,7 @@ public class JpaFactoryDao implements FactoryDao {
     if (update.getWorkspace() != null) {
       update.getWorkspace().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
     }
+    update.prePersistSearchAttributes();
     FactoryImpl merged = manager.merge(update);
     manager.flush();
     return merged;
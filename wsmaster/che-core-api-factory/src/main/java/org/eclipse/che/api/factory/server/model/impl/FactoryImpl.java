@@ -11,15 +11,23 @@
  */
 package org.eclipse.che.api.factory.server.model.impl;
 
+import com.google.common.collect.ImmutableSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import javax.persistence.CascadeType;
+import javax.persistence.CollectionTable;
 import javax.persistence.Column;
+import javax.persistence.ElementCollection;
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
+import javax.persistence.MapKeyColumn;
 import javax.persistence.OneToOne;
+import javax.persistence.PrePersist;
 import javax.persistence.Table;
 import org.eclipse.che.api.core.model.factory.Author;
 import org.eclipse.che.api.core.model.factory.Button;
@@ -42,6 +50,13 @@ import org.eclipse.che.commons.lang.NameGenerator;
 // (uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "userId"})})
 public class FactoryImpl implements Factory {
 
+  /**
+   * Attributes which are projected to the indexed {@code che_factory_search_attribute} table, so
+   * that the factories could be searched by them without scanning the factories table.
+   */
+  public static final Set<String> SEARCHABLE_ATTRIBUTES =
+      ImmutableSet.of("name", "creator.userId", "policies.referer", "policies.create");
+
   public static FactoryImplBuilder builder() {
     return new FactoryImplBuilder();
   }
@@ -78,6 +93,15 @@ public class FactoryImpl implements Factory {
 
   @Embedded private PoliciesImpl policies;
 
+  // Projection of the searchable attributes, see #prePersistSearchAttributes()
+  @ElementCollection
+  @CollectionTable(
+      name = "che_factory_search_attribute",
+      joinColumns = @JoinColumn(name = "factory_id"))
+  @MapKeyColumn(name = "name")
+  @Column(name = "value")
+  private Map<String, String> searchAttributes;
+
   public FactoryImpl() {}
 
   public FactoryImpl(
@@ -193,6 +217,37 @@ public class FactoryImpl implements Factory {
     this.ide = ide;
   }
 
+  /**
+   * Synchronizes the projection of the {@link #SEARCHABLE_ATTRIBUTES} with the current state of the
+   * factory. Must be called before the factory is persisted or merged, it can't be done by {@link
+   * javax.persistence.PreUpdate} as the changes made by the merge event handlers are not guaranteed
+   * to be written.
+   */
+  @PrePersist
+  public void prePersistSearchAttributes() {
+    final Map<String, String> projection = new HashMap<>();
+    putIfNotNull(projection, "name", name);
+    if (creator != null) {
+      putIfNotNull(projection, "creator.userId", creator.getUserId());
+    }
+    if (policies != null) {
+      putIfNotNull(projection, "policies.referer", policies.getReferer());
+      putIfNotNull(projection, "policies.create", policies.getCreate());
+    }
+    if (searchAttributes == null) {
+      searchAttributes = projection;
+    } else if (!searchAttributes.equals(projection)) {
+      searchAttributes.clear();
+      searchAttributes.putAll(projection);
+    }
+  }
+
+  private static void putIfNotNull(Map<String, String> projection, String name, String value) {
+    if (value != null) {
+      projection.put(name, value);
+    }
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (this == obj) return true;
@@ -93,4 +93,38 @@ public interface FactoryDao {
    */
   Page<FactoryImpl> getByAttributes(
       int maxItems, int skipCount, List<Pair<String, String>> attributes) throws ServerException;
+
+  /**
+   * Gets the factories which match all the given searchable attributes. The factories are ordered
+   * by their identifiers and paged by the identifier of the last factory of the previous page, so
+   * the matching factories are read from the attributes index without skipping the preceding ones
+   * and counting them.
+   *
+   * @param attributes pairs of attributes to search for, the names must be one of {@link
+   *     FactoryImpl#SEARCHABLE_ATTRIBUTES}
+   * @param afterId the identifier of the last factory of the previous page or null to fetch the
+   *     first page
+   * @param maxItems the maximum count of items to fetch
+   * @return list of the factories which contain the specified attributes
+   * @throws NullPointerException when {@code attributes} is null
+   * @throws IllegalArgumentException when {@code attributes} is empty or contains not searchable
+   *     attribute, or when {@code maxItems} is negative
+   * @throws ServerException when any other error occurs
+   */
+  List<FactoryImpl> searchByAttributes(
+      List<Pair<String, String>> attributes, String afterId, int maxItems) throws ServerException;
+
+  /**
+   * Counts the factories which match all the given searchable attributes.
+   *
+   * @param attributes pairs of attributes to search for, the names must be one of {@link
+   *     FactoryImpl#SEARCHABLE_ATTRIBUTES}
+   * @return the number of factories which contain the specified attributes
+   * @throws NullPointerException when {@code attributes} is null
+   * @throws IllegalArgumentException when {@code attributes} is empty or contains not searchable
+   *     attribute
+   * @throws ServerException when any other error occurs
+   * @see #searchByAttributes(List, String, int)
+   */
+  long countByAttributes(List<Pair<String, String>> attributes) throws ServerException;
 }
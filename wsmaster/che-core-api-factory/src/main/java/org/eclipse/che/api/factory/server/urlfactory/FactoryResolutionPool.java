@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.factory.server.urlfactory;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread pool used by {@link URLFactoryBuilder} to fetch the files of a factory concurrently: the
+ * candidate factory files are probed at the same time and the files referenced from a devfile are
+ * fetched in parallel. The size of the pool bounds the number of concurrent fetches of all the
+ * factories being resolved.
+ *
+ * <p>Concurrent resolution is disabled when the configured concurrency is less than 2.
+ */
+@Singleton
+public class FactoryResolutionPool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FactoryResolutionPool.class);
+
+  private final ExecutorService executor;
+  private final long timeoutSec;
+
+  @Inject
+  public FactoryResolutionPool(
+      @Named("che.factory.resolution.concurrency") int concurrency,
+      @Named("che.factory.resolution.timeout_sec") long timeoutSec,
+      ExecutorServiceWrapper executorServiceWrapper) {
+    this.timeoutSec = timeoutSec;
+    this.executor =
+        concurrency > 1
+            ? executorServiceWrapper.wrap(
+                Executors.newFixedThreadPool(
+                    concurrency,
+                    new ThreadFactoryBuilder()
+                        .setNameFormat("FactoryResolutionPool-%d")
+                        .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                        .setDaemon(true)
+                        .build()),
+                FactoryResolutionPool.class.getName())
+            : null;
+  }
+
+  /** Returns whether the files of factories are fetched concurrently. */
+  public boolean isEnabled() {
+    return executor != null;
+  }
+
+  /** Returns the executor to fetch the files in or null if concurrent resolution is disabled. */
+  public ExecutorService getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Returns the maximum time, in seconds, to wait for the concurrently fetched files of a factory.
+   */
+  public long getTimeoutSec() {
+    return timeoutSec;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (executor != null && !executor.isShutdown()) {
+      executor.shutdownNow();
+      try {
+        if (!executor.awaitTermination(30, SECONDS)) {
+          LOG.error("Couldn't shutdown FactoryResolutionPool thread pool");
+        }
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.factory.server.urlfactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.factory.shared.dto.FactoryDto;
+import org.eclipse.che.api.workspace.server.devfile.URLFetcher;
+import org.eclipse.che.dto.server.DtoFactory;
+
+/**
+ * Caches factories resolved from remote locations by the location and the parameters they were
+ * resolved with, so that repeated resolutions of the same repository don't need to fetch, parse and
+ * resolve its files again.
+ *
+ * <p>Each cached factory is bound to the revision of the factory file ({@code ETag} or {@code
+ * Last-Modified} reported by its server) it was resolved from. Before a cached factory is returned
+ * the revision is revalidated with a lightweight request and the factory is resolved again when the
+ * revision has changed. Factories from the locations which don't report a revision are never
+ * cached. Files referenced from the factory file are not revalidated, so the entries also expire
+ * after the configured time to live.
+ *
+ * <p>Cached factories are stored serialized and each lookup returns a new instance of {@link
+ * FactoryDto}, so the callers are free to modify it. Caching is disabled when the configured time
+ * to live is not positive.
+ */
+@Singleton
+public class ResolvedFactoryCache {
+
+  /** Resolves a factory when there is no valid cached one. */
+  @FunctionalInterface
+  public interface FactoryResolver<E extends Exception> {
+    Optional<FactoryDto> resolve() throws E;
+  }
+
+  private final URLFetcher urlFetcher;
+  private final Cache<Key, Resolution> cache;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  @Inject
+  public ResolvedFactoryCache(
+      URLFetcher urlFetcher,
+      @Named("che.factory.resolution_cache_ttl_sec") long ttlSec,
+      @Named("che.factory.resolution_cache_max_entries") long maxEntries) {
+    this.urlFetcher = urlFetcher;
+    this.cache =
+        ttlSec > 0 && maxEntries > 0
+            ? CacheBuilder.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttlSec, TimeUnit.SECONDS)
+                .build()
+            : null;
+  }
+
+  /** Returns whether the resolved factories are cached at all. */
+  public boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * Returns the factory cached for the given location and parameters if its revision is still
+   * current, otherwise resolves the factory with the given resolver and caches the result.
+   *
+   * @param location location of the factory file
+   * @param parameters parameters which affect the resolved factory, e.g. devfile overrides
+   * @param resolver resolves the factory when there is no valid cached one
+   * @return the cached or freshly resolved factory
+   * @throws E when thrown by the resolver
+   */
+  public <E extends Exception> Optional<FactoryDto> get(
+      String location, Map<String, String> parameters, FactoryResolver<E> resolver) throws E {
+    if (cache == null) {
+      return resolver.resolve();
+    }
+
+    Key key = new Key(normalize(location), parameters);
+    // revision must be obtained before the content, so a concurrent change of the content
+    // can only lead to the cached factory being resolved again, never to a stale one
+    String revision = urlFetcher.fetchRevisionSafely(location);
+    if (revision == null) {
+      cache.invalidate(key);
+      misses.incrementAndGet();
+      return resolver.resolve();
+    }
+
+    Resolution resolution = cache.getIfPresent(key);
+    if (resolution != null && resolution.revision.equals(revision)) {
+      hits.incrementAndGet();
+      return Optional.of(
+          DtoFactory.getInstance().createDtoFromJson(resolution.factory, FactoryDto.class));
+    }
+
+    misses.incrementAndGet();
+    Optional<FactoryDto> factory = resolver.resolve();
+    if (factory.isPresent()) {
+      cache.put(key, new Resolution(revision, DtoFactory.getInstance().toJson(factory.get())));
+    } else {
+      cache.invalidate(key);
+    }
+    return factory;
+  }
+
+  /** Returns the number of lookups which returned cached factory. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of lookups which needed to resolve the factory. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /** Returns the number of currently cached factories. */
+  public long size() {
+    return cache == null ? 0 : cache.size();
+  }
+
+  /** Lower-cases scheme and host and removes redundant path segments of the given location. */
+  private static String normalize(String location) {
+    try {
+      URI uri = new URI(location.trim()).normalize();
+      if (uri.getScheme() == null || uri.getHost() == null) {
+        return uri.toString();
+      }
+      return new URI(
+              uri.getScheme().toLowerCase(Locale.ROOT),
+              uri.getUserInfo(),
+              uri.getHost().toLowerCase(Locale.ROOT),
+              uri.getPort(),
+              uri.getPath(),
+              uri.getQuery(),
+              uri.getFragment())
+          .toString();
+    } catch (URISyntaxException e) {
+      return location;
+    }
+  }
+
+  private static class Key {
+    private final String location;
+    private final Map<String, String> parameters;
+
+    private Key(String location, Map<String, String> parameters) {
+      this.location = location;
+      this.parameters = ImmutableMap.copyOf(parameters);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) obj;
+      return Objects.equals(location, that.location) && Objects.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(location, parameters);
+    }
+  }
+
+  private static class Resolution {
+    private final String revision;
+    private final String factory;
+
+    private Resolution(String revision, String factory) {
+      this.revision = revision;
+      this.factory = factory;
+    }
+  }
+}
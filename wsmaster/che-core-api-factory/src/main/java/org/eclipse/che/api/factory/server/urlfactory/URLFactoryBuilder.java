@@ -12,6 +12,8 @@
 package org.eclipse.che.api.factory.server.urlfactory;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.factory.shared.Constants.CURRENT_VERSION;
 import static org.eclipse.che.api.workspace.server.devfile.Constants.CURRENT_API_VERSION;
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_TOOLING_EDITOR_ATTRIBUTE;
@@ -21,6 +23,9 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -38,6 +43,7 @@ import org.eclipse.che.api.workspace.server.model.impl.devfile.MetadataImpl;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.devfile.DevfileDto;
 import org.eclipse.che.api.workspace.shared.dto.devfile.MetadataDto;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.dto.server.DtoFactory;
 
 /**
@@ -54,17 +60,74 @@ public class URLFactoryBuilder {
 
   private final URLFetcher urlFetcher;
   private final DevfileManager devfileManager;
+  private final ResolvedFactoryCache resolvedFactoryCache;
+  private final FactoryResolutionPool resolutionPool;
 
   @Inject
   public URLFactoryBuilder(
       @Named("che.factory.default_editor") String defaultCheEditor,
       @Named("che.factory.default_plugins") String defaultChePlugins,
       URLFetcher urlFetcher,
-      DevfileManager devfileManager) {
+      DevfileManager devfileManager,
+      ResolvedFactoryCache resolvedFactoryCache,
+      FactoryResolutionPool resolutionPool) {
     this.defaultCheEditor = defaultCheEditor;
     this.defaultChePlugins = defaultChePlugins;
     this.urlFetcher = urlFetcher;
     this.devfileManager = devfileManager;
+    this.resolvedFactoryCache = resolvedFactoryCache;
+    this.resolutionPool = resolutionPool;
+  }
+
+  /**
+   * Build a factory using the devfile of the given repository or, when there is no devfile, using
+   * its factory json. See {@link #createFactoryFromDevfile(RemoteFactoryUrl, FileContentProvider,
+   * Map)} and {@link #createFactoryFromJson(RemoteFactoryUrl)}.
+   *
+   * <p>When concurrent resolution is enabled, the factory json is probed at the same time as the
+   * devfile and its result is used only if there is no devfile.
+   *
+   * @param remoteFactoryUrl parsed factory URL object
+   * @param fileContentProvider service-specific devfile related file content provider
+   * @param overrideProperties map of overridden properties to apply in devfile
+   * @return a factory or empty if neither devfile nor factory json is found
+   */
+  public Optional<FactoryDto> createFactory(
+      RemoteFactoryUrl remoteFactoryUrl,
+      FileContentProvider fileContentProvider,
+      Map<String, String> overrideProperties)
+      throws BadRequestException, ServerException {
+    if (!resolutionPool.isEnabled() || remoteFactoryUrl.factoryFileLocation() == null) {
+      Optional<FactoryDto> factory =
+          createFactoryFromDevfile(remoteFactoryUrl, fileContentProvider, overrideProperties);
+      return factory.isPresent() ? factory : createFactoryFromJson(remoteFactoryUrl);
+    }
+
+    Future<Optional<FactoryDto>> jsonFactory =
+        resolutionPool
+            .getExecutor()
+            .submit(
+                ThreadLocalPropagateContext.wrap(() -> createFactoryFromJson(remoteFactoryUrl)));
+    try {
+      Optional<FactoryDto> factory =
+          createFactoryFromDevfile(remoteFactoryUrl, fileContentProvider, overrideProperties);
+      if (factory.isPresent()) {
+        return factory;
+      }
+      return jsonFactory.get(resolutionPool.getTimeoutSec(), SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServerException("Interrupted while creating factory", e);
+    } catch (ExecutionException e) {
+      throw new ServerException(e.getCause().getMessage(), e.getCause());
+    } catch (TimeoutException e) {
+      throw new ServerException(
+          "Timeout reached while fetching factory json located at `"
+              + remoteFactoryUrl.factoryFileLocation()
+              + "`");
+    } finally {
+      jsonFactory.cancel(true);
+    }
   }
 
   /**
@@ -75,18 +138,26 @@ public class URLFactoryBuilder {
    */
   public Optional<FactoryDto> createFactoryFromJson(RemoteFactoryUrl remoteFactoryUrl) {
     // Check if there is factory json file inside the repository
-    if (remoteFactoryUrl.factoryFileLocation() != null) {
-      final String factoryJsonContent =
-          urlFetcher.fetchSafely(remoteFactoryUrl.factoryFileLocation());
-      if (!isNullOrEmpty(factoryJsonContent)) {
-        FactoryDto factoryDto =
-            DtoFactory.getInstance()
-                .createDtoFromJson(factoryJsonContent, FactoryDto.class)
-                .withSource(remoteFactoryUrl.getFactoryFilename());
-        return Optional.of(factoryDto);
-      }
+    if (remoteFactoryUrl.factoryFileLocation() == null) {
+      return Optional.empty();
     }
-    return Optional.empty();
+    return resolvedFactoryCache.get(
+        remoteFactoryUrl.factoryFileLocation(),
+        emptyMap(),
+        () -> doCreateFactoryFromJson(remoteFactoryUrl));
+  }
+
+  private Optional<FactoryDto> doCreateFactoryFromJson(RemoteFactoryUrl remoteFactoryUrl) {
+    final String factoryJsonContent =
+        urlFetcher.fetchSafely(remoteFactoryUrl.factoryFileLocation());
+    if (isNullOrEmpty(factoryJsonContent)) {
+      return Optional.empty();
+    }
+    FactoryDto factoryDto =
+        DtoFactory.getInstance()
+            .createDtoFromJson(factoryJsonContent, FactoryDto.class)
+            .withSource(remoteFactoryUrl.getFactoryFilename());
+    return Optional.of(factoryDto);
   }
 
   /**
@@ -112,6 +183,18 @@ public class URLFactoryBuilder {
     if (remoteFactoryUrl.devfileFileLocation() == null) {
       return Optional.empty();
     }
+    return resolvedFactoryCache.get(
+        remoteFactoryUrl.devfileFileLocation(),
+        overrideProperties,
+        () ->
+            doCreateFactoryFromDevfile(remoteFactoryUrl, fileContentProvider, overrideProperties));
+  }
+
+  private Optional<FactoryDto> doCreateFactoryFromDevfile(
+      RemoteFactoryUrl remoteFactoryUrl,
+      FileContentProvider fileContentProvider,
+      Map<String, String> overrideProperties)
+      throws BadRequestException {
     final String devfileYamlContent =
         urlFetcher.fetchSafely(remoteFactoryUrl.devfileFileLocation());
     if (isNullOrEmpty(devfileYamlContent)) {
@@ -119,7 +202,16 @@ public class URLFactoryBuilder {
     }
     try {
       DevfileImpl devfile = devfileManager.parseYaml(devfileYamlContent, overrideProperties);
-      devfileManager.resolveReference(devfile, fileContentProvider);
+      if (resolutionPool.isEnabled()) {
+        devfileManager.resolveReference(
+            devfile,
+            fileContentProvider,
+            resolutionPool.getExecutor(),
+            resolutionPool.getTimeoutSec(),
+            SECONDS);
+      } else {
+        devfileManager.resolveReference(devfile, fileContentProvider);
+      }
       devfile = ensureToUseGenerateName(devfile);
 
       FactoryDto factoryDto =
@@ -26,7 +26,9 @@ import static org.testng.AssertJUnit.assertEquals;
 
 import java.util.HashMap;
 import java.util.Map;
+import org.eclipse.che.api.factory.server.urlfactory.FactoryResolutionPool;
 import org.eclipse.che.api.factory.server.urlfactory.RemoteFactoryUrl;
+import org.eclipse.che.api.factory.server.urlfactory.ResolvedFactoryCache;
 import org.eclipse.che.api.factory.server.urlfactory.URLFactoryBuilder;
 import org.eclipse.che.api.workspace.server.devfile.DevfileManager;
 import org.eclipse.che.api.workspace.server.devfile.URLFetcher;
@@ -36,6 +38,7 @@ import org.eclipse.che.api.workspace.server.devfile.validator.ComponentIntegrity
 import org.eclipse.che.api.workspace.server.devfile.validator.ComponentIntegrityValidator.NoopComponentIntegrityValidator;
 import org.eclipse.che.api.workspace.server.devfile.validator.DevfileIntegrityValidator;
 import org.eclipse.che.api.workspace.server.devfile.validator.DevfileSchemaValidator;
+import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -75,7 +78,13 @@ public class DefaultFactoryParameterResolverTest {
     DevfileManager devfileManager = new DevfileManager(validator, integrityValidator);
 
     URLFactoryBuilder factoryBuilder =
-        new URLFactoryBuilder("editor", "plugin", urlFetcher, devfileManager);
+        new URLFactoryBuilder(
+            "editor",
+            "plugin",
+            urlFetcher,
+            devfileManager,
+            new ResolvedFactoryCache(urlFetcher, 0, 0),
+            new FactoryResolutionPool(0, 0, new NoopExecutorServiceWrapper()));
 
     DefaultFactoryParameterResolver res =
         new DefaultFactoryParameterResolver(factoryBuilder, urlFetcher);
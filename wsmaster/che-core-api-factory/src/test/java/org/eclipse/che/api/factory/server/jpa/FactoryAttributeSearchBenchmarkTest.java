@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.factory.server.jpa;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.factory.server.model.impl.ActionImpl;
+import org.eclipse.che.api.factory.server.model.impl.ButtonImpl;
+import org.eclipse.che.api.factory.server.model.impl.FactoryImpl;
+import org.eclipse.che.api.factory.server.model.impl.IdeImpl;
+import org.eclipse.che.api.factory.server.model.impl.OnAppClosedImpl;
+import org.eclipse.che.api.factory.server.model.impl.OnAppLoadedImpl;
+import org.eclipse.che.api.factory.server.model.impl.OnProjectsLoadedImpl;
+import org.eclipse.che.api.factory.server.spi.FactoryDao;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.MachineConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.MachineImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.RecipeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ServerConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
+import org.eclipse.che.api.workspace.server.model.impl.VolumeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.commons.test.db.H2DBTestServer;
+import org.eclipse.che.commons.test.db.PersistTestModuleBuilder;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.che.core.db.h2.jpa.eclipselink.H2ExceptionHandler;
+import org.eclipse.che.core.db.schema.SchemaInitializer;
+import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
+import org.h2.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Compares the query plans and the time of paging through the factories matched by an attribute
+ * with the queries on the factories table, which {@link JpaFactoryDao} used to issue, and with the
+ * ones answered by the {@code che_factory_search_attribute} index on the embedded H2 database.
+ *
+ * <p>The benchmark is excluded from the regular build, run it with the {@code benchmarks} profile,
+ * e.g. {@code mvn test -Pbenchmarks -Dtest=FactoryAttributeSearchBenchmarkTest}. The number of
+ * generated factories is controlled by the {@code che.factory.search.benchmark.factories} system
+ * property.
+ */
+public class FactoryAttributeSearchBenchmarkTest {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(FactoryAttributeSearchBenchmarkTest.class);
+
+  private static final int FACTORIES =
+      Integer.getInteger("che.factory.search.benchmark.factories", 100_000);
+  private static final int USERS = 100;
+  private static final int REFERRERS = 20;
+  private static final int PAGE_SIZE = 30;
+
+  private static final String TABLE_PAGE =
+      "SELECT id FROM che_factory WHERE %s = ? ORDER BY id LIMIT ? OFFSET ?";
+  private static final String TABLE_COUNT = "SELECT COUNT(id) FROM che_factory WHERE %s = ?";
+  private static final String INDEX_PAGE =
+      "SELECT factory_id FROM che_factory_search_attribute"
+          + " WHERE name = ? AND value = ? AND factory_id > ? ORDER BY factory_id LIMIT ?";
+
+  private H2DBTestServer server;
+  private Injector injector;
+  private FactoryDao factoryDao;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    // separate database, so the shared one used by the tck is not affected
+    server =
+        new H2DBTestServer() {
+          @Override
+          public String getUrl() {
+            return "jdbc:h2:mem:factory_search_benchmark";
+          }
+        };
+    server.start();
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                install(
+                    new PersistTestModuleBuilder()
+                        .setDriver(Driver.class)
+                        .runningOn(server)
+                        .addEntityClasses(
+                            UserImpl.class,
+                            AccountImpl.class,
+                            FactoryImpl.class,
+                            OnAppClosedImpl.class,
+                            OnProjectsLoadedImpl.class,
+                            OnAppLoadedImpl.class,
+                            ActionImpl.class,
+                            ButtonImpl.class,
+                            IdeImpl.class,
+                            WorkspaceConfigImpl.class,
+                            ProjectConfigImpl.class,
+                            EnvironmentImpl.class,
+                            RecipeImpl.class,
+                            MachineImpl.class,
+                            MachineConfigImpl.class,
+                            SourceStorageImpl.class,
+                            ServerConfigImpl.class,
+                            CommandImpl.class,
+                            VolumeImpl.class)
+                        .addEntityClass(
+                            "org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl$Attribute")
+                        .setExceptionHandler(H2ExceptionHandler.class)
+                        .setProperty("eclipselink.logging.level", "OFF")
+                        .build());
+                bind(DBInitializer.class).asEagerSingleton();
+                bind(SchemaInitializer.class)
+                    .toInstance(new FlywaySchemaInitializer(server.getDataSource(), "che-schema"));
+                bind(FactoryDao.class).to(JpaFactoryDao.class);
+              }
+            });
+    factoryDao = injector.getInstance(FactoryDao.class);
+
+    try (Connection connection = server.getDataSource().getConnection();
+        PreparedStatement users =
+            connection.prepareStatement("INSERT INTO usr (id, email, name) VALUES (?, ?, ?)");
+        PreparedStatement factories =
+            connection.prepareStatement(
+                "INSERT INTO che_factory (id, name, version, user_id, referrer)"
+                    + " VALUES (?, ?, '4_0', ?, ?)");
+        PreparedStatement attributes =
+            connection.prepareStatement(
+                "INSERT INTO che_factory_search_attribute (factory_id, name, value)"
+                    + " VALUES (?, ?, ?)")) {
+      for (int i = 0; i < USERS; i++) {
+        users.setString(1, "user" + i);
+        users.setString(2, "user" + i + "@domain.com");
+        users.setString(3, "user" + i);
+        users.addBatch();
+      }
+      users.executeBatch();
+      for (int i = 0; i < FACTORIES; i++) {
+        String id = String.format("factory%08d", i);
+        String name = "f" + i;
+        String userId = "user" + i % USERS;
+        String referrer = "referrer" + i % REFERRERS;
+        factories.setString(1, id);
+        factories.setString(2, name);
+        factories.setString(3, userId);
+        factories.setString(4, referrer);
+        factories.addBatch();
+        addAttribute(attributes, id, "name", name);
+        addAttribute(attributes, id, "creator.userId", userId);
+        addAttribute(attributes, id, "policies.referer", referrer);
+        if (i % 10_000 == 0) {
+          factories.executeBatch();
+          attributes.executeBatch();
+        }
+      }
+      factories.executeBatch();
+      attributes.executeBatch();
+    }
+  }
+
+  @AfterClass
+  public void tearDown() {
+    injector.getInstance(EntityManagerFactory.class).close();
+    server.shutdown();
+  }
+
+  @DataProvider
+  public Object[][] attributes() {
+    return new Object[][] {
+      {"name", "name", "f" + FACTORIES / 2}, {"policies.referer", "referrer", "referrer7"}
+    };
+  }
+
+  @Test(dataProvider = "attributes", groups = "benchmark")
+  public void shouldPageThroughIndexedAttributesFaster(
+      String attribute, String column, String value) throws Exception {
+    try (Connection connection = server.getDataSource().getConnection()) {
+      String tablePlan =
+          explain(connection, String.format(TABLE_PAGE, column), value, PAGE_SIZE, 0);
+      String indexPlan = explain(connection, INDEX_PAGE, attribute, value, "", PAGE_SIZE);
+
+      long start = System.nanoTime();
+      List<String> fromTable = pageThroughTable(connection, column, value);
+      long tableNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      List<String> fromIndex = pageThroughIndex(connection, attribute, value);
+      long indexNanos = System.nanoTime() - start;
+
+      LOG.info(
+          "{} factories, {} = '{}', {} matches: offset pages with count over che_factory {} ms,"
+              + " keyset pages over che_factory_search_attribute {} ms, table plan: {},"
+              + " index plan: {}",
+          FACTORIES,
+          attribute,
+          value,
+          fromTable.size(),
+          tableNanos / 1_000_000.0,
+          indexNanos / 1_000_000.0,
+          tablePlan.replaceAll("\\s+", " "),
+          indexPlan.replaceAll("\\s+", " "));
+
+      assertEquals(fromIndex, fromTable);
+      assertTrue(
+          indexPlan.toUpperCase().contains("INDEX_CHE_FACTORY_SEARCH_ATTRIBUTE_NAME_VALUE"),
+          indexPlan);
+      assertTrue(
+          indexNanos < tableNanos,
+          "Expected the keyset pages over the index to be faster, index "
+              + indexNanos / 1_000_000
+              + " ms, table "
+              + tableNanos / 1_000_000
+              + " ms");
+    }
+
+    List<Pair<String, String>> query = singletonList(Pair.of(attribute, value));
+    List<String> expected;
+    try (Connection connection = server.getDataSource().getConnection()) {
+      expected = pageThroughTable(connection, column, value);
+    }
+    List<String> fromDao =
+        factoryDao
+            .searchByAttributes(query, null, PAGE_SIZE)
+            .stream()
+            .map(FactoryImpl::getId)
+            .collect(toList());
+    assertEquals(fromDao, expected.subList(0, Math.min(PAGE_SIZE, expected.size())));
+    assertEquals(factoryDao.countByAttributes(query), expected.size());
+  }
+
+  private static List<String> pageThroughTable(Connection connection, String column, String value)
+      throws Exception {
+    List<String> ids = new ArrayList<>();
+    try (PreparedStatement count = connection.prepareStatement(String.format(TABLE_COUNT, column));
+        PreparedStatement page = connection.prepareStatement(String.format(TABLE_PAGE, column))) {
+      count.setString(1, value);
+      long total;
+      try (ResultSet rs = count.executeQuery()) {
+        rs.next();
+        total = rs.getLong(1);
+      }
+      for (int offset = 0; offset < total; offset += PAGE_SIZE) {
+        page.setString(1, value);
+        page.setInt(2, PAGE_SIZE);
+        page.setInt(3, offset);
+        try (ResultSet rs = page.executeQuery()) {
+          while (rs.next()) {
+            ids.add(rs.getString(1));
+          }
+        }
+      }
+    }
+    return ids;
+  }
+
+  private static List<String> pageThroughIndex(
+      Connection connection, String attribute, String value) throws Exception {
+    List<String> ids = new ArrayList<>();
+    try (PreparedStatement page = connection.prepareStatement(INDEX_PAGE)) {
+      String afterId = "";
+      int fetched;
+      do {
+        page.setString(1, attribute);
+        page.setString(2, value);
+        page.setString(3, afterId);
+        page.setInt(4, PAGE_SIZE);
+        fetched = 0;
+        try (ResultSet rs = page.executeQuery()) {
+          while (rs.next()) {
+            afterId = rs.getString(1);
+            ids.add(afterId);
+            fetched++;
+          }
+        }
+      } while (fetched == PAGE_SIZE);
+    }
+    return ids;
+  }
+
+  private static String explain(Connection connection, String sql, Object... params)
+      throws Exception {
+    try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+      for (int i = 0; i < params.length; i++) {
+        explain.setObject(i + 1, params[i]);
+      }
+      try (ResultSet rs = explain.executeQuery()) {
+        rs.next();
+        return rs.getString(1);
+      }
+    }
+  }
+
+  private static void addAttribute(
+      PreparedStatement attributes, String factoryId, String name, String value) throws Exception {
+    attributes.setString(1, factoryId);
+    attributes.setString(2, name);
+    attributes.setString(3, value);
+    attributes.addBatch();
+  }
+}
@@ -17,12 +17,14 @@ import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -253,6 +255,75 @@ public class FactoryDaoTest {
     assertEquals(new HashSet<>(result.getItems()), new HashSet<>(asList(factories[1])));
   }
 
+  @Test
+  public void shouldSearchFactoriesByAttributesPageByPage() throws Exception {
+    final List<Pair<String, String>> attributes =
+        ImmutableList.of(
+            Pair.of("policies.referer", "referrer"), Pair.of("policies.create", "perClick"));
+
+    final List<FactoryImpl> found = new ArrayList<>();
+    List<FactoryImpl> page = factoryDao.searchByAttributes(attributes, null, 2);
+    while (!page.isEmpty()) {
+      assertTrue(page.size() <= 2);
+      found.addAll(page);
+      page = factoryDao.searchByAttributes(attributes, page.get(page.size() - 1).getId(), 2);
+    }
+
+    final List<FactoryImpl> expected = new ArrayList<>(asList(factories));
+    expected.sort(Comparator.comparing(FactoryImpl::getId));
+    assertEquals(found, expected);
+  }
+
+  @Test
+  public void shouldSearchFactoriesByNameAndCreator() throws Exception {
+    final FactoryImpl factory = factories[2];
+    final List<Pair<String, String>> attributes =
+        ImmutableList.of(
+            Pair.of("name", factory.getName()),
+            Pair.of("creator.userId", factory.getCreator().getUserId()));
+
+    assertEquals(factoryDao.searchByAttributes(attributes, null, 30), singletonList(factory));
+    assertEquals(factoryDao.countByAttributes(attributes), 1);
+  }
+
+  @Test
+  public void shouldCountFactoriesByAttributes() throws Exception {
+    assertEquals(
+        factoryDao.countByAttributes(singletonList(Pair.of("policies.create", "perClick"))),
+        ENTRY_COUNT);
+    assertEquals(
+        factoryDao.countByAttributes(singletonList(Pair.of("policies.create", "perAccount"))), 0);
+  }
+
+  @Test(dependsOnMethods = "shouldUpdateFactory")
+  public void shouldSearchFactoriesByUpdatedAttributes() throws Exception {
+    final FactoryImpl factory = factories[0];
+    final String oldName = factory.getName();
+    factory.setName("new-name");
+    factoryDao.update(factory);
+
+    assertTrue(
+        factoryDao.searchByAttributes(singletonList(Pair.of("name", oldName)), null, 30).isEmpty());
+    assertEquals(
+        factoryDao.searchByAttributes(singletonList(Pair.of("name", "new-name")), null, 30),
+        singletonList(factory));
+  }
+
+  @Test(dependsOnMethods = "shouldRemoveFactory")
+  public void shouldNotSearchRemovedFactories() throws Exception {
+    final FactoryImpl factory = factories[0];
+    factoryDao.remove(factory.getId());
+
+    assertEquals(
+        factoryDao.countByAttributes(singletonList(Pair.of("name", factory.getName()))), 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenSearchingByNotSearchableAttribute()
+      throws Exception {
+    factoryDao.searchByAttributes(singletonList(Pair.of("workspace.defaultEnv", "env1")), null, 30);
+  }
+
   @Test(expectedExceptions = NotFoundException.class, dependsOnMethods = "shouldGetFactoryById")
   public void shouldRemoveFactory() throws Exception {
     final String factoryId = factories[0].getId();
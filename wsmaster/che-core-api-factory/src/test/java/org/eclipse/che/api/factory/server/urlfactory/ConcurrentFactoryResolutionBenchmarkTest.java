@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.factory.server.urlfactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static org.eclipse.che.api.factory.shared.Constants.CURRENT_VERSION;
+import static org.eclipse.che.api.workspace.server.devfile.Constants.EDITOR_COMPONENT_TYPE;
+import static org.eclipse.che.api.workspace.server.devfile.Constants.KUBERNETES_COMPONENT_TYPE;
+import static org.eclipse.che.api.workspace.server.devfile.Constants.OPENSHIFT_COMPONENT_TYPE;
+import static org.eclipse.che.api.workspace.server.devfile.Constants.PLUGIN_COMPONENT_TYPE;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.che.api.factory.shared.dto.FactoryDto;
+import org.eclipse.che.api.workspace.server.devfile.DevfileManager;
+import org.eclipse.che.api.workspace.server.devfile.URLFetcher;
+import org.eclipse.che.api.workspace.server.devfile.URLFileContentProvider;
+import org.eclipse.che.api.workspace.server.devfile.schema.DevfileSchemaProvider;
+import org.eclipse.che.api.workspace.server.devfile.validator.ComponentIntegrityValidator;
+import org.eclipse.che.api.workspace.server.devfile.validator.ComponentIntegrityValidator.NoopComponentIntegrityValidator;
+import org.eclipse.che.api.workspace.server.devfile.validator.DevfileIntegrityValidator;
+import org.eclipse.che.api.workspace.server.devfile.validator.DevfileSchemaValidator;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Compares the time of serial and concurrent resolution of factories by {@link URLFactoryBuilder}
+ * fetching the factory files from a local HTTP server which delays every response.
+ *
+ * <p>The benchmark is excluded from the regular build, run it with the {@code benchmarks} profile,
+ * e.g. {@code mvn test -Pbenchmarks -Dtest=ConcurrentFactoryResolutionBenchmarkTest}.
+ */
+public class ConcurrentFactoryResolutionBenchmarkTest {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ConcurrentFactoryResolutionBenchmarkTest.class);
+
+  private static final long LATENCY_MS = 300;
+  private static final int REFERENCES = 5;
+
+  private final URLFetcher urlFetcher = new URLFetcher();
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private Map<String, String> files;
+  private DevfileManager devfileManager;
+  private String baseUrl;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    files = new HashMap<>();
+    StringBuilder devfile =
+        new StringBuilder("apiVersion: 1.0.0\nmetadata:\n  name: test\ncomponents:\n");
+    for (int i = 0; i < REFERENCES; i++) {
+      devfile.append("- type: kubernetes\n  alias: component").append(i).append('\n');
+      devfile.append("  reference: ref").append(i).append(".yaml\n");
+      files.put("/repo/ref" + i + ".yaml", "content" + i);
+    }
+    files.put("/repo/devfile.yaml", devfile.toString());
+    files.put(
+        "/repo/.factory.json",
+        DtoFactory.getInstance()
+            .toJson(
+                newDto(FactoryDto.class)
+                    .withV(CURRENT_VERSION)
+                    .withWorkspace(newDto(WorkspaceConfigDto.class))));
+
+    serverExecutor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(serverExecutor);
+    server.createContext("/", this::handle);
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort() + "/repo/";
+
+    Map<String, ComponentIntegrityValidator> validators = new HashMap<>();
+    validators.put(EDITOR_COMPONENT_TYPE, new NoopComponentIntegrityValidator());
+    validators.put(PLUGIN_COMPONENT_TYPE, new NoopComponentIntegrityValidator());
+    validators.put(KUBERNETES_COMPONENT_TYPE, new NoopComponentIntegrityValidator());
+    validators.put(OPENSHIFT_COMPONENT_TYPE, new NoopComponentIntegrityValidator());
+    devfileManager =
+        new DevfileManager(
+            new DevfileSchemaValidator(new DevfileSchemaProvider()),
+            new DevfileIntegrityValidator(validators));
+  }
+
+  @AfterClass
+  public void tearDown() {
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test(groups = "benchmark")
+  public void shouldResolveFactoryFasterWhenFetchingConcurrently() throws Exception {
+    long serialStart = System.nanoTime();
+    FactoryDto serial = resolve(0);
+    long serialMs = (System.nanoTime() - serialStart) / 1_000_000;
+
+    long concurrentStart = System.nanoTime();
+    FactoryDto concurrent = resolve(REFERENCES);
+    long concurrentMs = (System.nanoTime() - concurrentStart) / 1_000_000;
+
+    LOG.info(
+        "{} references with {} ms latency: serial resolution {} ms, concurrent one {} ms",
+        REFERENCES,
+        LATENCY_MS,
+        serialMs,
+        concurrentMs);
+    assertEquals(concurrent, serial);
+    // serial resolution makes a round trip per file, concurrent one fetches the devfile and then
+    // all the references at once
+    assertTrue(serialMs >= (REFERENCES + 1) * LATENCY_MS, "Serial resolution took " + serialMs);
+    assertTrue(
+        concurrentMs < (REFERENCES - 1) * LATENCY_MS,
+        "Concurrent resolution took " + concurrentMs + " ms, serial one " + serialMs + " ms");
+  }
+
+  private FactoryDto resolve(int concurrency) throws Exception {
+    FactoryResolutionPool pool =
+        new FactoryResolutionPool(concurrency, 10, new NoopExecutorServiceWrapper());
+    try {
+      return new URLFactoryBuilder(
+              "editor",
+              "plugin",
+              urlFetcher,
+              devfileManager,
+              new ResolvedFactoryCache(urlFetcher, 0, 0),
+              pool)
+          .createFactory(
+              new DefaultFactoryUrl()
+                  .withDevfileFileLocation(baseUrl + "devfile.yaml")
+                  .withDevfileFilename("devfile.yaml")
+                  .withFactoryFileLocation(baseUrl + ".factory.json")
+                  .withFactoryFilename(".factory.json"),
+              new URLFileContentProvider(URI.create(baseUrl + "devfile.yaml"), urlFetcher),
+              emptyMap())
+          .get();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      Thread.sleep(LATENCY_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    String content = files.get(exchange.getRequestURI().getPath());
+    if (content == null) {
+      exchange.sendResponseHeaders(404, -1);
+    } else {
+      byte[] body = content.getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+    exchange.close();
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.factory.server.urlfactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.factory.shared.Constants.CURRENT_VERSION;
+import static org.eclipse.che.api.workspace.server.devfile.Constants.EDITOR_COMPONENT_TYPE;
+import static org.eclipse.che.api.workspace.server.devfile.Constants.KUBERNETES_COMPONENT_TYPE;
+import static org.eclipse.che.api.workspace.server.devfile.Constants.OPENSHIFT_COMPONENT_TYPE;
+import static org.eclipse.che.api.workspace.server.devfile.Constants.PLUGIN_COMPONENT_TYPE;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.factory.shared.dto.FactoryDto;
+import org.eclipse.che.api.workspace.server.devfile.DevfileManager;
+import org.eclipse.che.api.workspace.server.devfile.URLFetcher;
+import org.eclipse.che.api.workspace.server.devfile.URLFileContentProvider;
+import org.eclipse.che.api.workspace.server.devfile.schema.DevfileSchemaProvider;
+import org.eclipse.che.api.workspace.server.devfile.validator.ComponentIntegrityValidator;
+import org.eclipse.che.api.workspace.server.devfile.validator.ComponentIntegrityValidator.NoopComponentIntegrityValidator;
+import org.eclipse.che.api.workspace.server.devfile.validator.DevfileIntegrityValidator;
+import org.eclipse.che.api.workspace.server.devfile.validator.DevfileSchemaValidator;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.devfile.ComponentDto;
+import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Compares serial and concurrent resolution of factories by {@link URLFactoryBuilder} fetching the
+ * factory files from a local HTTP server.
+ */
+public class ConcurrentFactoryResolutionTest {
+
+  private static final int REFERENCES = 5;
+
+  private final URLFetcher urlFetcher = new URLFetcher();
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private Map<String, String> files;
+  private Set<String> blockedPaths;
+  private CountDownLatch unblock;
+  private List<FactoryResolutionPool> pools;
+  private volatile CountDownLatch referencesBarrier;
+  private volatile boolean referencesFetchedTogether;
+  private DevfileManager devfileManager;
+  private String baseUrl;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    files = new ConcurrentHashMap<>();
+    blockedPaths = ConcurrentHashMap.newKeySet();
+    unblock = new CountDownLatch(1);
+    pools = new ArrayList<>();
+    referencesBarrier = null;
+    referencesFetchedTogether = true;
+    StringBuilder devfile =
+        new StringBuilder("apiVersion: 1.0.0\nmetadata:\n  name: test\ncomponents:\n");
+    for (int i = 0; i < REFERENCES; i++) {
+      devfile.append("- type: kubernetes\n  alias: component").append(i).append('\n');
+      devfile.append("  reference: ref").append(i).append(".yaml\n");
+      files.put("/repo/ref" + i + ".yaml", "content" + i);
+    }
+    files.put("/repo/devfile.yaml", devfile.toString());
+    files.put(
+        "/repo/.factory.json",
+        DtoFactory.getInstance()
+            .toJson(
+                newDto(FactoryDto.class)
+                    .withV(CURRENT_VERSION)
+                    .withWorkspace(newDto(WorkspaceConfigDto.class))));
+
+    serverExecutor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(serverExecutor);
+    server.createContext("/", this::handle);
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort() + "/repo/";
+
+    Map<String, ComponentIntegrityValidator> validators = new HashMap<>();
+    validators.put(EDITOR_COMPONENT_TYPE, new NoopComponentIntegrityValidator());
+    validators.put(PLUGIN_COMPONENT_TYPE, new NoopComponentIntegrityValidator());
+    validators.put(KUBERNETES_COMPONENT_TYPE, new NoopComponentIntegrityValidator());
+    validators.put(OPENSHIFT_COMPONENT_TYPE, new NoopComponentIntegrityValidator());
+    devfileManager =
+        new DevfileManager(
+            new DevfileSchemaValidator(new DevfileSchemaProvider()),
+            new DevfileIntegrityValidator(validators));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    unblock.countDown();
+    pools.forEach(FactoryResolutionPool::shutdown);
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shouldResolveSameFactoryWhenFetchingSeriallyAndConcurrently() throws Exception {
+    FactoryDto serial = createFactory(newBuilder(0, 10)).get();
+
+    FactoryDto concurrent = createFactory(newBuilder(REFERENCES, 10)).get();
+
+    assertEquals(concurrent, serial);
+    List<ComponentDto> components = concurrent.getDevfile().getComponents();
+    assertEquals(components.size(), REFERENCES);
+    for (int i = 0; i < REFERENCES; i++) {
+      assertEquals(components.get(i).getReferenceContent(), "content" + i);
+    }
+  }
+
+  @Test
+  public void shouldFetchReferencesConcurrently() throws Exception {
+    // every reference request waits until all the references are requested, which happens only
+    // when they are fetched at the same time
+    referencesBarrier = new CountDownLatch(REFERENCES);
+
+    createFactory(newBuilder(REFERENCES, 10)).get();
+
+    assertTrue(referencesFetchedTogether);
+  }
+
+  @Test
+  public void shouldPreferDevfileOverFactoryJson() throws Exception {
+    FactoryDto factory = createFactory(newBuilder(REFERENCES, 10)).get();
+
+    assertNotNull(factory.getDevfile());
+    assertNull(factory.getWorkspace());
+  }
+
+  @Test
+  public void shouldUseFactoryJsonWhenThereIsNoDevfile() throws Exception {
+    files.remove("/repo/devfile.yaml");
+
+    FactoryDto factory = createFactory(newBuilder(REFERENCES, 10)).get();
+
+    assertNull(factory.getDevfile());
+    assertNotNull(factory.getWorkspace());
+  }
+
+  @Test(
+      expectedExceptions = BadRequestException.class,
+      expectedExceptionsMessageRegExp = ".*Timeout of 1 seconds reached.*")
+  public void shouldFailWhenReferencesAreNotFetchedInTime() throws Exception {
+    blockedPaths.add("/repo/ref3.yaml");
+
+    createFactory(newBuilder(REFERENCES, 1));
+  }
+
+  private Optional<FactoryDto> createFactory(URLFactoryBuilder builder) throws Exception {
+    return builder.createFactory(
+        new DefaultFactoryUrl()
+            .withDevfileFileLocation(baseUrl + "devfile.yaml")
+            .withDevfileFilename("devfile.yaml")
+            .withFactoryFileLocation(baseUrl + ".factory.json")
+            .withFactoryFilename(".factory.json"),
+        new URLFileContentProvider(URI.create(baseUrl + "devfile.yaml"), urlFetcher),
+        emptyMap());
+  }
+
+  private URLFactoryBuilder newBuilder(int concurrency, long timeoutSec) {
+    FactoryResolutionPool pool =
+        new FactoryResolutionPool(concurrency, timeoutSec, new NoopExecutorServiceWrapper());
+    pools.add(pool);
+    return new URLFactoryBuilder(
+        "editor",
+        "plugin",
+        urlFetcher,
+        devfileManager,
+        new ResolvedFactoryCache(urlFetcher, 0, 0),
+        pool);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    try {
+      CountDownLatch barrier = referencesBarrier;
+      if (barrier != null && path.startsWith("/repo/ref")) {
+        barrier.countDown();
+        if (!barrier.await(5, SECONDS)) {
+          referencesFetchedTogether = false;
+        }
+      }
+      if (blockedPaths.contains(path)) {
+        unblock.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    String content = files.get(path);
+    if (content == null) {
+      exchange.sendResponseHeaders(404, -1);
+    } else {
+      byte[] body = content.getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+    exchange.close();
+  }
+}
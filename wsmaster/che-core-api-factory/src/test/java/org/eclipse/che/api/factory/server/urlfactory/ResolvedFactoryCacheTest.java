@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.factory.server.urlfactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.factory.shared.Constants.CURRENT_VERSION;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.factory.shared.dto.FactoryDto;
+import org.eclipse.che.api.workspace.server.devfile.DevfileManager;
+import org.eclipse.che.api.workspace.server.devfile.URLFetcher;
+import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link ResolvedFactoryCache} with {@link URLFactoryBuilder} fetching factory files from a
+ * local HTTP server.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ResolvedFactoryCacheTest {
+
+  @Mock private DevfileManager devfileManager;
+
+  private HttpServer server;
+  private String revision;
+  private String content;
+  private AtomicInteger fetches;
+  private AtomicInteger revalidations;
+  private String location;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    revision = "\"rev-1\"";
+    content = factoryJson("first");
+    fetches = new AtomicInteger();
+    revalidations = new AtomicInteger();
+
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+    location = "http://localhost:" + server.getAddress().getPort() + "/repo/.factory.json";
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void shouldReturnCachedFactoryWhileRevisionIsNotChanged() {
+    ResolvedFactoryCache cache = new ResolvedFactoryCache(new URLFetcher(), 60, 10);
+    URLFactoryBuilder builder = newBuilder(cache);
+
+    FactoryDto first = builder.createFactoryFromJson(factoryUrl(location)).get();
+    FactoryDto second = builder.createFactoryFromJson(factoryUrl(location)).get();
+
+    assertEquals(second, first);
+    assertEquals(second.getName(), "first");
+    assertEquals(fetches.get(), 1);
+    assertEquals(revalidations.get(), 2);
+    assertEquals(cache.getHits(), 1);
+    assertEquals(cache.getMisses(), 1);
+  }
+
+  @Test
+  public void shouldResolveFactoryAgainWhenRevisionIsChanged() {
+    ResolvedFactoryCache cache = new ResolvedFactoryCache(new URLFetcher(), 60, 10);
+    URLFactoryBuilder builder = newBuilder(cache);
+    builder.createFactoryFromJson(factoryUrl(location));
+
+    revision = "\"rev-2\"";
+    content = factoryJson("second");
+    FactoryDto factory = builder.createFactoryFromJson(factoryUrl(location)).get();
+
+    assertEquals(factory.getName(), "second");
+    assertEquals(fetches.get(), 2);
+    assertEquals(cache.getHits(), 0);
+    assertEquals(cache.getMisses(), 2);
+  }
+
+  @Test
+  public void shouldNotCacheFactoryWhenServerDoesNotReportRevision() {
+    revision = null;
+    ResolvedFactoryCache cache = new ResolvedFactoryCache(new URLFetcher(), 60, 10);
+    URLFactoryBuilder builder = newBuilder(cache);
+
+    builder.createFactoryFromJson(factoryUrl(location));
+    builder.createFactoryFromJson(factoryUrl(location));
+
+    assertEquals(fetches.get(), 2);
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  public void shouldNotRevalidateWhenCacheIsDisabled() {
+    ResolvedFactoryCache cache = new ResolvedFactoryCache(new URLFetcher(), 0, 10);
+    URLFactoryBuilder builder = newBuilder(cache);
+
+    builder.createFactoryFromJson(factoryUrl(location));
+    builder.createFactoryFromJson(factoryUrl(location));
+
+    assertFalse(cache.isEnabled());
+    assertEquals(fetches.get(), 2);
+    assertEquals(revalidations.get(), 0);
+  }
+
+  @Test
+  public void shouldReturnNewFactoryInstanceOnEachHit() {
+    ResolvedFactoryCache cache = new ResolvedFactoryCache(new URLFetcher(), 60, 10);
+    URLFactoryBuilder builder = newBuilder(cache);
+
+    builder.createFactoryFromJson(factoryUrl(location)).get().setName("modified");
+    FactoryDto factory = builder.createFactoryFromJson(factoryUrl(location)).get();
+
+    assertEquals(factory.getName(), "first");
+    assertEquals(fetches.get(), 1);
+  }
+
+  @Test
+  public void shouldCacheDevfileFactoriesByOverrideProperties() throws Exception {
+    when(devfileManager.parseYaml(anyString(), anyMap())).thenReturn(new DevfileImpl());
+    ResolvedFactoryCache cache = new ResolvedFactoryCache(new URLFetcher(), 60, 10);
+    URLFactoryBuilder builder = newBuilder(cache);
+    RemoteFactoryUrl factoryUrl =
+        new DefaultFactoryUrl().withDevfileFileLocation(location).withDevfileFilename("devfile");
+
+    builder.createFactoryFromDevfile(factoryUrl, f -> "", emptyMap());
+    builder.createFactoryFromDevfile(factoryUrl, f -> "", emptyMap());
+    builder.createFactoryFromDevfile(factoryUrl, f -> "", singletonMap("metadata.name", "foo"));
+
+    assertEquals(fetches.get(), 2);
+    verify(devfileManager, times(2)).parseYaml(anyString(), anyMap());
+    assertEquals(cache.size(), 2);
+  }
+
+  private URLFactoryBuilder newBuilder(ResolvedFactoryCache cache) {
+    return new URLFactoryBuilder(
+        "editor",
+        "plugin",
+        new URLFetcher(),
+        devfileManager,
+        cache,
+        new FactoryResolutionPool(0, 0, new NoopExecutorServiceWrapper()));
+  }
+
+  private static RemoteFactoryUrl factoryUrl(String location) {
+    return new DefaultFactoryUrl()
+        .withFactoryFileLocation(location)
+        .withFactoryFilename(".factory.json");
+  }
+
+  private static String factoryJson(String name) {
+    return DtoFactory.getInstance()
+        .toJson(
+            newDto(FactoryDto.class)
+                .withV(CURRENT_VERSION)
+                .withName(name)
+                .withWorkspace(newDto(WorkspaceConfigDto.class)));
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    if (revision != null) {
+      exchange.getResponseHeaders().add("ETag", revision);
+    }
+    if ("HEAD".equals(exchange.getRequestMethod())) {
+      revalidations.incrementAndGet();
+      exchange.sendResponseHeaders(200, -1);
+    } else {
+      fetches.incrementAndGet();
+      byte[] body = content.getBytes(UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+    exchange.close();
+  }
+}
@@ -42,6 +42,7 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.MetadataImpl;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -72,7 +73,13 @@ public class URLFactoryBuilderTest {
   @BeforeClass
   public void setUp() {
     this.urlFactoryBuilder =
-        new URLFactoryBuilder(defaultEditor, defaultPlugin, urlFetcher, devfileManager);
+        new URLFactoryBuilder(
+            defaultEditor,
+            defaultPlugin,
+            urlFetcher,
+            devfileManager,
+            new ResolvedFactoryCache(urlFetcher, 0, 0),
+            new FactoryResolutionPool(0, 0, new NoopExecutorServiceWrapper()));
   }
 
   @Test
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.SQLException;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.che.core.db.metrics.MeteredDataSource;
+import org.eclipse.che.core.db.metrics.QueryMetricsProfiler;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides metrics of the database connection pool, when the data source is created with metrics
+ * enabled, and execution time of the JPA queries.
+ */
+@Singleton
+public class DatabaseMeterBinder implements MeterBinder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DatabaseMeterBinder.class);
+
+  private final DataSource dataSource;
+  private final EntityManagerFactory entityManagerFactory;
+  private final long slowQueryThresholdMillis;
+
+  @Inject
+  public DatabaseMeterBinder(
+      DataSource dataSource,
+      // makes sure that JPA is started before the entity manager factory is used
+      DBInitializer dbInitializer,
+      EntityManagerFactory entityManagerFactory,
+      @Named("che.metrics.db.slow_query_threshold_ms") long slowQueryThresholdMillis) {
+    this.dataSource = dataSource;
+    this.entityManagerFactory = entityManagerFactory;
+    this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    try {
+      if (dataSource.isWrapperFor(MeteredDataSource.class)) {
+        dataSource.unwrap(MeteredDataSource.class).bindTo(registry);
+      }
+    } catch (SQLException e) {
+      LOG.warn("Unable to bind database connection pool metrics. Cause: {}", e.getMessage());
+    }
+
+    entityManagerFactory
+        .unwrap(AbstractSession.class)
+        .setProfiler(new QueryMetricsProfiler(registry, slowQueryThresholdMillis));
+  }
+}
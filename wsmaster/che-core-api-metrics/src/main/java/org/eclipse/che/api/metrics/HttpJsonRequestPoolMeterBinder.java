@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactoryProvider;
+import org.eclipse.che.api.core.rest.OkHttpJsonRequestFactory;
+
+/**
+ * Provides connection pool metrics of the HTTP client used by {@link HttpJsonRequestFactory} when
+ * the pooled {@link OkHttpJsonRequestFactory} is in use.
+ */
+@Singleton
+public class HttpJsonRequestPoolMeterBinder implements MeterBinder {
+
+  private final HttpJsonRequestFactory requestFactory;
+
+  @Inject
+  public HttpJsonRequestPoolMeterBinder(HttpJsonRequestFactoryProvider requestFactoryProvider) {
+    this.requestFactory = requestFactoryProvider.get();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!(requestFactory instanceof OkHttpJsonRequestFactory)) {
+      return;
+    }
+    OkHttpJsonRequestFactory pooledFactory = (OkHttpJsonRequestFactory) requestFactory;
+
+    Gauge.builder(
+            "che.http_json_request.connections",
+            pooledFactory,
+            OkHttpJsonRequestFactory::getConnectionCount)
+        .tags("area", "http")
+        .description("The number of connections opened by the HTTP JSON request client")
+        .register(registry);
+
+    Gauge.builder(
+            "che.http_json_request.connections.idle",
+            pooledFactory,
+            OkHttpJsonRequestFactory::getIdleConnectionCount)
+        .tags("area", "http")
+        .description("The number of idle connections kept alive by the HTTP JSON request client")
+        .register(registry);
+
+    pooledFactory.addNewHostListener(
+        host -> {
+          Gauge.builder(
+                  "che.http_json_request.connections.in_use",
+                  pooledFactory,
+                  f -> f.getInUseConnectionCount(host))
+              .tags("area", "http", "target.host", host)
+              .description("The number of connections to the host used by the HTTP JSON requests")
+              .register(registry);
+
+          FunctionCounter.builder(
+                  "che.http_json_request.connections.opened",
+                  pooledFactory,
+                  f -> f.getOpenedConnectionCount(host))
+              .tags("area", "http", "target.host", host)
+              .description("The number of connections opened to the host by the HTTP JSON client")
+              .register(registry);
+        });
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.BroadcastStatistics;
+
+/** Provides metrics of the JSON-RPC notifications broadcast to the remote event subscribers. */
+@Singleton
+public class JsonRpcBroadcastMeterBinder implements MeterBinder {
+
+  private final BroadcastStatistics statistics;
+
+  @Inject
+  public JsonRpcBroadcastMeterBinder(BroadcastStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder(
+            "che.jsonrpc.broadcast.notifications",
+            statistics,
+            BroadcastStatistics::getBroadcastsCount)
+        .tags("area", "jsonrpc")
+        .description("The number of marshaled JSON-RPC notifications broadcast to subscribers")
+        .register(registry);
+
+    FunctionCounter.builder(
+            "che.jsonrpc.broadcast.deliveries", statistics, BroadcastStatistics::getDeliveriesCount)
+        .tags("area", "jsonrpc")
+        .description("The number of messages sent by the JSON-RPC notification broadcasts")
+        .register(registry);
+
+    FunctionCounter.builder(
+            "che.jsonrpc.broadcast.serializations.saved",
+            statistics,
+            BroadcastStatistics::getSavedSerializationsCount)
+        .tags("area", "jsonrpc")
+        .description("The number of JSON-RPC notification marshalings avoided by broadcasting")
+        .register(registry);
+  }
+}
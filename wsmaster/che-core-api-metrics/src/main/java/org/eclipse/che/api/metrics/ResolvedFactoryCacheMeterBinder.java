@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.factory.server.urlfactory.ResolvedFactoryCache;
+
+/** Provides hits, misses and the size of the {@link ResolvedFactoryCache}. */
+@Singleton
+public class ResolvedFactoryCacheMeterBinder implements MeterBinder {
+
+  private final ResolvedFactoryCache resolvedFactoryCache;
+
+  @Inject
+  public ResolvedFactoryCacheMeterBinder(ResolvedFactoryCache resolvedFactoryCache) {
+    this.resolvedFactoryCache = resolvedFactoryCache;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!resolvedFactoryCache.isEnabled()) {
+      return;
+    }
+
+    FunctionCounter.builder(
+            "che.factory.resolution_cache.requests",
+            resolvedFactoryCache,
+            ResolvedFactoryCache::getHits)
+        .tag("result", "hit")
+        .description("Lookups of the factories resolved from remote repositories")
+        .register(registry);
+    FunctionCounter.builder(
+            "che.factory.resolution_cache.requests",
+            resolvedFactoryCache,
+            ResolvedFactoryCache::getMisses)
+        .tag("result", "miss")
+        .description("Lookups of the factories resolved from remote repositories")
+        .register(registry);
+    Gauge.builder(
+            "che.factory.resolution_cache.size", resolvedFactoryCache, ResolvedFactoryCache::size)
+        .description("The number of cached factories resolved from remote repositories")
+        .register(registry);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.ssh.server.SshKeyPairPool;
+
+/** Provides the depth, the size and the hits and misses of the {@link SshKeyPairPool}. */
+@Singleton
+public class SshKeyPairPoolMeterBinder implements MeterBinder {
+
+  private final SshKeyPairPool keyPairPool;
+
+  @Inject
+  public SshKeyPairPoolMeterBinder(SshKeyPairPool keyPairPool) {
+    this.keyPairPool = keyPairPool;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    if (!keyPairPool.isEnabled()) {
+      return;
+    }
+
+    Gauge.builder("che.ssh.key_pool.depth", keyPairPool, SshKeyPairPool::getDepth)
+        .description("The number of ssh key pairs generated in advance and not taken yet")
+        .register(registry);
+    Gauge.builder("che.ssh.key_pool.size", keyPairPool, SshKeyPairPool::getSize)
+        .description("The maximum number of ssh key pairs generated in advance")
+        .register(registry);
+    FunctionCounter.builder("che.ssh.key_pool.requests", keyPairPool, SshKeyPairPool::getHits)
+        .tag("result", "hit")
+        .description("Requests of ssh key pairs")
+        .register(registry);
+    FunctionCounter.builder("che.ssh.key_pool.requests", keyPairPool, SshKeyPairPool::getMisses)
+        .tag("result", "miss")
+        .description("Requests of ssh key pairs")
+        .register(registry);
+  }
+}
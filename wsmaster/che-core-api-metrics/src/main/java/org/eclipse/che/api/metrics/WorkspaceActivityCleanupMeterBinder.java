@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.workspaceMetric;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.activity.WorkspaceActivityChecker;
+
+/** Provides metrics of the periodical reconciliation of the workspace activity records. */
+@Singleton
+public class WorkspaceActivityCleanupMeterBinder implements MeterBinder {
+
+  private final WorkspaceActivityChecker activityChecker;
+
+  @Inject
+  public WorkspaceActivityCleanupMeterBinder(WorkspaceActivityChecker activityChecker) {
+    this.activityChecker = activityChecker;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    TimeGauge.builder(
+            workspaceMetric("activity.cleanup.duration"),
+            activityChecker,
+            TimeUnit.MILLISECONDS,
+            WorkspaceActivityChecker::getLastCleanupDurationMillis)
+        .tags(withStandardTags())
+        .description("The duration of the last workspace activity records cleanup")
+        .register(registry);
+
+    FunctionCounter.builder(
+            workspaceMetric("activity.cleanup.passes"),
+            activityChecker,
+            WorkspaceActivityChecker::getCleanupsCount)
+        .tags(withStandardTags())
+        .description("The number of performed workspace activity records cleanups")
+        .register(registry);
+
+    FunctionCounter.builder(
+            workspaceMetric("activity.cleanup.checked"),
+            activityChecker,
+            WorkspaceActivityChecker::getCheckedActivitiesCount)
+        .tags(withStandardTags())
+        .description("The number of activity records of running workspaces checked by cleanups")
+        .register(registry);
+  }
+}
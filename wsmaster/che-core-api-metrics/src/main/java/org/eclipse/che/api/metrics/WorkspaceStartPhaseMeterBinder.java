@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.workspaceMetric;
+
+import com.google.inject.Inject;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.WorkspaceStartPhaseEvent;
+
+/**
+ * {@link MeterBinder} that is providing metrics about the duration of the workspace start phases,
+ * tagged with the phase, the infrastructure, the recipe type and the result of the phase.
+ */
+@Singleton
+public class WorkspaceStartPhaseMeterBinder implements MeterBinder {
+
+  private final EventService eventService;
+  private final Map<List<String>, Timer> timers;
+
+  private MeterRegistry registry;
+
+  @Inject
+  public WorkspaceStartPhaseMeterBinder(EventService eventService) {
+    this.eventService = eventService;
+    this.timers = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+
+    // only subscribe to the event once we have the registry ready
+    eventService.subscribe(this::handleStartPhase, WorkspaceStartPhaseEvent.class);
+  }
+
+  private void handleStartPhase(WorkspaceStartPhaseEvent event) {
+    List<String> key =
+        asList(
+            event.getPhase(),
+            event.getInfrastructure(),
+            event.getRecipeType(),
+            event.isSucceeded() ? "success" : "fail");
+    timers
+        .computeIfAbsent(key, this::createTimer)
+        .record(event.getDurationNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  private Timer createTimer(List<String> key) {
+    return Timer.builder(workspaceMetric("start.phase.time"))
+        .description("The time of the workspace start phase")
+        .tags(
+            withStandardTags(
+                "phase",
+                key.get(0),
+                "infrastructure",
+                key.get(1),
+                "recipe_type",
+                key.get(2),
+                "result",
+                key.get(3)))
+        .publishPercentileHistogram()
+        .minimumExpectedValue(Duration.ofMillis(10))
+        .maximumExpectedValue(Duration.ofMinutes(15))
+        .register(registry);
+  }
+}
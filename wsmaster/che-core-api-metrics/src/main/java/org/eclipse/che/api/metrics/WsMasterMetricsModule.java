@@ -27,13 +27,20 @@ public class WsMasterMetricsModule extends AbstractModule {
         Multibinder.newSetBinder(binder(), MeterBinder.class);
 
     meterMultibinder.addBinding().to(WorkspaceActivityMeterBinder.class);
+    meterMultibinder.addBinding().to(WorkspaceActivityCleanupMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceFailureMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceStartTrackerMeterBinder.class);
+    meterMultibinder.addBinding().to(WorkspaceStartPhaseMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceStopTrackerMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceSuccessfulStartAttemptsMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceSuccessfulStopAttemptsMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceStartAttemptsMeterBinder.class);
     meterMultibinder.addBinding().to(UserMeterBinder.class);
     meterMultibinder.addBinding().to(RuntimeLogMeterBinder.class);
+    meterMultibinder.addBinding().to(JsonRpcBroadcastMeterBinder.class);
+    meterMultibinder.addBinding().to(HttpJsonRequestPoolMeterBinder.class);
+    meterMultibinder.addBinding().to(ResolvedFactoryCacheMeterBinder.class);
+    meterMultibinder.addBinding().to(SshKeyPairPoolMeterBinder.class);
+    meterMultibinder.addBinding().to(DatabaseMeterBinder.class);
   }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.WorkspaceStartPhaseEvent;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class WorkspaceStartPhaseMeterBinderTest {
+
+  private EventService eventService;
+  private MeterRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    registry = new SimpleMeterRegistry();
+    new WorkspaceStartPhaseMeterBinder(eventService).bindTo(registry);
+  }
+
+  @Test
+  public void shouldRecordPhaseDurationPerTags() {
+    // when
+    eventService.publish(
+        new WorkspaceStartPhaseEvent(
+            "id1", "PrepareVolumes", "kubernetes", "kubernetes", SECONDS.toNanos(2), true));
+    eventService.publish(
+        new WorkspaceStartPhaseEvent(
+            "id2", "PrepareVolumes", "kubernetes", "kubernetes", SECONDS.toNanos(4), true));
+    eventService.publish(
+        new WorkspaceStartPhaseEvent(
+            "id3", "PrepareVolumes", "openshift", "dockerimage", SECONDS.toNanos(1), false));
+
+    // then
+    Timer kubernetes =
+        registry
+            .find("che.workspace.start.phase.time")
+            .tags("phase", "PrepareVolumes", "infrastructure", "kubernetes")
+            .tags("recipe_type", "kubernetes", "result", "success")
+            .timer();
+    Assert.assertEquals(kubernetes.count(), 2);
+    Assert.assertEquals(kubernetes.totalTime(MILLISECONDS), 6000.0);
+
+    Timer openshift =
+        registry
+            .find("che.workspace.start.phase.time")
+            .tags("phase", "PrepareVolumes", "infrastructure", "openshift")
+            .tags("recipe_type", "dockerimage", "result", "fail")
+            .timer();
+    Assert.assertEquals(openshift.count(), 1);
+    Assert.assertEquals(openshift.totalTime(MILLISECONDS), 1000.0);
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.ssh.server;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.jcraft.jsch.JSch;
+import com.jcraft.jsch.JSchException;
+import com.jcraft.jsch.KeyPair;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
+import org.eclipse.che.inject.ConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of ssh key pairs generated in advance by a background worker, so that {@link
+ * SshManager#generatePair(String, String, String)} doesn't generate the keys on the critical path,
+ * e.g. of the first start of a workspace of a new user. The pool is refilled each time a key pair
+ * is taken from it. When the pool is drained, the key pair is generated in the calling thread. A
+ * refill which fails to generate a key pair is not retried until the next key pair is taken.
+ *
+ * <p>Pre-generation is disabled when the configured size of the pool is not positive.
+ */
+@Singleton
+public class SshKeyPairPool {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SshKeyPairPool.class);
+
+  private static final Map<String, Integer> KEY_TYPES =
+      ImmutableMap.of("rsa", KeyPair.RSA, "dsa", KeyPair.DSA, "ecdsa", KeyPair.ECDSA);
+  private static final Set<Integer> ECDSA_KEY_LENGTHS = ImmutableSet.of(256, 384, 521);
+
+  private final JSch jsch = new JSch();
+  private final int size;
+  private final int keyType;
+  private final int keyLength;
+  private final BlockingQueue<GeneratedKeyPair> pool;
+  private final ExecutorService refiller;
+  private final AtomicBoolean refilling = new AtomicBoolean();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  @Inject
+  public SshKeyPairPool(
+      @Named("che.ssh.key_pool.size") int size,
+      @Named("che.ssh.key_pool.algorithm") String algorithm,
+      @Named("che.ssh.key_pool.key_length") int keyLength,
+      ExecutorServiceWrapper executorServiceWrapper) {
+    Integer keyType = KEY_TYPES.get(algorithm.toLowerCase());
+    if (keyType == null) {
+      throw new ConfigurationException(
+          "Unsupported ssh key algorithm '"
+              + algorithm
+              + "' in `che.ssh.key_pool.algorithm`, supported values are: "
+              + String.join(", ", KEY_TYPES.keySet()));
+    }
+    if (keyType == KeyPair.ECDSA && !ECDSA_KEY_LENGTHS.contains(keyLength)) {
+      throw new ConfigurationException(
+          "Unsupported ecdsa key length '"
+              + keyLength
+              + "' in `che.ssh.key_pool.key_length`, supported values are: "
+              + ECDSA_KEY_LENGTHS);
+    }
+    if (keyLength <= 0) {
+      throw new ConfigurationException(
+          "Ssh key length in `che.ssh.key_pool.key_length` must be positive, got " + keyLength);
+    }
+    this.keyType = keyType;
+    this.keyLength = keyLength;
+    this.size = Math.max(size, 0);
+    if (this.size > 0) {
+      this.pool = new ArrayBlockingQueue<>(this.size);
+      this.refiller =
+          executorServiceWrapper.wrap(
+              Executors.newSingleThreadExecutor(
+                  new ThreadFactoryBuilder()
+                      .setNameFormat("SshKeyPairPool-%d")
+                      .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                      .setDaemon(true)
+                      .build()),
+              SshKeyPairPool.class.getName());
+    } else {
+      this.pool = null;
+      this.refiller = null;
+    }
+  }
+
+  /** Returns whether the key pairs are generated in advance. */
+  public boolean isEnabled() {
+    return pool != null;
+  }
+
+  /** Returns the maximum number of key pairs generated in advance. */
+  public int getSize() {
+    return size;
+  }
+
+  /** Returns the number of key pairs currently available in the pool. */
+  public int getDepth() {
+    return pool == null ? 0 : pool.size();
+  }
+
+  /** Returns the number of key pairs taken from the pool. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of key pairs generated in the calling thread as the pool was drained. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * Returns a key pair generated in advance, or generates a new one if the pool is drained or
+   * disabled. Each key pair is returned only once.
+   *
+   * @throws ServerException when the key pair generation fails
+   */
+  public GeneratedKeyPair take() throws ServerException {
+    if (pool == null) {
+      return generate();
+    }
+    GeneratedKeyPair keyPair = pool.poll();
+    refill();
+    if (keyPair != null) {
+      hits.incrementAndGet();
+      return keyPair;
+    }
+    misses.incrementAndGet();
+    return generate();
+  }
+
+  @PostConstruct
+  void start() {
+    if (pool != null) {
+      refill();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (refiller != null && !refiller.isShutdown()) {
+      refiller.shutdownNow();
+      try {
+        if (!refiller.awaitTermination(30, SECONDS)) {
+          LOG.error("Couldn't shutdown SshKeyPairPool thread pool");
+        }
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** Schedules the refill of the pool unless it is already being refilled. */
+  private void refill() {
+    if (pool.remainingCapacity() == 0 || !refilling.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      refiller.execute(this::doRefill);
+    } catch (RejectedExecutionException e) {
+      // shutting down
+      refilling.set(false);
+    }
+  }
+
+  private void doRefill() {
+    boolean failed = false;
+    try {
+      while (pool.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+        pool.offer(generate());
+      }
+    } catch (ServerException e) {
+      // not rescheduled, the next take retries the refill
+      failed = true;
+      LOG.error("Failed to pre-generate ssh key pair. Cause: {}", e.getMessage());
+    } finally {
+      refilling.set(false);
+    }
+    // a key pair could be taken after the last check but before the flag was reset
+    if (!failed && pool.remainingCapacity() > 0 && !refiller.isShutdown()) {
+      refill();
+    }
+  }
+
+  @VisibleForTesting
+  GeneratedKeyPair generate() throws ServerException {
+    KeyPair keyPair;
+    try {
+      keyPair = KeyPair.genKeyPair(jsch, keyType, keyLength);
+    } catch (JSchException e) {
+      throw new ServerException("Failed to generate ssh pair.", e);
+    }
+
+    ByteArrayOutputStream privateBuff = new ByteArrayOutputStream();
+    keyPair.writePrivateKey(privateBuff);
+
+    ByteArrayOutputStream publicBuff = new ByteArrayOutputStream();
+    keyPair.writePublicKey(publicBuff, null);
+
+    return new GeneratedKeyPair(publicBuff.toString(), privateBuff.toString());
+  }
+
+  /** Public and private keys of the generated key pair. */
+  public static class GeneratedKeyPair {
+    private final String publicKey;
+    private final String privateKey;
+
+    GeneratedKeyPair(String publicKey, String privateKey) {
+      this.publicKey = publicKey;
+      this.privateKey = privateKey;
+    }
+
+    public String getPublicKey() {
+      return publicKey;
+    }
+
+    public String getPrivateKey() {
+      return privateKey;
+    }
+  }
+}
@@ -11,16 +11,15 @@
  */
 package org.eclipse.che.api.ssh.server;
 
-import com.jcraft.jsch.JSch;
-import com.jcraft.jsch.JSchException;
-import com.jcraft.jsch.KeyPair;
-import java.io.ByteArrayOutputStream;
 import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.ssh.server.SshKeyPairPool.GeneratedKeyPair;
+import org.eclipse.che.api.ssh.server.event.SshPairsChangedEvent;
 import org.eclipse.che.api.ssh.server.model.impl.SshPairImpl;
 import org.eclipse.che.api.ssh.server.spi.SshDao;
 
@@ -31,13 +30,15 @@ import org.eclipse.che.api.ssh.server.spi.SshDao;
  */
 @Singleton
 public class SshManager {
-  private final JSch genJSch;
   private final SshDao sshDao;
+  private final EventService eventService;
+  private final SshKeyPairPool keyPairPool;
 
   @Inject
-  public SshManager(SshDao sshDao) {
+  public SshManager(SshDao sshDao, EventService eventService, SshKeyPairPool keyPairPool) {
     this.sshDao = sshDao;
-    this.genJSch = new JSch();
+    this.eventService = eventService;
+    this.keyPairPool = keyPairPool;
   }
 
   /**
@@ -52,22 +53,12 @@ public class SshManager {
    */
   public SshPairImpl generatePair(String owner, String service, String name)
       throws ServerException, ConflictException {
-    KeyPair keyPair;
-    try {
-      keyPair = KeyPair.genKeyPair(genJSch, 2, 2048);
-    } catch (JSchException e) {
-      throw new ServerException("Failed to generate ssh pair.", e);
-    }
-
-    ByteArrayOutputStream privateBuff = new ByteArrayOutputStream();
-    keyPair.writePrivateKey(privateBuff);
-
-    ByteArrayOutputStream publicBuff = new ByteArrayOutputStream();
-    keyPair.writePublicKey(publicBuff, null);
+    GeneratedKeyPair keyPair = keyPairPool.take();
 
     final SshPairImpl generatedSshPair =
-        new SshPairImpl(owner, service, name, publicBuff.toString(), privateBuff.toString());
+        new SshPairImpl(owner, service, name, keyPair.getPublicKey(), keyPair.getPrivateKey());
     sshDao.create(generatedSshPair);
+    eventService.publish(new SshPairsChangedEvent(owner, service));
     return generatedSshPair;
   }
 
@@ -80,6 +71,7 @@ public class SshManager {
    */
   public void createPair(SshPairImpl sshPair) throws ServerException, ConflictException {
     sshDao.create(sshPair);
+    eventService.publish(new SshPairsChangedEvent(sshPair.getOwner(), sshPair.getService()));
   }
 
   /**
@@ -121,5 +113,6 @@ public class SshManager {
   public void removePair(String owner, String service, String name)
       throws ServerException, NotFoundException {
     sshDao.remove(owner, service, name);
+    eventService.publish(new SshPairsChangedEvent(owner, service));
   }
 }
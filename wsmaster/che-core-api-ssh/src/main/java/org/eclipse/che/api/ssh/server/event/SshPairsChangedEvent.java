@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.ssh.server.event;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Published after an ssh pair of the user is created, generated or removed, so that the components
+ * which keep the ssh pairs in memory could drop the stale copies.
+ */
+@EventOrigin("ssh")
+public class SshPairsChangedEvent {
+
+  private final String owner;
+  private final String service;
+
+  public SshPairsChangedEvent(String owner, String service) {
+    this.owner = owner;
+    this.service = service;
+  }
+
+  /** Returns id of the user who owns the changed ssh pairs */
+  public String getOwner() {
+    return owner;
+  }
+
+  /** Returns service of the changed ssh pairs */
+  public String getService() {
+    return service;
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.ssh.server;
+
+import static java.util.stream.Collectors.toSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.ssh.server.SshKeyPairPool.GeneratedKeyPair;
+import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
+import org.eclipse.che.inject.ConfigurationException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link SshKeyPairPool}. */
+public class SshKeyPairPoolTest {
+
+  private static final int KEY_LENGTH = 1024;
+
+  private SshKeyPairPool pool;
+
+  @AfterMethod
+  public void tearDown() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  @Test(timeOut = 30_000)
+  public void fillsPoolInBackground() throws Exception {
+    pool = createPool(3);
+
+    pool.start();
+
+    awaitDepth(3);
+    assertEquals(pool.getHits(), 0);
+    assertEquals(pool.getMisses(), 0);
+  }
+
+  @Test(timeOut = 30_000)
+  public void takesPreGeneratedKeyPairAndRefillsPool() throws Exception {
+    pool = createPool(2);
+    pool.start();
+    awaitDepth(2);
+
+    GeneratedKeyPair keyPair = pool.take();
+
+    assertValid(keyPair);
+    assertEquals(pool.getHits(), 1);
+    assertEquals(pool.getMisses(), 0);
+    awaitDepth(2);
+  }
+
+  @Test(timeOut = 30_000)
+  public void generatesKeyPairInlineWhenPoolIsDrained() throws Exception {
+    pool = createPool(1);
+
+    // not started, so the pool is empty
+    GeneratedKeyPair keyPair = pool.take();
+
+    assertValid(keyPair);
+    assertEquals(pool.getHits(), 0);
+    assertEquals(pool.getMisses(), 1);
+    awaitDepth(1);
+  }
+
+  @Test
+  public void generatesKeyPairInlineWhenPoolIsDisabled() throws Exception {
+    pool = createPool(0);
+    pool.start();
+
+    GeneratedKeyPair keyPair = pool.take();
+
+    assertValid(keyPair);
+    assertFalse(pool.isEnabled());
+    assertEquals(pool.getDepth(), 0);
+    assertEquals(pool.getHits(), 0);
+    assertEquals(pool.getMisses(), 0);
+  }
+
+  @Test
+  public void generatesKeysWithConfiguredAlgorithm() throws Exception {
+    pool = new SshKeyPairPool(0, "DSA", KEY_LENGTH, new NoopExecutorServiceWrapper());
+
+    assertTrue(pool.take().getPublicKey().startsWith("ssh-dss "));
+  }
+
+  @Test(expectedExceptions = ConfigurationException.class)
+  public void rejectsUnsupportedAlgorithm() {
+    new SshKeyPairPool(1, "ed448", KEY_LENGTH, new NoopExecutorServiceWrapper());
+  }
+
+  @Test
+  public void generatesEcdsaKeysOfSupportedLength() throws Exception {
+    pool = new SshKeyPairPool(0, "ecdsa", 256, new NoopExecutorServiceWrapper());
+
+    assertTrue(pool.take().getPublicKey().startsWith("ecdsa-sha2-nistp256 "));
+  }
+
+  @Test(expectedExceptions = ConfigurationException.class)
+  public void rejectsUnsupportedEcdsaKeyLength() {
+    new SshKeyPairPool(1, "ecdsa", KEY_LENGTH, new NoopExecutorServiceWrapper());
+  }
+
+  @Test(expectedExceptions = ConfigurationException.class)
+  public void rejectsNonPositiveKeyLength() {
+    new SshKeyPairPool(1, "rsa", 0, new NoopExecutorServiceWrapper());
+  }
+
+  @Test(timeOut = 30_000)
+  public void doesNotRetryFailedRefillUntilKeyPairIsTaken() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    pool =
+        new SshKeyPairPool(2, "rsa", KEY_LENGTH, new NoopExecutorServiceWrapper()) {
+          @Override
+          GeneratedKeyPair generate() throws ServerException {
+            attempts.incrementAndGet();
+            throw new ServerException("Failed to generate ssh pair.");
+          }
+        };
+
+    pool.start();
+    await(() -> attempts.get() == 1);
+    Thread.sleep(200);
+    assertEquals(attempts.get(), 1);
+
+    try {
+      pool.take();
+      fail("Expected the key pair generation to fail");
+    } catch (ServerException expected) {
+      // generated in the calling thread as the pool is empty
+    }
+    // the inline generation and a single refill attempt
+    await(() -> attempts.get() == 3);
+    Thread.sleep(200);
+    assertEquals(attempts.get(), 3);
+    assertEquals(pool.getDepth(), 0);
+  }
+
+  @Test(timeOut = 120_000)
+  public void servesFirstLoginStormWithDistinctKeyPairs() throws Exception {
+    int poolSize = 5;
+    int logins = 40;
+    pool = createPool(poolSize);
+    pool.start();
+    awaitDepth(poolSize);
+
+    ExecutorService users = Executors.newFixedThreadPool(logins);
+    try {
+      CountDownLatch storm = new CountDownLatch(1);
+      List<Future<GeneratedKeyPair>> results = new ArrayList<>();
+      for (int i = 0; i < logins; i++) {
+        Callable<GeneratedKeyPair> login =
+            () -> {
+              storm.await();
+              return pool.take();
+            };
+        results.add(users.submit(login));
+      }
+      storm.countDown();
+
+      List<GeneratedKeyPair> keyPairs = new ArrayList<>();
+      for (Future<GeneratedKeyPair> result : results) {
+        keyPairs.add(result.get());
+      }
+
+      keyPairs.forEach(this::assertValid);
+      Set<String> privateKeys =
+          keyPairs.stream().map(GeneratedKeyPair::getPrivateKey).collect(toSet());
+      assertEquals(privateKeys.size(), logins);
+      assertEquals(pool.getHits() + pool.getMisses(), logins);
+      assertTrue(pool.getHits() >= poolSize, "hits: " + pool.getHits());
+      awaitDepth(poolSize);
+    } finally {
+      users.shutdownNow();
+    }
+  }
+
+  private SshKeyPairPool createPool(int size) {
+    return new SshKeyPairPool(size, "rsa", KEY_LENGTH, new NoopExecutorServiceWrapper());
+  }
+
+  private void awaitDepth(int depth) throws InterruptedException {
+    await(() -> pool.getDepth() == depth);
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    while (!condition.getAsBoolean()) {
+      Thread.sleep(10);
+    }
+  }
+
+  private void assertValid(GeneratedKeyPair keyPair) {
+    assertTrue(keyPair.getPublicKey().startsWith("ssh-rsa "), keyPair.getPublicKey());
+    assertTrue(keyPair.getPrivateKey().contains("PRIVATE KEY"));
+  }
+}
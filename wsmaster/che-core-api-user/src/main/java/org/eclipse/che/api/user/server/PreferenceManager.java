@@ -11,15 +11,30 @@
  */
 package org.eclipse.che.api.user.server;
 
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.util.concurrent.Striped;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.Lock;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.user.server.event.PreferencesChangedEvent;
+import org.eclipse.che.api.user.server.event.UserCreatedEvent;
+import org.eclipse.che.api.user.server.event.UserRemovedEvent;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 
 /**
@@ -29,6 +44,15 @@ import org.eclipse.che.api.user.server.spi.PreferenceDao;
  * <p>The manager doesn't perform any bean validations and it is expected that all the incoming
  * objects are valid, nevertheless this exactly the right place for performing business validations.
  *
+ * <p>The preferences of the recently requested users are kept in a bounded cache, which is
+ * invalidated by every modification made through the manager. The preferences which the {@link
+ * UserManager} writes directly to the {@link PreferenceDao} on user creation and removal are
+ * invalidated on {@link UserCreatedEvent} and {@link UserRemovedEvent}, published once the user
+ * transaction is committed. Each modification is also announced with {@link
+ * PreferencesChangedEvent}, so that the copies cached by the other Che Server instances could be
+ * dropped by the component which propagates the event across the cluster, see {@link
+ * #invalidate(String)}. Compiled key filters are memoized in a bounded LRU cache as well.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
@@ -36,7 +60,51 @@ public class PreferenceManager {
 
   private static final Striped<Lock> UPDATE_REENTRANT_LOCKS = Striped.lazyWeakLock(32);
 
+  private static final long DEFAULT_CACHE_MAX_ENTRIES = 1000;
+  private static final long DEFAULT_CACHE_EXPIRE_AFTER_WRITE_SEC = 300;
+  private static final int FILTER_PATTERNS_CACHE_SIZE = 256;
+
   @Inject private PreferenceDao preferenceDao;
+  @Inject private EventService eventService;
+
+  private final Cache<String, Pattern> filterPatterns =
+      CacheBuilder.newBuilder().maximumSize(FILTER_PATTERNS_CACHE_SIZE).build();
+
+  private volatile Cache<String, Map<String, String>> preferencesCache =
+      buildCache(DEFAULT_CACHE_MAX_ENTRIES, DEFAULT_CACHE_EXPIRE_AFTER_WRITE_SEC);
+
+  private final EventSubscriber<UserCreatedEvent> userCreatedSubscriber =
+      event -> invalidateChanged(event.getUser().getId());
+  private final EventSubscriber<UserRemovedEvent> userRemovedSubscriber =
+      event -> invalidateChanged(event.getUserId());
+
+  @PostConstruct
+  void subscribe() {
+    eventService.subscribe(userCreatedSubscriber, UserCreatedEvent.class);
+    eventService.subscribe(userRemovedSubscriber, UserRemovedEvent.class);
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    eventService.unsubscribe(userCreatedSubscriber, UserCreatedEvent.class);
+    eventService.unsubscribe(userRemovedSubscriber, UserRemovedEvent.class);
+  }
+
+  /**
+   * Configures the preferences cache, a non-positive number of entries or expiration period
+   * disables the cache, so that all the lookups go directly to the {@link PreferenceDao}.
+   *
+   * @param maxEntries the maximum number of users whose preferences are cached
+   * @param expireAfterWriteSec the period after which the cached preferences are reloaded, it
+   *     limits the staleness of the preferences if a change notification from another Che Server
+   *     instance is lost
+   */
+  @com.google.inject.Inject(optional = true)
+  public void setCacheConfiguration(
+      @Named("che.user.preferences.cache.max_entries") long maxEntries,
+      @Named("che.user.preferences.cache.expire_after_write_sec") long expireAfterWriteSec) {
+    this.preferencesCache = buildCache(maxEntries, expireAfterWriteSec);
+  }
 
   /**
    * Associates the given {@code preferences} with the given {@code userId}.
@@ -52,7 +120,15 @@ public class PreferenceManager {
   public void save(String userId, Map<String, String> preferences) throws ServerException {
     requireNonNull(userId, "Required non-null user id");
     requireNonNull(preferences, "Required non-null preferences");
-    preferenceDao.setPreferences(userId, preferences);
+    final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
+    reentrantLock.lock();
+    try {
+      preferenceDao.setPreferences(userId, preferences);
+      invalidateCached(userId);
+    } finally {
+      reentrantLock.unlock();
+    }
+    eventService.publish(new PreferencesChangedEvent(userId));
   }
 
   /**
@@ -70,18 +146,21 @@ public class PreferenceManager {
       throws ServerException {
     requireNonNull(userId, "Required non-null user id");
     requireNonNull(preferences, "Required non-null preferences");
+    final Map<String, String> found;
     // Holding reference to prevent garbage collection
     // this reentrantLock helps to avoid race-conditions when parallel updates are applied
     final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
     reentrantLock.lock();
     try {
-      final Map<String, String> found = preferenceDao.getPreferences(userId);
+      found = preferenceDao.getPreferences(userId);
       found.putAll(preferences);
       preferenceDao.setPreferences(userId, found);
-      return found;
+      invalidateCached(userId);
     } finally {
       reentrantLock.unlock();
     }
+    eventService.publish(new PreferencesChangedEvent(userId));
+    return found;
   }
 
   /**
@@ -94,7 +173,11 @@ public class PreferenceManager {
    */
   public Map<String, String> find(String userId) throws ServerException {
     requireNonNull(userId, "Required non-null user id");
-    return preferenceDao.getPreferences(userId);
+    final Cache<String, Map<String, String>> cache = preferencesCache;
+    if (cache == null) {
+      return preferenceDao.getPreferences(userId);
+    }
+    return new HashMap<>(getCached(cache, userId));
   }
 
   /**
@@ -110,7 +193,23 @@ public class PreferenceManager {
    */
   public Map<String, String> find(String userId, String keyFilter) throws ServerException {
     requireNonNull(userId, "Required non-null user id");
-    return preferenceDao.getPreferences(userId, keyFilter);
+    final Cache<String, Map<String, String>> cache = preferencesCache;
+    if (cache == null) {
+      return preferenceDao.getPreferences(userId, keyFilter);
+    }
+    requireNonNull(keyFilter, "Required non-null key filter");
+    final Map<String, String> preferences = getCached(cache, userId);
+    if (keyFilter.isEmpty()) {
+      return new HashMap<>(preferences);
+    }
+    final Pattern pattern = compile(keyFilter);
+    final Map<String, String> filtered = new HashMap<>();
+    for (Map.Entry<String, String> preference : preferences.entrySet()) {
+      if (pattern.matcher(preference.getKey()).matches()) {
+        filtered.put(preference.getKey(), preference.getValue());
+      }
+    }
+    return filtered;
   }
 
   /**
@@ -122,7 +221,15 @@ public class PreferenceManager {
    */
   public void remove(String userId) throws ServerException {
     requireNonNull(userId, "Required non-null user id");
-    preferenceDao.remove(userId);
+    final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
+    reentrantLock.lock();
+    try {
+      preferenceDao.remove(userId);
+      invalidateCached(userId);
+    } finally {
+      reentrantLock.unlock();
+    }
+    eventService.publish(new PreferencesChangedEvent(userId));
   }
 
   /**
@@ -144,8 +251,89 @@ public class PreferenceManager {
       final Map<String, String> preferences = preferenceDao.getPreferences(userId);
       names.forEach(preferences::remove);
       preferenceDao.setPreferences(userId, preferences);
+      invalidateCached(userId);
     } finally {
       reentrantLock.unlock();
     }
+    eventService.publish(new PreferencesChangedEvent(userId));
+  }
+
+  /**
+   * Drops the cached preferences of the user, so that the next lookup loads them from the {@link
+   * PreferenceDao}. Is supposed to be called when the preferences are changed bypassing this
+   * manager, e.g. by another Che Server instance.
+   *
+   * @param userId the id of the user whose cached preferences should be dropped
+   * @throws NullPointerException when {@code userId} is null
+   */
+  public void invalidate(String userId) {
+    requireNonNull(userId, "Required non-null user id");
+    // waits for the loading in progress, so the stale preferences are not left in the cache
+    final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
+    reentrantLock.lock();
+    try {
+      invalidateCached(userId);
+    } finally {
+      reentrantLock.unlock();
+    }
+  }
+
+  /** Invalidates the preferences changed bypassing the manager on this and other instances. */
+  private void invalidateChanged(String userId) {
+    invalidate(userId);
+    eventService.publish(new PreferencesChangedEvent(userId));
+  }
+
+  private Map<String, String> getCached(Cache<String, Map<String, String>> cache, String userId)
+      throws ServerException {
+    Map<String, String> preferences = cache.getIfPresent(userId);
+    if (preferences != null) {
+      return preferences;
+    }
+    // loading under the same lock as modifications prevents caching of the preferences
+    // which were read right before the concurrent modification and invalidation
+    final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
+    reentrantLock.lock();
+    try {
+      preferences = cache.getIfPresent(userId);
+      if (preferences == null) {
+        preferences = unmodifiableMap(new HashMap<>(preferenceDao.getPreferences(userId)));
+        cache.put(userId, preferences);
+      }
+      return preferences;
+    } finally {
+      reentrantLock.unlock();
+    }
+  }
+
+  private void invalidateCached(String userId) {
+    final Cache<String, Map<String, String>> cache = preferencesCache;
+    if (cache != null) {
+      cache.invalidate(userId);
+    }
+  }
+
+  private Pattern compile(String keyFilter) throws ServerException {
+    Pattern pattern = filterPatterns.getIfPresent(keyFilter);
+    if (pattern == null) {
+      try {
+        pattern = Pattern.compile(keyFilter);
+      } catch (PatternSyntaxException ex) {
+        throw new ServerException(ex.getLocalizedMessage(), ex);
+      }
+      filterPatterns.put(keyFilter, pattern);
+    }
+    return pattern;
+  }
+
+  private static Cache<String, Map<String, String>> buildCache(
+      long maxEntries, long expireAfterWriteSec) {
+    if (maxEntries <= 0 || expireAfterWriteSec <= 0) {
+      return null;
+    }
+    return CacheBuilder.newBuilder()
+        .maximumSize(maxEntries)
+        .expireAfterWrite(expireAfterWriteSec, SECONDS)
+        .build();
   }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.user.server.event;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Published after the preferences of the user are saved, updated or removed, so that the components
+ * which keep the preferences in memory could drop the stale copies.
+ */
+@EventOrigin("user")
+public class PreferencesChangedEvent {
+
+  private final String userId;
+
+  public PreferencesChangedEvent(String userId) {
+    this.userId = userId;
+  }
+
+  /** Returns id of the user whose preferences were changed */
+  public String getUserId() {
+    return userId;
+  }
+}
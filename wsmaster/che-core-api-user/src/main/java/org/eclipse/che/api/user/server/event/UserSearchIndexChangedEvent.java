@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.user.server.event;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+import org.eclipse.che.api.user.server.jpa.UserSearchIndex;
+
+/**
+ * Published when a user is created, updated or removed while the {@link UserSearchIndex} is
+ * enabled, so that the other Che servers could mark the user as changed in their indexes.
+ */
+@EventOrigin("user")
+public class UserSearchIndexChangedEvent {
+
+  private final String userId;
+
+  public UserSearchIndexChangedEvent(String userId) {
+    this.userId = userId;
+  }
+
+  /** Returns id of the changed user */
+  public String getUserId() {
+    return userId;
+  }
+}
@@ -17,7 +17,10 @@ import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
@@ -28,6 +31,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.user.server.jpa.UserSearchIndex.SearchResult;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.UserDao;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
@@ -45,6 +49,9 @@ public class JpaUserDao implements UserDao {
 
   @Inject protected Provider<EntityManager> managerProvider;
   @Inject private PasswordEncryptor encryptor;
+  @Inject private UserSearchIndex searchIndex;
+
+  private static final int SEARCH_INDEX_LOAD_BATCH_SIZE = 10_000;
 
   @Override
   @Transactional
@@ -80,6 +87,7 @@ public class JpaUserDao implements UserDao {
         user.setPassword(encryptor.encrypt(user.getPassword()));
       }
       doCreate(user);
+      searchIndex.userChanged(user.getId());
     } catch (DuplicateKeyException x) {
       // TODO make more concrete
       throw new ConflictException("User with such id/name/email/alias already exists");
@@ -93,6 +101,9 @@ public class JpaUserDao implements UserDao {
     requireNonNull(update, "Required non-null update");
     try {
       doUpdate(update);
+      // the update may be a part of an outer transaction, so the user is checked in the database
+      // until the change settles
+      searchIndex.userChanged(update.getId());
     } catch (DuplicateKeyException x) {
       // TODO make more concrete
       throw new ConflictException("User with such name/email/alias already exists");
@@ -106,6 +117,7 @@ public class JpaUserDao implements UserDao {
     requireNonNull(id, "Required non-null id");
     try {
       doRemove(id);
+      searchIndex.userChanged(id);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
     }
@@ -213,6 +225,13 @@ public class JpaUserDao implements UserDao {
     checkArgument(
         skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
         "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    if (searchIndex.isEnabled()) {
+      return getIndexedPage(
+          (max, skip) -> searchIndex.searchByNamePart(namePart, max, skip),
+          u -> u.getName().toLowerCase().contains(namePart.toLowerCase()),
+          maxItems,
+          skipCount);
+    }
     try {
       final List<UserImpl> list =
           managerProvider
@@ -246,6 +265,13 @@ public class JpaUserDao implements UserDao {
     checkArgument(
         skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
         "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    if (searchIndex.isEnabled()) {
+      return getIndexedPage(
+          (max, skip) -> searchIndex.searchByEmailPart(emailPart, max, skip),
+          u -> u.getEmail().toLowerCase().contains(emailPart.toLowerCase()),
+          maxItems,
+          skipCount);
+    }
     try {
       final List<UserImpl> list =
           managerProvider
@@ -283,6 +309,93 @@ public class JpaUserDao implements UserDao {
     }
   }
 
+  /**
+   * Answers a partial query with the search index. The changed users are checked in the database
+   * and go first, they are followed by the users found by the index. When the index turns out to be
+   * stale for some of the users found, they are marked as changed and the query is repeated, so the
+   * page is filled and its total stays consistent with the items.
+   */
+  private Page<UserImpl> getIndexedPage(
+      BiFunction<Integer, Long, SearchResult> search,
+      Predicate<UserImpl> matches,
+      int maxItems,
+      long skipCount)
+      throws ServerException {
+    searchIndex.ensureBuilt(this::loadSearchIndex);
+    searchIndex.settle(this::loadSearchIndexEntry);
+    try {
+      final EntityManager manager = managerProvider.get();
+      while (true) {
+        final List<UserImpl> changed = new ArrayList<>();
+        for (String id : searchIndex.getChangedIds()) {
+          final UserImpl user = manager.find(UserImpl.class, id);
+          if (user != null && matches.test(user)) {
+            changed.add(user);
+          }
+        }
+        final List<UserImpl> list =
+            new ArrayList<>(
+                changed.subList(
+                    (int) Math.min(skipCount, changed.size()),
+                    (int) Math.min(skipCount + maxItems, changed.size())));
+        final SearchResult result =
+            search.apply(maxItems - list.size(), Math.max(0, skipCount - changed.size()));
+        boolean stale = false;
+        for (String id : result.getIds()) {
+          final UserImpl user = manager.find(UserImpl.class, id);
+          if (user != null && matches.test(user)) {
+            list.add(user);
+          } else {
+            searchIndex.markChanged(id);
+            stale = true;
+          }
+        }
+        if (!stale) {
+          return new Page<>(
+              list.stream().map(JpaUserDao::erasePassword).collect(toList()),
+              skipCount,
+              maxItems,
+              changed.size() + result.getTotal());
+        }
+      }
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  private void loadSearchIndex(UserSearchIndex.Sink sink) throws ServerException {
+    try {
+      final EntityManager manager = managerProvider.get();
+      String lastId = "";
+      List<Object[]> batch;
+      do {
+        batch =
+            manager
+                .createNamedQuery("User.getSearchIndexEntries", Object[].class)
+                .setParameter("lastId", lastId)
+                .setMaxResults(SEARCH_INDEX_LOAD_BATCH_SIZE)
+                .getResultList();
+        for (Object[] entry : batch) {
+          sink.add((String) entry[0], (String) entry[1], (String) entry[2]);
+          lastId = (String) entry[0];
+        }
+      } while (batch.size() == SEARCH_INDEX_LOAD_BATCH_SIZE);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  private void loadSearchIndexEntry(String id, UserSearchIndex.Sink sink) throws ServerException {
+    try {
+      final UserImpl user = managerProvider.get().find(UserImpl.class, id);
+      if (user != null) {
+        sink.add(id, user.getName(), user.getEmail());
+      }
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Transactional(rollbackOn = {RuntimeException.class, ApiException.class})
   protected void doCreate(UserImpl user) throws ConflictException, ServerException {
     EntityManager manage = managerProvider.get();
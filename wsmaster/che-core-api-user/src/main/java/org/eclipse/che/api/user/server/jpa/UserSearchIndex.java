@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.user.server.jpa;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.user.server.event.UserSearchIndexChangedEvent;
+
+/**
+ * In-memory trigram index of user names and emails which allows {@link JpaUserDao} to answer
+ * partial name and email queries without scanning the users table.
+ *
+ * <p>Each lower-cased name and email is split into trigrams and a posting list of the users
+ * containing it is kept for each trigram. A query of three or more characters walks the shortest
+ * posting list of its trigrams and checks the candidates, so its cost depends on the number of
+ * candidates rather than the number of users. Shorter queries scan the indexed values in memory and
+ * stop as soon as the requested page is filled, reporting an estimated total.
+ *
+ * <p>The index is built from the database on the first query. Users created, updated or removed
+ * afterwards are {@link #markChanged(String) marked as changed} rather than indexed right away,
+ * because the change may belong to a transaction which is not committed yet. Changed users are
+ * skipped by the index queries and checked in the database by {@link JpaUserDao} instead. Once the
+ * change is older than the settle delay, the user is {@link #settle(UserLoader) indexed again} as
+ * it is stored in the database. Changes made by the other Che servers are marked as changed when
+ * they are propagated with {@link UserSearchIndexChangedEvent}. The index is disabled unless {@code
+ * che.user.search_index.enabled} is set to {@code true}.
+ */
+@Singleton
+public class UserSearchIndex {
+
+  /** Short queries stop scanning after this number of users once the page is filled. */
+  @VisibleForTesting static final int SCAN_LIMIT = 10_000;
+
+  /** The index is built again rather than settling more changes than this one by one. */
+  @VisibleForTesting static final int MAX_CHANGED = 10_000;
+
+  /** Changes are expected to be committed within this time after they are made. */
+  private static final long SETTLE_DELAY_MS = 60_000;
+
+  private static final int GRAM = 3;
+
+  /** Receives the users to index. */
+  public interface Sink {
+    void add(String id, String name, String email);
+  }
+
+  /** Loads all the users to build the index from. */
+  @FunctionalInterface
+  public interface UsersLoader {
+    void loadAll(Sink sink) throws ServerException;
+  }
+
+  /** Loads a single user, the sink is not called when the user doesn't exist. */
+  @FunctionalInterface
+  public interface UserLoader {
+    void load(String id, Sink sink) throws ServerException;
+  }
+
+  /** Ids of the users matching a query along with the total number of matches. */
+  public static class SearchResult {
+    private final List<String> ids;
+    private final long total;
+    private final boolean exactTotal;
+
+    private SearchResult(List<String> ids, long total, boolean exactTotal) {
+      this.ids = ids;
+      this.total = total;
+      this.exactTotal = exactTotal;
+    }
+
+    /** Ids of the matching users of the requested page, in the index order. */
+    public List<String> getIds() {
+      return ids;
+    }
+
+    /** Total number of the matching users, estimated when {@link #isExactTotal()} is false. */
+    public long getTotal() {
+      return total;
+    }
+
+    public boolean isExactTotal() {
+      return exactTotal;
+    }
+  }
+
+  private final EventService eventService;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, Integer> ordinals = new HashMap<>();
+  private final Map<Long, Postings> namePostings = new HashMap<>();
+  private final Map<Long, Postings> emailPostings = new HashMap<>();
+  /** Ids of the changed users mapped to the time of their last change. */
+  private final Map<String, Long> changed = new ConcurrentHashMap<>();
+
+  private volatile boolean enabled;
+  private volatile boolean built;
+  private long settleDelayNanos = MILLISECONDS.toNanos(SETTLE_DELAY_MS);
+  private String[] ids = new String[0];
+  private String[] names = new String[0];
+  private String[] emails = new String[0];
+  private int size;
+  private int removed;
+
+  @Inject
+  public UserSearchIndex(EventService eventService) {
+    this.eventService = eventService;
+  }
+
+  @com.google.inject.Inject(optional = true)
+  void setEnabled(@Named("che.user.search_index.enabled") boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** Returns whether the index should be used to answer partial name and email queries. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Builds the index using the given loader unless it is already built. */
+  public void ensureBuilt(UsersLoader loader) throws ServerException {
+    if (built) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (built) {
+        return;
+      }
+      long start = System.nanoTime();
+      clear();
+      loader.loadAll(this::append);
+      built = true;
+      // the changes committed before the users are loaded are in the index already
+      changed.values().removeIf(changedAt -> start - changedAt > settleDelayNanos);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Drops the indexed users, so the index gets built again on the next query. */
+  public void invalidate() {
+    lock.writeLock().lock();
+    try {
+      built = false;
+      clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Marks a user created, updated or removed by this server as changed and propagates the change to
+   * the other servers with {@link UserSearchIndexChangedEvent}.
+   */
+  public void userChanged(String id) {
+    if (enabled) {
+      markChanged(id);
+      eventService.publish(new UserSearchIndexChangedEvent(id));
+    }
+  }
+
+  /**
+   * Marks the user as changed, so the index queries skip it until the change settles. May be called
+   * before the change is committed.
+   */
+  public void markChanged(String id) {
+    if (!enabled) {
+      return;
+    }
+    changed.put(id, System.nanoTime());
+    if (changed.size() > MAX_CHANGED) {
+      lock.writeLock().lock();
+      try {
+        // the changes older than the settle delay are seen by the next build
+        long now = System.nanoTime();
+        changed.values().removeIf(changedAt -> now - changedAt > settleDelayNanos);
+        built = false;
+        clear();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /** Returns ids of the users which are changed and not settled yet. */
+  public List<String> getChangedIds() {
+    List<String> result = new ArrayList<>(changed.keySet());
+    result.sort(null);
+    return result;
+  }
+
+  /**
+   * Indexes again the changed users whose changes are older than the settle delay, using the given
+   * loader to read them from the database.
+   */
+  public void settle(UserLoader loader) throws ServerException {
+    if (!built || changed.isEmpty()) {
+      return;
+    }
+    long now = System.nanoTime();
+    for (Map.Entry<String, Long> entry : new ArrayList<>(changed.entrySet())) {
+      if (now - entry.getValue() <= settleDelayNanos) {
+        continue;
+      }
+      String id = entry.getKey();
+      String[] stored = new String[2];
+      loader.load(
+          id,
+          (loadedId, name, email) -> {
+            stored[0] = name;
+            stored[1] = email;
+          });
+      lock.writeLock().lock();
+      try {
+        // the user might be changed again while it was loaded
+        if (built && changed.remove(id, entry.getValue())) {
+          doRemove(id);
+          if (stored[0] != null) {
+            append(id, stored[0], stored[1]);
+          } else if (removed > size / 2) {
+            // too many holes in the index, rebuild it on the next query
+            built = false;
+            clear();
+          }
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /** Finds users whose lower-cased name contains the given part, skipping the changed users. */
+  public SearchResult searchByNamePart(String namePart, int maxItems, long skipCount) {
+    return search(true, namePart.toLowerCase(), maxItems, skipCount);
+  }
+
+  /** Finds users whose lower-cased email contains the given part, skipping the changed users. */
+  public SearchResult searchByEmailPart(String emailPart, int maxItems, long skipCount) {
+    return search(false, emailPart.toLowerCase(), maxItems, skipCount);
+  }
+
+  @VisibleForTesting
+  void setSettleDelayNanos(long settleDelayNanos) {
+    this.settleDelayNanos = settleDelayNanos;
+  }
+
+  private boolean isSearchable(int ordinal) {
+    return ids[ordinal] != null && !changed.containsKey(ids[ordinal]);
+  }
+
+  private SearchResult search(boolean byName, String part, int maxItems, long skipCount) {
+    lock.readLock().lock();
+    try {
+      Map<Long, Postings> postings = byName ? namePostings : emailPostings;
+      String[] values = byName ? names : emails;
+      List<String> page = new ArrayList<>(Math.min(maxItems, 100));
+      long matched = 0;
+
+      if (part.length() >= GRAM) {
+        Postings candidates = null;
+        for (int i = 0; i + GRAM <= part.length(); i++) {
+          Postings p = postings.get(trigram(part, i));
+          if (p == null) {
+            return new SearchResult(emptyList(), 0, true);
+          }
+          if (candidates == null || p.size < candidates.size) {
+            candidates = p;
+          }
+        }
+        for (int i = 0; i < candidates.size; i++) {
+          int ordinal = candidates.ordinals[i];
+          if (isSearchable(ordinal) && values[ordinal].contains(part)) {
+            if (matched++ >= skipCount && page.size() < maxItems) {
+              page.add(ids[ordinal]);
+            }
+          }
+        }
+        return new SearchResult(page, matched, true);
+      }
+
+      int live = 0;
+      for (int ordinal = 0; ordinal < size; ordinal++) {
+        if (!isSearchable(ordinal)) {
+          continue;
+        }
+        live++;
+        if (values[ordinal].contains(part)) {
+          if (matched++ >= skipCount && page.size() < maxItems) {
+            page.add(ids[ordinal]);
+          }
+        }
+        if (page.size() == maxItems && live >= SCAN_LIMIT && ordinal < size - 1) {
+          int total = size - removed;
+          return new SearchResult(page, Math.max(matched, matched * total / live), false);
+        }
+      }
+      return new SearchResult(page, matched, true);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void append(String id, String name, String email) {
+    if (size == ids.length) {
+      int capacity = Math.max(16, size * 2);
+      ids = Arrays.copyOf(ids, capacity);
+      names = Arrays.copyOf(names, capacity);
+      emails = Arrays.copyOf(emails, capacity);
+    }
+    int ordinal = size++;
+    ids[ordinal] = id;
+    names[ordinal] = name.toLowerCase();
+    emails[ordinal] = email.toLowerCase();
+    ordinals.put(id, ordinal);
+    addPostings(namePostings, names[ordinal], ordinal);
+    addPostings(emailPostings, emails[ordinal], ordinal);
+  }
+
+  private void doRemove(String id) {
+    Integer ordinal = ordinals.remove(id);
+    if (ordinal != null) {
+      // posting lists keep the ordinal, it is skipped by the queries
+      ids[ordinal] = null;
+      names[ordinal] = null;
+      emails[ordinal] = null;
+      removed++;
+    }
+  }
+
+  private void clear() {
+    ordinals.clear();
+    namePostings.clear();
+    emailPostings.clear();
+    ids = new String[0];
+    names = new String[0];
+    emails = new String[0];
+    size = 0;
+    removed = 0;
+  }
+
+  private static void addPostings(Map<Long, Postings> postings, String value, int ordinal) {
+    for (int i = 0; i + GRAM <= value.length(); i++) {
+      postings.computeIfAbsent(trigram(value, i), k -> new Postings()).add(ordinal);
+    }
+  }
+
+  private static long trigram(String value, int offset) {
+    return ((long) value.charAt(offset) << 32)
+        | ((long) value.charAt(offset + 1) << 16)
+        | value.charAt(offset + 2);
+  }
+
+  /** Ascending ordinals of the users containing a trigram. */
+  private static class Postings {
+    private int[] ordinals = new int[4];
+    private int size;
+
+    private void add(int ordinal) {
+      // the same trigram may occur several times in a single value
+      if (size > 0 && ordinals[size - 1] == ordinal) {
+        return;
+      }
+      if (size == ordinals.length) {
+        ordinals = Arrays.copyOf(ordinals, size * 2);
+      }
+      ordinals[size++] = ordinal;
+    }
+  }
+}
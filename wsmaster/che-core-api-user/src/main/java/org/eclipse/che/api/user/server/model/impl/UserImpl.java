@@ -55,7 +55,10 @@ import org.eclipse.che.api.core.model.user.User;
       query = "SELECT u FROM Usr u WHERE LOWER(u.name) LIKE CONCAT('%', :name, '%')"),
   @NamedQuery(
       name = "User.getByNamePartCount",
-      query = "SELECT COUNT(u) FROM Usr u WHERE LOWER(u.name) LIKE CONCAT('%', :name, '%')")
+      query = "SELECT COUNT(u) FROM Usr u WHERE LOWER(u.name) LIKE CONCAT('%', :name, '%')"),
+  @NamedQuery(
+      name = "User.getSearchIndexEntries",
+      query = "SELECT u.id, u.name, u.email FROM Usr u WHERE u.id > :lastId ORDER BY u.id")
 })
 @Table(name = "usr")
 public class UserImpl implements User {
@@ -14,6 +14,8 @@ package org.eclipse.che.api.user.server;
 import static java.util.Arrays.asList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -22,12 +24,20 @@ import com.google.common.collect.ImmutableMap;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.user.server.event.PreferencesChangedEvent;
+import org.eclipse.che.api.user.server.event.UserCreatedEvent;
+import org.eclipse.che.api.user.server.event.UserRemovedEvent;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
@@ -40,10 +50,20 @@ import org.testng.annotations.Test;
 public class PreferenceManagerTest {
 
   @Mock private PreferenceDao preferenceDao;
+  @Mock private EventService eventService;
 
   @InjectMocks private PreferenceManager preferenceManager;
 
   @Captor private ArgumentCaptor<Map<String, String>> preferencesCaptor;
+  @Captor private ArgumentCaptor<PreferencesChangedEvent> eventCaptor;
+  @Captor private ArgumentCaptor<EventSubscriber<UserCreatedEvent>> userCreatedSubscriberCaptor;
+  @Captor private ArgumentCaptor<EventSubscriber<UserRemovedEvent>> userRemovedSubscriberCaptor;
+
+  @BeforeMethod
+  public void setUp() {
+    // drops the preferences cached by the previous test
+    preferenceManager.setCacheConfiguration(100, 60);
+  }
 
   @Test
   public void shouldUseMergeStrategyForPreferencesUpdate() throws Exception {
@@ -106,12 +126,130 @@ public class PreferenceManagerTest {
 
   @Test
   public void shouldGetPreferencesByUserAndFilter() throws Exception {
+    final Map<String, String> preferences = ImmutableMap.of("name", "value", "other", "value");
+    when(preferenceDao.getPreferences("user123")).thenReturn(preferences);
+
+    assertEquals(preferenceManager.find("user123", "name.*"), ImmutableMap.of("name", "value"));
+  }
+
+  @Test
+  public void shouldGetPreferencesByUserAndFilterFromDaoWhenCacheIsDisabled() throws Exception {
+    preferenceManager.setCacheConfiguration(0, 0);
     final Map<String, String> preferences = ImmutableMap.of("name", "value");
     when(preferenceDao.getPreferences("user123", "name.*")).thenReturn(preferences);
 
     assertEquals(preferenceManager.find("user123", "name.*"), preferences);
   }
 
+  @Test(expectedExceptions = ServerException.class)
+  public void shouldThrowServerExceptionWhenFilterIsNotValidRegex() throws Exception {
+    when(preferenceDao.getPreferences("user123")).thenReturn(ImmutableMap.of("name", "value"));
+
+    preferenceManager.find("user123", "name[");
+  }
+
+  @Test
+  public void shouldLoadPreferencesOnceWhileCached() throws Exception {
+    when(preferenceDao.getPreferences("user123")).thenReturn(ImmutableMap.of("name", "value"));
+
+    preferenceManager.find("user123");
+    preferenceManager.find("user123", "name.*");
+    preferenceManager.find("user123", "");
+
+    verify(preferenceDao).getPreferences("user123");
+  }
+
+  @Test
+  public void shouldReturnCopiesOfCachedPreferences() throws Exception {
+    when(preferenceDao.getPreferences("user123")).thenReturn(ImmutableMap.of("name", "value"));
+
+    preferenceManager.find("user123").put("name", "modified");
+
+    assertEquals(preferenceManager.find("user123"), ImmutableMap.of("name", "value"));
+  }
+
+  @Test
+  public void shouldInvalidateCachedPreferencesAndPublishEventOnSave() throws Exception {
+    when(preferenceDao.getPreferences("user123")).thenReturn(ImmutableMap.of("name", "value"));
+    preferenceManager.find("user123");
+
+    preferenceManager.save("user123", ImmutableMap.of("name", "new-value"));
+    preferenceManager.find("user123");
+
+    verify(preferenceDao, times(2)).getPreferences("user123");
+    verify(eventService).publish(eventCaptor.capture());
+    assertEquals(eventCaptor.getValue().getUserId(), "user123");
+  }
+
+  @Test
+  public void shouldInvalidateCachedPreferencesAndPublishEventOnUpdate() throws Exception {
+    when(preferenceDao.getPreferences("user123")).thenAnswer(inv -> new HashMap<>());
+    preferenceManager.find("user123");
+
+    preferenceManager.update("user123", ImmutableMap.of("name", "value"));
+    preferenceManager.find("user123");
+
+    verify(preferenceDao, times(3)).getPreferences("user123");
+    verify(eventService).publish(any(PreferencesChangedEvent.class));
+  }
+
+  @Test
+  public void shouldInvalidateCachedPreferencesAndPublishEventOnRemove() throws Exception {
+    when(preferenceDao.getPreferences("user123")).thenReturn(ImmutableMap.of("name", "value"));
+    preferenceManager.find("user123");
+
+    preferenceManager.remove("user123");
+    preferenceManager.find("user123");
+
+    verify(preferenceDao, times(2)).getPreferences("user123");
+    verify(eventService).publish(any(PreferencesChangedEvent.class));
+  }
+
+  @Test
+  public void shouldInvalidateCachedPreferencesOnDemand() throws Exception {
+    when(preferenceDao.getPreferences("user123")).thenReturn(ImmutableMap.of("name", "value"));
+    preferenceManager.find("user123");
+
+    preferenceManager.invalidate("user123");
+    preferenceManager.find("user123");
+
+    verify(preferenceDao, times(2)).getPreferences("user123");
+  }
+
+  @Test
+  public void shouldInvalidateCachedPreferencesOnUserCreatedEvent() throws Exception {
+    when(preferenceDao.getPreferences("user123")).thenReturn(ImmutableMap.of("name", "value"));
+    preferenceManager.subscribe();
+    verify(eventService)
+        .subscribe(userCreatedSubscriberCaptor.capture(), eq(UserCreatedEvent.class));
+    preferenceManager.find("user123");
+
+    userCreatedSubscriberCaptor
+        .getValue()
+        .onEvent(new UserCreatedEvent(new UserImpl("user123", "user@example.com", "user")));
+    preferenceManager.find("user123");
+
+    verify(preferenceDao, times(2)).getPreferences("user123");
+    verify(eventService).publish(eventCaptor.capture());
+    assertEquals(eventCaptor.getValue().getUserId(), "user123");
+  }
+
+  @Test
+  public void shouldInvalidateCachedPreferencesOnUserRemovedEvent() throws Exception {
+    when(preferenceDao.getPreferences("user123")).thenReturn(ImmutableMap.of("name", "value"));
+    preferenceManager.subscribe();
+    verify(eventService)
+        .subscribe(userRemovedSubscriberCaptor.capture(), eq(UserRemovedEvent.class));
+    preferenceManager.find("user123");
+
+    userRemovedSubscriberCaptor.getValue().onEvent(new UserRemovedEvent("user123"));
+    preferenceManager.find("user123");
+
+    verify(preferenceDao, times(2)).getPreferences("user123");
+    verify(eventService).publish(eventCaptor.capture());
+    assertEquals(eventCaptor.getValue().getUserId(), "user123");
+  }
+
   @Test(expectedExceptions = NullPointerException.class)
   public void getPreferencesShouldThrowNpeWhenUserIdIsNull() throws Exception {
     preferenceManager.find(null);
@@ -13,6 +13,7 @@ package org.eclipse.che.api.user.server.jpa;
 
 import com.google.inject.Singleton;
 import com.google.inject.TypeLiteral;
+import com.google.inject.name.Names;
 import java.util.Map;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.user.server.model.impl.ProfileImpl;
@@ -62,6 +63,10 @@ public class JpaTckModule extends TckModule {
         .to(PreferenceJpaTckRepository.class);
 
     bind(UserDao.class).to(JpaUserDao.class);
+    // the user dao tck runs both with and without the search index
+    bindConstant()
+        .annotatedWith(Names.named("che.user.search_index.enabled"))
+        .to(SearchIndexUserDaoTest.SUITE_NAME.equals(getTestContext().getSuite().getName()));
     bind(ProfileDao.class).to(JpaProfileDao.class);
     bind(PreferenceDao.class).to(JpaPreferenceDao.class);
     // SHA-512 encryptor is faster than PBKDF2 so it is better for testing
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.user.server.jpa;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import javax.persistence.EntityManagerFactory;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.user.server.PreferenceManager;
+import org.eclipse.che.api.user.server.model.impl.ProfileImpl;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.eclipse.che.api.user.server.spi.PreferenceDao;
+import org.eclipse.che.commons.test.db.H2DBTestServer;
+import org.eclipse.che.commons.test.db.PersistTestModuleBuilder;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.che.core.db.h2.jpa.eclipselink.H2ExceptionHandler;
+import org.eclipse.che.core.db.schema.SchemaInitializer;
+import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
+import org.eclipse.che.security.PasswordEncryptor;
+import org.eclipse.che.security.SHA512PasswordEncryptor;
+import org.h2.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Compares the preference lookups of {@link PreferenceManager} answered by {@link JpaPreferenceDao}
+ * with the ones answered by the preferences cache on the embedded H2 database.
+ *
+ * <p>The benchmark is excluded from the regular build, run it with the {@code benchmarks} profile,
+ * e.g. {@code mvn test -Pbenchmarks -Dtest=PreferenceCacheBenchmarkTest}. The number of lookups is
+ * controlled by the {@code che.user.preferences.benchmark.lookups} system property.
+ */
+public class PreferenceCacheBenchmarkTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PreferenceCacheBenchmarkTest.class);
+
+  private static final int LOOKUPS =
+      Integer.getInteger("che.user.preferences.benchmark.lookups", 100_000);
+  private static final int USERS = 100;
+  private static final int PREFERENCES_PER_USER = 50;
+
+  private H2DBTestServer server;
+  private Injector injector;
+  private PreferenceManager preferenceManager;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    server = H2DBTestServer.startDefault();
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                install(
+                    new PersistTestModuleBuilder()
+                        .setDriver(Driver.class)
+                        .runningOn(server)
+                        .addEntityClasses(
+                            UserImpl.class,
+                            ProfileImpl.class,
+                            PreferenceEntity.class,
+                            AccountImpl.class)
+                        .setExceptionHandler(H2ExceptionHandler.class)
+                        .build());
+                bind(DBInitializer.class).asEagerSingleton();
+                bind(SchemaInitializer.class)
+                    .toInstance(new FlywaySchemaInitializer(server.getDataSource(), "che-schema"));
+                bind(PasswordEncryptor.class).to(SHA512PasswordEncryptor.class).in(Singleton.class);
+                bind(PreferenceDao.class).to(JpaPreferenceDao.class);
+              }
+            });
+    preferenceManager = injector.getInstance(PreferenceManager.class);
+
+    try (Connection connection = server.getDataSource().getConnection();
+        PreparedStatement users =
+            connection.prepareStatement("INSERT INTO usr (id, email, name) VALUES (?, ?, ?)");
+        PreparedStatement preferences =
+            connection.prepareStatement("INSERT INTO preference (userid) VALUES (?)");
+        PreparedStatement entries =
+            connection.prepareStatement(
+                "INSERT INTO preference_preferences (preference_userid, name, value)"
+                    + " VALUES (?, ?, ?)")) {
+      for (int i = 0; i < USERS; i++) {
+        users.setString(1, "user" + i);
+        users.setString(2, "user" + i + "@domain.com");
+        users.setString(3, "user" + i);
+        users.addBatch();
+        preferences.setString(1, "user" + i);
+        preferences.addBatch();
+        for (int j = 0; j < PREFERENCES_PER_USER; j++) {
+          entries.setString(1, "user" + i);
+          entries.setString(2, (j % 2 == 0 ? "che:git:" : "theia:") + j);
+          entries.setString(3, "value" + j);
+          entries.addBatch();
+        }
+      }
+      users.executeBatch();
+      preferences.executeBatch();
+      entries.executeBatch();
+    }
+  }
+
+  @AfterClass
+  public void tearDown() {
+    injector.getInstance(EntityManagerFactory.class).close();
+    server.shutdown();
+  }
+
+  @DataProvider
+  public Object[][] filters() {
+    return new Object[][] {{""}, {"che:git:.*"}};
+  }
+
+  @Test(dataProvider = "filters", groups = "benchmark")
+  public void shouldAnswerSameAsDaoFaster(String filter) throws Exception {
+    preferenceManager.setCacheConfiguration(0, 0);
+    List<Map<String, String>> fromDao = new ArrayList<>();
+    long daoNanos = lookup(filter, fromDao);
+
+    preferenceManager.setCacheConfiguration(USERS, 300);
+    List<Map<String, String>> fromCache = new ArrayList<>();
+    long cacheNanos = lookup(filter, fromCache);
+
+    LOG.info(
+        "{} lookups of {} users with filter '{}': dao {} us, cache {} us per lookup",
+        LOOKUPS,
+        USERS,
+        filter,
+        daoNanos / LOOKUPS / 1000.0,
+        cacheNanos / LOOKUPS / 1000.0);
+
+    assertEquals(fromCache, fromDao);
+    assertTrue(
+        cacheNanos < daoNanos,
+        "Expected the cache to answer faster than the dao, cache "
+            + cacheNanos / LOOKUPS
+            + " ns, dao "
+            + daoNanos / LOOKUPS
+            + " ns per lookup");
+  }
+
+  private long lookup(String filter, List<Map<String, String>> results) throws Exception {
+    Random random = new Random(42);
+    long start = System.nanoTime();
+    for (int i = 0; i < LOOKUPS; i++) {
+      String userId = "user" + random.nextInt(USERS);
+      Map<String, String> preferences = preferenceManager.find(userId, filter);
+      if (i % 1000 == 0) {
+        results.add(preferences);
+      }
+    }
+    return System.nanoTime() - start;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.user.server.jpa;
+
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.persistence.EntityManager;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.eclipse.che.api.user.server.spi.UserDao;
+import org.eclipse.che.api.user.server.spi.tck.UserDaoTest;
+import org.eclipse.che.commons.test.tck.TckListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the {@link UserDaoTest} contract against {@link JpaUserDao} answering the partial name and
+ * email queries from the {@link UserSearchIndex}.
+ */
+@Listeners(TckListener.class)
+@Test(suiteName = SearchIndexUserDaoTest.SUITE_NAME)
+public class SearchIndexUserDaoTest extends UserDaoTest {
+
+  public static final String SUITE_NAME = "SearchIndexUserDaoTck";
+
+  private static final String NAME_PREFIX = "user_name-";
+
+  @Inject private UserDao userDao;
+
+  @Inject private Provider<EntityManager> managerProvider;
+
+  @Test
+  public void shouldFillPageWhenUsersAreChangedBypassingIndex() throws Exception {
+    List<UserImpl> users = userDao.getByNamePart(NAME_PREFIX, 10, 0).getItems();
+    EntityManager manager = managerProvider.get();
+    manager.getTransaction().begin();
+    for (UserImpl user : users.subList(0, 2)) {
+      UserImpl stored = manager.find(UserImpl.class, user.getId());
+      stored.setName("renamed-" + stored.getId());
+    }
+    manager.getTransaction().commit();
+
+    Page<UserImpl> page = userDao.getByNamePart(NAME_PREFIX, 2, 0);
+
+    assertEquals(page.getItems().size(), 2);
+    assertEquals(page.getTotalItemsCount(), users.size() - 2);
+  }
+
+  @Test
+  public void shouldNotIndexUpdateOfRolledBackTransaction() throws Exception {
+    List<UserImpl> users = userDao.getByNamePart(NAME_PREFIX, 10, 0).getItems();
+    UserImpl user = users.get(0);
+    EntityManager manager = managerProvider.get();
+    manager.getTransaction().begin();
+    try {
+      userDao.update(
+          new UserImpl(
+              user.getId(), user.getEmail(), "renamed", user.getPassword(), user.getAliases()));
+    } finally {
+      manager.getTransaction().rollback();
+    }
+    manager.clear();
+
+    Page<UserImpl> page = userDao.getByNamePart(NAME_PREFIX, 10, 0);
+
+    assertEquals(
+        page.getItems().stream().map(UserImpl::getId).sorted().collect(toList()),
+        users.stream().map(UserImpl::getId).sorted().collect(toList()));
+    assertEquals(userDao.getByNamePart("renamed", 10, 0).getTotalItemsCount(), 0);
+  }
+}
@@ -28,6 +28,8 @@ public class UserJpaTckRepository implements TckRepository<UserImpl> {
 
   @Inject private PasswordEncryptor encryptor;
 
+  @Inject private UserSearchIndex searchIndex;
+
   @Override
   public void createAll(Collection<? extends UserImpl> entities) throws TckRepositoryException {
     final EntityManager manager = managerProvider.get();
@@ -42,6 +44,8 @@ public class UserJpaTckRepository implements TckRepository<UserImpl> {
                     encryptor.encrypt(user.getPassword()),
                     user.getAliases()))
         .forEach(manager::persist);
+    // users are persisted bypassing the dao, so the index has to be built again
+    searchIndex.invalidate();
   }
 
   @Override
@@ -51,5 +55,6 @@ public class UserJpaTckRepository implements TckRepository<UserImpl> {
         .createQuery("SELECT u FROM Usr u", UserImpl.class)
         .getResultList()
         .forEach(managerProvider.get()::remove);
+    searchIndex.invalidate();
   }
 }
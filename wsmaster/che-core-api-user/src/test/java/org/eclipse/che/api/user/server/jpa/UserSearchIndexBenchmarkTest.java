@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.user.server.jpa;
+
+import static java.util.stream.Collectors.toSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Random;
+import java.util.Set;
+import javax.persistence.EntityManagerFactory;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.user.server.model.impl.ProfileImpl;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.eclipse.che.commons.test.db.H2DBTestServer;
+import org.eclipse.che.commons.test.db.PersistTestModuleBuilder;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.che.core.db.h2.jpa.eclipselink.H2ExceptionHandler;
+import org.eclipse.che.core.db.schema.SchemaInitializer;
+import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
+import org.eclipse.che.security.PasswordEncryptor;
+import org.eclipse.che.security.SHA512PasswordEncryptor;
+import org.h2.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Compares partial name and email queries of {@link JpaUserDao} answered by the database with the
+ * ones answered by {@link UserSearchIndex} on the embedded H2 database.
+ *
+ * <p>The benchmark is excluded from the regular build, run it with the {@code benchmarks} profile,
+ * e.g. {@code mvn test -Pbenchmarks -Dtest=UserSearchIndexBenchmarkTest}. The number of generated
+ * users is controlled by the {@code che.user.search.benchmark.users} system property.
+ */
+public class UserSearchIndexBenchmarkTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(UserSearchIndexBenchmarkTest.class);
+
+  private static final int USERS = Integer.getInteger("che.user.search.benchmark.users", 500_000);
+  private static final int ROUNDS = 5;
+  private static final int PAGE_SIZE = 30;
+  private static final String[] WORDS = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot"};
+
+  private H2DBTestServer server;
+  private Injector injector;
+  private JpaUserDao userDao;
+  private UserSearchIndex searchIndex;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    server = H2DBTestServer.startDefault();
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                install(
+                    new PersistTestModuleBuilder()
+                        .setDriver(Driver.class)
+                        .runningOn(server)
+                        .addEntityClasses(
+                            UserImpl.class,
+                            ProfileImpl.class,
+                            PreferenceEntity.class,
+                            AccountImpl.class)
+                        .setExceptionHandler(H2ExceptionHandler.class)
+                        .build());
+                bind(DBInitializer.class).asEagerSingleton();
+                bind(SchemaInitializer.class)
+                    .toInstance(new FlywaySchemaInitializer(server.getDataSource(), "che-schema"));
+                bind(PasswordEncryptor.class).to(SHA512PasswordEncryptor.class).in(Singleton.class);
+              }
+            });
+    userDao = injector.getInstance(JpaUserDao.class);
+    searchIndex = injector.getInstance(UserSearchIndex.class);
+
+    Random random = new Random(42);
+    try (Connection connection = server.getDataSource().getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement("INSERT INTO usr (id, email, name) VALUES (?, ?, ?)")) {
+      for (int i = 0; i < USERS; i++) {
+        String name = WORDS[random.nextInt(WORDS.length)] + "-" + Integer.toString(i, 36);
+        statement.setString(1, "user" + i);
+        statement.setString(2, name + "@domain" + random.nextInt(100) + ".com");
+        statement.setString(3, name);
+        statement.addBatch();
+        if (i % 10_000 == 0) {
+          statement.executeBatch();
+        }
+      }
+      statement.executeBatch();
+    }
+  }
+
+  @AfterClass
+  public void tearDown() {
+    injector.getInstance(EntityManagerFactory.class).close();
+    server.shutdown();
+  }
+
+  @DataProvider
+  public Object[][] parts() {
+    return new Object[][] {
+      {"name", "charlie-1a"}, {"name", "lta-"}, {"name", "zz"}, {"email", "@domain42."}
+    };
+  }
+
+  @Test(dataProvider = "parts", groups = "benchmark")
+  public void shouldAnswerSameAsDatabaseFaster(String field, String part) throws Exception {
+    searchIndex.setEnabled(false);
+    // all the matching users in a single page, so the results are comparable regardless the order
+    Page<UserImpl> fromDb = search(field, part, USERS);
+    long dbNanos = 0;
+    for (int i = 0; i < ROUNDS; i++) {
+      long start = System.nanoTime();
+      search(field, part, PAGE_SIZE);
+      dbNanos += System.nanoTime() - start;
+    }
+
+    searchIndex.setEnabled(true);
+    long buildStart = System.nanoTime();
+    Page<UserImpl> fromIndex = search(field, part, USERS);
+    long buildNanos = System.nanoTime() - buildStart;
+    long indexNanos = 0;
+    for (int i = 0; i < ROUNDS; i++) {
+      long start = System.nanoTime();
+      search(field, part, PAGE_SIZE);
+      indexNanos += System.nanoTime() - start;
+    }
+
+    LOG.info(
+        "{} users, {} part '{}': database {} ms, index {} ms per page of {}"
+            + " (first query with index build {} ms), {} matches",
+        USERS,
+        field,
+        part,
+        dbNanos / ROUNDS / 1_000_000.0,
+        indexNanos / ROUNDS / 1_000_000.0,
+        PAGE_SIZE,
+        buildNanos / 1_000_000.0,
+        fromDb.getTotalItemsCount());
+
+    assertEquals(ids(fromIndex), ids(fromDb));
+    assertEquals(fromIndex.getTotalItemsCount(), fromDb.getTotalItemsCount());
+    assertTrue(
+        indexNanos < dbNanos,
+        "Expected the index to answer faster than the database, index "
+            + indexNanos / ROUNDS
+            + " ns, database "
+            + dbNanos / ROUNDS
+            + " ns per query");
+  }
+
+  private Page<UserImpl> search(String field, String part, int maxItems) throws Exception {
+    return "name".equals(field)
+        ? userDao.getByNamePart(part, maxItems, 0)
+        : userDao.getByEmailPart(part, maxItems, 0);
+  }
+
+  private static Set<String> ids(Page<UserImpl> page) {
+    return page.getItems().stream().map(UserImpl::getId).collect(toSet());
+  }
+}
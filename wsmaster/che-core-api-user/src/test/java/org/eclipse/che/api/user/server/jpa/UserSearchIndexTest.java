@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.user.server.jpa;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.eclipse.che.api.user.server.jpa.UserSearchIndex.MAX_CHANGED;
+import static org.eclipse.che.api.user.server.jpa.UserSearchIndex.SCAN_LIMIT;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.user.server.event.UserSearchIndexChangedEvent;
+import org.eclipse.che.api.user.server.jpa.UserSearchIndex.SearchResult;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link UserSearchIndex}. */
+public class UserSearchIndexTest {
+
+  private EventService eventService;
+  private UserSearchIndex index;
+  private AtomicInteger loads;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    eventService = new EventService();
+    index = new UserSearchIndex(eventService);
+    index.setEnabled(true);
+    loads = new AtomicInteger();
+    index.ensureBuilt(
+        sink -> {
+          loads.incrementAndGet();
+          sink.add("id1", "John", "john.doe@example.com");
+          sink.add("id2", "Johnny", "jsmith@example.org");
+          sink.add("id3", "Mary", "mary@Example.com");
+        });
+  }
+
+  @Test
+  public void shouldFindUsersByNamePart() {
+    SearchResult result = index.searchByNamePart("OHN", 10, 0);
+
+    assertEquals(result.getIds(), asList("id1", "id2"));
+    assertEquals(result.getTotal(), 2);
+    assertTrue(result.isExactTotal());
+  }
+
+  @Test
+  public void shouldFindUsersByEmailPart() {
+    SearchResult result = index.searchByEmailPart("example.com", 10, 0);
+
+    assertEquals(result.getIds(), asList("id1", "id3"));
+    assertEquals(result.getTotal(), 2);
+  }
+
+  @Test
+  public void shouldFindUsersByShortPart() {
+    SearchResult result = index.searchByNamePart("y", 10, 0);
+
+    assertEquals(result.getIds(), asList("id2", "id3"));
+    assertEquals(result.getTotal(), 2);
+    assertTrue(result.isExactTotal());
+  }
+
+  @Test
+  public void shouldNotFindUsersWhenTrigramIsNotIndexed() {
+    SearchResult result = index.searchByNamePart("johx", 10, 0);
+
+    assertEquals(result.getIds(), emptyList());
+    assertEquals(result.getTotal(), 0);
+  }
+
+  @Test
+  public void shouldNotMatchTrigramsFromDifferentPositions() {
+    // both "joh" and "ohn" are indexed, but the name doesn't contain the part
+    SearchResult result = index.searchByNamePart("johnjohn", 10, 0);
+
+    assertEquals(result.getTotal(), 0);
+  }
+
+  @Test
+  public void shouldPageResults() {
+    SearchResult result = index.searchByNamePart("john", 1, 1);
+
+    assertEquals(result.getIds(), asList("id2"));
+    assertEquals(result.getTotal(), 2);
+  }
+
+  @Test
+  public void shouldSkipChangedUsers() {
+    index.markChanged("id1");
+
+    assertEquals(index.searchByNamePart("john", 10, 0).getIds(), asList("id2"));
+    assertEquals(index.searchByNamePart("j", 10, 0).getIds(), asList("id2"));
+    assertEquals(index.getChangedIds(), asList("id1"));
+  }
+
+  @Test
+  public void shouldNotMarkUsersChangedWhenIndexIsDisabled() {
+    index.setEnabled(false);
+
+    index.markChanged("id1");
+
+    assertEquals(index.getChangedIds(), emptyList());
+  }
+
+  @Test
+  public void shouldPublishChangeOfUser() {
+    List<String> published = new ArrayList<>();
+    eventService.subscribe(
+        event -> published.add(event.getUserId()), UserSearchIndexChangedEvent.class);
+
+    index.userChanged("id1");
+
+    assertEquals(published, asList("id1"));
+    assertEquals(index.getChangedIds(), asList("id1"));
+  }
+
+  @Test
+  public void shouldNotSettleChangeYoungerThanSettleDelay() throws Exception {
+    index.markChanged("id1");
+
+    index.settle((id, sink) -> fail("The change is not settled yet"));
+
+    assertEquals(index.getChangedIds(), asList("id1"));
+  }
+
+  @Test
+  public void shouldIndexUpdatedUserOnceChangeSettles() throws Exception {
+    index.setSettleDelayNanos(0);
+    index.markChanged("id1");
+    Thread.sleep(1);
+
+    index.settle((id, sink) -> sink.add(id, "Peter", "peter@example.com"));
+
+    assertEquals(index.getChangedIds(), emptyList());
+    assertEquals(index.searchByNamePart("john", 10, 0).getIds(), asList("id2"));
+    assertEquals(index.searchByNamePart("pete", 10, 0).getIds(), asList("id1"));
+  }
+
+  @Test
+  public void shouldRemoveUserWhichDoesNotExistOnceChangeSettles() throws Exception {
+    index.setSettleDelayNanos(0);
+    index.markChanged("id2");
+    Thread.sleep(1);
+
+    index.settle((id, sink) -> {});
+
+    assertEquals(index.getChangedIds(), emptyList());
+    assertEquals(index.searchByNamePart("john", 10, 0).getIds(), asList("id1"));
+    assertEquals(index.searchByNamePart("j", 10, 0).getIds(), asList("id1"));
+  }
+
+  @Test
+  public void shouldKeepUserChangedAgainWhileItIsLoaded() throws Exception {
+    index.setSettleDelayNanos(0);
+    index.markChanged("id1");
+    Thread.sleep(1);
+
+    index.settle(
+        (id, sink) -> {
+          index.markChanged(id);
+          sink.add(id, "Peter", "peter@example.com");
+        });
+
+    assertEquals(index.getChangedIds(), asList("id1"));
+    assertEquals(index.searchByNamePart("pete", 10, 0).getIds(), emptyList());
+  }
+
+  @Test
+  public void shouldKeepChangesMadeWhileIndexIsBeingBuilt() throws Exception {
+    index.invalidate();
+
+    index.ensureBuilt(
+        sink -> {
+          sink.add("id1", "John", "john.doe@example.com");
+          // the change might be committed after the user is read
+          index.markChanged("id1");
+        });
+
+    assertEquals(index.getChangedIds(), asList("id1"));
+    assertEquals(index.searchByNamePart("john", 10, 0).getIds(), emptyList());
+  }
+
+  @Test
+  public void shouldDropChangesOlderThanSettleDelayWhenIndexIsBuilt() throws Exception {
+    index.setSettleDelayNanos(0);
+    index.markChanged("id1");
+    Thread.sleep(1);
+    index.invalidate();
+
+    index.ensureBuilt(sink -> sink.add("id1", "Peter", "peter@example.com"));
+
+    assertEquals(index.getChangedIds(), emptyList());
+    assertEquals(index.searchByNamePart("pete", 10, 0).getIds(), asList("id1"));
+  }
+
+  @Test
+  public void shouldBuildIndexAgainWhenTooManyUsersAreChanged() throws Exception {
+    for (int i = 0; i <= MAX_CHANGED; i++) {
+      index.markChanged("changed" + i);
+    }
+
+    index.ensureBuilt(sink -> loads.incrementAndGet());
+
+    assertEquals(loads.get(), 2);
+    assertEquals(index.getChangedIds().size(), MAX_CHANGED + 1);
+  }
+
+  @Test
+  public void shouldBuildIndexAgainAfterInvalidation() throws Exception {
+    index.invalidate();
+    index.ensureBuilt(sink -> loads.incrementAndGet());
+    index.ensureBuilt(sink -> loads.incrementAndGet());
+
+    assertEquals(loads.get(), 2);
+    assertEquals(index.searchByNamePart("joh", 10, 0).getTotal(), 0);
+  }
+
+  @Test
+  public void shouldEstimateTotalOfShortPartWhenScanStopsEarly() throws Exception {
+    index.invalidate();
+    index.ensureBuilt(
+        sink -> {
+          for (int i = 0; i < SCAN_LIMIT * 4; i++) {
+            sink.add("id" + i, i % 2 == 0 ? "even" : "odd", i + "@example.com");
+          }
+        });
+
+    SearchResult result = index.searchByNamePart("v", 10, 0);
+
+    assertEquals(result.getIds().size(), 10);
+    assertFalse(result.isExactTotal());
+    assertEquals(result.getTotal(), SCAN_LIMIT * 2);
+  }
+}
@@ -13,8 +13,10 @@ package org.eclipse.che.api.workspace.activity;
 
 import static java.util.stream.Collectors.toList;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
@@ -116,6 +118,15 @@ public class InmemoryWorkspaceActivityDao implements WorkspaceActivityDao {
     return workspaceActivities.computeIfAbsent(workspaceId, __ -> new WorkspaceActivity());
   }
 
+  @Override
+  public List<WorkspaceActivity> findActivities(Collection<String> workspaceIds) {
+    return workspaceIds
+        .stream()
+        .map(workspaceActivities::get)
+        .filter(Objects::nonNull)
+        .collect(toList());
+  }
+
   @Override
   public void removeActivity(String workspaceId) throws ServerException {
     workspaceActivities.remove(workspaceId);
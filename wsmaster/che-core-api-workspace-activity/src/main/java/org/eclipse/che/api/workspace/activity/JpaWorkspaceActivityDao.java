@@ -13,7 +13,10 @@ package org.eclipse.che.api.workspace.activity;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.Iterables;
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -36,6 +39,9 @@ import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
 @Singleton
 public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
 
+  /** Limits the number of the workspace ids sent in a single IN clause. */
+  private static final int FIND_ACTIVITIES_BATCH_SIZE = 500;
+
   @Inject private Provider<EntityManager> managerProvider;
 
   @Override
@@ -205,6 +211,26 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     }
   }
 
+  @Override
+  @Transactional(rollbackOn = ServerException.class)
+  public List<WorkspaceActivity> findActivities(Collection<String> workspaceIds)
+      throws ServerException {
+    requireNonNull(workspaceIds, "Required non-null workspace ids");
+    try {
+      EntityManager em = managerProvider.get();
+      List<WorkspaceActivity> result = new ArrayList<>(workspaceIds.size());
+      for (List<String> batch : Iterables.partition(workspaceIds, FIND_ACTIVITIES_BATCH_SIZE)) {
+        result.addAll(
+            em.createNamedQuery("WorkspaceActivity.getByWorkspaceIds", WorkspaceActivity.class)
+                .setParameter("workspaceIds", batch)
+                .getResultList());
+      }
+      return result;
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional(rollbackOn = ServerException.class)
   public Page<WorkspaceActivity> getAll(int maxItems, long skipCount) throws ServerException {
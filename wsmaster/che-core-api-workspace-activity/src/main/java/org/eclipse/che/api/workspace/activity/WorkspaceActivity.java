@@ -76,6 +76,9 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
           "SELECT COUNT(a) FROM WorkspaceActivity a"
               + " WHERE a.status = org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING"
               + " AND a.lastStarting <= :time"),
+  @NamedQuery(
+      name = "WorkspaceActivity.getByWorkspaceIds",
+      query = "SELECT a FROM WorkspaceActivity a WHERE a.workspaceId IN :workspaceIds"),
   @NamedQuery(name = "WorkspaceActivity.getAll", query = "SELECT a FROM WorkspaceActivity a"),
   @NamedQuery(
       name = "WorkspaceActivity.getAllCount",
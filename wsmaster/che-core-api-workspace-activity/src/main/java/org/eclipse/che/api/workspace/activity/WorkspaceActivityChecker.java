@@ -16,9 +16,21 @@ import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_B
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOP_REASON;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Pages;
@@ -28,6 +40,9 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.api.workspace.shared.Constants;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +53,9 @@ import org.slf4j.LoggerFactory;
  * {@link #cleanup()} which will try to clean up and reconcile the possibly invalid activity
  * records.
  *
+ * <p>The activity records of all the running workspaces are validated using a single bulk query and
+ * the invalid records are rectified in parallel on a bounded pool.
+ *
  * @author Lukas Krejci
  */
 @Singleton
@@ -51,19 +69,35 @@ public class WorkspaceActivityChecker {
   private final WorkspaceRuntimes workspaceRuntimes;
   private final WorkspaceActivityManager workspaceActivityManager;
   private final Clock clock;
+  private final ExecutorService executor;
+
+  private final AtomicLong cleanupsCount = new AtomicLong();
+  private final AtomicLong checkedActivitiesCount = new AtomicLong();
+  private volatile long lastCleanupDurationMillis;
 
   @Inject
   public WorkspaceActivityChecker(
       WorkspaceActivityDao activityDao,
       WorkspaceManager workspaceManager,
       WorkspaceRuntimes workspaceRuntimes,
-      WorkspaceActivityManager workspaceActivityManager) {
+      WorkspaceActivityManager workspaceActivityManager,
+      ExecutorServiceWrapper executorServiceWrapper,
+      @Named("che.workspace.activity_cleanup_parallelism") int parallelism) {
     this(
         activityDao,
         workspaceManager,
         workspaceRuntimes,
         workspaceActivityManager,
-        Clock.systemDefaultZone());
+        Clock.systemDefaultZone(),
+        executorServiceWrapper.wrap(
+            Executors.newFixedThreadPool(
+                parallelism,
+                new ThreadFactoryBuilder()
+                    .setNameFormat("WorkspaceActivityChecker-%d")
+                    .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                    .setDaemon(true)
+                    .build()),
+            WorkspaceActivityChecker.class.getName()));
   }
 
   @VisibleForTesting
@@ -72,13 +106,15 @@ public class WorkspaceActivityChecker {
       WorkspaceManager workspaceManager,
       WorkspaceRuntimes workspaceRuntimes,
       WorkspaceActivityManager workspaceActivityManager,
-      Clock clock) {
+      Clock clock,
+      ExecutorService executor) {
 
     this.activityDao = activityDao;
     this.workspaceManager = workspaceManager;
     this.workspaceRuntimes = workspaceRuntimes;
     this.workspaceActivityManager = workspaceActivityManager;
     this.clock = clock;
+    this.executor = executor;
   }
 
   @ScheduleDelay(
@@ -94,9 +130,34 @@ public class WorkspaceActivityChecker {
       delayParameterName = "che.workspace.activity_cleanup_scheduler_period_s")
   @VisibleForTesting
   void cleanup() {
+    long start = clock.millis();
+
     checkActivityRecordsValidity();
 
     reconcileActivityStatuses();
+
+    lastCleanupDurationMillis = clock.millis() - start;
+    cleanupsCount.incrementAndGet();
+  }
+
+  /** Returns the number of performed activity cleanups. */
+  public long getCleanupsCount() {
+    return cleanupsCount.get();
+  }
+
+  /** Returns the total number of activity records of running workspaces checked by the cleanups. */
+  public long getCheckedActivitiesCount() {
+    return checkedActivitiesCount.get();
+  }
+
+  /** Returns the duration of the last activity cleanup in milliseconds. */
+  public long getLastCleanupDurationMillis() {
+    return lastCleanupDurationMillis;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
   }
 
   private void stopAllExpired() {
@@ -131,22 +192,51 @@ public class WorkspaceActivityChecker {
   }
 
   private void checkActivityRecordsValidity() {
-    for (String runningWsId : workspaceRuntimes.getRunning()) {
-      try {
-        checkActivityRecordValidity(runningWsId);
-      } catch (Exception e) {
-        LOG.error(
-            "Failed to check activity record for workspace {}. Cause: {}",
-            runningWsId,
-            e.getMessage(),
-            e);
+    Set<String> runningWorkspaces = workspaceRuntimes.getRunning();
+    if (runningWorkspaces.isEmpty()) {
+      return;
+    }
+
+    Map<String, WorkspaceActivity> activities = new HashMap<>();
+    try {
+      for (WorkspaceActivity activity : activityDao.findActivities(runningWorkspaces)) {
+        activities.put(activity.getWorkspaceId(), activity);
       }
+    } catch (ServerException e) {
+      LOG.error(
+          "Failed to load activities of running workspaces to check their validity. Cause: {}",
+          e.getMessage(),
+          e);
+      return;
     }
+
+    List<CompletableFuture<Void>> checks = new ArrayList<>(runningWorkspaces.size());
+    for (String runningWsId : runningWorkspaces) {
+      WorkspaceActivity activity = activities.get(runningWsId);
+      checks.add(
+          CompletableFuture.runAsync(
+              ThreadLocalPropagateContext.wrap(
+                  () -> checkActivityRecordValidityQuietly(runningWsId, activity)),
+              executor));
+    }
+    CompletableFuture.allOf(checks.toArray(new CompletableFuture[0])).join();
+    checkedActivitiesCount.addAndGet(runningWorkspaces.size());
   }
 
-  private void checkActivityRecordValidity(String runningWsId) throws ServerException {
-    WorkspaceActivity activity = activityDao.findActivity(runningWsId);
+  private void checkActivityRecordValidityQuietly(String runningWsId, WorkspaceActivity activity) {
+    try {
+      checkActivityRecordValidity(runningWsId, activity);
+    } catch (Exception e) {
+      LOG.error(
+          "Failed to check activity record for workspace {}. Cause: {}",
+          runningWsId,
+          e.getMessage(),
+          e);
+    }
+  }
 
+  private void checkActivityRecordValidity(String runningWsId, WorkspaceActivity activity)
+      throws ServerException {
     long idleTimeout = workspaceActivityManager.getIdleTimeout(runningWsId);
 
     if (activity == null) {
@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.api.workspace.activity;
 
+import java.util.Collection;
 import java.util.List;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.Page;
@@ -107,6 +108,16 @@ public interface WorkspaceActivityDao {
    */
   WorkspaceActivity findActivity(String workspaceId) throws ServerException;
 
+  /**
+   * Returns the workspace activity records of the provided workspaces. Workspaces that don't have
+   * any activity record are not represented in the result.
+   *
+   * @param workspaceIds the ids of the workspaces
+   * @return the workspace activity instances
+   * @throws ServerException on error
+   */
+  List<WorkspaceActivity> findActivities(Collection<String> workspaceIds) throws ServerException;
+
   /**
    * Creates a new activity record. Fails if activity record already exists.
    *
@@ -14,6 +14,7 @@ package org.eclipse.che.api.workspace.activity;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -32,6 +33,7 @@ import static org.testng.AssertJUnit.assertNotNull;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -83,7 +85,12 @@ public class WorkspaceActivityCheckerTest {
 
     checker =
         new WorkspaceActivityChecker(
-            workspaceActivityDao, workspaceManager, workspaceRuntimes, activityManager, clock);
+            workspaceActivityDao,
+            workspaceManager,
+            workspaceRuntimes,
+            activityManager,
+            clock,
+            MoreExecutors.newDirectExecutorService());
   }
 
   @Test
@@ -103,7 +110,7 @@ public class WorkspaceActivityCheckerTest {
     // given
     String id = "1";
     when(workspaceRuntimes.getRunning()).thenReturn(singleton(id));
-    when(workspaceActivityDao.findActivity(eq(id))).thenReturn(null);
+    when(workspaceActivityDao.findActivities(eq(singleton(id)))).thenReturn(emptyList());
     when(workspaceManager.getWorkspace(eq(id)))
         .thenReturn(
             WorkspaceImpl.builder()
@@ -135,7 +142,8 @@ public class WorkspaceActivityCheckerTest {
     WorkspaceActivity invalidActivity = new WorkspaceActivity();
     invalidActivity.setWorkspaceId(id);
     when(workspaceRuntimes.getRunning()).thenReturn(singleton(id));
-    when(workspaceActivityDao.findActivity(eq(id))).thenReturn(invalidActivity);
+    when(workspaceActivityDao.findActivities(eq(singleton(id))))
+        .thenReturn(singletonList(invalidActivity));
     when(workspaceManager.getWorkspace(eq(id)))
         .thenReturn(
             WorkspaceImpl.builder()
@@ -157,17 +165,19 @@ public class WorkspaceActivityCheckerTest {
     String id = "1";
     WorkspaceActivity invalidActivity = new WorkspaceActivity();
     invalidActivity.setWorkspaceId(id);
+    WorkspaceActivity problematicActivity = new WorkspaceActivity();
+    problematicActivity.setWorkspaceId("problematic");
     when(workspaceRuntimes.getRunning()).thenReturn(ImmutableSet.of("problematic", id));
-    doThrow(new ServerException("error"))
+    doReturn(asList(problematicActivity, invalidActivity))
         .when(workspaceActivityDao)
-        .findActivity(eq("problematic"));
-    doReturn(invalidActivity).when(workspaceActivityDao).findActivity(eq(id));
+        .findActivities(any());
     when(workspaceManager.getWorkspace(eq(id)))
         .thenReturn(
             WorkspaceImpl.builder()
                 .setId(id)
                 .setAttributes(ImmutableMap.of(Constants.CREATED_ATTRIBUTE_NAME, "15"))
                 .build());
+    doThrow(new ServerException("error")).when(workspaceManager).getWorkspace(eq("problematic"));
 
     // when
     checker.cleanup();
@@ -176,6 +186,49 @@ public class WorkspaceActivityCheckerTest {
     verify(workspaceActivityDao).setCreatedTime(eq(id), eq(15L));
   }
 
+  @Test
+  public void shouldLoadActivitiesOfAllRunningWorkspacesInBulk() throws Exception {
+    // given
+    WorkspaceActivity activity1 = new WorkspaceActivity();
+    activity1.setWorkspaceId("1");
+    activity1.setCreated(15L);
+    WorkspaceActivity activity2 = new WorkspaceActivity();
+    activity2.setWorkspaceId("2");
+    activity2.setCreated(15L);
+    when(workspaceRuntimes.getRunning()).thenReturn(ImmutableSet.of("1", "2"));
+    when(workspaceActivityDao.findActivities(eq(ImmutableSet.of("1", "2"))))
+        .thenReturn(asList(activity1, activity2));
+
+    // when
+    checker.cleanup();
+
+    // then
+    verify(workspaceActivityDao).findActivities(eq(ImmutableSet.of("1", "2")));
+    verify(workspaceActivityDao, never()).findActivity(anyString());
+    verify(workspaceActivityDao)
+        .setStatusChangeTime(eq("1"), eq(WorkspaceStatus.RUNNING), anyLong());
+    verify(workspaceActivityDao)
+        .setStatusChangeTime(eq("2"), eq(WorkspaceStatus.RUNNING), anyLong());
+    assertEquals(2, checker.getCheckedActivitiesCount());
+    assertEquals(1, checker.getCleanupsCount());
+  }
+
+  @Test
+  public void shouldNotThrowExceptionWhenErrorOccurredDuringActivitiesLoadingOnValidityCheck()
+      throws Exception {
+    // given
+    when(workspaceRuntimes.getRunning()).thenReturn(singleton("1"));
+    doThrow(new ServerException("error")).when(workspaceActivityDao).findActivities(any());
+
+    // when
+    checker.cleanup();
+
+    // then
+    verify(workspaceActivityDao, never()).createActivity(any());
+    verify(workspaceActivityDao, never())
+        .setStatusChangeTime(anyString(), any(WorkspaceStatus.class), anyLong());
+  }
+
   @Test
   public void shouldRestoreLastRunningTimeOnInvalidActivityRecordUsingCreatedTime()
       throws Exception {
@@ -185,7 +238,8 @@ public class WorkspaceActivityCheckerTest {
     invalidActivity.setWorkspaceId(id);
     invalidActivity.setCreated(15);
     when(workspaceRuntimes.getRunning()).thenReturn(singleton(id));
-    when(workspaceActivityDao.findActivity(eq(id))).thenReturn(invalidActivity);
+    when(workspaceActivityDao.findActivities(eq(singleton(id))))
+        .thenReturn(singletonList(invalidActivity));
 
     // when
     clock.forward(Duration.of(1, ChronoUnit.SECONDS));
@@ -206,7 +260,8 @@ public class WorkspaceActivityCheckerTest {
     invalidActivity.setWorkspaceId(id);
     invalidActivity.setLastStarting(10);
     when(workspaceRuntimes.getRunning()).thenReturn(singleton(id));
-    when(workspaceActivityDao.findActivity(eq(id))).thenReturn(invalidActivity);
+    when(workspaceActivityDao.findActivities(eq(singleton(id))))
+        .thenReturn(singletonList(invalidActivity));
     when(workspaceManager.getWorkspace(eq(id)))
         .thenReturn(
             WorkspaceImpl.builder()
@@ -233,7 +288,8 @@ public class WorkspaceActivityCheckerTest {
     invalidActivity.setCreated(clock.millis());
     invalidActivity.setLastRunning(lastRunning);
     when(workspaceRuntimes.getRunning()).thenReturn(singleton(id));
-    when(workspaceActivityDao.findActivity(eq(id))).thenReturn(invalidActivity);
+    when(workspaceActivityDao.findActivities(eq(singleton(id))))
+        .thenReturn(singletonList(invalidActivity));
 
     // when
     clock.forward(Duration.of(1500, ChronoUnit.MILLIS));
@@ -251,7 +307,8 @@ public class WorkspaceActivityCheckerTest {
     invalidActivity.setCreated(clock.millis());
     invalidActivity.setLastRunning(clock.millis());
     when(workspaceRuntimes.getRunning()).thenReturn(singleton(id));
-    when(workspaceActivityDao.findActivity(eq(id))).thenReturn(invalidActivity);
+    when(workspaceActivityDao.findActivities(eq(singleton(id))))
+        .thenReturn(singletonList(invalidActivity));
 
     // when
     clock.forward(Duration.of(900, ChronoUnit.MILLIS));
@@ -12,6 +12,7 @@
 package org.eclipse.che.api.workspace.activity.spi.tck;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
@@ -114,6 +115,22 @@ public class WorkspaceActivityDaoTest {
     assertEquals(found, expected);
   }
 
+  @Test
+  public void shouldFindActivitiesByWorkspaceIds() throws Exception {
+    List<WorkspaceActivity> found =
+        workspaceActivityDao.findActivities(
+            asList(activities[0].getWorkspaceId(), activities[2].getWorkspaceId(), "unknown"));
+
+    assertEquals(found.size(), 2);
+    assertTrue(found.contains(activities[0]));
+    assertTrue(found.contains(activities[2]));
+  }
+
+  @Test
+  public void shouldFindNoActivitiesByEmptyWorkspaceIds() throws Exception {
+    assertTrue(workspaceActivityDao.findActivities(emptyList()).isEmpty());
+  }
+
   @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
   public void shouldRemoveExpirationsByWsId() throws Exception {
     List<String> expected = singletonList(activities[1].getWorkspaceId());
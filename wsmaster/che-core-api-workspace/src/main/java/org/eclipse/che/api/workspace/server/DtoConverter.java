@@ -15,8 +15,10 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
+import com.google.common.collect.ImmutableSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.eclipse.che.api.core.model.workspace.Runtime;
 import org.eclipse.che.api.core.model.workspace.Warning;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -102,6 +104,51 @@ public final class DtoConverter {
     return workspaceDto;
   }
 
+  /**
+   * Fields of {@link Workspace} which can be selected by {@link #asDto(Workspace, Set)}, the name
+   * is taken either from the configuration or from the devfile metadata.
+   */
+  public static final Set<String> WORKSPACE_PROJECTION_FIELDS =
+      ImmutableSet.of("id", "name", "namespace", "status", "attributes");
+
+  /**
+   * Converts {@link Workspace} to {@link WorkspaceDto} which contains only the given fields, so
+   * that the listings of workspaces don't carry their configurations and runtimes. The name is
+   * placed to the same path as in the full representation, i.e. either {@code config.name} or
+   * {@code devfile.metadata.name}.
+   *
+   * @param workspace the workspace to convert
+   * @param fields the fields to include, one of {@link #WORKSPACE_PROJECTION_FIELDS}
+   */
+  public static WorkspaceDto asDto(Workspace workspace, Set<String> fields) {
+    WorkspaceDto workspaceDto = newDto(WorkspaceDto.class).withTemporary(workspace.isTemporary());
+    if (fields.contains("id")) {
+      workspaceDto.setId(workspace.getId());
+    }
+    if (fields.contains("namespace")) {
+      workspaceDto.setNamespace(workspace.getNamespace());
+    }
+    if (fields.contains("status")) {
+      workspaceDto.setStatus(workspace.getStatus());
+    }
+    if (fields.contains("attributes")) {
+      workspaceDto.setAttributes(workspace.getAttributes());
+    }
+    if (fields.contains("name")) {
+      if (workspace.getConfig() != null) {
+        workspaceDto.setConfig(
+            newDto(WorkspaceConfigDto.class).withName(workspace.getConfig().getName()));
+      } else if (workspace.getDevfile() != null && workspace.getDevfile().getMetadata() != null) {
+        workspaceDto.setDevfile(
+            newDto(DevfileDto.class)
+                .withMetadata(
+                    newDto(MetadataDto.class)
+                        .withName(workspace.getDevfile().getMetadata().getName())));
+      }
+    }
+    return workspaceDto;
+  }
+
   public static DevfileDto asDto(Devfile devfile) {
     List<DevfileCommandDto> commands =
         devfile.getCommands().stream().map(DtoConverter::asDto).collect(toList());
@@ -28,7 +28,9 @@ import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_GENERATE_
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_INFRASTRUCTURE_NAMESPACE_ATTRIBUTE;
 
 import com.google.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -253,6 +255,49 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets list of workspaces which user can read and which have the given status.
+   *
+   * <p>The status is matched by the database query using the identifiers of the active workspaces,
+   * so the pages are filled with the matching workspaces only. The status is checked once again
+   * after the workspaces are fetched, so the workspaces whose status has changed in the meantime
+   * are left out of the page.
+   *
+   * @param user the id of the user
+   * @param status the status of the workspaces to get, or null to get the workspaces regardless of
+   *     their status
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @return the list of workspaces or empty list if user can't read any workspace with given status
+   * @throws NullPointerException when {@code user} is null
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getWorkspaces(String, Set, boolean, int, long)}
+   */
+  public Page<WorkspaceImpl> getWorkspaces(
+      String user,
+      @Nullable WorkspaceStatus status,
+      boolean includeRuntimes,
+      int maxItems,
+      long skipCount)
+      throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    if (status == null) {
+      return getWorkspaces(user, includeRuntimes, maxItems, skipCount);
+    }
+    final Page<WorkspaceImpl> workspaces =
+        status == STOPPED
+            ? workspaceDao.getWorkspaces(user, runtimes.getActive(), true, maxItems, skipCount)
+            : workspaceDao.getWorkspaces(
+                user, runtimes.getActive(status), false, maxItems, skipCount);
+    final List<WorkspaceImpl> matching = new ArrayList<>(workspaces.getItems().size());
+    for (WorkspaceImpl workspace : workspaces.getItems()) {
+      if (normalizeState(workspace, includeRuntimes).getStatus() == status) {
+        matching.add(workspace);
+      }
+    }
+    return new Page<>(matching, skipCount, maxItems, workspaces.getTotalItemsCount());
+  }
+
   /**
    * Gets list of workspaces which has given namespace
    *
@@ -23,6 +23,9 @@ import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
+import static org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.CREATE_ENVIRONMENT;
+import static org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.PREPARE_RUNTIME;
+import static org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.START_RUNTIME;
 import static org.eclipse.che.api.workspace.shared.Constants.ERROR_MESSAGE_ATTRIBUTE_NAME;
 import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ABNORMALLY_ATTRIBUTE_NAME;
 import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ATTRIBUTE_NAME;
@@ -78,6 +81,8 @@ import org.eclipse.che.api.workspace.server.spi.NamespaceResolutionContext;
 import org.eclipse.che.api.workspace.server.spi.RuntimeContext;
 import org.eclipse.che.api.workspace.server.spi.RuntimeInfrastructure;
 import org.eclipse.che.api.workspace.server.spi.RuntimeStartInterruptedException;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.StartPhase;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalEnvironment;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalEnvironmentFactory;
@@ -118,6 +123,7 @@ public class WorkspaceRuntimes {
   private final RuntimeInfrastructure infrastructure;
   private final ProbeScheduler probeScheduler;
   private final DevfileConverter devfileConverter;
+  private final StartPhaseTracker startPhaseTracker;
   // Unique identifier for this workspace runtimes
   private final String workspaceRuntimesId;
 
@@ -144,7 +150,8 @@ public class WorkspaceRuntimes {
         probeScheduler,
         statuses,
         lockService,
-        devfileConverter);
+        devfileConverter,
+        new StartPhaseTracker(eventService));
     this.runtimes = runtimes;
   }
 
@@ -159,7 +166,8 @@ public class WorkspaceRuntimes {
       ProbeScheduler probeScheduler,
       WorkspaceStatusCache statuses,
       WorkspaceLockService lockService,
-      DevfileConverter devfileConverter) {
+      DevfileConverter devfileConverter,
+      StartPhaseTracker startPhaseTracker) {
     this.probeScheduler = probeScheduler;
     this.runtimes = new ConcurrentHashMap<>();
     this.statuses = statuses;
@@ -171,6 +179,7 @@ public class WorkspaceRuntimes {
     this.environmentFactories = ImmutableMap.copyOf(envFactories);
     this.lockService = lockService;
     this.devfileConverter = devfileConverter;
+    this.startPhaseTracker = startPhaseTracker;
     LOG.info("Configured factories for environments: '{}'", envFactories.keySet());
     LOG.info("Registered infrastructure '{}'", infra.getName());
     SetView<String> notSupportedByInfra =
@@ -454,15 +463,28 @@ public class WorkspaceRuntimes {
             EnvironmentContext.getCurrent().getSubject().getUserId(),
             infraNamespace);
 
+    Environment environment = config.getEnvironments().get(envName);
+    startPhaseTracker.startTracking(
+        workspaceId,
+        infrastructure.getName(),
+        environment == null
+            ? Constants.NO_ENVIRONMENT_RECIPE_TYPE
+            : environment.getRecipe().getType());
+    boolean startSubmitted = false;
     try {
-      InternalEnvironment internalEnv =
-          createInternalEnvironment(
-              config.getEnvironments().get(envName),
-              config.getAttributes(),
-              config.getCommands(),
-              config.getDevfile());
+      InternalEnvironment internalEnv;
+      try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, CREATE_ENVIRONMENT)) {
+        internalEnv =
+            createInternalEnvironment(
+                environment, config.getAttributes(), config.getCommands(), config.getDevfile());
+        phase.succeeded();
+      }
 
-      RuntimeContext runtimeContext = infrastructure.prepare(runtimeId, internalEnv);
+      RuntimeContext runtimeContext;
+      try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, PREPARE_RUNTIME)) {
+        runtimeContext = infrastructure.prepare(runtimeId, internalEnv);
+        phase.succeeded();
+      }
       InternalRuntime runtime = runtimeContext.getRuntime();
 
       try (Unlocker ignored = lockService.writeLock(workspaceId)) {
@@ -484,15 +506,23 @@ public class WorkspaceRuntimes {
           sessionUserNameOr("undefined"));
 
       publishWorkspaceStatusEvent(workspaceId, STARTING, STOPPED, null, options);
-      return CompletableFuture.runAsync(
-          ThreadLocalPropagateContext.wrap(new StartRuntimeTask(workspace, options, runtime)),
-          sharedPool.getExecutor());
+      CompletableFuture<Void> startFuture =
+          CompletableFuture.runAsync(
+              ThreadLocalPropagateContext.wrap(new StartRuntimeTask(workspace, options, runtime)),
+              sharedPool.getExecutor());
+      startSubmitted = true;
+      return startFuture;
     } catch (ValidationException e) {
       LOG.error(e.getLocalizedMessage(), e);
       throw new ConflictException(e.getLocalizedMessage());
     } catch (InfrastructureException e) {
       LOG.error(e.getLocalizedMessage(), e);
       throw new ServerException(e.getLocalizedMessage(), e);
+    } finally {
+      // otherwise tracking is stopped by the start task
+      if (!startSubmitted) {
+        startPhaseTracker.stopTracking(workspaceId);
+      }
     }
   }
 
@@ -583,6 +613,24 @@ public class WorkspaceRuntimes {
     return ImmutableSet.copyOf(statuses.asMap().keySet());
   }
 
+  /**
+   * Gets the identifiers of active workspaces which have the given status.
+   *
+   * @param status the status of workspaces, note that there are no active workspaces with {@link
+   *     WorkspaceStatus#STOPPED} status
+   * @return workspaces identifiers for those workspaces that had the given status at the moment of
+   *     method execution, or an empty set if there is no such workspace
+   */
+  public Set<String> getActive(WorkspaceStatus status) {
+    return statuses
+        .asMap()
+        .entrySet()
+        .stream()
+        .filter(e -> status == e.getValue())
+        .map(Entry::getKey)
+        .collect(toSet());
+  }
+
   /**
    * Returns true if there is at least one workspace active(it's status is different from {@link
    * WorkspaceStatus#STOPPED}), otherwise returns false.
@@ -916,8 +964,9 @@ public class WorkspaceRuntimes {
     @Override
     public void run() {
       String workspaceId = workspace.getId();
-      try {
+      try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, START_RUNTIME)) {
         runtime.start(options);
+        phase.succeeded();
         try (Unlocker ignored = lockService.writeLock(workspaceId)) {
           statuses.replace(workspaceId, RUNNING);
         }
@@ -955,6 +1004,8 @@ public class WorkspaceRuntimes {
         }
         publishWorkspaceStatusEvent(workspaceId, STOPPED, STARTING, e.getMessage());
         throw new RuntimeException(e);
+      } finally {
+        startPhaseTracker.stopTracking(workspaceId);
       }
     }
   }
@@ -17,6 +17,7 @@ import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.eclipse.che.api.workspace.server.DtoConverter.WORKSPACE_PROJECTION_FIELDS;
 import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
 import static org.eclipse.che.api.workspace.server.WorkspaceKeyValidator.validateKey;
 import static org.eclipse.che.api.workspace.shared.Constants.CHE_WORKSPACE_AUTO_START;
@@ -28,6 +29,7 @@ import static org.eclipse.che.api.workspace.shared.Constants.DEBUG_WORKSPACE_STA
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_INFRASTRUCTURE_NAMESPACE_ATTRIBUTE;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.Maps;
@@ -40,8 +42,10 @@ import io.swagger.annotations.Example;
 import io.swagger.annotations.ExampleProperty;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.Consumes;
@@ -66,6 +70,7 @@ import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.ValidationException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.model.workspace.config.ServerConfig;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.workspace.server.devfile.FileContentProvider;
@@ -345,18 +350,28 @@ public class WorkspaceService extends Service {
           @DefaultValue("30")
           @QueryParam("maxItems")
           Integer maxItems,
-      @ApiParam("Workspace status") @QueryParam("status") String status)
+      @ApiParam("Workspace status") @QueryParam("status") String status,
+      @ApiParam(
+              "Comma separated list of the workspace fields to include in the response,"
+                  + " any of id, name, namespace, status, attributes."
+                  + " By default the workspaces are returned with all their fields")
+          @QueryParam("fields")
+          String fields)
       throws ServerException, BadRequestException {
+    final Set<String> projection = parseFields(fields);
     Page<WorkspaceImpl> workspacesPage =
         workspaceManager.getWorkspaces(
-            EnvironmentContext.getCurrent().getSubject().getUserId(), false, maxItems, skipCount);
+            EnvironmentContext.getCurrent().getSubject().getUserId(),
+            parseStatus(status),
+            false,
+            maxItems,
+            skipCount);
     return Response.ok()
         .entity(
             workspacesPage
                 .getItems()
                 .stream()
-                .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-                .map(DtoConverter::asDto)
+                .map(ws -> projection == null ? asDto(ws) : asDto(ws, projection))
                 .collect(toList()))
         .header("Link", createLinkHeader(workspacesPage))
         .build();
@@ -376,14 +391,32 @@ public class WorkspaceService extends Service {
   })
   public List<WorkspaceDto> getByNamespace(
       @ApiParam("Workspace status") @QueryParam("status") String status,
-      @ApiParam("The namespace") @PathParam("namespace") String namespace)
+      @ApiParam("The namespace") @PathParam("namespace") String namespace,
+      @ApiParam(
+              "Comma separated list of the workspace fields to include in the response,"
+                  + " any of id, name, namespace, status, attributes."
+                  + " By default the workspaces are returned with all their fields")
+          @QueryParam("fields")
+          String fields)
       throws ServerException, BadRequestException {
-    return asDtosWithLinks(
+    final Set<String> projection = parseFields(fields);
+    final WorkspaceStatus statusFilter = parseStatus(status);
+    List<WorkspaceImpl> workspaces =
         Pages.stream(
                 (maxItems, skipCount) ->
                     workspaceManager.getByNamespace(namespace, false, maxItems, skipCount))
-            .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-            .collect(toList()));
+            .filter(ws -> statusFilter == null || statusFilter == ws.getStatus())
+            .collect(toList());
+    if (projection == null) {
+      return asDtosWithLinks(workspaces);
+    }
+    List<WorkspaceDto> result = new ArrayList<>();
+    for (WorkspaceImpl workspace : workspaces) {
+      result.add(
+          asDto(workspace, projection)
+              .withLinks(linksGenerator.genLinks(workspace, getServiceContext())));
+    }
+    return result;
   }
 
   @PUT
@@ -911,6 +944,36 @@ public class WorkspaceService extends Service {
     }
   }
 
+  @Nullable
+  private static WorkspaceStatus parseStatus(@Nullable String status) throws BadRequestException {
+    if (status == null) {
+      return null;
+    }
+    try {
+      return WorkspaceStatus.valueOf(status.toUpperCase());
+    } catch (IllegalArgumentException x) {
+      throw new BadRequestException(format("Unknown workspace status '%s'", status));
+    }
+  }
+
+  @Nullable
+  private static Set<String> parseFields(@Nullable String fields) throws BadRequestException {
+    if (isNullOrEmpty(fields)) {
+      return null;
+    }
+    final Set<String> result = new HashSet<>();
+    for (String field : Splitter.on(',').trimResults().omitEmptyStrings().split(fields)) {
+      if (!WORKSPACE_PROJECTION_FIELDS.contains(field)) {
+        throw new BadRequestException(
+            format(
+                "Unknown workspace field '%s', supported fields are %s",
+                field, WORKSPACE_PROJECTION_FIELDS));
+      }
+      result.add(field);
+    }
+    return result;
+  }
+
   private void relativizeRecipeLinks(WorkspaceConfigDto config) {
     if (config != null) {
       Map<String, EnvironmentDto> environments = config.getEnvironments();
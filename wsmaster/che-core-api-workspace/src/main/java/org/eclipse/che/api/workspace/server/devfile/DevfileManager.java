@@ -15,6 +15,7 @@ import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
 import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.workspace.server.devfile.Constants.KUBERNETES_COMPONENT_TYPE;
 import static org.eclipse.che.api.workspace.server.devfile.Constants.OPENSHIFT_COMPONENT_TYPE;
 
@@ -25,9 +26,16 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.workspace.server.devfile.exception.DevfileException;
@@ -37,6 +45,7 @@ import org.eclipse.che.api.workspace.server.devfile.validator.DevfileIntegrityVa
 import org.eclipse.che.api.workspace.server.devfile.validator.DevfileSchemaValidator;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.ComponentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 
 /**
  * Facade for devfile related operations.
@@ -170,17 +179,7 @@ public class DevfileManager {
    */
   public void resolveReference(DevfileImpl devfile, FileContentProvider fileContentProvider)
       throws DevfileException {
-    List<ComponentImpl> toResolve =
-        devfile
-            .getComponents()
-            .stream()
-            .filter(
-                c ->
-                    c.getType().equals(KUBERNETES_COMPONENT_TYPE)
-                        || c.getType().equals(OPENSHIFT_COMPONENT_TYPE))
-            .filter(c -> !isNullOrEmpty(c.getReference()))
-            .collect(Collectors.toList());
-    for (ComponentImpl c : toResolve) {
+    for (ComponentImpl c : getReferencingComponents(devfile)) {
       try {
         c.setReferenceContent(fileContentProvider.fetchContent(c.getReference()));
       } catch (IOException e) {
@@ -193,6 +192,93 @@ public class DevfileManager {
     }
   }
 
+  /**
+   * Resolve devfile component references into their reference content fetching the referenced files
+   * concurrently. Each distinct reference is fetched once.
+   *
+   * @param devfile input devfile
+   * @param fileContentProvider thread-safe provider to fetch reference content
+   * @param executor executor to fetch the references in, its size bounds the number of concurrent
+   *     fetches
+   * @param timeout maximum time to wait for all the references to be fetched
+   * @param unit time unit of the timeout
+   * @throws DevfileException when any reference can't be fetched or isn't fetched in time
+   */
+  public void resolveReference(
+      DevfileImpl devfile,
+      FileContentProvider fileContentProvider,
+      ExecutorService executor,
+      long timeout,
+      TimeUnit unit)
+      throws DevfileException {
+    List<ComponentImpl> toResolve = getReferencingComponents(devfile);
+    if (toResolve.isEmpty()) {
+      return;
+    }
+    List<String> references =
+        toResolve.stream().map(ComponentImpl::getReference).distinct().collect(toList());
+    List<Callable<String>> fetches = new ArrayList<>(references.size());
+    for (String reference : references) {
+      fetches.add(
+          ThreadLocalPropagateContext.wrap(() -> fileContentProvider.fetchContent(reference)));
+    }
+
+    List<Future<String>> results;
+    try {
+      // unfinished fetches are cancelled when the timeout elapses
+      results = executor.invokeAll(fetches, timeout, unit);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DevfileException("Interrupted while resolving component references", e);
+    }
+
+    Map<String, String> contents = new HashMap<>();
+    for (int i = 0; i < references.size(); i++) {
+      String reference = references.get(i);
+      try {
+        contents.put(reference, results.get(i).get());
+      } catch (CancellationException e) {
+        throw new DevfileException(
+            format(
+                "Unable to resolve reference of component: %s. Timeout of %d %s reached",
+                componentName(toResolve, reference), timeout, unit.name().toLowerCase()));
+      } catch (ExecutionException e) {
+        throw new DevfileException(
+            format(
+                "Unable to resolve reference of component: %s",
+                componentName(toResolve, reference)),
+            e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new DevfileException("Interrupted while resolving component references", e);
+      }
+    }
+    for (ComponentImpl c : toResolve) {
+      c.setReferenceContent(contents.get(c.getReference()));
+    }
+  }
+
+  private String componentName(List<ComponentImpl> components, String reference) {
+    return components
+        .stream()
+        .filter(c -> reference.equals(c.getReference()))
+        .findFirst()
+        .map(c -> firstNonNull(c.getAlias(), reference))
+        .orElse(reference);
+  }
+
+  private List<ComponentImpl> getReferencingComponents(DevfileImpl devfile) {
+    return devfile
+        .getComponents()
+        .stream()
+        .filter(
+            c ->
+                c.getType().equals(KUBERNETES_COMPONENT_TYPE)
+                    || c.getType().equals(OPENSHIFT_COMPONENT_TYPE))
+        .filter(c -> !isNullOrEmpty(c.getReference()))
+        .collect(toList());
+  }
+
   private DevfileImpl parse(
       String content, ObjectMapper mapper, Map<String, String> overrideProperties)
       throws DevfileFormatException, OverrideParameterException {
@@ -13,8 +13,8 @@ package org.eclipse.che.api.workspace.server.devfile;
 
 import java.io.IOException;
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.che.api.workspace.server.devfile.exception.DevfileException;
 
 /**
@@ -61,7 +61,7 @@ public interface FileContentProvider {
     private final FileContentProvider provider;
 
     // we don't want to be holding on to large strings with content
-    private final Map<String, SoftReference<String>> cache = new HashMap<>();
+    private final Map<String, SoftReference<String>> cache = new ConcurrentHashMap<>();
 
     public CachingProvider(FileContentProvider provider) {
       this.provider = provider;
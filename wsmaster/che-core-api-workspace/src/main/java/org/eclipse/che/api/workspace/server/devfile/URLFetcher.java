@@ -20,6 +20,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.regex.Matcher;
@@ -27,6 +28,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.inject.Singleton;
 import javax.validation.constraints.NotNull;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,6 +101,41 @@ public class URLFetcher {
     return value;
   }
 
+  /**
+   * Asks the server for the revision of the content located at the provided url without fetching
+   * the content itself. The revision is the value of the {@code ETag} response header or, when it
+   * is absent, of the {@code Last-Modified} one.
+   *
+   * @param url the URL to check
+   * @return revision of the content or {@code null} if the url is not an HTTP one, the server
+   *     doesn't report the revision or error happened
+   */
+  @Nullable
+  public String fetchRevisionSafely(@NotNull final String url) {
+    requireNonNull(url, "url parameter can't be null");
+    HttpURLConnection connection = null;
+    try {
+      URLConnection urlConnection = new URL(sanitized(url)).openConnection();
+      if (!(urlConnection instanceof HttpURLConnection)) {
+        return null;
+      }
+      connection = (HttpURLConnection) urlConnection;
+      connection.setRequestMethod("HEAD");
+      if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+        return null;
+      }
+      String revision = connection.getHeaderField("ETag");
+      return revision != null ? revision : connection.getHeaderField("Last-Modified");
+    } catch (IOException e) {
+      LOG.debug("Unable to fetch revision of " + url, e);
+      return null;
+    } finally {
+      if (connection != null) {
+        connection.disconnect();
+      }
+    }
+  }
+
   /**
    * Maximum size that can be read.
    *
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+/**
+ * Published when a phase of the workspace start is completed, either successfully or not.
+ *
+ * @see org.eclipse.che.api.workspace.server.spi.StartPhaseTracker
+ */
+public class WorkspaceStartPhaseEvent {
+
+  private final String workspaceId;
+  private final String phase;
+  private final String infrastructure;
+  private final String recipeType;
+  private final long durationNanos;
+  private final boolean succeeded;
+
+  public WorkspaceStartPhaseEvent(
+      String workspaceId,
+      String phase,
+      String infrastructure,
+      String recipeType,
+      long durationNanos,
+      boolean succeeded) {
+    this.workspaceId = workspaceId;
+    this.phase = phase;
+    this.infrastructure = infrastructure;
+    this.recipeType = recipeType;
+    this.durationNanos = durationNanos;
+    this.succeeded = succeeded;
+  }
+
+  public String getWorkspaceId() {
+    return workspaceId;
+  }
+
+  /** Returns the name of the phase, e.g. {@code CreateEnvironment}. */
+  public String getPhase() {
+    return phase;
+  }
+
+  /** Returns the name of the infrastructure which starts the workspace. */
+  public String getInfrastructure() {
+    return infrastructure;
+  }
+
+  /** Returns the recipe type of the environment of the workspace being started. */
+  public String getRecipeType() {
+    return recipeType;
+  }
+
+  /** Returns the duration of the phase in nanoseconds. */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  public boolean isSucceeded() {
+    return succeeded;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkspaceStartPhaseEvent{"
+        + "workspaceId='"
+        + workspaceId
+        + '\''
+        + ", phase='"
+        + phase
+        + '\''
+        + ", infrastructure='"
+        + infrastructure
+        + '\''
+        + ", recipeType='"
+        + recipeType
+        + '\''
+        + ", durationNanos="
+        + durationNanos
+        + ", succeeded="
+        + succeeded
+        + '}';
+  }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.api.workspace.server.jpa;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.Pages.iterate;
@@ -20,6 +21,7 @@ import static org.eclipse.che.api.core.Pages.iterate;
 import com.google.inject.persist.Transactional;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -191,6 +193,42 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getWorkspaces(
+      String userId, Set<String> ids, boolean excludeIds, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(ids, "Required non-null workspace ids");
+    if (ids.isEmpty()) {
+      // empty IN is not valid JPQL
+      return excludeIds
+          ? getWorkspaces(userId, maxItems, skipCount)
+          : new Page<>(emptyList(), skipCount, maxItems, 0);
+    }
+    try {
+      final EntityManager manager = managerProvider.get();
+      final String query = excludeIds ? "Workspace.getExcludingIds" : "Workspace.getByIds";
+      final List<WorkspaceImpl> list =
+          manager
+              .createNamedQuery(query, WorkspaceImpl.class)
+              .setParameter("ids", ids)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList()
+              .stream()
+              .map(WorkspaceImpl::new)
+              .collect(Collectors.toList());
+      final long count =
+          manager
+              .createNamedQuery(query + "Count", Long.class)
+              .setParameter("ids", ids)
+              .getSingleResult();
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
@@ -64,6 +64,16 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
       name = "Workspace.getByTemporary",
       query = "SELECT w " + "FROM Workspace w " + "WHERE w.isTemporary = :temporary "),
   @NamedQuery(name = "Workspace.getAllCount", query = "SELECT COUNT(w) FROM Workspace w"),
+  @NamedQuery(name = "Workspace.getByIds", query = "SELECT w FROM Workspace w WHERE w.id IN :ids"),
+  @NamedQuery(
+      name = "Workspace.getByIdsCount",
+      query = "SELECT COUNT(w) FROM Workspace w WHERE w.id IN :ids"),
+  @NamedQuery(
+      name = "Workspace.getExcludingIds",
+      query = "SELECT w FROM Workspace w WHERE w.id NOT IN :ids"),
+  @NamedQuery(
+      name = "Workspace.getExcludingIdsCount",
+      query = "SELECT COUNT(w) FROM Workspace w WHERE w.id NOT IN :ids"),
   @NamedQuery(
       name = "Workspace.getByNamespaceCount",
       query = "SELECT COUNT(w) " + "FROM Workspace w " + "WHERE w.account.name = :namespace "),
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.spi;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.WorkspaceStartPhaseEvent;
+
+/**
+ * Measures the duration of the workspace start phases and publishes {@link
+ * WorkspaceStartPhaseEvent} for each of them.
+ *
+ * <p>The infrastructure and the recipe type of the starting workspace are registered once with
+ * {@link #startTracking(String, String, String)}, so that the components which implement the phases
+ * need to know only the workspace id. Usage:
+ *
+ * <pre>{@code
+ * try (StartPhase phase = startPhaseTracker.startPhase(workspaceId, "PrepareVolumes")) {
+ *   volumesStrategy.prepare(...);
+ *   phase.succeeded();
+ * }
+ * }</pre>
+ */
+@Singleton
+public class StartPhaseTracker {
+
+  /** Creation of the internal environment from the workspace configuration, incl. validation. */
+  public static final String CREATE_ENVIRONMENT = "CreateEnvironment";
+
+  /** Preparation of the runtime context by the infrastructure, e.g. the namespace preparation. */
+  public static final String PREPARE_RUNTIME = "PrepareRuntime";
+
+  /** Start of the runtime by the infrastructure, which includes all the infrastructure phases. */
+  public static final String START_RUNTIME = "StartRuntime";
+
+  static final String UNKNOWN = "unknown";
+
+  private final EventService eventService;
+  private final Map<String, String[]> workspaceTags;
+
+  @Inject
+  public StartPhaseTracker(EventService eventService) {
+    this.eventService = eventService;
+    this.workspaceTags = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Registers the infrastructure and the recipe type of the workspace which is being started.
+   * Phases of the workspaces which are not registered are reported with unknown infrastructure and
+   * recipe type.
+   */
+  public void startTracking(String workspaceId, String infrastructure, String recipeType) {
+    workspaceTags.put(workspaceId, new String[] {infrastructure, recipeType});
+  }
+
+  /** Forgets the workspace registered by {@link #startTracking(String, String, String)}. */
+  public void stopTracking(String workspaceId) {
+    workspaceTags.remove(workspaceId);
+  }
+
+  /**
+   * Starts measuring the phase of the workspace start. The returned phase must be closed when the
+   * phase is completed.
+   */
+  public StartPhase startPhase(String workspaceId, String phase) {
+    return new StartPhase(workspaceId, phase);
+  }
+
+  /** A phase of the workspace start being measured. */
+  public class StartPhase implements AutoCloseable {
+
+    private final String workspaceId;
+    private final String phase;
+    private final long start;
+
+    private volatile boolean succeeded;
+    private volatile boolean closed;
+
+    private StartPhase(String workspaceId, String phase) {
+      this.workspaceId = workspaceId;
+      this.phase = phase;
+      this.start = System.nanoTime();
+    }
+
+    /** Marks the phase as succeeded, otherwise it is reported as failed when closed. */
+    public void succeeded() {
+      succeeded = true;
+    }
+
+    /** Completes the phase and publishes its duration. Subsequent invocations have no effect. */
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      String[] tags = workspaceTags.get(workspaceId);
+      eventService.publish(
+          new WorkspaceStartPhaseEvent(
+              workspaceId,
+              phase,
+              tags == null ? UNKNOWN : tags[0],
+              tags == null ? UNKNOWN : tags[1],
+              System.nanoTime() - start,
+              succeeded));
+    }
+  }
+}
@@ -12,6 +12,7 @@
 package org.eclipse.che.api.workspace.server.spi;
 
 import java.util.Optional;
+import java.util.Set;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
@@ -121,6 +122,25 @@ public interface WorkspaceDao {
   Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount)
       throws ServerException;
 
+  /**
+   * Gets list of workspaces which user can read and whose identifiers either belong to or are
+   * excluded by the given set. Is used to page the workspaces by the status which is known only for
+   * the set of active workspaces.
+   *
+   * @param userId id of user
+   * @param ids identifiers of workspaces to match
+   * @param excludeIds when {@code true} the workspaces with the given identifiers are excluded from
+   *     the result, otherwise only such workspaces are included
+   * @param maxItems the maximum number of workspaces to return
+   * @param skipCount the number of workspaces to skip
+   * @return list of matching workspaces which user can read
+   * @throws NullPointerException when {@code ids} is null
+   * @throws ServerException when any other error occurs during workspaces fetching
+   */
+  Page<WorkspaceImpl> getWorkspaces(
+      String userId, Set<String> ids, boolean excludeIds, int maxItems, long skipCount)
+      throws ServerException;
+
   /**
    * Gets workspaces by temporary attribute.
    *
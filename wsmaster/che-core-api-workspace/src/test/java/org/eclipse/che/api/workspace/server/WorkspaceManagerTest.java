@@ -14,6 +14,7 @@ package org.eclipse.che.api.workspace.server;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
@@ -55,8 +56,10 @@ import static org.testng.util.Strings.isNullOrEmpty;
 import com.google.common.collect.ImmutableMap;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
@@ -392,6 +395,61 @@ public class WorkspaceManagerTest {
     assertFalse(res2.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void getsStoppedWorkspacesByExcludingActiveOnes() throws Exception {
+    final WorkspaceConfig config = createConfig();
+    final WorkspaceImpl workspace1 = createAndMockWorkspace(config, NAMESPACE_1);
+    final WorkspaceImpl workspace2 = createAndMockWorkspace(config, NAMESPACE_1);
+    final Set<String> active = singleton("active-workspace-id");
+    when(runtimes.getActive()).thenReturn(active);
+    when(workspaceDao.getWorkspaces(eq(NAMESPACE_1), eq(active), eq(true), anyInt(), anyLong()))
+        .thenReturn(new Page<>(asList(workspace1, workspace2), 0, 2, 2));
+    mockRuntimeStatus(workspace1, STOPPED);
+    mockRuntimeStatus(workspace2, STOPPED);
+
+    final Page<WorkspaceImpl> result =
+        workspaceManager.getWorkspaces(NAMESPACE_1, STOPPED, false, 30, 0);
+
+    assertEquals(result.getItems(), asList(workspace1, workspace2));
+    assertEquals(result.getTotalItemsCount(), 2);
+    verify(workspaceDao, never()).getWorkspaces(anyString(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void getsWorkspacesWithActiveStatusByIncludingMatchingOnes() throws Exception {
+    final WorkspaceConfig config = createConfig();
+    final WorkspaceImpl workspace = createAndMockWorkspace(config, NAMESPACE_1);
+    final Set<String> running = singleton(workspace.getId());
+    when(runtimes.getActive(RUNNING)).thenReturn(running);
+    when(workspaceDao.getWorkspaces(eq(NAMESPACE_1), eq(running), eq(false), anyInt(), anyLong()))
+        .thenReturn(new Page<>(singletonList(workspace), 0, 30, 1));
+    mockRuntimeStatus(workspace, RUNNING);
+
+    final Page<WorkspaceImpl> result =
+        workspaceManager.getWorkspaces(NAMESPACE_1, RUNNING, false, 30, 0);
+
+    assertEquals(result.getItems(), singletonList(workspace));
+    assertEquals(result.getItems().get(0).getStatus(), RUNNING);
+  }
+
+  @Test
+  public void dropsWorkspacesWhichChangedStatusWhileBeingFetched() throws Exception {
+    final WorkspaceConfig config = createConfig();
+    final WorkspaceImpl workspace1 = createAndMockWorkspace(config, NAMESPACE_1);
+    final WorkspaceImpl workspace2 = createAndMockWorkspace(config, NAMESPACE_1);
+    final Set<String> starting = new HashSet<>(asList(workspace1.getId(), workspace2.getId()));
+    when(runtimes.getActive(STARTING)).thenReturn(starting);
+    when(workspaceDao.getWorkspaces(eq(NAMESPACE_1), eq(starting), eq(false), anyInt(), anyLong()))
+        .thenReturn(new Page<>(asList(workspace1, workspace2), 0, 30, 2));
+    mockRuntimeStatus(workspace1, STARTING);
+    mockRuntimeStatus(workspace2, RUNNING);
+
+    final Page<WorkspaceImpl> result =
+        workspaceManager.getWorkspaces(NAMESPACE_1, STARTING, false, 30, 0);
+
+    assertEquals(result.getItems(), singletonList(workspace1));
+  }
+
   @Test
   public void getsWorkspacesByNamespaceWithoutRuntimes() throws Exception {
     // given
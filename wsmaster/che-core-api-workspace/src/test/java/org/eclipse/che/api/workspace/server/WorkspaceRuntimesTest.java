@@ -85,6 +85,7 @@ import org.eclipse.che.api.workspace.server.spi.InternalRuntime;
 import org.eclipse.che.api.workspace.server.spi.NamespaceResolutionContext;
 import org.eclipse.che.api.workspace.server.spi.RuntimeContext;
 import org.eclipse.che.api.workspace.server.spi.RuntimeInfrastructure;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalEnvironment;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalEnvironmentFactory;
@@ -220,7 +221,8 @@ public class WorkspaceRuntimesTest {
             probeScheduler,
             statuses,
             lockService,
-            devfileConverter);
+            devfileConverter,
+            new StartPhaseTracker(eventService));
     InternalEnvironment expectedEnvironment = mock(InternalEnvironment.class);
     when(noEnvFactory.create(eq(null))).thenReturn(expectedEnvironment);
 
@@ -593,7 +595,8 @@ public class WorkspaceRuntimesTest {
             probeScheduler,
             statuses,
             lockService,
-            devfileConverter);
+            devfileConverter,
+            new StartPhaseTracker(localEventService));
     localRuntimes.init();
     RuntimeIdentityDto identity =
         DtoFactory.newDto(RuntimeIdentityDto.class)
@@ -635,7 +638,8 @@ public class WorkspaceRuntimesTest {
             probeScheduler,
             statuses,
             lockService,
-            devfileConverter);
+            devfileConverter,
+            new StartPhaseTracker(localEventService));
     localRuntimes.init();
     RuntimeIdentityDto identity =
         DtoFactory.newDto(RuntimeIdentityDto.class)
@@ -827,6 +831,25 @@ public class WorkspaceRuntimesTest {
     assertTrue(active.containsAll(asList("ws1", "ws2", "ws3")));
   }
 
+  @Test
+  public void shouldReturnIdsOfActiveWorkspacesWithGivenStatus() {
+    // given
+    when(statuses.asMap())
+        .thenReturn(
+            ImmutableMap.of(
+                "ws1", WorkspaceStatus.STARTING,
+                "ws2", WorkspaceStatus.RUNNING,
+                "ws3", WorkspaceStatus.STARTING,
+                "ws4", WorkspaceStatus.STOPPING));
+
+    // when
+    Set<String> starting = runtimes.getActive(WorkspaceStatus.STARTING);
+
+    // then
+    assertEquals(starting, ImmutableSet.of("ws1", "ws3"));
+    assertTrue(runtimes.getActive(WorkspaceStatus.STOPPED).isEmpty());
+  }
+
   @Test
   public void shouldReturnWorkspaceIdsOfRunningRuntimes() {
     // given
@@ -36,11 +36,14 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -738,7 +741,7 @@ public class WorkspaceServiceTest {
   public void shouldGetWorkspaces() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
     final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
-    when(wsManager.getWorkspaces(eq(USER_ID), eq(false), anyInt(), anyLong()))
+    when(wsManager.getWorkspaces(eq(USER_ID), isNull(), eq(false), anyInt(), anyLong()))
         .thenReturn(new Page<>(asList(workspace1, workspace2), 0, 2, 2));
 
     final Response response =
@@ -785,8 +788,8 @@ public class WorkspaceServiceTest {
   public void shouldGetWorkspacesByStatus() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
     final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
-    when(wsManager.getWorkspaces(eq(USER_ID), eq(false), anyInt(), anyLong()))
-        .thenReturn(new Page<>(asList(workspace1, workspace2), 0, 2, 2));
+    when(wsManager.getWorkspaces(eq(USER_ID), eq(STARTING), eq(false), anyInt(), anyLong()))
+        .thenReturn(new Page<>(singletonList(workspace2), 0, 2, 1));
 
     final Response response =
         given()
@@ -804,6 +807,71 @@ public class WorkspaceServiceTest {
         singletonList(workspace2));
   }
 
+  @Test
+  public void shouldRespondBadRequestWhenGettingWorkspacesByUnknownStatus() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?status=sleeping");
+
+    assertEquals(response.getStatusCode(), 400);
+    verify(wsManager, never())
+        .getWorkspaces(anyString(), any(WorkspaceStatus.class), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldRespondBadRequestWhenGettingWorkspacesByNamespaceAndUnknownStatus()
+      throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/namespace/" + NAMESPACE + "?status=sleeping");
+
+    assertEquals(response.getStatusCode(), 400);
+    verify(wsManager, never()).getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldGetWorkspacesWithRequestedFieldsOnly() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto(), STARTING);
+    workspace.getAttributes().put("stackId", "java");
+    when(wsManager.getWorkspaces(eq(USER_ID), isNull(), eq(false), anyInt(), anyLong()))
+        .thenReturn(new Page<>(singletonList(workspace), 0, 1, 1));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?fields=id,name,status,attributes");
+
+    assertEquals(response.getStatusCode(), 200);
+    final WorkspaceDto result = unwrapDtoList(response, WorkspaceDto.class).get(0);
+    assertEquals(result.getId(), workspace.getId());
+    assertEquals(result.getStatus(), STARTING);
+    assertEquals(result.getAttributes(), workspace.getAttributes());
+    assertEquals(result.getConfig().getName(), workspace.getConfig().getName());
+    assertTrue(result.getConfig().getEnvironments().isEmpty());
+    assertNull(result.getNamespace());
+    assertNull(result.getRuntime());
+  }
+
+  @Test
+  public void shouldRespondBadRequestWhenRequestedFieldIsUnknown() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?fields=id,runtime");
+
+    assertEquals(response.getStatusCode(), 400);
+  }
+
   @Test
   public void shouldUpdateTheWorkspace() throws Exception {
     final WorkspaceImpl workspace = createWorkspace(createConfigDto());
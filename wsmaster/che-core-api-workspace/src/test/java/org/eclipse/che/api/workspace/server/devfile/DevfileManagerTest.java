@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.api.workspace.server.devfile;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.workspace.server.devfile.Constants.KUBERNETES_COMPONENT_TYPE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -27,6 +28,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.eclipse.che.api.workspace.server.devfile.exception.DevfileException;
 import org.eclipse.che.api.workspace.server.devfile.exception.DevfileFormatException;
 import org.eclipse.che.api.workspace.server.devfile.validator.DevfileIntegrityValidator;
@@ -36,6 +39,9 @@ import org.eclipse.che.api.workspace.server.model.impl.devfile.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.ComponentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.EndpointImpl;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -120,6 +126,67 @@ public class DevfileManagerTest {
     assertEquals(devfile.getComponents().get(0).getReferenceContent(), referenceContent);
   }
 
+  @Test
+  public void shouldResolveReferencesConcurrently() throws Exception {
+    when(contentProvider.fetchContent(anyString())).thenAnswer(i -> i.getArgument(0) + "_content");
+    devfile.getComponents().add(referencingComponent("first", "first.yaml"));
+    devfile.getComponents().add(referencingComponent("second", "second.yaml"));
+    devfile.getComponents().add(referencingComponent("third", "first.yaml"));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      // when
+      devfileManager.resolveReference(devfile, contentProvider, executor, 10, SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // then
+    verify(contentProvider).fetchContent(eq("first.yaml"));
+    verify(contentProvider).fetchContent(eq("second.yaml"));
+    assertEquals(devfile.getComponents().get(0).getReferenceContent(), "first.yaml_content");
+    assertEquals(devfile.getComponents().get(1).getReferenceContent(), "second.yaml_content");
+    assertEquals(devfile.getComponents().get(2).getReferenceContent(), "first.yaml_content");
+  }
+
+  @Test
+  public void shouldFetchReferencesConcurrentlyInContextOfCaller() throws Exception {
+    Subject subject = new SubjectImpl("user", "user123", "token", false);
+    when(contentProvider.fetchContent(anyString()))
+        .thenAnswer(i -> EnvironmentContext.getCurrent().getSubject().getUserId());
+    devfile.getComponents().add(referencingComponent("test", "myfile.yaml"));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    EnvironmentContext.getCurrent().setSubject(subject);
+    try {
+      // when
+      devfileManager.resolveReference(devfile, contentProvider, executor, 10, SECONDS);
+    } finally {
+      EnvironmentContext.reset();
+      executor.shutdownNow();
+    }
+
+    // then
+    assertEquals(devfile.getComponents().get(0).getReferenceContent(), "user123");
+  }
+
+  @Test(
+      expectedExceptions = DevfileException.class,
+      expectedExceptionsMessageRegExp = "Unable to resolve reference of component: test")
+  public void shouldThrowDevfileExceptionWhenReferenceIsNotResolvableConcurrently()
+      throws Exception {
+    when(contentProvider.fetchContent(anyString())).thenThrow(IOException.class);
+    devfile.getComponents().add(referencingComponent("test", "myfile.yaml"));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      // when
+      devfileManager.resolveReference(devfile, contentProvider, executor, 10, SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test(
       expectedExceptions = DevfileException.class,
       expectedExceptionsMessageRegExp = "Unable to parse Devfile - provided source is empty")
@@ -179,4 +246,12 @@ public class DevfileManagerTest {
     // when
     devfileManager.parseJson(DEVFILE_YAML_CONTENT);
   }
+
+  private static ComponentImpl referencingComponent(String alias, String reference) {
+    ComponentImpl component = new ComponentImpl();
+    component.setType(KUBERNETES_COMPONENT_TYPE);
+    component.setAlias(alias);
+    component.setReference(reference);
+    return component;
+  }
 }
@@ -11,17 +11,23 @@
  */
 package org.eclipse.che.api.workspace.server.jpa;
 
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspaceFromConfig;
 import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspaceFromDevfile;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
@@ -220,7 +226,47 @@ public class JpaWorkspaceDaoTest {
     }
   }
 
+  @Test
+  public void shouldGetWorkspacesIncludingOrExcludingGivenIds() throws Exception {
+    final AccountImpl account = new AccountImpl("accountId", "namespace", "test");
+    manager.getTransaction().begin();
+    manager.persist(account);
+    manager.persist(createWorkspaceFromConfig("ws1", account, "name1"));
+    manager.persist(createWorkspaceFromConfig("ws2", account, "name2"));
+    manager.persist(createWorkspaceFromConfig("ws3", account, "name3"));
+    manager.getTransaction().commit();
+    manager.clear();
+
+    final Page<WorkspaceImpl> included =
+        workspaceDao.getWorkspaces("user", ImmutableSet.of("ws1", "ws3"), false, 30, 0);
+    final Page<WorkspaceImpl> excluded =
+        workspaceDao.getWorkspaces("user", ImmutableSet.of("ws1", "ws3"), true, 30, 0);
+
+    assertEquals(ids(included), ImmutableSet.of("ws1", "ws3"));
+    assertEquals(included.getTotalItemsCount(), 2);
+    assertEquals(ids(excluded), ImmutableSet.of("ws2"));
+    assertEquals(excluded.getTotalItemsCount(), 1);
+  }
+
+  @Test
+  public void shouldGetWorkspacesWhenIdsToIncludeOrExcludeAreEmpty() throws Exception {
+    final AccountImpl account = new AccountImpl("accountId", "namespace", "test");
+    manager.getTransaction().begin();
+    manager.persist(account);
+    manager.persist(createWorkspaceFromConfig("ws1", account, "name1"));
+    manager.getTransaction().commit();
+    manager.clear();
+
+    assertTrue(workspaceDao.getWorkspaces("user", emptySet(), false, 30, 0).isEmpty());
+    assertEquals(
+        ids(workspaceDao.getWorkspaces("user", emptySet(), true, 30, 0)), ImmutableSet.of("ws1"));
+  }
+
   private long asLong(String query) {
     return manager.createQuery(query, Long.class).getSingleResult();
   }
+
+  private static Set<String> ids(Page<WorkspaceImpl> page) {
+    return page.getItems().stream().map(WorkspaceImpl::getId).collect(toSet());
+  }
 }
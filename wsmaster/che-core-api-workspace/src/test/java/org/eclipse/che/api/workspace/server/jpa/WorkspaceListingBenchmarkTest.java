@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+import static org.eclipse.che.api.workspace.server.DtoConverter.WORKSPACE_PROJECTION_FIELDS;
+import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspaceFromConfig;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.eclipse.che.account.api.AccountManager;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.DtoConverter;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
+import org.eclipse.che.api.workspace.server.WorkspaceValidator;
+import org.eclipse.che.api.workspace.server.devfile.SerializableConverter;
+import org.eclipse.che.api.workspace.server.devfile.validator.DevfileIntegrityValidator;
+import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.MachineConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.RecipeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ServerConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
+import org.eclipse.che.api.workspace.server.model.impl.VolumeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.devfile.ActionImpl;
+import org.eclipse.che.api.workspace.server.model.impl.devfile.ComponentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.devfile.DevfileImpl;
+import org.eclipse.che.api.workspace.server.model.impl.devfile.EndpointImpl;
+import org.eclipse.che.api.workspace.server.model.impl.devfile.EntrypointImpl;
+import org.eclipse.che.api.workspace.server.model.impl.devfile.EnvImpl;
+import org.eclipse.che.api.workspace.server.model.impl.devfile.ProjectImpl;
+import org.eclipse.che.api.workspace.server.model.impl.devfile.SourceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.commons.test.db.H2DBTestServer;
+import org.eclipse.che.commons.test.db.PersistTestModuleBuilder;
+import org.eclipse.che.core.db.DBInitializer;
+import org.eclipse.che.core.db.h2.jpa.eclipselink.H2ExceptionHandler;
+import org.eclipse.che.core.db.schema.SchemaInitializer;
+import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.h2.Driver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Measures the latency of listing the workspaces of a single user by status, when the status is
+ * filtered after paging, which {@code WorkspaceService} used to do, and when it is pushed down to
+ * the {@link WorkspaceDao} with the help of the runtime statuses. Also compares the size of the
+ * JSON payload of full workspace DTOs and the ones projected to {@link
+ * DtoConverter#WORKSPACE_PROJECTION_FIELDS}.
+ *
+ * <p>The benchmark is excluded from the regular build, run it with the {@code benchmarks} profile,
+ * e.g. {@code mvn test -Pbenchmarks -Dtest=WorkspaceListingBenchmarkTest}. The number of generated
+ * workspaces is controlled by the {@code che.workspace.listing.benchmark.workspaces} system
+ * property.
+ */
+public class WorkspaceListingBenchmarkTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WorkspaceListingBenchmarkTest.class);
+
+  private static final int WORKSPACES =
+      Integer.getInteger("che.workspace.listing.benchmark.workspaces", 1_000);
+  private static final int PAGE_SIZE = 30;
+
+  private H2DBTestServer server;
+  private Injector injector;
+  private WorkspaceDao workspaceDao;
+  private WorkspaceManager workspaceManager;
+  private Map<String, WorkspaceStatus> statuses;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    // separate database, so the shared one used by the tck is not affected
+    server =
+        new H2DBTestServer() {
+          @Override
+          public String getUrl() {
+            return "jdbc:h2:mem:workspace_listing_benchmark";
+          }
+        };
+    server.start();
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                install(
+                    new PersistTestModuleBuilder()
+                        .setDriver(Driver.class)
+                        .runningOn(server)
+                        .addEntityClasses(
+                            AccountImpl.class,
+                            WorkspaceImpl.class,
+                            WorkspaceConfigImpl.class,
+                            ProjectConfigImpl.class,
+                            EnvironmentImpl.class,
+                            RecipeImpl.class,
+                            MachineConfigImpl.class,
+                            SourceStorageImpl.class,
+                            ServerConfigImpl.class,
+                            CommandImpl.class,
+                            VolumeImpl.class,
+                            ActionImpl.class,
+                            org.eclipse.che.api.workspace.server.model.impl.devfile.CommandImpl
+                                .class,
+                            ComponentImpl.class,
+                            DevfileImpl.class,
+                            EndpointImpl.class,
+                            EntrypointImpl.class,
+                            EnvImpl.class,
+                            ProjectImpl.class,
+                            SourceImpl.class,
+                            org.eclipse.che.api.workspace.server.model.impl.devfile.VolumeImpl
+                                .class)
+                        .addEntityClass(
+                            "org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl$Attribute")
+                        .addClass(SerializableConverter.class)
+                        .setExceptionHandler(H2ExceptionHandler.class)
+                        .setProperty("eclipselink.logging.level", "OFF")
+                        .build());
+                bind(DBInitializer.class).asEagerSingleton();
+                bind(SchemaInitializer.class)
+                    .toInstance(new FlywaySchemaInitializer(server.getDataSource(), "che-schema"));
+                bind(WorkspaceDao.class).to(JpaWorkspaceDao.class);
+              }
+            });
+    workspaceDao = injector.getInstance(WorkspaceDao.class);
+
+    AccountImpl account = new AccountImpl("account", "namespace", "test");
+    EntityManager manager = injector.getInstance(EntityManager.class);
+    manager.getTransaction().begin();
+    manager.persist(account);
+    // every tenth workspace is running, every fiftieth one is starting
+    statuses = new HashMap<>();
+    for (int i = 0; i < WORKSPACES; i++) {
+      String id = String.format("workspace%06d", i);
+      WorkspaceImpl workspace = createWorkspaceFromConfig(id, account, "ws" + i);
+      workspace.getConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
+      manager.persist(workspace);
+      if (i % 50 == 0) {
+        statuses.put(id, WorkspaceStatus.STARTING);
+      } else if (i % 10 == 0) {
+        statuses.put(id, RUNNING);
+      }
+    }
+    manager.getTransaction().commit();
+    manager.clear();
+
+    WorkspaceRuntimes runtimes = mock(WorkspaceRuntimes.class);
+    when(runtimes.getStatus(anyString()))
+        .thenAnswer(inv -> statuses.getOrDefault(inv.<String>getArgument(0), STOPPED));
+    when(runtimes.getActive()).thenAnswer(inv -> ImmutableSet.copyOf(statuses.keySet()));
+    when(runtimes.getActive(any(WorkspaceStatus.class)))
+        .thenAnswer(
+            inv ->
+                statuses
+                    .entrySet()
+                    .stream()
+                    .filter(e -> e.getValue() == inv.getArgument(0))
+                    .map(Map.Entry::getKey)
+                    .collect(toSet()));
+    workspaceManager =
+        new WorkspaceManager(
+            workspaceDao,
+            runtimes,
+            mock(EventService.class),
+            mock(AccountManager.class),
+            mock(WorkspaceValidator.class),
+            mock(DevfileIntegrityValidator.class));
+  }
+
+  @AfterClass
+  public void tearDown() {
+    injector.getInstance(EntityManagerFactory.class).close();
+    server.shutdown();
+  }
+
+  @DataProvider
+  public Object[][] statuses() {
+    return new Object[][] {{RUNNING}, {STOPPED}};
+  }
+
+  @Test(dataProvider = "statuses", groups = "benchmark")
+  public void shouldListWorkspacesByStatusFasterWhenStatusIsPushedDown(WorkspaceStatus status)
+      throws Exception {
+    long start = System.nanoTime();
+    List<String> filtered = filterAfterPaging(status);
+    long filteredNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    List<String> pushedDown = pushDown(status);
+    long pushedDownNanos = System.nanoTime() - start;
+
+    int firstPageSize =
+        (int)
+            workspaceManager
+                .getWorkspaces("user", false, PAGE_SIZE, 0)
+                .getItems()
+                .stream()
+                .filter(w -> w.getStatus() == status)
+                .count();
+    LOG.info(
+        "{} workspaces, status {}, {} matches: filtered after paging {} ms"
+            + " (first page has {} of {} items), pushed down {} ms",
+        WORKSPACES,
+        status,
+        pushedDown.size(),
+        filteredNanos / 1_000_000.0,
+        firstPageSize,
+        PAGE_SIZE,
+        pushedDownNanos / 1_000_000.0);
+
+    assertEquals(ImmutableSet.copyOf(pushedDown), ImmutableSet.copyOf(filtered));
+    assertEquals(pushedDown.size(), filtered.size());
+    // a status matching most of the workspaces reads about as many pages either way
+    if (pushedDown.size() < WORKSPACES / 2) {
+      assertTrue(
+          pushedDownNanos < filteredNanos,
+          "Expected the pushed down status to list faster, pushed down "
+              + pushedDownNanos / 1_000_000
+              + " ms, filtered after paging "
+              + filteredNanos / 1_000_000
+              + " ms");
+    }
+  }
+
+  @Test(groups = "benchmark")
+  public void shouldReduceListingPayloadWhenFieldsAreProjected() throws Exception {
+    List<WorkspaceImpl> workspaces =
+        workspaceManager.getWorkspaces("user", false, WORKSPACES, 0).getItems();
+    assertEquals(workspaces.size(), WORKSPACES);
+
+    long start = System.nanoTime();
+    int fullSize = payloadSize(workspaces, DtoConverter::asDto);
+    long fullNanos = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    int projectedSize =
+        payloadSize(workspaces, w -> DtoConverter.asDto(w, WORKSPACE_PROJECTION_FIELDS));
+    long projectedNanos = System.nanoTime() - start;
+
+    LOG.info(
+        "{} workspaces: full payload {} KiB serialized in {} ms,"
+            + " projected to {} {} KiB serialized in {} ms",
+        WORKSPACES,
+        fullSize / 1024,
+        fullNanos / 1_000_000.0,
+        WORKSPACE_PROJECTION_FIELDS,
+        projectedSize / 1024,
+        projectedNanos / 1_000_000.0);
+
+    assertTrue(projectedSize < fullSize, projectedSize + " >= " + fullSize);
+  }
+
+  /** Pages through all the workspaces and filters them by status, page by page. */
+  private List<String> filterAfterPaging(WorkspaceStatus status) throws Exception {
+    List<String> ids = new ArrayList<>();
+    Page<WorkspaceImpl> page = workspaceManager.getWorkspaces("user", false, PAGE_SIZE, 0);
+    while (true) {
+      for (WorkspaceImpl workspace : page.getItems()) {
+        if (workspace.getStatus() == status) {
+          ids.add(workspace.getId());
+        }
+      }
+      if (!page.hasNextPage()) {
+        return ids;
+      }
+      Page.PageRef next = page.getNextPageRef();
+      page =
+          workspaceManager.getWorkspaces("user", false, next.getPageSize(), next.getItemsBefore());
+    }
+  }
+
+  /** Pages through the workspaces which have the given status. */
+  private List<String> pushDown(WorkspaceStatus status) throws Exception {
+    List<String> ids = new ArrayList<>();
+    Page<WorkspaceImpl> page = workspaceManager.getWorkspaces("user", status, false, PAGE_SIZE, 0);
+    while (true) {
+      ids.addAll(page.getItems().stream().map(WorkspaceImpl::getId).collect(toList()));
+      if (!page.hasNextPage()) {
+        return ids;
+      }
+      Page.PageRef next = page.getNextPageRef();
+      page =
+          workspaceManager.getWorkspaces(
+              "user", status, false, next.getPageSize(), next.getItemsBefore());
+    }
+  }
+
+  private static int payloadSize(
+      List<WorkspaceImpl> workspaces, Function<WorkspaceImpl, WorkspaceDto> converter) {
+    // the size of the JSON array which is sent to the client
+    int size = 2 + Math.max(workspaces.size() - 1, 0);
+    for (WorkspaceImpl workspace : workspaces) {
+      size += DtoFactory.getInstance().toJson(converter.apply(workspace)).getBytes(UTF_8).length;
+    }
+    return size;
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.spi;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.event.WorkspaceStartPhaseEvent;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker.StartPhase;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class StartPhaseTrackerTest {
+
+  @Mock private EventService eventService;
+  @Captor private ArgumentCaptor<WorkspaceStartPhaseEvent> eventCaptor;
+
+  private StartPhaseTracker tracker;
+
+  @BeforeMethod
+  public void setUp() {
+    tracker = new StartPhaseTracker(eventService);
+  }
+
+  @Test
+  public void shouldPublishSucceededPhaseWithWorkspaceTags() {
+    tracker.startTracking("ws1", "kubernetes", "dockerimage");
+
+    try (StartPhase phase = tracker.startPhase("ws1", "PrepareVolumes")) {
+      phase.succeeded();
+    }
+
+    verify(eventService).publish(eventCaptor.capture());
+    WorkspaceStartPhaseEvent event = eventCaptor.getValue();
+    assertEquals(event.getWorkspaceId(), "ws1");
+    assertEquals(event.getPhase(), "PrepareVolumes");
+    assertEquals(event.getInfrastructure(), "kubernetes");
+    assertEquals(event.getRecipeType(), "dockerimage");
+    assertTrue(event.getDurationNanos() >= 0);
+    assertTrue(event.isSucceeded());
+  }
+
+  @Test
+  public void shouldPublishFailedPhaseWhenNotMarkedAsSucceeded() {
+    tracker.startTracking("ws1", "kubernetes", "dockerimage");
+
+    try (StartPhase ignored = tracker.startPhase("ws1", "PrepareVolumes")) {
+      // phase failed
+    }
+
+    verify(eventService).publish(eventCaptor.capture());
+    assertFalse(eventCaptor.getValue().isSucceeded());
+  }
+
+  @Test
+  public void shouldUseUnknownTagsForNotTrackedWorkspace() {
+    tracker.startTracking("ws1", "kubernetes", "dockerimage");
+    tracker.stopTracking("ws1");
+
+    tracker.startPhase("ws1", "PrepareVolumes").close();
+
+    verify(eventService).publish(eventCaptor.capture());
+    assertEquals(eventCaptor.getValue().getInfrastructure(), StartPhaseTracker.UNKNOWN);
+    assertEquals(eventCaptor.getValue().getRecipeType(), StartPhaseTracker.UNKNOWN);
+  }
+
+  @Test
+  public void shouldPublishPhaseOnlyOnce() {
+    StartPhase phase = tracker.startPhase("ws1", "PrepareVolumes");
+
+    verify(eventService, never()).publish(eventCaptor.capture());
+
+    phase.close();
+    phase.close();
+
+    verify(eventService, times(1)).publish(eventCaptor.capture());
+  }
+}
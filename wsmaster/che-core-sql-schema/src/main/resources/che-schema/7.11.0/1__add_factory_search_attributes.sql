@@ -0,0 +1,30 @@
+--
+-- Copyright (c) 2012-2020 Red Hat, Inc.
+-- This program and the accompanying materials are made
+-- available under the terms of the Eclipse Public License 2.0
+-- which is available at https://www.eclipse.org/legal/epl-2.0/
+--
+-- SPDX-License-Identifier: EPL-2.0
+--
+-- Contributors:
+--   Red Hat, Inc. - initial API and implementation
+--
+
+-- Factory search attributes ---------------------------------------------------
+CREATE TABLE che_factory_search_attribute (
+    factory_id      VARCHAR(255)    NOT NULL,
+    name            VARCHAR(255)    NOT NULL,
+    value           VARCHAR(255),
+
+    PRIMARY KEY (factory_id, name)
+);
+-- constraints
+ALTER TABLE che_factory_search_attribute ADD CONSTRAINT fk_che_factory_search_attribute_factory_id FOREIGN KEY (factory_id) REFERENCES che_factory (id);
+-- indexes
+CREATE INDEX index_che_factory_search_attribute_name_value ON che_factory_search_attribute (name, value, factory_id);
+-- initial projection
+INSERT INTO che_factory_search_attribute (factory_id, name, value) SELECT id, 'name', name FROM che_factory WHERE name IS NOT NULL;
+INSERT INTO che_factory_search_attribute (factory_id, name, value) SELECT id, 'creator.userId', user_id FROM che_factory WHERE user_id IS NOT NULL;
+INSERT INTO che_factory_search_attribute (factory_id, name, value) SELECT id, 'policies.referer', referrer FROM che_factory WHERE referrer IS NOT NULL;
+INSERT INTO che_factory_search_attribute (factory_id, name, value) SELECT id, 'policies.create', creation_strategy FROM che_factory WHERE creation_strategy IS NOT NULL;
+--------------------------------------------------------------------------------
@@ -98,6 +98,7 @@ import org.eclipse.che.api.workspace.server.model.impl.devfile.EnvImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.ProjectImpl;
 import org.eclipse.che.api.workspace.server.model.impl.devfile.SourceImpl;
 import org.eclipse.che.api.workspace.server.spi.RuntimeInfrastructure;
+import org.eclipse.che.api.workspace.server.spi.StartPhaseTracker;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.observability.ExecutorServiceWrapper;
 import org.eclipse.che.commons.observability.NoopExecutorServiceWrapper;
@@ -239,6 +240,9 @@ public class CascadeRemovalTest {
                 bind(Long.class)
                     .annotatedWith(Names.named("che.limits.workspace.idle.timeout"))
                     .toInstance(100000L);
+                bind(Integer.class)
+                    .annotatedWith(Names.named("che.workspace.activity_cleanup_parallelism"))
+                    .toInstance(1);
                 bind(UserManager.class);
                 bind(AccountManager.class);
 
@@ -269,7 +273,8 @@ public class CascadeRemovalTest {
                             mock(ProbeScheduler.class),
                             new DefaultWorkspaceStatusCache(),
                             new DefaultWorkspaceLockService(),
-                            mock(DevfileConverter.class)));
+                            mock(DevfileConverter.class),
+                            mock(StartPhaseTracker.class)));
                 when(wR.hasRuntime(anyString())).thenReturn(false);
                 bind(WorkspaceRuntimes.class).toInstance(wR);
                 bind(AccountManager.class);